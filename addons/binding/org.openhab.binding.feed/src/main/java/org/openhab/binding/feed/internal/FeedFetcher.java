@@ -0,0 +1,194 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.feed.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.rometools.rome.feed.synd.SyndFeed;
+import com.rometools.rome.io.FeedException;
+import com.rometools.rome.io.SyndFeedInput;
+import com.rometools.rome.io.XmlReader;
+
+/**
+ * The {@link FeedFetcher} downloads the feeds for all feed things, keeping one entry for each URL.
+ *
+ * Feeds are only downloaded and parsed again when they changed:
+ * <ul>
+ * <li>a thing that requests a feed while another thing is downloading it gets the result of that download, as does a
+ * thing that requests a feed less than {@link FeedBindingConstants#MINIMUM_REFRESH_TIME} ms after a download</li>
+ * <li>the ETag and Last-Modified headers of the last response are sent back to the server, which answers with
+ * 304 Not Modified if the feed did not change</li>
+ * <li>a body with the same hash as the last one is not parsed again</li>
+ * </ul>
+ * As long as a feed did not change, the same {@link SyndFeed} instance is returned, so a change is detected by
+ * comparing references.
+ *
+ * @author agent - Initial contribution
+ */
+public class FeedFetcher {
+
+    private static final int CONNECT_TIMEOUT = 10000;
+    private static final int READ_TIMEOUT = 30000;
+    private static final long MAX_REUSE_AGE = TimeUnit.MILLISECONDS.toNanos(FeedBindingConstants.MINIMUM_REFRESH_TIME);
+
+    private final Logger logger = LoggerFactory.getLogger(FeedFetcher.class);
+
+    private final Map<String, FeedResource> resources = new HashMap<>();
+
+    /**
+     * Registers a thing that fetches the feed with the given URL.
+     */
+    public void acquire(String urlString) {
+        if (urlString != null) {
+            synchronized (resources) {
+                resources.computeIfAbsent(urlString, FeedResource::new).users++;
+            }
+        }
+    }
+
+    /**
+     * Unregisters a thing. The cached feed is dropped when no thing fetches it anymore.
+     */
+    public void release(String urlString) {
+        if (urlString != null) {
+            synchronized (resources) {
+                FeedResource resource = resources.get(urlString);
+                if (resource != null && --resource.users <= 0) {
+                    resources.remove(urlString);
+                }
+            }
+        }
+    }
+
+    /**
+     * Fetches a feed.
+     *
+     * @param urlString URL of the feed
+     * @return the feed, the same instance as returned before if it did not change
+     * @throws IOException if the URL is not valid or the feed can't be downloaded
+     * @throws FeedException if the feed content is not valid
+     */
+    public SyndFeed fetch(String urlString) throws IOException, FeedException {
+        long requestTime = System.nanoTime();
+        URL url = new URL(urlString);
+
+        FeedResource resource;
+        synchronized (resources) {
+            resource = resources.computeIfAbsent(urlString, FeedResource::new);
+        }
+        return resource.fetch(url, requestTime);
+    }
+
+    private class FeedResource {
+        private final String urlString;
+        private int users;
+
+        private SyndFeed feed;
+        private byte[] digest;
+        private String etag;
+        private String lastModified;
+        private long lastFetchEnd;
+
+        FeedResource(String urlString) {
+            this.urlString = urlString;
+        }
+
+        synchronized SyndFeed fetch(URL url, long requestTime) throws IOException, FeedException {
+            if (feed != null) {
+                if (lastFetchEnd - requestTime >= 0) {
+                    logger.debug("Feed {} has been fetched while waiting", urlString);
+                    return feed;
+                }
+                if (System.nanoTime() - lastFetchEnd < MAX_REUSE_AGE) {
+                    logger.debug("Feed {} has been fetched just before", urlString);
+                    return feed;
+                }
+            }
+
+            URLConnection connection = url.openConnection();
+            connection.setConnectTimeout(CONNECT_TIMEOUT);
+            connection.setReadTimeout(READ_TIMEOUT);
+            connection.setRequestProperty("Accept-Encoding", "gzip");
+
+            if (connection instanceof HttpURLConnection) {
+                if (feed != null) {
+                    if (etag != null) {
+                        connection.setRequestProperty("If-None-Match", etag);
+                    }
+                    if (lastModified != null) {
+                        connection.setRequestProperty("If-Modified-Since", lastModified);
+                    }
+                }
+                if (((HttpURLConnection) connection).getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                    if (feed == null) {
+                        throw new IOException("Server answered 304 Not Modified to an unconditional request");
+                    }
+                    logger.debug("Feed {} is not modified", urlString);
+                    lastFetchEnd = System.nanoTime();
+                    return feed;
+                }
+            }
+
+            byte[] body = readBody(connection);
+            byte[] newDigest = digest(body);
+
+            if (feed != null && Arrays.equals(newDigest, digest)) {
+                logger.debug("Feed {} has the same content", urlString);
+            } else {
+                SyndFeedInput input = new SyndFeedInput();
+                feed = input.build(new XmlReader(new ByteArrayInputStream(body)));
+                digest = newDigest;
+            }
+
+            // keep the validators of the last feed if the content could not be parsed, so it is downloaded again
+            etag = connection.getHeaderField("ETag");
+            lastModified = connection.getHeaderField("Last-Modified");
+            lastFetchEnd = System.nanoTime();
+            return feed;
+        }
+
+        private byte[] readBody(URLConnection connection) throws IOException {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            try (InputStream in = "gzip".equals(connection.getContentEncoding())
+                    ? new GZIPInputStream(connection.getInputStream())
+                    : connection.getInputStream()) {
+                byte[] buffer = new byte[8192];
+                int count;
+                while ((count = in.read(buffer)) >= 0) {
+                    body.write(buffer, 0, count);
+                }
+            }
+            return body.toByteArray();
+        }
+
+        private byte[] digest(byte[] body) {
+            try {
+                return MessageDigest.getInstance("SHA-256").digest(body);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 is not available", e);
+            }
+        }
+    }
+}
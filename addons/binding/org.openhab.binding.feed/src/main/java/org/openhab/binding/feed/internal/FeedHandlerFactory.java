@@ -32,6 +32,8 @@ public class FeedHandlerFactory extends BaseThingHandlerFactory {
 
     private static final Set<ThingTypeUID> SUPPORTED_THING_TYPES_UIDS = Collections.singleton(FEED_THING_TYPE_UID);
 
+    private final FeedFetcher feedFetcher = new FeedFetcher();
+
     @Override
     public boolean supportsThingType(ThingTypeUID thingTypeUID) {
         return SUPPORTED_THING_TYPES_UIDS.contains(thingTypeUID);
@@ -42,7 +44,7 @@ public class FeedHandlerFactory extends BaseThingHandlerFactory {
         ThingTypeUID thingTypeUID = thing.getThingTypeUID();
 
         if (thingTypeUID.equals(FEED_THING_TYPE_UID)) {
-            return new FeedHandler(thing);
+            return new FeedHandler(thing, feedFetcher);
         }
 
         return null;
@@ -10,20 +10,15 @@ package org.openhab.binding.feed.internal.handler;
 
 import static org.openhab.binding.feed.internal.FeedBindingConstants.*;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
 import java.math.BigDecimal;
 import java.net.MalformedURLException;
-import java.net.URL;
-import java.net.URLConnection;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
 import java.util.List;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.zip.GZIPInputStream;
 
 import org.eclipse.smarthome.config.core.Configuration;
 import org.eclipse.smarthome.core.library.types.DateTimeType;
@@ -38,13 +33,13 @@ import org.eclipse.smarthome.core.thing.binding.BaseThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
 import org.eclipse.smarthome.core.types.State;
+import org.openhab.binding.feed.internal.FeedFetcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.rometools.rome.feed.synd.SyndEntry;
 import com.rometools.rome.feed.synd.SyndFeed;
 import com.rometools.rome.io.FeedException;
-import com.rometools.rome.io.SyndFeedInput;
 
 /**
  * The {@link FeedHandler } is responsible for handling commands, which are
@@ -56,20 +51,24 @@ public class FeedHandler extends BaseThingHandler {
 
     private Logger logger = LoggerFactory.getLogger(FeedHandler.class);
 
+    private final FeedFetcher feedFetcher;
+
     private String urlString;
     private BigDecimal refreshTime;
     private ScheduledFuture<?> refreshTask;
     private SyndFeed currentFeedState;
     private long lastRefreshTime;
 
-    public FeedHandler(Thing thing) {
+    public FeedHandler(Thing thing, FeedFetcher feedFetcher) {
         super(thing);
+        this.feedFetcher = feedFetcher;
         currentFeedState = null;
     }
 
     @Override
     public void initialize() {
         checkConfiguration();
+        feedFetcher.acquire(urlString);
         updateStatus(ThingStatus.UNKNOWN);
         startAutomaticRefresh();
     }
@@ -172,15 +171,14 @@ public class FeedHandler extends BaseThingHandler {
 
     /**
      * This method updates the {@link #currentFeedState}, only if there are changes on the server, since the last check.
-     * It compares the content on the server with the local
-     * stored {@link #currentFeedState} in the {@link FeedHandler}.
+     * The {@link FeedFetcher} returns the same instance as long as the content on the server did not change, so the
+     * new state is compared with the local stored {@link #currentFeedState} by reference.
      *
      * @return <code>true</code> if new content is available on the server since the last update or <code>false</code>
      *         otherwise
      */
     private synchronized boolean updateFeedIfChanged(SyndFeed newFeedState) {
-        // SyndFeed class has implementation of equals ()
-        if (newFeedState != null && !newFeedState.equals(currentFeedState)) {
+        if (newFeedState != null && newFeedState != currentFeedState) {
             currentFeedState = newFeedState;
             logger.debug("New content available!");
             return true;
@@ -190,7 +188,8 @@ public class FeedHandler extends BaseThingHandler {
     }
 
     /**
-     * This method tries to make connection with the server and fetch data from the feed.
+     * This method fetches the data from the feed through the {@link FeedFetcher}, which only downloads and parses the
+     * feed again if it changed on the server.
      * The status of the feed thing is set to {@link ThingStatus#ONLINE}, if the fetching was successful.
      * Otherwise the status will be set to {@link ThingStatus#OFFLINE} with
      * {@link ThingStatusDetail#CONFIGURATION_ERROR} or
@@ -203,21 +202,7 @@ public class FeedHandler extends BaseThingHandler {
     private SyndFeed fetchFeedData(String urlString) {
         SyndFeed feed = null;
         try {
-            URL url = new URL(urlString);
-
-            URLConnection connection = url.openConnection();
-            connection.setRequestProperty("Accept-Encoding", "gzip");
-
-            BufferedReader in = null;
-            if ("gzip".equals(connection.getContentEncoding())) {
-                in = new BufferedReader(new InputStreamReader(new GZIPInputStream(connection.getInputStream())));
-            } else {
-                in = new BufferedReader(new InputStreamReader(connection.getInputStream()));
-            }
-
-            SyndFeedInput input = new SyndFeedInput();
-            feed = input.build(in);
-            in.close();
+            feed = feedFetcher.fetch(urlString);
 
             if (this.thing.getStatus() != ThingStatus.ONLINE) {
                 updateStatus(ThingStatus.ONLINE);
@@ -282,6 +267,7 @@ public class FeedHandler extends BaseThingHandler {
         if (refreshTask != null) {
             refreshTask.cancel(true);
         }
+        feedFetcher.release(urlString);
         lastRefreshTime = 0;
     }
 
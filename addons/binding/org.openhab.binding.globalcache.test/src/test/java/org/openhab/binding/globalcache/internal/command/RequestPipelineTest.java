@@ -0,0 +1,187 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.globalcache.internal.command;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.openhab.binding.globalcache.GlobalCacheBindingConstants.CommandType;
+
+/**
+ * Tests cases for {@link RequestPipeline}.
+ *
+ * @author agent - Initial contribution
+ */
+public class RequestPipelineTest {
+
+    private static final long TIMEOUT = 3000;
+
+    private final RequestPipeline pipeline = new RequestPipeline(3, TIMEOUT);
+
+    @Test
+    public void connectorOrderTest() {
+        RequestMessage first = offer("setstate,1:1,1");
+        RequestMessage second = offer("setstate,1:1,0");
+
+        assertEquals(Arrays.asList(first), pipeline.takeSendable(0));
+        // the next request for the connector waits for the reply
+        assertTrue(pipeline.takeSendable(0).isEmpty());
+
+        assertSame(first, pipeline.complete("state,1:1,1"));
+        assertEquals(Arrays.asList(second), pipeline.takeSendable(0));
+        assertSame(second, pipeline.complete("state,1:1,0"));
+        assertFalse(pipeline.hasInFlight());
+    }
+
+    @Test
+    public void connectorsInParallelTest() {
+        RequestMessage first = offer("sendir,1:1,1,40000,1,1,96,24");
+        RequestMessage second = offer("sendir,1:2,2,40000,1,1,96,24");
+        RequestMessage third = offer("sendir,1:1,3,40000,1,1,96,24");
+
+        assertEquals(Arrays.asList(first, second), pipeline.takeSendable(0));
+        assertEquals(2, pipeline.getInFlightCount());
+
+        // the replies may arrive in any order
+        assertSame(second, pipeline.complete("completeir,1:2,2"));
+        assertTrue(pipeline.takeSendable(0).isEmpty());
+        assertSame(first, pipeline.complete("completeir,1:1,1"));
+        assertEquals(Arrays.asList(third), pipeline.takeSendable(0));
+    }
+
+    @Test
+    public void requestWithoutConnectorTest() {
+        RequestMessage setstate = offer("setstate,1:1,1");
+        RequestMessage getversion = offer("getversion");
+        RequestMessage later = offer("setstate,1:2,1");
+
+        assertEquals(Arrays.asList(setstate), pipeline.takeSendable(0));
+        // getversion is sent on its own, after the requests in flight
+        assertTrue(pipeline.takeSendable(0).isEmpty());
+
+        assertSame(setstate, pipeline.complete("state,1:1,1"));
+        assertEquals(Arrays.asList(getversion), pipeline.takeSendable(0));
+        assertTrue(pipeline.takeSendable(0).isEmpty());
+
+        assertSame(getversion, pipeline.complete("710-1005-05"));
+        assertEquals(Arrays.asList(later), pipeline.takeSendable(0));
+    }
+
+    @Test
+    public void completeirMatchesTransactionIdTest() {
+        RequestMessage sendir = offer("sendir,1:1,7,40000,1,1,96,24");
+        pipeline.takeSendable(0);
+
+        // completion of an earlier sendir on the same connector
+        assertNull(pipeline.complete("completeir,1:1,6"));
+        assertTrue(pipeline.hasInFlight());
+
+        assertSame(sendir, pipeline.complete("completeir,1:1,7"));
+        assertFalse(pipeline.hasInFlight());
+    }
+
+    @Test
+    public void errorReplyTest() {
+        RequestMessage first = offer("sendir,1:1,1,40000,1,1,96,24");
+        RequestMessage second = offer("sendir,1:2,2,40000,1,1,96,24");
+        pipeline.takeSendable(0);
+
+        // iTach errors name the connector
+        assertSame(first, pipeline.complete("ERR_1:1,014"));
+
+        // errors without a connector belong to the most recently sent request
+        assertSame(second, pipeline.complete("unknowncommand 3"));
+        assertFalse(pipeline.hasInFlight());
+    }
+
+    @Test
+    public void unexpectedReplyTest() {
+        offer("setstate,1:1,1");
+        pipeline.takeSendable(0);
+
+        assertNull(pipeline.complete("state,1:2,1"));
+        assertEquals(1, pipeline.getInFlightCount());
+    }
+
+    @Test
+    public void timeoutTest() {
+        RequestMessage first = offer("setstate,1:1,1");
+        RequestMessage second = offer("setstate,1:2,1");
+        pipeline.takeSendable(1000);
+
+        assertTrue(pipeline.expire(1000 + TIMEOUT - 1).isEmpty());
+        List<RequestMessage> expired = pipeline.expire(1000 + TIMEOUT);
+        assertEquals(2, expired.size());
+        assertTrue(expired.contains(first));
+        assertTrue(expired.contains(second));
+        assertFalse(pipeline.hasInFlight());
+
+        // a late reply doesn't match any request
+        assertNull(pipeline.complete("state,1:1,1"));
+    }
+
+    @Test
+    public void timeoutSendsNextRequestTest() {
+        RequestMessage first = offer("setstate,1:1,1");
+        RequestMessage second = offer("setstate,1:1,0");
+        pipeline.takeSendable(0);
+
+        assertEquals(Arrays.asList(first), pipeline.expire(TIMEOUT));
+        assertEquals(Arrays.asList(second), pipeline.takeSendable(TIMEOUT));
+        assertEquals(TIMEOUT, second.getSentTime());
+    }
+
+    @Test
+    public void queueDepthTest() {
+        for (int i = 0; i < 3; i++) {
+            offer("setstate,1:1," + i % 2);
+        }
+
+        assertFalse(pipeline.offer(request("setstate,1:1,1")));
+        assertTrue(pipeline.offer(request("setstate,1:2,1")));
+    }
+
+    @Test
+    public void clearTest() {
+        List<RequestMessage> requests = new ArrayList<>();
+        requests.add(offer("setstate,1:1,1"));
+        requests.add(offer("setstate,1:1,0"));
+        requests.add(offer("getversion"));
+        pipeline.takeSendable(0);
+
+        List<RequestMessage> removed = pipeline.clear();
+        assertEquals(3, removed.size());
+        assertTrue(removed.containsAll(requests));
+        assertFalse(pipeline.hasInFlight());
+        assertTrue(pipeline.takeSendable(0).isEmpty());
+    }
+
+    @Test
+    public void getConnectorTest() {
+        assertEquals("1:2", RequestPipeline.getConnector("sendir,1:2,5,40000,1,1,96,24"));
+        assertEquals("1:2", RequestPipeline.getConnector("completeir,1:2,5"));
+        assertEquals("1:2", RequestPipeline.getConnector("ERR_1:2,014"));
+        assertEquals("", RequestPipeline.getConnector("getversion"));
+        assertEquals("", RequestPipeline.getConnector("unknowncommand 3"));
+    }
+
+    private RequestMessage offer(String deviceCommand) {
+        RequestMessage requestMessage = request(deviceCommand);
+        assertTrue(pipeline.offer(requestMessage));
+        return requestMessage;
+    }
+
+    private static RequestMessage request(String deviceCommand) {
+        return new RequestMessage(deviceCommand.split(",")[0], CommandType.COMMAND, deviceCommand, null);
+    }
+}
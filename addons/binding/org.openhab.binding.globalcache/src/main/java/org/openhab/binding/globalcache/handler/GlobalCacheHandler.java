@@ -14,6 +14,7 @@ import java.io.BufferedInputStream;
 import java.io.BufferedReader;
 import java.io.ByteArrayOutputStream;
 import java.io.DataOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
@@ -25,6 +26,9 @@ import java.net.SocketException;
 import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.net.UnknownHostException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
@@ -34,6 +38,7 @@ import java.util.regex.Pattern;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.library.types.StringType;
@@ -56,6 +61,7 @@ import org.openhab.binding.globalcache.internal.command.CommandSendir;
 import org.openhab.binding.globalcache.internal.command.CommandSendserial;
 import org.openhab.binding.globalcache.internal.command.CommandSetstate;
 import org.openhab.binding.globalcache.internal.command.RequestMessage;
+import org.openhab.binding.globalcache.internal.command.RequestPipeline;
 import org.openhab.binding.globalcache.internal.command.ResponseMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -87,6 +93,17 @@ public class GlobalCacheHandler extends BaseThingHandler {
     // Character set to use for URL encoding & decoding
     private String CHARSET = "ISO-8859-1";
 
+    // IR and serial codes looked up in the MAP files, keyed by map file and command
+    private final Map<String, String> codeCache = new ConcurrentHashMap<>();
+    private final Map<String, Long> mapFileTimestamps = new ConcurrentHashMap<>();
+    private static final String TRANSFORM_FOLDER_NAME = "transform";
+
+    private static final Pattern HEX_CODE_PATTERN = Pattern
+            .compile("0000( +[0-9A-Fa-f][0-9A-Fa-f][0-9A-Fa-f][0-9A-Fa-f])+");
+
+    // Range of IR transaction IDs accepted by the device
+    private static final int IR_COUNTER_MAX = 65536;
+
     public GlobalCacheHandler(@NonNull Thing gcDevice, String ipv4Address) {
         super(gcDevice);
         irCounter = new AtomicInteger(1);
@@ -229,12 +246,13 @@ public class GlobalCacheHandler extends BaseThingHandler {
     }
 
     private int getCounter() {
-        return irCounter.getAndIncrement();
+        // floorMod keeps the ID in range when the counter overflows
+        return Math.floorMod(irCounter.getAndIncrement(), IR_COUNTER_MAX);
     }
 
     /*
-     * Look up the IR or serial command code in the MAP file.
-     *
+     * Look up the IR or serial command code in the MAP file. Codes are converted once and cached until
+     * the MAP file changes.
      */
     private String lookupCode(Command command) {
         if (command.toString() == null) {
@@ -248,6 +266,36 @@ public class GlobalCacheHandler extends BaseThingHandler {
             return null;
         }
 
+        invalidateCodeCacheIfChanged(mapFile);
+        String cacheKey = mapFile + ':' + command.toString();
+        String code = codeCache.get(cacheKey);
+        if (code != null) {
+            logger.debug("Found {} for thing {} in code cache of map file '{}'", command, thingID(), mapFile);
+            return code;
+        }
+
+        code = transformCode(mapFile, command);
+        if (code != null) {
+            codeCache.put(cacheKey, code);
+        }
+        return code;
+    }
+
+    /*
+     * Remove the cached codes of the MAP file if the file was modified since the codes were looked up.
+     */
+    private void invalidateCodeCacheIfChanged(String mapFile) {
+        File file = new File(ConfigConstants.getConfigFolder() + File.separator + TRANSFORM_FOLDER_NAME, mapFile);
+        long lastModified = file.lastModified();
+        Long cachedLastModified = mapFileTimestamps.put(mapFile, lastModified);
+        if (cachedLastModified != null && cachedLastModified.longValue() != lastModified) {
+            logger.debug("Map file '{}' changed, clearing code cache of thing {}", mapFile, thingID());
+            String prefix = mapFile + ':';
+            codeCache.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    private String transformCode(String mapFile, Command command) {
         TransformationService transformService = TransformationHelper.getTransformationService(bundleContext, "MAP");
         if (transformService == null) {
             logger.error("Failed to get MAP transformation service for thing {}; is bundle installed?", thingID());
@@ -289,8 +337,7 @@ public class GlobalCacheHandler extends BaseThingHandler {
      * Check if the string looks like a hex code; if not then assume it's GC format
      */
     private boolean isHexCode(String code) {
-        Pattern pattern = Pattern.compile("0000( +[0-9A-Fa-f][0-9A-Fa-f][0-9A-Fa-f][0-9A-Fa-f])+");
-        return pattern.matcher(code).find();
+        return HEX_CODE_PATTERN.matcher(code).find();
     }
 
     /*
@@ -433,10 +480,12 @@ public class GlobalCacheHandler extends BaseThingHandler {
 
     /**
      * The {@link CommandProcessor} class is responsible for handling communication with the GlobalCache
-     * device. It waits for requests to arrive on a queue. When a request arrives, it sends the command to the
-     * GlobalCache device, waits for a response from the device, parses the response, then responds to the caller by
-     * placing a message in a response queue. Device response time is typically well below 100 ms, hence the reason
-     * fgor a relatively low timeout when reading the response queue.
+     * device. It waits for requests to arrive on a queue. Serial requests are written to the serial port right away.
+     * Command requests are queued per module:connector and written to the command port as soon as the previous
+     * request for the same connector got a reply, so requests for different connectors are in flight at the same
+     * time. The {@link CommandReplyReader} matches the replies with the requests in flight and responds to the
+     * callers by placing a message in their response queue. Device response time is typically well below 100 ms,
+     * except for sendir, which completes when the IR code has been sent.
      *
      * @author Mark Hilbush - Initial contribution
      */
@@ -445,15 +494,21 @@ public class GlobalCacheHandler extends BaseThingHandler {
 
         private boolean terminate = false;
         private final String TERMINATE_COMMAND = "terminate";
+        private final String WAKE_UP_COMMAND = "wakeup";
 
         private final int SEND_QUEUE_MAX_DEPTH = 10;
         private final int SEND_QUEUE_TIMEOUT = 2000;
+        private final int REPLY_CHECK_INTERVAL = 100;
+        private final int REPLY_TIMEOUT = 3000;
 
         private ConnectionManager connectionManager;
+        private RequestPipeline requestPipeline;
+        private volatile String readError;
 
         public CommandProcessor() {
             super("GlobalCache Command Processor");
             sendQueue = new LinkedBlockingQueue<RequestMessage>(SEND_QUEUE_MAX_DEPTH);
+            requestPipeline = new RequestPipeline(SEND_QUEUE_MAX_DEPTH, REPLY_TIMEOUT);
             logger.debug("Processor for thing {} created request queue, depth={}", thingID(), SEND_QUEUE_MAX_DEPTH);
         }
 
@@ -469,6 +524,22 @@ public class GlobalCacheHandler extends BaseThingHandler {
             }
         }
 
+        /*
+         * Called by the reply reader when a reply was received, so that the next request for the connector is sent
+         */
+        public void wakeUp() {
+            // If the queue is full, the processor is busy anyway
+            sendQueue.offer(new RequestMessage(WAKE_UP_COMMAND, null, null, null));
+        }
+
+        /*
+         * Called by the reply reader when the command connection failed
+         */
+        public void readFailed(String errorMessage) {
+            readError = errorMessage;
+            wakeUp();
+        }
+
         @Override
         public void run() {
             logger.debug("Command processor STARTING for thing {} at IP {}", thingID(), getIP());
@@ -481,42 +552,31 @@ public class GlobalCacheHandler extends BaseThingHandler {
             try {
                 RequestMessage requestMessage;
                 while (!terminate) {
-                    requestMessage = sendQueue.poll(SEND_QUEUE_TIMEOUT, TimeUnit.MILLISECONDS);
+                    requestMessage = sendQueue.poll(
+                            requestPipeline.hasInFlight() ? REPLY_CHECK_INTERVAL : SEND_QUEUE_TIMEOUT,
+                            TimeUnit.MILLISECONDS);
                     if (requestMessage != null) {
                         if (requestMessage.getCommandName().equals(TERMINATE_COMMAND)) {
                             logger.debug("Processor for thing {} received terminate message", thingID());
                             break;
                         }
-
-                        String deviceReply;
-                        connectionManager.connect();
-                        if (connectionManager.isConnected()) {
-                            try {
-                                long startTime = System.currentTimeMillis();
-                                if (requestMessage.isCommand()) {
-                                    writeCommandToDevice(requestMessage);
-                                    deviceReply = readReplyFromDevice(requestMessage);
-                                } else {
-                                    writeSerialToDevice(requestMessage);
-                                    deviceReply = "successful";
-                                }
-                                long endTime = System.currentTimeMillis();
-                                logger.debug("Transaction '{}' for thing {} at {} took {} ms",
-                                        requestMessage.getCommandName(), thingID(), getIP(), endTime - startTime);
-
-                            } catch (IOException e) {
-                                logger.error("Comm error for thing {} at {}: {}", thingID(), getIP(), e.getMessage());
-                                deviceReply = "ERROR: " + e.getMessage();
-                                connectionManager.setCommError(deviceReply);
-                                connectionManager.disconnect();
-                            }
-                        } else {
-                            deviceReply = "ERROR: " + "No connection to device";
+                        if (!requestMessage.getCommandName().equals(WAKE_UP_COMMAND)) {
+                            processRequest(requestMessage);
                         }
+                    }
 
-                        logger.trace("Processor for thing {} queuing response message: {}", thingID(), deviceReply);
-                        requestMessage.getReceiveQueue().put(new ResponseMessage(deviceReply));
+                    String error = readError;
+                    if (error != null) {
+                        readError = null;
+                        commError(error);
                     }
+
+                    for (RequestMessage expiredMessage : requestPipeline.expire(System.currentTimeMillis())) {
+                        logger.debug("Transaction '{}' for thing {} at {} timed out", expiredMessage.getCommandName(),
+                                thingID(), getIP());
+                        respond(expiredMessage, "ERROR: " + "Timed out waiting for reply from device");
+                    }
+                    sendPipelinedRequests();
                 }
             } catch (InterruptedException e) {
                 logger.warn("Processor for thing {} was interrupted: {}", thingID(), e.getMessage());
@@ -526,9 +586,98 @@ public class GlobalCacheHandler extends BaseThingHandler {
             connectionManager.cancelConnectionMonitorJob();
             connectionManager.disconnect();
             connectionManager = null;
+            respondToAll(requestPipeline.clear(), "ERROR: " + "Command processor terminated");
             logger.debug("Command processor TERMINATING for thing {} at IP {}", thingID(), getIP());
         }
 
+        private void processRequest(RequestMessage requestMessage) {
+            connectionManager.connect();
+            if (!connectionManager.isConnected()) {
+                respond(requestMessage, "ERROR: " + "No connection to device");
+                return;
+            }
+
+            if (requestMessage.isCommand()) {
+                if (!requestPipeline.offer(requestMessage)) {
+                    respond(requestMessage, "ERROR: " + "Request queue of connector is full");
+                }
+                return;
+            }
+
+            try {
+                long startTime = System.currentTimeMillis();
+                writeSerialToDevice(requestMessage);
+                long endTime = System.currentTimeMillis();
+                logger.debug("Transaction '{}' for thing {} at {} took {} ms", requestMessage.getCommandName(),
+                        thingID(), getIP(), endTime - startTime);
+                respond(requestMessage, "successful");
+            } catch (IOException e) {
+                respond(requestMessage, "ERROR: " + e.getMessage());
+                commError(e.getMessage());
+            }
+        }
+
+        /*
+         * Write the next request of every idle connector to the device
+         */
+        private void sendPipelinedRequests() {
+            if (!connectionManager.isConnected()) {
+                return;
+            }
+            List<RequestMessage> requestMessages = requestPipeline.takeSendable(System.currentTimeMillis());
+            for (RequestMessage requestMessage : requestMessages) {
+                try {
+                    writeCommandToDevice(requestMessage);
+                } catch (IOException e) {
+                    commError(e.getMessage());
+                    return;
+                }
+            }
+            if (!requestMessages.isEmpty()) {
+                logger.trace("Processor for thing {} has {} requests in flight", thingID(),
+                        requestPipeline.getInFlightCount());
+            }
+        }
+
+        /*
+         * Respond to the caller waiting for the reply to a request
+         */
+        private void respond(RequestMessage requestMessage, String deviceReply) {
+            logger.trace("Processor for thing {} queuing response message: {}", thingID(), deviceReply);
+            // The caller may have stopped waiting, so don't block on its response queue
+            requestMessage.getReceiveQueue().offer(new ResponseMessage(deviceReply));
+        }
+
+        private void respondToAll(List<RequestMessage> requestMessages, String deviceReply) {
+            for (RequestMessage requestMessage : requestMessages) {
+                respond(requestMessage, deviceReply);
+            }
+        }
+
+        private void commError(String errorMessage) {
+            logger.error("Comm error for thing {} at {}: {}", thingID(), getIP(), errorMessage);
+            String deviceReply = "ERROR: " + errorMessage;
+            connectionManager.setCommError(deviceReply);
+            connectionManager.disconnect();
+            respondToAll(requestPipeline.clear(), deviceReply);
+        }
+
+        /*
+         * Match a reply read from the command port with the request in flight
+         */
+        public void processReply(String deviceReply) {
+            RequestMessage requestMessage = requestPipeline.complete(deviceReply);
+            if (requestMessage == null) {
+                logger.debug("Processor for thing {} dropping reply without matching request: {}", thingID(),
+                        deviceReply);
+                return;
+            }
+            logger.debug("Transaction '{}' for thing {} at {} took {} ms", requestMessage.getCommandName(), thingID(),
+                    getIP(), System.currentTimeMillis() - requestMessage.getSentTime());
+            respond(requestMessage, deviceReply);
+            wakeUp();
+        }
+
         /*
          * Write the command to the device.
          */
@@ -545,21 +694,6 @@ public class GlobalCacheHandler extends BaseThingHandler {
             connectionManager.getCommandOut().flush();
         }
 
-        /*
-         * Read command reply from the device, then remove the CR at the end of the line.
-         */
-        private String readReplyFromDevice(RequestMessage requestMessage) throws IOException {
-            logger.trace("Processor for thing {} reading reply from device", thingID());
-
-            if (connectionManager.getCommandIn() == null) {
-                logger.debug("Error reading from device because input stream object is null");
-                return "ERROR: BufferedReader is null!";
-            }
-
-            logger.trace("Processor for thing {} reading response from device", thingID());
-            return connectionManager.getCommandIn().readLine().trim();
-        }
-
         /*
          * Write a serial command to the device
          */
@@ -591,6 +725,7 @@ public class GlobalCacheHandler extends BaseThingHandler {
         private DeviceConnection serialPort1Connection;
         private DeviceConnection serialPort2Connection;
 
+        private CommandReplyReader commandReplyReader;
         private SerialPortReader serialReaderPort1;
         private SerialPortReader serialReaderPort2;
 
@@ -673,6 +808,7 @@ public class GlobalCacheHandler extends BaseThingHandler {
              */
             markThingOnline();
             deviceIsConnected = true;
+            startCommandReplyReader();
             startSerialPortReaders();
         }
 
@@ -749,6 +885,7 @@ public class GlobalCacheHandler extends BaseThingHandler {
             if (!isConnected()) {
                 return;
             }
+            stopCommandReplyReader();
             commandDisconnect(commandConnection);
 
             stopSerialPortReaders();
@@ -884,6 +1021,20 @@ public class GlobalCacheHandler extends BaseThingHandler {
             }
         }
 
+        private void startCommandReplyReader() {
+            commandReplyReader = new CommandReplyReader(getCommandIn());
+            commandReplyReader.start();
+        }
+
+        private void stopCommandReplyReader() {
+            if (commandReplyReader != null) {
+                logger.debug("Stopping command reply reader for thing {} at IP {}", thingID(),
+                        commandConnection.getIP());
+                commandReplyReader.stop();
+                commandReplyReader = null;
+            }
+        }
+
         private void startSerialPortReaders() {
             if (deviceSupportsSerialPort1()) {
                 serialReaderPort1 = startSerialPortReader(CommandType.SERIAL1, CONFIG_ENABLE_TWO_WAY_PORT_1,
@@ -942,6 +1093,66 @@ public class GlobalCacheHandler extends BaseThingHandler {
         }
     }
 
+    /*
+     * The {@link CommandReplyReader} class reads the replies from the command connection. Each reply is passed to
+     * the command processor, which matches it with the request in flight.
+     *
+     * @author Mark Hilbush - Initial contribution
+     */
+    private class CommandReplyReader {
+        private Logger logger = LoggerFactory.getLogger(CommandReplyReader.class);
+
+        private BufferedReader commandIn;
+        private ScheduledFuture<?> commandReplyReaderJob;
+        private volatile boolean terminateCommandReplyReader;
+
+        CommandReplyReader(BufferedReader commandIn) {
+            if (commandIn == null) {
+                throw new IllegalArgumentException("Command input stream is not set");
+            }
+            this.commandIn = commandIn;
+            commandReplyReaderJob = null;
+            terminateCommandReplyReader = false;
+        }
+
+        public void start() {
+            commandReplyReaderJob = scheduledExecutorService.schedule(this::commandReplyReader, 0, TimeUnit.SECONDS);
+        }
+
+        public void stop() {
+            // The reader leaves its loop when the socket is closed
+            terminateCommandReplyReader = true;
+            if (commandReplyReaderJob != null) {
+                commandReplyReaderJob.cancel(true);
+                commandReplyReaderJob = null;
+            }
+        }
+
+        private void commandReplyReader() {
+            logger.debug("Command reply reader RUNNING for {} on {}", thingID(), getIP());
+
+            try {
+                while (!terminateCommandReplyReader) {
+                    String deviceReply = commandIn.readLine();
+                    if (deviceReply == null) {
+                        throw new IOException("Unexpected end of stream");
+                    }
+                    deviceReply = deviceReply.trim();
+                    if (!deviceReply.isEmpty()) {
+                        logger.trace("Command reply reader for thing {} received reply: {}", thingID(), deviceReply);
+                        commandProcessor.processReply(deviceReply);
+                    }
+                }
+            } catch (IOException e) {
+                if (!terminateCommandReplyReader) {
+                    logger.debug("Command reply reader got IOException: {}", e.getMessage());
+                    commandProcessor.readFailed(e.getMessage());
+                }
+            }
+            logger.debug("Command reply reader STOPPING for {} on {}", thingID(), getIP());
+        }
+    }
+
     /*
      * The {@link SerialReader} class reads data from the serial connection. When data is
      * received, the receive channel is updated with the data. Data is read up to the
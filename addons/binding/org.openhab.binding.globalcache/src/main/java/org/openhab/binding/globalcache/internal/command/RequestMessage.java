@@ -23,6 +23,7 @@ public class RequestMessage {
     private String deviceCommand;
     private CommandType commandType;
     private String commandName;
+    private long sentTime;
 
     public RequestMessage(String commandName, CommandType commandType, String deviceCommand,
             LinkedBlockingQueue<ResponseMessage> rcvQueue) {
@@ -60,6 +61,14 @@ public class RequestMessage {
         return commandType == CommandType.SERIAL2;
     }
 
+    public long getSentTime() {
+        return sentTime;
+    }
+
+    public void setSentTime(long sentTime) {
+        this.sentTime = sentTime;
+    }
+
     public LinkedBlockingQueue<ResponseMessage> getReceiveQueue() {
         return rcvQueue;
     }
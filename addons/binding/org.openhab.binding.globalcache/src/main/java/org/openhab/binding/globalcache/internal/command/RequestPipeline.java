@@ -0,0 +1,205 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.globalcache.internal.command;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@link RequestPipeline} class keeps a queue of requests for each module:connector of a GlobalCache device.
+ * Requests for different connectors are written to the command port without waiting for the reply to the previous
+ * request, so that e.g. IR commands on different emitters are sent concurrently. Requests for the same connector are
+ * sent one at a time. A reply is matched with the request in flight for the connector named in the reply. The
+ * completeir reply to a sendir is also matched on the IR transaction ID.
+ *
+ * Requests without a connector (e.g. getversion) are sent only when no other request is in flight, because their
+ * replies don't name a connector. They keep their place in the order of the requests: requests queued before them are
+ * sent first, requests queued after them wait for their reply. Other replies without a connector (e.g. Flex and GC-100 error replies) are matched
+ * with the most recently sent request, since these errors are reported as soon as the command is received.
+ *
+ * @author agent - Initial contribution
+ */
+public class RequestPipeline {
+    private static final String NO_CONNECTOR = "";
+
+    private final int maxQueueDepth;
+    private final long replyTimeout;
+
+    private final Map<String, Deque<QueuedRequest>> requestQueues = new LinkedHashMap<>();
+    private long sequence;
+
+    // Requests in flight by connector, in the order they were sent
+    private final LinkedHashMap<String, RequestMessage> inFlight = new LinkedHashMap<>();
+
+    public RequestPipeline(int maxQueueDepth, long replyTimeout) {
+        this.maxQueueDepth = maxQueueDepth;
+        this.replyTimeout = replyTimeout;
+    }
+
+    /*
+     * Queue a request for its connector. Returns false if the queue of the connector is full.
+     */
+    public synchronized boolean offer(RequestMessage requestMessage) {
+        Deque<QueuedRequest> queue = requestQueues.computeIfAbsent(
+                getConnector(requestMessage.getDeviceCommand()), k -> new ArrayDeque<>());
+        if (queue.size() >= maxQueueDepth) {
+            return false;
+        }
+        queue.add(new QueuedRequest(sequence++, requestMessage));
+        return true;
+    }
+
+    /*
+     * Take the requests that can be written to the device now, i.e. the next request of every connector
+     * that has no request in flight.
+     */
+    public synchronized List<RequestMessage> takeSendable(long now) {
+        List<RequestMessage> sendable = new ArrayList<>();
+        if (inFlight.containsKey(NO_CONNECTOR)) {
+            return sendable;
+        }
+
+        // Requests queued after the next request without a connector wait for it
+        Deque<QueuedRequest> exclusiveQueue = requestQueues.get(NO_CONNECTOR);
+        QueuedRequest exclusive = exclusiveQueue == null ? null : exclusiveQueue.peek();
+        boolean earlierQueued = false;
+
+        for (Map.Entry<String, Deque<QueuedRequest>> entry : requestQueues.entrySet()) {
+            QueuedRequest next = entry.getValue().peek();
+            if (next == null || entry.getKey().equals(NO_CONNECTOR)
+                    || (exclusive != null && next.sequence > exclusive.sequence)) {
+                continue;
+            }
+            if (inFlight.containsKey(entry.getKey())) {
+                earlierQueued = true;
+            } else {
+                sendable.add(send(entry.getKey(), entry.getValue().poll().message, now));
+            }
+        }
+
+        if (exclusive != null && sendable.isEmpty() && !earlierQueued && inFlight.isEmpty()) {
+            // All earlier requests are answered, send the request on its own
+            sendable.add(send(NO_CONNECTOR, exclusiveQueue.poll().message, now));
+        }
+        return sendable;
+    }
+
+    private RequestMessage send(String connector, RequestMessage requestMessage, long now) {
+        requestMessage.setSentTime(now);
+        inFlight.put(connector, requestMessage);
+        return requestMessage;
+    }
+
+    /*
+     * Match a reply from the device with the request in flight. Returns null if no request matches the reply,
+     * e.g. when the reply arrives after the request timed out.
+     */
+    public synchronized RequestMessage complete(String reply) {
+        String connector = getConnector(reply);
+        RequestMessage requestMessage;
+        if (inFlight.containsKey(connector)) {
+            requestMessage = inFlight.get(connector);
+        } else if (inFlight.containsKey(NO_CONNECTOR)) {
+            connector = NO_CONNECTOR;
+            requestMessage = inFlight.get(connector);
+        } else if (connector.equals(NO_CONNECTOR) && !inFlight.isEmpty()) {
+            // Most recently sent request
+            Map.Entry<String, RequestMessage> last = null;
+            for (Map.Entry<String, RequestMessage> entry : inFlight.entrySet()) {
+                last = entry;
+            }
+            connector = last.getKey();
+            requestMessage = last.getValue();
+        } else {
+            return null;
+        }
+
+        if ((reply.startsWith("completeir") || reply.startsWith("busyIR"))
+                && requestMessage.getDeviceCommand().startsWith("sendir")
+                && !getField(reply, 2).equals(getField(requestMessage.getDeviceCommand(), 2))) {
+            // Completion of an earlier sendir on this connector
+            return null;
+        }
+        inFlight.remove(connector);
+        return requestMessage;
+    }
+
+    /*
+     * Remove the requests in flight for which no reply was received in time.
+     */
+    public synchronized List<RequestMessage> expire(long now) {
+        List<RequestMessage> expired = new ArrayList<>();
+        for (Iterator<RequestMessage> it = inFlight.values().iterator(); it.hasNext();) {
+            RequestMessage requestMessage = it.next();
+            if (now - requestMessage.getSentTime() >= replyTimeout) {
+                expired.add(requestMessage);
+                it.remove();
+            }
+        }
+        return expired;
+    }
+
+    /*
+     * Remove all requests, e.g. after the connection to the device was lost.
+     */
+    public synchronized List<RequestMessage> clear() {
+        List<RequestMessage> removed = new ArrayList<>(inFlight.values());
+        inFlight.clear();
+        for (Deque<QueuedRequest> queue : requestQueues.values()) {
+            for (QueuedRequest queuedRequest : queue) {
+                removed.add(queuedRequest.message);
+            }
+        }
+        requestQueues.clear();
+        return removed;
+    }
+
+    public synchronized boolean hasInFlight() {
+        return !inFlight.isEmpty();
+    }
+
+    public synchronized int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /*
+     * Get the module:connector from a command or reply, e.g. 1:2 from sendir,1:2,... or ERR_1:2,014
+     */
+    static String getConnector(String line) {
+        String field = line.startsWith("ERR_") ? getField(line.substring(4), 0) : getField(line, 1);
+        return field.indexOf(':') > 0 ? field : NO_CONNECTOR;
+    }
+
+    private static String getField(String line, int index) {
+        int start = 0;
+        for (int i = 0; i < index; i++) {
+            start = line.indexOf(',', start) + 1;
+            if (start == 0) {
+                return "";
+            }
+        }
+        int end = line.indexOf(',', start);
+        return (end < 0 ? line.substring(start) : line.substring(start, end)).trim();
+    }
+
+    private static class QueuedRequest {
+        private final long sequence;
+        private final RequestMessage message;
+
+        private QueuedRequest(long sequence, RequestMessage message) {
+            this.sequence = sequence;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.jeelink.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests cases for {@link DoubleRingBuffer}.
+ *
+ * @author agent - Initial contribution
+ */
+public class DoubleRingBufferTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test
+    public void emptyTest() {
+        DoubleRingBuffer buffer = new DoubleRingBuffer(3);
+
+        assertTrue(buffer.isEmpty());
+        assertEquals(0, buffer.size());
+        assertEquals(3, buffer.capacity());
+        assertTrue(Double.isNaN(buffer.getAverage()));
+        assertTrue(Double.isNaN(buffer.getMin()));
+        assertTrue(Double.isNaN(buffer.getMax()));
+    }
+
+    @Test
+    public void partiallyFilledTest() {
+        DoubleRingBuffer buffer = new DoubleRingBuffer(4);
+        buffer.add(2);
+        buffer.add(-1);
+        buffer.add(5);
+
+        assertEquals(3, buffer.size());
+        assertEquals(6, buffer.getSum(), DELTA);
+        assertEquals(2, buffer.getAverage(), DELTA);
+        assertEquals(-1, buffer.getMin(), DELTA);
+        assertEquals(5, buffer.getMax(), DELTA);
+    }
+
+    @Test
+    public void wrapAroundTest() {
+        DoubleRingBuffer buffer = new DoubleRingBuffer(3);
+        for (double value : new double[] { 1, 9, 5, 3, 4 }) {
+            buffer.add(value);
+        }
+
+        // the window holds 5, 3 and 4, minimum 1 and maximum 9 are gone
+        assertEquals(3, buffer.size());
+        assertEquals(12, buffer.getSum(), DELTA);
+        assertEquals(4, buffer.getAverage(), DELTA);
+        assertEquals(3, buffer.getMin(), DELTA);
+        assertEquals(5, buffer.getMax(), DELTA);
+
+        buffer.add(7);
+        assertEquals(14.0 / 3, buffer.getAverage(), DELTA);
+        assertEquals(3, buffer.getMin(), DELTA);
+        assertEquals(7, buffer.getMax(), DELTA);
+    }
+
+    @Test
+    public void capacityOneTest() {
+        DoubleRingBuffer buffer = new DoubleRingBuffer(1);
+        buffer.add(3);
+        buffer.add(8);
+
+        assertEquals(1, buffer.size());
+        assertEquals(8, buffer.getAverage(), DELTA);
+        assertEquals(8, buffer.getMin(), DELTA);
+        assertEquals(8, buffer.getMax(), DELTA);
+    }
+
+    @Test
+    public void equalValuesTest() {
+        DoubleRingBuffer buffer = new DoubleRingBuffer(2);
+        buffer.add(4);
+        buffer.add(4);
+        buffer.add(4);
+
+        assertEquals(4, buffer.getMin(), DELTA);
+        assertEquals(4, buffer.getMax(), DELTA);
+        buffer.add(6);
+        assertEquals(4, buffer.getMin(), DELTA);
+        assertEquals(5, buffer.getAverage(), DELTA);
+    }
+
+    @Test
+    public void slidingWindowTest() {
+        int capacity = 7;
+        DoubleRingBuffer buffer = new DoubleRingBuffer(capacity);
+        double[] values = new double[100];
+        Random random = new Random(42);
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(200) / 10.0 - 10;
+            buffer.add(values[i]);
+
+            double sum = 0;
+            double min = Double.POSITIVE_INFINITY;
+            double max = Double.NEGATIVE_INFINITY;
+            int size = Math.min(i + 1, capacity);
+            for (int j = i - size + 1; j <= i; j++) {
+                sum += values[j];
+                min = Math.min(min, values[j]);
+                max = Math.max(max, values[j]);
+            }
+            assertEquals(size, buffer.size());
+            assertEquals(sum / size, buffer.getAverage(), DELTA);
+            assertEquals(min, buffer.getMin(), DELTA);
+            assertEquals(max, buffer.getMax(), DELTA);
+        }
+    }
+
+    @Test
+    public void clearTest() {
+        DoubleRingBuffer buffer = new DoubleRingBuffer(2);
+        buffer.add(1);
+        buffer.add(2);
+        buffer.add(3);
+        buffer.clear();
+
+        assertTrue(buffer.isEmpty());
+        assertTrue(Double.isNaN(buffer.getMin()));
+
+        buffer.add(10);
+        assertEquals(1, buffer.size());
+        assertEquals(10, buffer.getAverage(), DELTA);
+        assertEquals(10, buffer.getMin(), DELTA);
+        assertEquals(10, buffer.getMax(), DELTA);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidCapacityTest() {
+        new DoubleRingBuffer(0);
+    }
+}
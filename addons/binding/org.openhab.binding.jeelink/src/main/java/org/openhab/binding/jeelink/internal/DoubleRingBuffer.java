@@ -0,0 +1,140 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.jeelink.internal;
+
+/**
+ * Fixed size window of the last values added, stored in a primitive ring buffer.
+ *
+ * Sum and average are updated incrementally. Minimum and maximum are kept in monotonic queues of candidate values, so
+ * that every operation takes amortized constant time and adding a value allocates nothing.
+ *
+ * @author agent - Initial contribution
+ */
+public class DoubleRingBuffer {
+    private final double[] values;
+
+    // Sequence numbers of the values that can still become minimum or maximum, oldest first
+    private final long[] minCandidates;
+    private final long[] maxCandidates;
+    private int minHead;
+    private int minCount;
+    private int maxHead;
+    private int maxCount;
+
+    private long added;
+    private int size;
+    private double sum;
+
+    public DoubleRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1: " + capacity);
+        }
+        values = new double[capacity];
+        minCandidates = new long[capacity];
+        maxCandidates = new long[capacity];
+    }
+
+    public void add(double value) {
+        int capacity = values.length;
+        int index = (int) (added % capacity);
+
+        if (size == capacity) {
+            sum -= values[index];
+        } else {
+            size++;
+        }
+        values[index] = value;
+
+        // Recompute the sum once per round to get rid of accumulated rounding errors
+        if (index == capacity - 1) {
+            sum = 0;
+            for (int i = 0; i < size; i++) {
+                sum += values[i];
+            }
+        } else {
+            sum += value;
+        }
+
+        long oldest = added - capacity + 1;
+        if (minCount > 0 && minCandidates[minHead] < oldest) {
+            minHead = (minHead + 1) % capacity;
+            minCount--;
+        }
+        while (minCount > 0 && values[slot(minCandidates[last(minHead, minCount)])] >= value) {
+            minCount--;
+        }
+        minCandidates[(minHead + minCount++) % capacity] = added;
+
+        if (maxCount > 0 && maxCandidates[maxHead] < oldest) {
+            maxHead = (maxHead + 1) % capacity;
+            maxCount--;
+        }
+        while (maxCount > 0 && values[slot(maxCandidates[last(maxHead, maxCount)])] <= value) {
+            maxCount--;
+        }
+        maxCandidates[(maxHead + maxCount++) % capacity] = added;
+
+        added++;
+    }
+
+    private int slot(long sequenceNumber) {
+        return (int) (sequenceNumber % values.length);
+    }
+
+    private int last(int head, int count) {
+        return (head + count - 1) % values.length;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return values.length;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public double getSum() {
+        return sum;
+    }
+
+    /**
+     * @return the average of the values in the window, NaN if empty
+     */
+    public double getAverage() {
+        return size == 0 ? Double.NaN : sum / size;
+    }
+
+    /**
+     * @return the smallest value in the window, NaN if empty
+     */
+    public double getMin() {
+        return minCount == 0 ? Double.NaN : values[slot(minCandidates[minHead])];
+    }
+
+    /**
+     * @return the largest value in the window, NaN if empty
+     */
+    public double getMax() {
+        return maxCount == 0 ? Double.NaN : values[slot(maxCandidates[maxHead])];
+    }
+
+    public void clear() {
+        added = 0;
+        size = 0;
+        sum = 0;
+        minHead = 0;
+        minCount = 0;
+        maxHead = 0;
+        maxCount = 0;
+    }
+}
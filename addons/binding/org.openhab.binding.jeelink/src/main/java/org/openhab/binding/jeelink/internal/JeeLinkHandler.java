@@ -50,7 +50,6 @@ public class JeeLinkHandler extends BaseBridgeHandler implements BridgeHandler,
     private final AtomicReference<ReadingHandler<Reading>> discoveryHandler = new AtomicReference<>();
 
     private AtomicBoolean connectionInitialized = new AtomicBoolean(false);
-    private ScheduledFuture<?> connectJob;
     private ScheduledFuture<?> initJob;
 
     public JeeLinkHandler(Bridge bridge) {
@@ -62,7 +61,7 @@ public class JeeLinkHandler extends BaseBridgeHandler implements BridgeHandler,
         JeeLinkConfig cfg = getConfig().as(JeeLinkConfig.class);
 
         try {
-            connection = AbstractJeeLinkConnection.createFor(cfg, scheduler, this);
+            connection = AbstractJeeLinkConnection.createFor(cfg, this);
             connection.openConnection();
         } catch (java.net.ConnectException e) {
             updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR, e.getMessage());
@@ -75,12 +74,6 @@ public class JeeLinkHandler extends BaseBridgeHandler implements BridgeHandler,
 
         updateStatus(ThingStatus.ONLINE);
 
-        if (connectJob != null) {
-            logger.debug("Connection to port {} established. Reconnect cancelled.", connection.getPort());
-            connectJob.cancel(true);
-            connectJob = null;
-        }
-
         JeeLinkConfig cfg = getConfig().as(JeeLinkConfig.class);
         initJob = scheduler.schedule(() -> {
             intializeConnection();
@@ -110,9 +103,7 @@ public class JeeLinkHandler extends BaseBridgeHandler implements BridgeHandler,
         }
         connectionInitialized.set(false);
 
-        connectJob = scheduler.schedule(() -> {
-            connection.openConnection();
-        }, 10, TimeUnit.SECONDS);
+        // the connection reconnects on its own
         logger.debug("Connection to port {} aborted ({}). Reconnect scheduled.", connection.getPort(), cause);
     }
 
@@ -209,11 +200,6 @@ public class JeeLinkHandler extends BaseBridgeHandler implements BridgeHandler,
 
     @Override
     public void dispose() {
-        if (connectJob != null) {
-            connectJob.cancel(true);
-            connectJob = null;
-        }
-
         if (connection != null) {
             connection.closeConnection();
         }
@@ -16,6 +16,9 @@ import java.util.concurrent.TimeUnit;
  * Computes a rolling average of readings that is passed on to the next publisher
  * after a given time frame.
  *
+ * The average is only passed on if a reading was received during the time frame. With a buffer size of 1 the last
+ * reading is passed on, which limits the update rate of the channels without averaging.
+ *
  * @author Volker Bier - Initial contribution
  */
 public abstract class RollingAveragePublisher<R extends Reading> implements ReadingPublisher<R> {
@@ -28,8 +31,8 @@ public abstract class RollingAveragePublisher<R extends Reading> implements Read
             ScheduledExecutorService execService) {
         publisher = p;
 
+        rollingAvg = createRollingReadingAverage(Math.max(1, bufferSize));
         valueUpdateJob = createUpdateJob(execService, interval);
-        rollingAvg = createRollingReadingAverage(bufferSize);
     }
 
     public abstract RollingReadingAverage<R> createRollingReadingAverage(int bufferSize);
@@ -51,7 +54,10 @@ public abstract class RollingAveragePublisher<R extends Reading> implements Read
 
     private ScheduledFuture<?> createUpdateJob(ScheduledExecutorService execService, final int updateInterval) {
         return execService.scheduleWithFixedDelay(() -> {
-            publisher.publish(rollingAvg.getAverage());
+            R average = rollingAvg.getUpdatedAverage();
+            if (average != null) {
+                publisher.publish(average);
+            }
         }, updateInterval, updateInterval, TimeUnit.SECONDS);
     }
 }
@@ -11,48 +11,47 @@ package org.openhab.binding.jeelink.internal;
 /**
  * Computes a rolling average of readings.
  *
+ * The averaged values of the readings are kept in primitive {@link DoubleRingBuffer}s, so adding a reading allocates
+ * nothing. A reading object is only created when the average is requested. Values that are not averaged are taken
+ * from the last reading.
+ *
  * @author Volker Bier - Initial contribution
  */
 public abstract class RollingReadingAverage<R extends Reading> {
-    private int size = 0;
-    private int maxSize;
-    private R total = null;
-    private int index = 0;
-    private R[] samples;
+    private R lastReading;
+    private boolean updated;
 
-    public RollingReadingAverage(R[] array) {
-        maxSize = array.length;
-        samples = array;
+    public synchronized void add(R reading) {
+        addValues(reading);
+        lastReading = reading;
+        updated = true;
     }
 
-    public void add(R reading) {
-        if (size < maxSize) {
-            size++;
-        }
-
-        if (total == null) {
-            total = reading;
-        } else {
-            total = add(total, reading);
-            total = substract(total, samples[index]);
-        }
-
-        samples[index] = reading;
-        if (++index == maxSize) {
-            index = 0;
+    public synchronized R getAverage() {
+        if (lastReading == null) {
+            return null;
         }
+        return createAverage(lastReading);
     }
 
-    public R getAverage() {
-        if (total == null) {
+    /**
+     * Returns the average if a reading was added since the last call, null otherwise.
+     */
+    public synchronized R getUpdatedAverage() {
+        if (!updated) {
             return null;
         }
-        return divide(total, size);
+        updated = false;
+        return getAverage();
     }
 
-    protected abstract R add(R value1, R value2);
-
-    protected abstract R substract(R from, R value);
+    /**
+     * Adds the values to average of the given reading to the ring buffers.
+     */
+    protected abstract void addValues(R reading);
 
-    protected abstract R divide(R value, int count);
+    /**
+     * Creates a reading with the averaged values and the other values of the last reading.
+     */
+    protected abstract R createAverage(R lastReading);
 }
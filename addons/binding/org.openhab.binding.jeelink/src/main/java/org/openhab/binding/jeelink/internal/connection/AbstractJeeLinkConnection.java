@@ -9,15 +9,20 @@
 package org.openhab.binding.jeelink.internal.connection;
 
 import java.io.IOException;
-import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.net.ConnectException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.openhab.binding.jeelink.internal.JeeLinkHandler;
 import org.openhab.binding.jeelink.internal.config.JeeLinkConfig;
+import org.openhab.io.transport.connector.AbstractConnector;
+import org.openhab.io.transport.connector.Backoff;
+import org.openhab.io.transport.connector.Connector;
+import org.openhab.io.transport.connector.ConnectorListener;
+import org.openhab.io.transport.connector.DelimiterFrameDecoder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,9 +30,16 @@ import org.slf4j.LoggerFactory;
  * Abstract base class for a connection to a JeeLink.
  * Manages ReadingListeners, finds out the sketch name and allows to propagate read lines.
  *
+ * The lines are read by a {@link Connector} of the shared connector transport, which also reconnects after the
+ * connection was aborted.
+ *
  * @author Volker Bier - Initial contribution
  */
-public abstract class AbstractJeeLinkConnection implements JeeLinkConnection {
+public abstract class AbstractJeeLinkConnection implements JeeLinkConnection, ConnectorListener {
+    private static final int MAX_LINE_LENGTH = 1024;
+    private static final long INITIAL_RECONNECT_DELAY = 10;
+    private static final long MAX_RECONNECT_DELAY = 120;
+
     private final Logger logger = LoggerFactory.getLogger(AbstractJeeLinkConnection.class);
 
     protected final ConnectionListener connectionListener;
@@ -48,9 +60,51 @@ public abstract class AbstractJeeLinkConnection implements JeeLinkConnection {
     }
 
     /**
-     * returns the stream that can be used to write the init commands to the receiver.
+     * returns the connector that reads from and writes to the receiver.
+     */
+    protected abstract Connector getConnector();
+
+    /**
+     * returns the frame decoder that cuts the received data into lines.
+     */
+    protected static DelimiterFrameDecoder createLineDecoder() {
+        return DelimiterFrameDecoder.lines(MAX_LINE_LENGTH);
+    }
+
+    /**
+     * configures the reconnection of a connector created by a subclass.
      */
-    protected abstract OutputStream getInitStream() throws IOException;
+    protected static <T extends AbstractConnector> T withReconnect(T connector) {
+        connector.setReconnectBackoff(new Backoff(INITIAL_RECONNECT_DELAY, MAX_RECONNECT_DELAY, TimeUnit.SECONDS));
+        return connector;
+    }
+
+    @Override
+    public synchronized void openConnection() {
+        Connector connector = getConnector();
+        if (connector.isConnected()) {
+            logger.debug("Connection to port {} is already open!", port);
+            return;
+        }
+
+        try {
+            connector.open();
+        } catch (IOException ex) {
+            notifyAbort(ex.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void closeConnection() {
+        Connector connector = getConnector();
+        boolean open = connector.isConnected();
+        connector.close();
+
+        if (open) {
+            logger.debug("Closed connection to port {}: {}", port, connector.getMetrics());
+            notifyClosed();
+        }
+    }
 
     protected void notifyOpen() {
         connectionListener.connectionOpened();
@@ -65,7 +119,24 @@ public abstract class AbstractJeeLinkConnection implements JeeLinkConnection {
         initialized.set(false);
     }
 
-    public void propagateLine(String line) throws IOException {
+    @Override
+    public void connected() {
+        notifyOpen();
+    }
+
+    @Override
+    public void disconnected(String cause) {
+        notifyAbort(cause);
+    }
+
+    @Override
+    public void frameReceived(ByteBuffer frame) {
+        byte[] line = new byte[frame.remaining()];
+        frame.get(line);
+        propagateLine(new String(line, StandardCharsets.ISO_8859_1));
+    }
+
+    public void propagateLine(String line) {
         logger.trace("Read line from port {}: {}", port, line);
 
         connectionListener.handleInput(line);
@@ -81,35 +152,26 @@ public abstract class AbstractJeeLinkConnection implements JeeLinkConnection {
                     logger.debug("Writing to device on port {}: {} ", port, Arrays.toString(initCommands));
                 }
 
-                OutputStream initStream = getInitStream();
-                if (initStream == null) {
-                    throw new IOException(
-                            "Connection on port " + port + " did not provide an init stream for writing init commands");
-                }
-
-                // do not close the writer as this closes the underlying stream, and
-                // in case of tcp connections, the underlying socket
-                OutputStreamWriter w = new OutputStreamWriter(initStream);
+                StringBuilder b = new StringBuilder();
                 for (String cmd : initCommands) {
-                    w.write(cmd);
+                    b.append(cmd);
                 }
-                w.flush();
+
+                // the connector aborts the connection and reconnects if writing fails
+                getConnector().write(b.toString().getBytes(StandardCharsets.ISO_8859_1));
             }
         } catch (IOException ex) {
-            logger.debug("Error writing to output stream!", ex);
-            closeConnection();
-            notifyAbort("propagate: " + ex.getMessage());
+            logger.debug("Error writing to port {}!", port, ex);
         }
     }
 
-    public static JeeLinkConnection createFor(JeeLinkConfig config, ScheduledExecutorService scheduler,
-            JeeLinkHandler h) throws ConnectException {
+    public static JeeLinkConnection createFor(JeeLinkConfig config, JeeLinkHandler h) throws ConnectException {
         JeeLinkConnection connection;
 
         if (config.serialPort != null && config.baudRate != null) {
             connection = new JeeLinkSerialConnection(config.serialPort, config.baudRate, h);
         } else if (config.ipAddress != null && config.port != null) {
-            connection = new JeeLinkTcpConnection(config.ipAddress + ":" + config.port, scheduler, h);
+            connection = new JeeLinkTcpConnection(config.ipAddress + ":" + config.port, h);
         } else {
             throw new ConnectException("Connection configuration incomplete");
         }
@@ -8,6 +8,7 @@
  */
 package org.openhab.binding.jeelink.internal.lacrosse;
 
+import org.openhab.binding.jeelink.internal.DoubleRingBuffer;
 import org.openhab.binding.jeelink.internal.RollingReadingAverage;
 
 /**
@@ -16,40 +17,24 @@ import org.openhab.binding.jeelink.internal.RollingReadingAverage;
  * @author Volker Bier - Initial contribution
  */
 public class LaCrosseRollingReadingAverage extends RollingReadingAverage<LaCrosseTemperatureReading> {
-    public LaCrosseRollingReadingAverage(int bufferSize) {
-        super(new LaCrosseTemperatureReading[bufferSize]);
-    }
-
-    @Override
-    protected LaCrosseTemperatureReading add(LaCrosseTemperatureReading value1, LaCrosseTemperatureReading value2) {
-        if (value2 != null) {
-            return new LaCrosseTemperatureReading(value2.getSensorId(), value2.getSensorType(), value2.getChannel(),
-                    value1.getTemperature() + value2.getTemperature(), value1.getHumidity() + value2.getHumidity(),
-                    value2.isBatteryNew(), value2.isBatteryLow());
-        }
+    private final DoubleRingBuffer temperatures;
+    private final DoubleRingBuffer humidities;
 
-        return new LaCrosseTemperatureReading(value1.getSensorId(), value1.getSensorType(), value1.getChannel(),
-                value1.getTemperature(), value1.getHumidity(), value1.isBatteryNew(), value1.isBatteryLow());
+    public LaCrosseRollingReadingAverage(int bufferSize) {
+        temperatures = new DoubleRingBuffer(bufferSize);
+        humidities = new DoubleRingBuffer(bufferSize);
     }
 
     @Override
-    protected LaCrosseTemperatureReading substract(LaCrosseTemperatureReading from, LaCrosseTemperatureReading value) {
-        float newTemp = from.getTemperature();
-        int newHum = from.getHumidity();
-
-        if (value != null) {
-            newTemp -= value.getTemperature();
-            newHum -= value.getHumidity();
-        }
-
-        return new LaCrosseTemperatureReading(from.getSensorId(), from.getSensorType(), from.getChannel(), newTemp,
-                newHum, from.isBatteryNew(), from.isBatteryLow());
+    protected void addValues(LaCrosseTemperatureReading reading) {
+        temperatures.add(reading.getTemperature());
+        humidities.add(reading.getHumidity());
     }
 
     @Override
-    protected LaCrosseTemperatureReading divide(LaCrosseTemperatureReading value, int number) {
-        return new LaCrosseTemperatureReading(value.getSensorId(), value.getSensorType(), value.getChannel(),
-                value.getTemperature() / number, value.getHumidity() / number, value.isBatteryNew(),
-                value.isBatteryLow());
+    protected LaCrosseTemperatureReading createAverage(LaCrosseTemperatureReading lastReading) {
+        return new LaCrosseTemperatureReading(lastReading.getSensorId(), lastReading.getSensorType(),
+                lastReading.getChannel(), (float) temperatures.getAverage(), (int) humidities.getAverage(),
+                lastReading.isBatteryNew(), lastReading.isBatteryLow());
     }
 }
@@ -75,6 +75,11 @@ public class KodiHandler extends BaseThingHandler implements KodiEventListener {
 
     private final KodiDynamicStateDescriptionProvider stateDescriptionProvider;
 
+    /**
+     * Prevents that the steps of several notifications are interleaved
+     */
+    private final Object notificationLock = new Object();
+
     public KodiHandler(@NonNull Thing thing, KodiDynamicStateDescriptionProvider stateDescriptionProvider) {
         super(thing);
         connection = new KodiConnection(this);
@@ -330,77 +335,80 @@ public class KodiHandler extends BaseThingHandler implements KodiEventListener {
     /*
      * Play the notification by 1) saving the state of the player, 2) stopping the current
      * playlist item, 3) adding the notification as a new playlist item, 4) playing the new
-     * playlist item, and 5) restoring the player to its previous state.
+     * playlist item, and 5) restoring the player to its previous state. Concurrent notifications are played one after
+     * the other.
      */
     public void playNotificationSoundURI(StringType uri) {
-        // save the current state of the player
-        logger.trace("Saving current player state");
-        KodiPlayerState playerState = new KodiPlayerState();
-        playerState.setSavedVolume(connection.getVolume());
-        playerState.setPlaylistID(connection.getActivePlaylist());
-        playerState.setSavedState(connection.getState());
-
-        int audioPlaylistID = connection.getPlaylistID("audio");
-        int videoPlaylistID = connection.getPlaylistID("video");
-
-        // pause playback
-        if (KodiState.PLAY.equals(connection.getState())) {
-            // pause if current media is "audio" or "video", stop otherwise
-            if (audioPlaylistID == playerState.getSavedPlaylistID()
-                    || videoPlaylistID == playerState.getSavedPlaylistID()) {
-                connection.playerPlayPause();
-                waitForState(KodiState.PAUSE);
-            } else {
-                connection.playerStop();
-                waitForState(KodiState.STOP);
+        synchronized (notificationLock) {
+            // save the current state of the player
+            logger.trace("Saving current player state");
+            KodiPlayerState playerState = new KodiPlayerState();
+            playerState.setSavedVolume(connection.getVolume());
+            playerState.setPlaylistID(connection.getActivePlaylist());
+            playerState.setSavedState(connection.getState());
+
+            int audioPlaylistID = connection.getPlaylistID("audio");
+            int videoPlaylistID = connection.getPlaylistID("video");
+
+            // pause playback
+            if (KodiState.PLAY.equals(connection.getState())) {
+                // pause if current media is "audio" or "video", stop otherwise
+                if (audioPlaylistID == playerState.getSavedPlaylistID()
+                        || videoPlaylistID == playerState.getSavedPlaylistID()) {
+                    connection.playerPlayPause();
+                    waitForState(KodiState.PAUSE);
+                } else {
+                    connection.playerStop();
+                    waitForState(KodiState.STOP);
+                }
             }
-        }
 
-        // set notification sound volume
-        logger.trace("Setting up player for notification");
-        int notificationVolume = getNotificationSoundVolume().intValue();
-        connection.setVolume(notificationVolume);
-        waitForVolume(notificationVolume);
-
-        // add the notification uri to the playlist and play it
-        logger.trace("Playing notification");
-        connection.playlistInsert(audioPlaylistID, uri.toString(), 0);
-        waitForPlaylistState(KodiPlaylistState.ADDED);
-
-        connection.playlistPlay(audioPlaylistID, 0);
-        waitForState(KodiState.PLAY);
-        // wait for stop if previous playlist wasn't "audio"
-        if (audioPlaylistID != playerState.getSavedPlaylistID()) {
-            waitForState(KodiState.STOP);
-        }
+            // set notification sound volume
+            logger.trace("Setting up player for notification");
+            int notificationVolume = getNotificationSoundVolume().intValue();
+            connection.setVolume(notificationVolume);
+            waitForVolume(notificationVolume);
+
+            // add the notification uri to the playlist and play it
+            logger.trace("Playing notification");
+            connection.playlistInsert(audioPlaylistID, uri.toString(), 0);
+            waitForPlaylistState(KodiPlaylistState.ADDED);
+
+            connection.playlistPlay(audioPlaylistID, 0);
+            waitForState(KodiState.PLAY);
+            // wait for stop if previous playlist wasn't "audio"
+            if (audioPlaylistID != playerState.getSavedPlaylistID()) {
+                waitForState(KodiState.STOP);
+            }
 
-        // remove the notification uri from the playlist
-        connection.playlistRemove(audioPlaylistID, 0);
-        waitForPlaylistState(KodiPlaylistState.REMOVED);
+            // remove the notification uri from the playlist
+            connection.playlistRemove(audioPlaylistID, 0);
+            waitForPlaylistState(KodiPlaylistState.REMOVED);
 
-        // restore previous volume
-        connection.setVolume(playerState.getSavedVolume());
-        waitForVolume(playerState.getSavedVolume());
+            // restore previous volume
+            connection.setVolume(playerState.getSavedVolume());
+            waitForVolume(playerState.getSavedVolume());
 
-        // resume playing save playlist item if player wasn't stopped
-        logger.trace("Restoring player state");
-        switch (playerState.getSavedState()) {
-            case PLAY:
-                if (audioPlaylistID != playerState.getSavedPlaylistID() && -1 != playerState.getSavedPlaylistID()) {
-                    connection.playlistPlay(playerState.getSavedPlaylistID(), 0);
-                }
-                break;
-            case PAUSE:
-                if (audioPlaylistID == playerState.getSavedPlaylistID()) {
-                    connection.playerPlayPause();
-                }
-                break;
-            case STOP:
-            case END:
-            case FASTFORWARD:
-            case REWIND:
-                // nothing to do
-                break;
+            // resume playing save playlist item if player wasn't stopped
+            logger.trace("Restoring player state");
+            switch (playerState.getSavedState()) {
+                case PLAY:
+                    if (audioPlaylistID != playerState.getSavedPlaylistID() && -1 != playerState.getSavedPlaylistID()) {
+                        connection.playlistPlay(playerState.getSavedPlaylistID(), 0);
+                    }
+                    break;
+                case PAUSE:
+                    if (audioPlaylistID == playerState.getSavedPlaylistID()) {
+                        connection.playerPlayPause();
+                    }
+                    break;
+                case STOP:
+                case END:
+                case FASTFORWARD:
+                case REWIND:
+                    // nothing to do
+                    break;
+            }
         }
     }
 
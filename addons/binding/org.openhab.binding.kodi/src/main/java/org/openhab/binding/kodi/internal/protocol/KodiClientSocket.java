@@ -10,9 +10,19 @@ package org.openhab.binding.kodi.internal.protocol;
 
 import java.io.IOException;
 import java.net.URI;
-import java.util.concurrent.CountDownLatch;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.jetty.websocket.api.Session;
 import org.eclipse.jetty.websocket.api.annotations.OnWebSocketClose;
@@ -25,6 +35,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.google.gson.JsonParser;
@@ -33,6 +44,10 @@ import com.google.gson.JsonParser;
  * KodiClientSocket implements the low level communication to Kodi through
  * websocket. Usually this communication is done through port 9090
  *
+ * Several requests can be outstanding at the same time. They are tracked by their JSON-RPC id until the matching
+ * response arrives or the request times out, so a slow request does not block the others. The futures returned by
+ * the async methods are completed on the websocket thread, dependent stages must not block.
+ *
  * @author Paul Frank
  *
  */
@@ -43,16 +58,16 @@ public class KodiClientSocket {
     private final ScheduledExecutorService scheduler;
     private static final int REQUEST_TIMEOUT_MS = 60000;
 
-    private CountDownLatch commandLatch = null;
-    private JsonObject commandResponse = null;
-    private int nextMessageId = 1;
+    private final ConcurrentMap<Integer, CompletableFuture<JsonElement>> pendingRequests = new ConcurrentHashMap<>();
+    private final Object sendLock = new Object();
+    private final AtomicInteger nextMessageId = new AtomicInteger(1);
 
-    private boolean connected = false;
+    private volatile boolean connected = false;
 
     private final JsonParser parser = new JsonParser();
     private final Gson mapper = new Gson();
     private URI uri;
-    private Session session;
+    private volatile Session session;
     private WebSocketClient client;
 
     private final KodiClientSocketEventListener eventHandler;
@@ -101,6 +116,7 @@ public class KodiClientSocket {
         } catch (Exception e) {
             logger.debug("Exception during closing the websocket: {}", e.getMessage(), e);
         }
+        failPendingRequests();
     }
 
     public boolean isConnected() {
@@ -133,13 +149,19 @@ public class KodiClientSocket {
         @OnWebSocketMessage
         public void onMessage(String message) {
             logger.debug("Message received from server: {}", message);
-            final JsonObject json = parser.parse(message).getAsJsonObject();
-            if (json.has("id")) {
-                int messageId = json.get("id").getAsInt();
-                if (messageId == nextMessageId - 1) {
-                    commandResponse = json;
-                    commandLatch.countDown();
+            final JsonElement element = parser.parse(message);
+            if (element.isJsonArray()) {
+                // response to a batch request
+                for (JsonElement response : element.getAsJsonArray()) {
+                    if (response.isJsonObject()) {
+                        handleResponse(response.getAsJsonObject());
+                    }
                 }
+                return;
+            }
+            final JsonObject json = element.getAsJsonObject();
+            if (json.has("id")) {
+                handleResponse(json);
             } else {
                 logger.debug("Event received from server: {}", json);
                 if (eventHandler != null) {
@@ -160,6 +182,7 @@ public class KodiClientSocket {
             logger.debug("Closing a WebSocket due to {}", reason);
             session = null;
             connected = false;
+            failPendingRequests();
             if (eventHandler != null) {
                 scheduler.submit(() -> {
                     try {
@@ -172,52 +195,157 @@ public class KodiClientSocket {
         }
     }
 
-    private void sendMessage(String str) throws IOException {
-        if (isConnected()) {
-            logger.debug("send message: {}", str);
-            session.getRemote().sendString(str);
+    private void handleResponse(JsonObject response) {
+        JsonElement id = response.get("id");
+        if (id == null || !id.isJsonPrimitive()) {
+            logger.debug("Error received from server without request id: {}", response.get("error"));
+            return;
+        }
+        CompletableFuture<JsonElement> future = pendingRequests.remove(id.getAsInt());
+        if (future == null) {
+            logger.debug("Response received for unknown or timed out request {}", id);
+        } else if (response.has("result")) {
+            future.complete(response.get("result"));
         } else {
-            throw new IOException("socket not initialized");
+            logger.debug("Error received from server: {}", response.get("error"));
+            future.complete(null);
         }
     }
 
+    private void failPendingRequests() {
+        for (Integer id : new ArrayList<>(pendingRequests.keySet())) {
+            CompletableFuture<JsonElement> future = pendingRequests.remove(id);
+            if (future != null) {
+                future.completeExceptionally(new IOException("connection closed"));
+            }
+        }
+    }
+
+    /**
+     * Sends a message. The remote endpoint allows only one blocking send at a time, so concurrent callers are
+     * serialized here. The lock is only held while the message is written, not while waiting for the response.
+     */
+    private void sendMessage(String str) throws IOException {
+        synchronized (sendLock) {
+            Session localSession = session;
+            if (connected && localSession != null && localSession.isOpen()) {
+                logger.debug("send message: {}", str);
+                localSession.getRemote().sendString(str);
+            } else {
+                throw new IOException("socket not initialized");
+            }
+        }
+    }
+
+    /**
+     * Calls a method and waits for the result.
+     *
+     * @return the result or null if the call failed or timed out
+     */
     public JsonElement callMethod(String methodName) {
         return callMethod(methodName, null);
     }
 
-    public synchronized JsonElement callMethod(String methodName, JsonObject params) {
-        try {
+    /**
+     * Calls a method and waits for the result.
+     *
+     * @return the result or null if the call failed or timed out
+     */
+    public JsonElement callMethod(String methodName, JsonObject params) {
+        return getResult(callMethodAsync(methodName, params), methodName);
+    }
+
+    /**
+     * Calls several methods with a single batch request and waits for the results.
+     *
+     * @return the results in the order of the requests, null for the calls which failed or timed out
+     */
+    public List<JsonElement> callMethods(List<KodiRequest> requests) {
+        List<CompletableFuture<JsonElement>> futures = callMethodsAsync(requests);
+        List<JsonElement> results = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            results.add(getResult(futures.get(i), requests.get(i).getMethod()));
+        }
+        return results;
+    }
+
+    /**
+     * Calls a method without waiting for the result.
+     *
+     * @return a future completed with the result, with null if the server returned an error, or exceptionally if the
+     *         request could not be sent or timed out
+     */
+    public CompletableFuture<JsonElement> callMethodAsync(String methodName, JsonObject params) {
+        return callMethodsAsync(Collections.singletonList(new KodiRequest(methodName, params))).get(0);
+    }
+
+    /**
+     * Calls several methods with a single JSON-RPC batch request without waiting for the results.
+     *
+     * @return a future for every request, in the order of the requests
+     */
+    public List<CompletableFuture<JsonElement>> callMethodsAsync(List<KodiRequest> requests) {
+        List<Integer> ids = new ArrayList<>(requests.size());
+        List<CompletableFuture<JsonElement>> futures = new ArrayList<>(requests.size());
+        JsonArray batch = new JsonArray();
+        for (KodiRequest request : requests) {
+            int id = nextMessageId.getAndIncrement();
             JsonObject payloadObject = new JsonObject();
             payloadObject.addProperty("jsonrpc", "2.0");
-            payloadObject.addProperty("id", nextMessageId);
-            payloadObject.addProperty("method", methodName);
+            payloadObject.addProperty("id", id);
+            payloadObject.addProperty("method", request.getMethod());
 
-            if (params != null) {
-                payloadObject.add("params", params);
+            if (request.getParams() != null) {
+                payloadObject.add("params", request.getParams());
             }
 
-            String message = mapper.toJson(payloadObject);
-
-            commandLatch = new CountDownLatch(1);
-            commandResponse = null;
-            nextMessageId++;
-
-            sendMessage(message);
-            if (commandLatch.await(REQUEST_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
-                logger.debug("callMethod returns {}", commandResponse);
-                if (commandResponse.has("result")) {
-                    return commandResponse.get("result");
-                } else {
-                    JsonElement error = commandResponse.get("error");
-                    logger.debug("Error received from server: {}", error);
-                    return null;
+            batch.add(payloadObject);
+            ids.add(id);
+            futures.add(registerRequest(id, request));
+        }
+
+        try {
+            sendMessage(mapper.toJson(batch.size() == 1 ? batch.get(0) : batch));
+        } catch (IOException | RuntimeException e) {
+            logger.debug("Error during callMethod({}): {}", requests, e.getMessage(), e);
+            for (Integer id : ids) {
+                CompletableFuture<JsonElement> future = pendingRequests.remove(id);
+                if (future != null) {
+                    future.completeExceptionally(e);
                 }
-            } else {
-                logger.debug("Timeout during callMethod({}, {})", methodName, params);
-                return null;
             }
-        } catch (Exception e) {
-            logger.debug("Error during callMethod({}): {}", methodName, e.getMessage(), e);
+        }
+        return futures;
+    }
+
+    private CompletableFuture<JsonElement> registerRequest(int id, KodiRequest request) {
+        CompletableFuture<JsonElement> future = new CompletableFuture<>();
+        pendingRequests.put(id, future);
+        try {
+            ScheduledFuture<?> timeout = scheduler.schedule(() -> {
+                if (pendingRequests.remove(id, future)) {
+                    logger.debug("Timeout during callMethod({})", request);
+                    future.completeExceptionally(new TimeoutException("no response from Kodi"));
+                }
+            }, REQUEST_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            future.whenComplete((result, throwable) -> timeout.cancel(false));
+        } catch (RejectedExecutionException e) {
+            pendingRequests.remove(id);
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    private JsonElement getResult(CompletableFuture<JsonElement> future, String methodName) {
+        try {
+            JsonElement result = future.get();
+            logger.debug("callMethod({}) returns {}", methodName, result);
+            return result;
+        } catch (ExecutionException e) {
+            logger.debug("Error during callMethod({}): {}", methodName, e.getCause().getMessage());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
             return null;
         }
     }
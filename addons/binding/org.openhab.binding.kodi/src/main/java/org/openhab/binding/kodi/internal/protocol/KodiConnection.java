@@ -62,14 +62,19 @@ public class KodiConnection implements KodiClientSocketEventListener {
     private String hostname;
     private URI wsUri;
     private URI imageUri;
-    private KodiClientSocket socket;
+    private volatile KodiClientSocket socket;
 
-    private int volume = 0;
-    private KodiState currentState = KodiState.STOP;
-    private KodiPlaylistState currentPlaylistState = KodiPlaylistState.CLEAR;
+    private volatile int volume = 0;
+    private volatile KodiState currentState = KodiState.STOP;
+    private volatile KodiPlaylistState currentPlaylistState = KodiPlaylistState.CLEAR;
 
     private final KodiEventListener listener;
 
+    /**
+     * Keeps the playlist state in line with the order of the playlist calls
+     */
+    private final Object playlistLock = new Object();
+
     public KodiConnection(KodiEventListener listener) {
         this.listener = listener;
     }
@@ -113,15 +118,33 @@ public class KodiConnection implements KodiClientSocketEventListener {
     }
 
     public int getActivePlaylist() {
-        for (JsonElement element : getPlaylistsInternal()) {
+        JsonArray playlists = getPlaylistsInternal();
+        if (playlists == null) {
+            return -1;
+        }
+        // request the items of all playlists with a single batch request
+        List<Integer> playlistIDs = new ArrayList<>();
+        List<KodiRequest> requests = new ArrayList<>();
+        for (JsonElement element : playlists) {
             JsonObject playlist = (JsonObject) element;
             if (playlist.has("playlistid")) {
                 int playlistID = playlist.get("playlistid").getAsInt();
-                JsonObject playlistItems = getPlaylistItemsInternal(playlistID);
+                playlistIDs.add(playlistID);
+                requests.add(new KodiRequest("Playlist.GetItems", getPlaylistItemsParams(playlistID)));
+            }
+        }
+        if (requests.isEmpty()) {
+            return -1;
+        }
+        List<JsonElement> responses = socket.callMethods(requests);
+        for (int i = 0; i < responses.size(); i++) {
+            JsonElement response = responses.get(i);
+            if (response instanceof JsonObject) {
+                JsonObject playlistItems = response.getAsJsonObject();
                 if (playlistItems.has("limits") && playlistItems.get("limits") instanceof JsonObject) {
                     JsonObject limits = playlistItems.get("limits").getAsJsonObject();
                     if (limits.has("total") && limits.get("total").getAsInt() > 0) {
-                        return playlistID;
+                        return playlistIDs.get(i);
                     }
                 }
             }
@@ -130,7 +153,11 @@ public class KodiConnection implements KodiClientSocketEventListener {
     }
 
     public int getPlaylistID(String type) {
-        for (JsonElement element : getPlaylistsInternal()) {
+        JsonArray playlists = getPlaylistsInternal();
+        if (playlists == null) {
+            return -1;
+        }
+        for (JsonElement element : playlists) {
             JsonObject playlist = (JsonObject) element;
             if (playlist.has("playlistid") && playlist.has("type") && type.equals(playlist.get("type").getAsString())) {
                 return playlist.get("playlistid").getAsInt();
@@ -139,7 +166,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         return -1;
     }
 
-    private synchronized JsonArray getPlaylistsInternal() {
+    private JsonArray getPlaylistsInternal() {
         String method = "Playlist.GetPlaylists";
         String hash = hostname + '#' + method;
         JsonElement response = REQUEST_CACHE.putIfAbsentAndGet(hash, () -> {
@@ -153,19 +180,13 @@ public class KodiConnection implements KodiClientSocketEventListener {
         }
     }
 
-    private synchronized JsonObject getPlaylistItemsInternal(int playlistID) {
+    private JsonObject getPlaylistItemsParams(int playlistID) {
         JsonObject params = new JsonObject();
         params.addProperty("playlistid", playlistID);
-        JsonElement response = socket.callMethod("Playlist.GetItems", params);
-
-        if (response instanceof JsonObject) {
-            return response.getAsJsonObject();
-        } else {
-            return null;
-        }
+        return params;
     }
 
-    public synchronized void playerPlayPause() {
+    public void playerPlayPause() {
         int activePlayer = getActivePlayer();
 
         JsonObject params = new JsonObject();
@@ -173,7 +194,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Player.PlayPause", params);
     }
 
-    public synchronized void playerStop() {
+    public void playerStop() {
         int activePlayer = getActivePlayer();
 
         JsonObject params = new JsonObject();
@@ -181,13 +202,13 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Player.Stop", params);
     }
 
-    public synchronized void playerNext() {
+    public void playerNext() {
         goToInternal("next");
 
         updatePlayerStatus();
     }
 
-    public synchronized void playerPrevious() {
+    public void playerPrevious() {
         goToInternal("previous");
 
         updatePlayerStatus();
@@ -202,13 +223,13 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Player.GoTo", params);
     }
 
-    public synchronized void playerRewind() {
+    public void playerRewind() {
         setSpeedInternal(calcNextSpeed(-1));
 
         updatePlayerStatus();
     }
 
-    public synchronized void playerFastForward() {
+    public void playerFastForward() {
         setSpeedInternal(calcNextSpeed(1));
 
         updatePlayerStatus();
@@ -239,40 +260,46 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Player.SetSpeed", params);
     }
 
-    public synchronized void playlistAdd(int playlistID, String uri) {
-        currentPlaylistState = KodiPlaylistState.ADD;
+    public void playlistAdd(int playlistID, String uri) {
+        synchronized (playlistLock) {
+            currentPlaylistState = KodiPlaylistState.ADD;
 
-        JsonObject item = new JsonObject();
-        item.addProperty("file", uri);
+            JsonObject item = new JsonObject();
+            item.addProperty("file", uri);
 
-        JsonObject params = new JsonObject();
-        params.addProperty("playlistid", playlistID);
-        params.add("item", item);
-        socket.callMethod("Playlist.Add", params);
+            JsonObject params = new JsonObject();
+            params.addProperty("playlistid", playlistID);
+            params.add("item", item);
+            socket.callMethod("Playlist.Add", params);
+        }
     }
 
-    public synchronized void playlistClear(int playlistID) {
-        currentPlaylistState = KodiPlaylistState.CLEAR;
+    public void playlistClear(int playlistID) {
+        synchronized (playlistLock) {
+            currentPlaylistState = KodiPlaylistState.CLEAR;
 
-        JsonObject params = new JsonObject();
-        params.addProperty("playlistid", playlistID);
-        socket.callMethod("Playlist.Clear", params);
+            JsonObject params = new JsonObject();
+            params.addProperty("playlistid", playlistID);
+            socket.callMethod("Playlist.Clear", params);
+        }
     }
 
-    public synchronized void playlistInsert(int playlistID, String uri, int position) {
-        currentPlaylistState = KodiPlaylistState.INSERT;
+    public void playlistInsert(int playlistID, String uri, int position) {
+        synchronized (playlistLock) {
+            currentPlaylistState = KodiPlaylistState.INSERT;
 
-        JsonObject item = new JsonObject();
-        item.addProperty("file", uri);
+            JsonObject item = new JsonObject();
+            item.addProperty("file", uri);
 
-        JsonObject params = new JsonObject();
-        params.addProperty("playlistid", playlistID);
-        params.addProperty("position", position);
-        params.add("item", item);
-        socket.callMethod("Playlist.Insert", params);
+            JsonObject params = new JsonObject();
+            params.addProperty("playlistid", playlistID);
+            params.addProperty("position", position);
+            params.add("item", item);
+            socket.callMethod("Playlist.Insert", params);
+        }
     }
 
-    public synchronized void playlistPlay(int playlistID, int position) {
+    public void playlistPlay(int playlistID, int position) {
         JsonObject item = new JsonObject();
         item.addProperty("playlistid", playlistID);
         item.addProperty("position", position);
@@ -280,13 +307,15 @@ public class KodiConnection implements KodiClientSocketEventListener {
         playInternal(item);
     }
 
-    public synchronized void playlistRemove(int playlistID, int position) {
-        currentPlaylistState = KodiPlaylistState.REMOVE;
+    public void playlistRemove(int playlistID, int position) {
+        synchronized (playlistLock) {
+            currentPlaylistState = KodiPlaylistState.REMOVE;
 
-        JsonObject params = new JsonObject();
-        params.addProperty("playlistid", playlistID);
-        params.addProperty("position", position);
-        socket.callMethod("Playlist.Remove", params);
+            JsonObject params = new JsonObject();
+            params.addProperty("playlistid", playlistID);
+            params.addProperty("position", position);
+            socket.callMethod("Playlist.Remove", params);
+        }
     }
 
     /**
@@ -294,7 +323,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
      *
      * @return a list of {@link KodiFavorite}
      */
-    public synchronized List<KodiFavorite> getFavorites() {
+    public List<KodiFavorite> getFavorites() {
         String method = "Favourites.GetFavourites";
         String hash = hostname + '#' + method;
         JsonElement response = REQUEST_CACHE.putIfAbsentAndGet(hash, () -> {
@@ -351,7 +380,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
      *
      * @param window the window
      */
-    public synchronized void activateWindow(final String window) {
+    public void activateWindow(final String window) {
         activateWindow(window, null);
     }
 
@@ -361,7 +390,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
      * @param window the window
      * @param windowParameter list of parameters of the window
      */
-    public synchronized void activateWindow(final String window, @Nullable final String[] windowParameter) {
+    public void activateWindow(final String window, @Nullable final String[] windowParameter) {
         JsonObject params = new JsonObject();
         params.addProperty("window", window);
         if (windowParameter != null) {
@@ -370,32 +399,33 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("GUI.ActivateWindow", params);
     }
 
-    public synchronized void increaseVolume() {
+    public void increaseVolume() {
         setVolumeInternal(this.volume + VOLUMESTEP);
     }
 
-    public synchronized void decreaseVolume() {
+    public void decreaseVolume() {
         setVolumeInternal(this.volume - VOLUMESTEP);
     }
 
-    public synchronized void setVolume(int volume) {
+    public void setVolume(int volume) {
         setVolumeInternal(volume);
     }
 
     private void setVolumeInternal(int volume) {
         JsonObject params = new JsonObject();
         params.addProperty("volume", volume);
-        socket.callMethod("Application.SetVolume", params);
+        // the new volume is reported by the Application.OnVolumeChanged event
+        socket.callMethodAsync("Application.SetVolume", params);
     }
 
     public int getVolume() {
         return volume;
     }
 
-    public synchronized void setMute(boolean mute) {
+    public void setMute(boolean mute) {
         JsonObject params = new JsonObject();
         params.addProperty("mute", mute);
-        socket.callMethod("Application.SetMute", params);
+        socket.callMethodAsync("Application.SetMute", params);
     }
 
     private int getSpeed(int activePlayer) {
@@ -415,11 +445,16 @@ public class KodiConnection implements KodiClientSocketEventListener {
         return 0;
     }
 
-    public synchronized void updatePlayerStatus() {
+    public void updatePlayerStatus() {
         if (socket.isConnected()) {
             int activePlayer = getActivePlayer();
             if (activePlayer >= 0) {
-                int speed = getSpeed(activePlayer);
+                List<JsonElement> responses = socket.callMethods(getPlayerUpdateRequests(activePlayer, "speed"));
+                int speed = 0;
+                JsonElement properties = responses.get(1);
+                if (properties instanceof JsonObject && properties.getAsJsonObject().has("speed")) {
+                    speed = properties.getAsJsonObject().get("speed").getAsInt();
+                }
                 if (speed == 0) {
                     updateState(KodiState.STOP);
                 } else if (speed == 1) {
@@ -429,7 +464,8 @@ public class KodiConnection implements KodiClientSocketEventListener {
                 } else {
                     updateState(KodiState.FASTFORWARD);
                 }
-                requestPlayerUpdate(activePlayer);
+                processPlayerItem(responses.get(0));
+                processPlayerProperties(properties);
             } else {
                 updateState(KodiState.STOP);
             }
@@ -437,19 +473,37 @@ public class KodiConnection implements KodiClientSocketEventListener {
     }
 
     private void requestPlayerUpdate(int activePlayer) {
-        requestPlayerItemUpdate(activePlayer);
-        requestPlayerPropertiesUpdate(activePlayer);
+        List<JsonElement> responses = socket.callMethods(getPlayerUpdateRequests(activePlayer));
+        processPlayerItem(responses.get(0));
+        processPlayerProperties(responses.get(1));
     }
 
-    private void requestPlayerItemUpdate(int activePlayer) {
-        final String[] properties = { "title", "album", "artist", "director", "thumbnail", "file", "fanart",
+    /**
+     * Creates the requests for the current item and the progress of a player, sent as a single batch request.
+     *
+     * @param additionalProperties further player properties to request, e.g. the speed
+     */
+    private List<KodiRequest> getPlayerUpdateRequests(int activePlayer, String... additionalProperties) {
+        final String[] itemProperties = { "title", "album", "artist", "director", "thumbnail", "file", "fanart",
                 "showtitle", "streamdetails", "channel", "channeltype", "genre" };
 
-        JsonObject params = new JsonObject();
-        params.addProperty("playerid", activePlayer);
-        params.add("properties", getJsonArray(properties));
-        JsonElement response = socket.callMethod("Player.GetItem", params);
+        JsonObject itemParams = new JsonObject();
+        itemParams.addProperty("playerid", activePlayer);
+        itemParams.add("properties", getJsonArray(itemProperties));
+
+        JsonArray properties = getJsonArray(new String[] { "percentage", "time", "totaltime" });
+        for (String property : additionalProperties) {
+            properties.add(new JsonPrimitive(property));
+        }
+        JsonObject propertiesParams = new JsonObject();
+        propertiesParams.addProperty("playerid", activePlayer);
+        propertiesParams.add("properties", properties);
+
+        return Arrays.asList(new KodiRequest("Player.GetItem", itemParams),
+                new KodiRequest("Player.GetProperties", propertiesParams));
+    }
 
+    private void processPlayerItem(JsonElement response) {
         if (response instanceof JsonObject) {
             JsonObject result = response.getAsJsonObject();
             if (result.has("item")) {
@@ -526,14 +580,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         }
     }
 
-    private void requestPlayerPropertiesUpdate(int activePlayer) {
-        final String[] properties = { "percentage", "time", "totaltime" };
-
-        JsonObject params = new JsonObject();
-        params.addProperty("playerid", activePlayer);
-        params.add("properties", getJsonArray(properties));
-        JsonElement response = socket.callMethod("Player.GetProperties", params);
-
+    private void processPlayerProperties(JsonElement response) {
         if (response instanceof JsonObject) {
             JsonObject result = response.getAsJsonObject();
 
@@ -779,7 +826,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         }
     }
 
-    public synchronized void updateVolume() {
+    public void updateVolume() {
         if (socket.isConnected()) {
             String[] props = { "volume", "version", "name", "muted" };
 
@@ -804,14 +851,14 @@ public class KodiConnection implements KodiClientSocketEventListener {
         }
     }
 
-    public synchronized void playURI(String uri) {
+    public void playURI(String uri) {
         JsonObject item = new JsonObject();
         item.addProperty("file", uri);
 
         playInternal(item);
     }
 
-    public synchronized List<KodiPVRChannelGroup> getPVRChannelGroups(final String pvrChannelType) {
+    public List<KodiPVRChannelGroup> getPVRChannelGroups(final String pvrChannelType) {
         String method = "PVR.GetChannelGroups";
         String hash = hostname + '#' + method + "#channeltype=" + pvrChannelType;
         JsonElement response = REQUEST_CACHE.putIfAbsentAndGet(hash, () -> {
@@ -851,7 +898,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         return pvrChannelGroups.isEmpty() ? 0 : pvrChannelGroups.get(0).getId();
     }
 
-    public synchronized List<KodiPVRChannel> getPVRChannels(final int pvrChannelGroupId) {
+    public List<KodiPVRChannel> getPVRChannels(final int pvrChannelGroupId) {
         String method = "PVR.GetChannels";
         String hash = hostname + '#' + method + "#channelgroupid=" + pvrChannelGroupId;
         JsonElement response = REQUEST_CACHE.putIfAbsentAndGet(hash, () -> {
@@ -889,7 +936,7 @@ public class KodiConnection implements KodiClientSocketEventListener {
         return 0;
     }
 
-    public synchronized void playPVRChannel(final int pvrChannelId) {
+    public void playPVRChannel(final int pvrChannelId) {
         JsonObject item = new JsonObject();
         item.addProperty("channelid", pvrChannelId);
 
@@ -902,11 +949,11 @@ public class KodiConnection implements KodiClientSocketEventListener {
         socket.callMethod("Player.Open", params);
     }
 
-    public synchronized void showNotification(String message) {
+    public void showNotification(String message) {
         JsonObject params = new JsonObject();
         params.addProperty("title", "openHAB");
         params.addProperty("message", message);
-        socket.callMethod("GUI.ShowNotification", params);
+        socket.callMethodAsync("GUI.ShowNotification", params);
     }
 
     public boolean checkConnection() {
@@ -954,23 +1001,23 @@ public class KodiConnection implements KodiClientSocketEventListener {
     }
 
     public void input(String key) {
-        socket.callMethod("Input." + key);
+        socket.callMethodAsync("Input." + key, null);
     }
 
     public void inputText(String text) {
         JsonObject params = new JsonObject();
         params.addProperty("text", text);
-        socket.callMethod("Input.SendText", params);
+        socket.callMethodAsync("Input.SendText", params);
     }
 
     public void inputAction(String action) {
         JsonObject params = new JsonObject();
         params.addProperty("action", action);
-        socket.callMethod("Input.ExecuteAction", params);
+        socket.callMethodAsync("Input.ExecuteAction", params);
     }
 
     public void sendSystemCommand(String command) {
         String method = "System." + command;
-        socket.callMethod(method);
+        socket.callMethodAsync(method, null);
     }
 }
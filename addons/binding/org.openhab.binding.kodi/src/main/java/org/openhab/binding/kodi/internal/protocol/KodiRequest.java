@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.kodi.internal.protocol;
+
+import com.google.gson.JsonObject;
+
+/**
+ * KodiRequest holds the method and the parameters of a single JSON-RPC call, used to send several calls in one batch
+ * request through {@link KodiClientSocket#callMethodsAsync(java.util.List)}.
+ *
+ * @author agent - Initial contribution
+ */
+public class KodiRequest {
+
+    private final String method;
+    private final JsonObject params;
+
+    public KodiRequest(String method) {
+        this(method, null);
+    }
+
+    public KodiRequest(String method, JsonObject params) {
+        this.method = method;
+        this.params = params;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public JsonObject getParams() {
+        return params;
+    }
+
+    @Override
+    public String toString() {
+        return method + (params == null ? "" : params.toString());
+    }
+}
@@ -0,0 +1,258 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.filereader;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.BooleanSupplier;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.logreader.internal.filereader.api.FileReaderListener;
+
+/**
+ * Tests cases for {@link FileTailer}.
+ *
+ * @author agent - Initial contribution
+ */
+public class FileTailerTest {
+
+    private static final long REFRESH_RATE = 10;
+    private static final long TIMEOUT = 5000;
+
+    /**
+     * Records the events of the file tailer.
+     */
+    private static class Recorder implements FileReaderListener {
+        private final List<String> lines = new ArrayList<>();
+        private int rotations;
+        private int notFound;
+        private Exception exception;
+
+        @Override
+        public synchronized void fileNotFound() {
+            notFound++;
+        }
+
+        @Override
+        public synchronized void fileRotated() {
+            rotations++;
+        }
+
+        @Override
+        public synchronized void handle(CharSequence line) {
+            lines.add(line.toString());
+        }
+
+        @Override
+        public synchronized void handle(Exception ex) {
+            exception = ex;
+        }
+
+        synchronized List<String> getLines() {
+            return new ArrayList<>(lines);
+        }
+
+        synchronized int getRotations() {
+            return rotations;
+        }
+
+        synchronized int getNotFound() {
+            return notFound;
+        }
+
+        synchronized Exception getException() {
+            return exception;
+        }
+    }
+
+    private ScheduledExecutorService scheduler;
+    private Path folder;
+    private Path file;
+    private FileTailer tailer;
+    private Recorder recorder;
+
+    @Before
+    public void before() throws IOException {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        folder = Files.createTempDirectory("logreader");
+        file = folder.resolve("openhab.log");
+        tailer = new FileTailer();
+        recorder = new Recorder();
+        tailer.registerListener(recorder);
+    }
+
+    @After
+    public void after() throws IOException {
+        tailer.stop();
+        scheduler.shutdownNow();
+        for (Path path : Files.newDirectoryStream(folder)) {
+            Files.delete(path);
+        }
+        Files.delete(folder);
+    }
+
+    @Test
+    public void appendedLinesTest() throws Exception {
+        append("existing line\n");
+        start();
+
+        append("first line\nsecond line\n");
+
+        waitFor(() -> recorder.getLines().size() == 2);
+        assertEquals(Arrays.asList("first line", "second line"), recorder.getLines());
+        assertNull(recorder.getException());
+    }
+
+    @Test
+    public void incompleteLineTest() throws Exception {
+        append("");
+        start();
+
+        append("first line\nincomplete");
+        waitFor(() -> recorder.getLines().size() == 1);
+        Thread.sleep(100);
+        assertEquals(Arrays.asList("first line"), recorder.getLines());
+
+        append(" line\n");
+        waitFor(() -> recorder.getLines().size() == 2);
+        assertEquals(Arrays.asList("first line", "incomplete line"), recorder.getLines());
+    }
+
+    @Test
+    public void crlfTest() throws Exception {
+        append("");
+        start();
+
+        append("first line\r\nsecond line\r\n\r\n");
+
+        waitFor(() -> recorder.getLines().size() == 3);
+        assertEquals(Arrays.asList("first line", "second line", ""), recorder.getLines());
+    }
+
+    @Test
+    public void rotationTest() throws Exception {
+        append("");
+        start();
+
+        append("before rotation\n");
+        waitFor(() -> recorder.getLines().size() == 1);
+
+        Files.move(file, folder.resolve("openhab.log.1"));
+        append("after rotation\n");
+
+        waitFor(() -> recorder.getLines().size() == 2);
+        assertEquals(Arrays.asList("before rotation", "after rotation"), recorder.getLines());
+        assertEquals(1, recorder.getRotations());
+
+        append("more\n");
+        waitFor(() -> recorder.getLines().size() == 3);
+        assertEquals("more", recorder.getLines().get(2));
+        assertEquals(1, recorder.getRotations());
+    }
+
+    @Test
+    public void truncationTest() throws Exception {
+        append("");
+        start();
+
+        append("first line\nsecond line\n");
+        waitFor(() -> recorder.getLines().size() == 2);
+
+        Files.write(file, "new\n".getBytes(Charset.defaultCharset()), StandardOpenOption.TRUNCATE_EXISTING);
+
+        waitFor(() -> recorder.getLines().size() == 3);
+        assertEquals("new", recorder.getLines().get(2));
+        assertEquals(1, recorder.getRotations());
+    }
+
+    @Test
+    public void longLineTest() throws Exception {
+        append("");
+        start();
+
+        StringBuilder longLine = new StringBuilder();
+        for (int i = 0; i < 200 * 1024; i++) {
+            longLine.append((char) ('a' + i % 26));
+        }
+        append(longLine + "\nshort line\n");
+
+        waitFor(() -> recorder.getLines().size() == 2);
+        assertEquals(longLine.toString(), recorder.getLines().get(0));
+        assertEquals("short line", recorder.getLines().get(1));
+    }
+
+    @Test
+    public void multiByteCharacterAtBufferBoundaryTest() throws Exception {
+        String character = "\u00e4";
+        append("");
+        start();
+
+        // the encoded character starts in the last byte of the first 64 kB
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < 64 * 1024 - 1; i++) {
+            line.append('x');
+        }
+        for (int i = 0; i < 10; i++) {
+            line.append(character);
+        }
+        append(line + "\n");
+
+        // the character is multi-byte in UTF-8, other default charsets might not even be able to encode it
+        Charset charset = Charset.defaultCharset();
+        String expected = new String(line.toString().getBytes(charset), charset);
+        waitFor(() -> recorder.getLines().size() == 1);
+        assertEquals(expected, recorder.getLines().get(0));
+    }
+
+    @Test
+    public void fileNotFoundTest() throws Exception {
+        start();
+
+        waitFor(() -> recorder.getNotFound() > 0);
+        append("");
+        Thread.sleep(100);
+        append("first line\n");
+
+        waitFor(() -> recorder.getLines().size() == 1);
+        assertEquals(Arrays.asList("first line"), recorder.getLines());
+    }
+
+    private void start() throws Exception {
+        tailer.start(file.toString(), REFRESH_RATE, scheduler);
+        // the reader starts at the end of the file
+        Thread.sleep(100);
+    }
+
+    private void append(String data) throws IOException {
+        Files.write(file, data.getBytes(Charset.defaultCharset()), StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+
+    private static void waitFor(BooleanSupplier condition) throws InterruptedException {
+        long end = System.currentTimeMillis() + TIMEOUT;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > end) {
+                fail("Timed out waiting for the condition");
+            }
+            Thread.sleep(REFRESH_RATE);
+        }
+    }
+}
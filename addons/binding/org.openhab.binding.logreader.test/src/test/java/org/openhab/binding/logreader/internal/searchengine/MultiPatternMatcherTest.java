@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import static org.junit.Assert.*;
+
+import java.nio.CharBuffer;
+import java.util.regex.PatternSyntaxException;
+
+import org.junit.Test;
+
+/**
+ * Tests cases for {@link MultiPatternMatcher}.
+ *
+ * @author agent - Initial contribution
+ */
+public class MultiPatternMatcherTest {
+
+    @Test
+    public void singlePatternTest() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher("ERROR");
+
+        assertTrue(matcher.find("2018-06-01 12:00:00 [ERROR] failure"));
+        assertFalse(matcher.find("2018-06-01 12:00:00 [INFO ] started"));
+        assertFalse(matcher.find(""));
+    }
+
+    @Test
+    public void multiplePatternsTest() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher("ERROR|WARN|Exception: .*timed out");
+
+        assertTrue(matcher.find("[ERROR] failure"));
+        assertTrue(matcher.find("[WARN ] slow"));
+        assertTrue(matcher.find("java.io.IOException: connect timed out"));
+        assertFalse(matcher.find("java.io.IOException: connection refused"));
+        assertFalse(matcher.find("[INFO ] started"));
+    }
+
+    @Test
+    public void noPatternsTest() {
+        assertFalse(new MultiPatternMatcher(null).find("ERROR"));
+        assertFalse(new MultiPatternMatcher("").find("ERROR"));
+    }
+
+    @Test
+    public void patternWithoutLiteralTest() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher("ERROR|\\d{3} ms");
+
+        assertTrue(matcher.find("response after 250 ms"));
+        assertTrue(matcher.find("[ERROR] failure"));
+        assertFalse(matcher.find("response after 25 ms"));
+    }
+
+    @Test
+    public void anchoredPatternTest() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher("^Caused by");
+
+        assertTrue(matcher.find("Caused by: java.lang.NullPointerException"));
+        assertFalse(matcher.find("\tCaused by: java.lang.NullPointerException"));
+    }
+
+    @Test
+    public void optionalLastCharacterTest() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher("warnings?|colou?r|ab{0,2}c");
+
+        assertTrue(matcher.find("1 warning"));
+        assertTrue(matcher.find("2 warnings"));
+        assertTrue(matcher.find("color"));
+        assertTrue(matcher.find("colour"));
+        assertTrue(matcher.find("ac"));
+        assertTrue(matcher.find("abbc"));
+        assertFalse(matcher.find("colr"));
+    }
+
+    @Test
+    public void escapedLiteralTest() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher("\\[ERROR\\]");
+
+        assertTrue(matcher.find("12:00:00 [ERROR] failure"));
+        assertFalse(matcher.find("12:00:00 ERROR failure"));
+    }
+
+    @Test
+    public void backReferenceTest() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher("WARN|(\\w+) \\1");
+
+        assertTrue(matcher.find("the the"));
+        assertTrue(matcher.find("[WARN ] slow"));
+        assertFalse(matcher.find("the cat"));
+    }
+
+    @Test
+    public void quotedPatternTest() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher("\\Q(a)\\E|WARN");
+
+        assertTrue(matcher.find("value (a)"));
+        assertTrue(matcher.find("[WARN ] slow"));
+        assertFalse(matcher.find("value a"));
+    }
+
+    @Test
+    public void duplicateGroupNamesTest() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher("(?<level>ERROR)|(?<level>WARN)");
+
+        assertTrue(matcher.find("[ERROR] failure"));
+        assertTrue(matcher.find("[WARN ] slow"));
+        assertFalse(matcher.find("[INFO ] started"));
+    }
+
+    @Test
+    public void charBufferTest() {
+        MultiPatternMatcher matcher = new MultiPatternMatcher("ERROR|WARN");
+        CharBuffer buffer = CharBuffer.wrap("[INFO ] started\n[WARN ] slow\n");
+
+        assertTrue(matcher.find(buffer));
+        buffer.limit(16);
+        assertFalse(matcher.find(buffer));
+    }
+
+    @Test(expected = PatternSyntaxException.class)
+    public void invalidPatternTest() {
+        new MultiPatternMatcher("ERROR|[WARN");
+    }
+}
@@ -58,7 +58,7 @@ public abstract class AbstractLogFileReader implements LogFileReader {
      * Send read log line to all registered listeners.
      *
      */
-    public void sendLineToListeners(String line) {
+    public void sendLineToListeners(CharSequence line) {
         for (FileReaderListener fileReaderListener : fileReaderListeners) {
             try {
                 fileReaderListener.handle(line);
@@ -8,60 +8,77 @@
  */
 package org.openhab.binding.logreader.internal.filereader;
 
-import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
-import org.apache.commons.io.input.Tailer;
-import org.apache.commons.io.input.TailerListener;
-import org.apache.commons.io.input.TailerListenerAdapter;
-import org.eclipse.jdt.annotation.Nullable;
 import org.openhab.binding.logreader.internal.filereader.api.FileReaderException;
 import org.openhab.binding.logreader.internal.filereader.api.LogFileReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Apache Tailer based log file reader implementation.
+ * Log file reader implementation, which reads the data appended to the file in bulk.
+ *
+ * Every refresh the appended data is read in chunks to a reused buffer, also when a lot of data was appended (e.g.
+ * after a burst of log messages). A line longer than the buffer is read again with a larger buffer, so lines are
+ * always passed and decoded as a whole, even if they contain multi-byte characters. The file is not memory mapped, because a mapping is only released by the garbage
+ * collector and prevents that the file is renamed or deleted on Windows, e.g. by the log rotation. The lines are split
+ * and decoded in place and passed to the listeners as a reused {@link CharBuffer}, so that no string is created for
+ * lines which don't match any search pattern.
+ *
+ * Like the Apache Tailer, the reader starts at the end of the file, holds back incomplete lines until they are
+ * terminated and reads a rotated or truncated file from the beginning.
  *
  * @author Pauli Anttila - Initial contribution
+ * @author agent - Read appended data in bulk without Apache Tailer
  */
 public class FileTailer extends AbstractLogFileReader implements LogFileReader {
 
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+
     private final Logger logger = LoggerFactory.getLogger(FileTailer.class);
 
-    private Tailer tailer;
+    private ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+    private final CharsetDecoder decoder = Charset.defaultCharset().newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private CharBuffer lineBuffer = CharBuffer.allocate(1024);
 
-    TailerListener logListener = new TailerListenerAdapter() {
+    private ScheduledFuture<?> job;
+    private volatile boolean running;
 
-        @Override
-        public void handle(@Nullable String line) {
-            sendLineToListeners(line);
-        }
-
-        @Override
-        public void fileNotFound() {
-            sendFileNotFoundToListeners();
-        }
-
-        @Override
-        public void handle(@Nullable Exception e) {
-            sendExceptionToListeners(e);
-        }
-
-        @Override
-        public void fileRotated() {
-            sendFileRotationToListeners();
-        }
-    };
+    private Path path;
+    private FileChannel channel;
+    private Object fileKey;
+    private long position;
+    private boolean startAtEnd;
 
     @Override
     public void start(String filePath, long refreshRate, ScheduledExecutorService scheduler)
             throws FileReaderException {
-        tailer = new Tailer(new File(filePath), logListener, refreshRate, true, false, true);
-
         try {
-            logger.debug("Start executor");
-            scheduler.execute(tailer);
+            synchronized (this) {
+                path = Paths.get(filePath);
+                fileKey = null;
+                position = 0;
+                startAtEnd = true;
+                running = true;
+            }
+
+            logger.debug("Start reading '{}' every {}ms", filePath, refreshRate);
+            job = scheduler.scheduleWithFixedDelay(this::poll, 0, refreshRate, TimeUnit.MILLISECONDS);
         } catch (Exception e) {
             throw new FileReaderException(e);
         }
@@ -71,8 +88,148 @@ public class FileTailer extends AbstractLogFileReader implements LogFileReader {
     public void stop() {
         logger.debug("Shutdown");
 
-        if (tailer != null) {
-            tailer.stop();
+        running = false;
+        if (job != null) {
+            job.cancel(false);
+            job = null;
+        }
+        synchronized (this) {
+            close();
+        }
+    }
+
+    private synchronized void poll() {
+        if (!running) {
+            return;
+        }
+        try {
+            if (channel == null && !open()) {
+                return;
+            }
+            readAppended();
+
+            if (running && isRotated()) {
+                // the rest of the old file has been read above
+                close();
+                fileKey = null;
+                position = 0;
+                sendFileRotationToListeners();
+                if (open()) {
+                    readAppended();
+                }
+            }
+        } catch (Exception e) {
+            close();
+            sendExceptionToListeners(e);
+        }
+    }
+
+    private boolean open() throws IOException {
+        if (!Files.isRegularFile(path)) {
+            sendFileNotFoundToListeners();
+            return false;
+        }
+
+        channel = FileChannel.open(path, StandardOpenOption.READ);
+        Object key = Files.readAttributes(path, BasicFileAttributes.class).fileKey();
+        long size = channel.size();
+        if (startAtEnd) {
+            position = size;
+            startAtEnd = false;
+        } else if (key != null ? !key.equals(fileKey) : size < position) {
+            // reopened after an error, but the file has been replaced meanwhile
+            position = 0;
+        }
+        fileKey = key;
+        return true;
+    }
+
+    private void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.debug("Failed to close '{}': {}", path, e.getMessage());
+            }
+            channel = null;
         }
     }
+
+    private boolean isRotated() throws IOException {
+        if (!Files.exists(path)) {
+            // wait until the new file is created
+            return false;
+        }
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        Object key = attributes.fileKey();
+        if (key != null && fileKey != null && !key.equals(fileKey)) {
+            return true;
+        }
+        return attributes.size() < position;
+    }
+
+    private void readAppended() throws IOException {
+        long size = channel.size();
+        while (running && position < size) {
+            readBuffer.clear();
+            if (channel.read(readBuffer, position) <= 0) {
+                return;
+            }
+            readBuffer.flip();
+
+            int consumed = sendLines(readBuffer);
+            if (consumed == 0) {
+                if (readBuffer.limit() < readBuffer.capacity()) {
+                    // wait until the last line is terminated
+                    return;
+                }
+                // the line doesn't fit into the buffer, read it again with a larger one
+                readBuffer = ByteBuffer.allocate(readBuffer.capacity() * 2);
+                continue;
+            }
+            position += consumed;
+        }
+        if (readBuffer.capacity() > READ_BUFFER_SIZE) {
+            readBuffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        }
+    }
+
+    /**
+     * Send the complete lines of the buffer to the listeners.
+     *
+     * @return the number of bytes consumed.
+     */
+    private int sendLines(ByteBuffer buffer) {
+        int limit = buffer.limit();
+        int lineStart = 0;
+        for (int i = 0; i < limit && running; i++) {
+            if (buffer.get(i) == '\n') {
+                sendLine(buffer, lineStart, i);
+                lineStart = i + 1;
+            }
+        }
+        return lineStart;
+    }
+
+    private void sendLine(ByteBuffer buffer, int start, int end) {
+        int limit = buffer.limit();
+        if (end > start && buffer.get(end - 1) == '\r') {
+            end--;
+        }
+        buffer.limit(end);
+        buffer.position(start);
+
+        int maxLength = (int) Math.ceil((end - start) * (double) decoder.maxCharsPerByte());
+        if (lineBuffer.capacity() < maxLength) {
+            lineBuffer = CharBuffer.allocate(maxLength);
+        }
+        lineBuffer.clear();
+        decoder.reset();
+        decoder.decode(buffer, lineBuffer, true);
+        decoder.flush(lineBuffer);
+        lineBuffer.flip();
+        buffer.limit(limit);
+
+        sendLineToListeners(lineBuffer);
+    }
 }
@@ -29,9 +29,12 @@ public interface FileReaderListener {
     /**
      * This method is called when new line is detected.
      *
+     * The line might be a view on a buffer of the file reader, which is reused after this method returns. Use
+     * {@link CharSequence#toString()} to keep the line.
+     *
      * @param line the line.
      */
-    void handle(String line);
+    void handle(CharSequence line);
 
     /**
      * This method is called when exception has occurred.
@@ -163,7 +163,7 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
     }
 
     @Override
-    public void handle(String line) {
+    public void handle(CharSequence line) {
         if (line == null) {
             return;
         }
@@ -172,20 +172,25 @@ public class LogHandler extends BaseThingHandler implements FileReaderListener {
             updateStatus(ThingStatus.ONLINE);
         }
 
+        // the line is only copied to a string when it matches
+        String text = null;
         if (errorEngine.isMatching(line)) {
+            text = line.toString();
             updateChannelIfLinked(CHANNEL_ERRORS, new DecimalType(errorEngine.getMatchCount()));
-            updateChannelIfLinked(CHANNEL_LASTERROR, new StringType(line));
-            triggerChannel(CHANNEL_NEWERROR, line);
+            updateChannelIfLinked(CHANNEL_LASTERROR, new StringType(text));
+            triggerChannel(CHANNEL_NEWERROR, text);
         }
         if (warningEngine.isMatching(line)) {
+            text = text != null ? text : line.toString();
             updateChannelIfLinked(CHANNEL_WARNINGS, new DecimalType(warningEngine.getMatchCount()));
-            updateChannelIfLinked(CHANNEL_LASTWARNING, new StringType(line));
-            triggerChannel(CHANNEL_NEWWARNING, line);
+            updateChannelIfLinked(CHANNEL_LASTWARNING, new StringType(text));
+            triggerChannel(CHANNEL_NEWWARNING, text);
         }
         if (customEngine.isMatching(line)) {
+            text = text != null ? text : line.toString();
             updateChannelIfLinked(CHANNEL_CUSTOMEVENTS, new DecimalType(customEngine.getMatchCount()));
-            updateChannelIfLinked(CHANNEL_LASTCUSTOMEVENT, new StringType(line));
-            triggerChannel(CHANNEL_NEWCUSTOM, line);
+            updateChannelIfLinked(CHANNEL_LASTCUSTOMEVENT, new StringType(text));
+            triggerChannel(CHANNEL_NEWCUSTOM, text);
         }
     }
 
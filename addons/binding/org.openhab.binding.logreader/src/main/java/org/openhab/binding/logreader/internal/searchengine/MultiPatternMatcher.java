@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.logreader.internal.searchengine;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * This class matches data against a set of regular expressions in a single pass.
+ *
+ * The patterns are combined to one alternation, so that the data is scanned once instead of once per pattern.
+ * Patterns which can't be combined safely (e.g. patterns with back references) are matched separately.
+ *
+ * Most lines of a log file match none of the patterns. Therefore the literal text every pattern starts with is
+ * searched first, and the regular expressions are only evaluated for data containing one of these literals.
+ * Matchers are reused per thread.
+ *
+ * @author agent - Initial contribution
+ */
+public class MultiPatternMatcher {
+
+    private static final String META_CHARACTERS = "\\^$.|?*+()[]{}";
+
+    private final Pattern[] patterns;
+    private final String @Nullable [] literals;
+
+    private final ThreadLocal<Matcher[]> matchers = ThreadLocal.withInitial(this::createMatchers);
+
+    /**
+     * Split pattern string and precompile search patterns.
+     *
+     * @param patterns patterns separated by | character. If null or empty, nothing is matched.
+     * @throws PatternSyntaxException if one of the patterns is invalid.
+     */
+    public MultiPatternMatcher(@Nullable String patterns) throws PatternSyntaxException {
+        List<String> list = new ArrayList<>();
+        if (patterns != null && !patterns.isEmpty()) {
+            for (String patternStr : patterns.split("\\|")) {
+                // report syntax errors of the individual patterns
+                Pattern.compile(patternStr);
+                list.add(patternStr);
+            }
+        }
+        this.patterns = compilePatterns(list);
+        this.literals = findLiterals(list);
+    }
+
+    /**
+     * Check if data is matching to one of the patterns.
+     *
+     * @param data data against search will be done.
+     * @return true if one of the patterns found.
+     */
+    public boolean find(CharSequence data) {
+        if (patterns.length == 0) {
+            return false;
+        }
+        String[] literals = this.literals;
+        if (literals != null && !containsAny(data, literals)) {
+            return false;
+        }
+        for (Matcher matcher : matchers.get()) {
+            if (matcher.reset(data).find()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Matcher[] createMatchers() {
+        Matcher[] result = new Matcher[patterns.length];
+        for (int i = 0; i < patterns.length; i++) {
+            result[i] = patterns[i].matcher("");
+        }
+        return result;
+    }
+
+    private static Pattern[] compilePatterns(List<String> patterns) {
+        List<Pattern> compiled = new ArrayList<>();
+        StringBuilder combined = new StringBuilder();
+        for (String pattern : patterns) {
+            if (isCombinable(pattern)) {
+                combined.append(combined.length() == 0 ? "" : "|").append("(?:").append(pattern).append(')');
+            } else {
+                compiled.add(Pattern.compile(pattern));
+            }
+        }
+        if (combined.length() > 0) {
+            try {
+                compiled.add(0, Pattern.compile(combined.toString()));
+            } catch (PatternSyntaxException e) {
+                // e.g. the same group name is used in several patterns
+                for (String pattern : patterns) {
+                    if (isCombinable(pattern)) {
+                        compiled.add(Pattern.compile(pattern));
+                    }
+                }
+            }
+        }
+        return compiled.toArray(new Pattern[compiled.size()]);
+    }
+
+    /**
+     * Patterns with back references refer to group numbers, which change in the combined pattern. Quotes and
+     * comments might swallow the closing parenthesis of the group.
+     */
+    private static boolean isCombinable(String pattern) {
+        for (int i = 0; i < pattern.length() - 1; i++) {
+            if (pattern.charAt(i) == '\\') {
+                char next = pattern.charAt(i + 1);
+                if ((next >= '1' && next <= '9') || next == 'k' || next == 'Q') {
+                    return false;
+                }
+                i++;
+            }
+        }
+        return pattern.indexOf('#') < 0;
+    }
+
+    /**
+     * Find the literal text every pattern starts with.
+     *
+     * @return the literals or null if one of the patterns doesn't start with a literal.
+     */
+    private static String @Nullable [] findLiterals(List<String> patterns) {
+        Set<String> literals = new LinkedHashSet<>();
+        for (String pattern : patterns) {
+            String literal = findLiteral(pattern);
+            if (literal.isEmpty()) {
+                return null;
+            }
+            literals.add(literal);
+        }
+        return literals.toArray(new String[literals.size()]);
+    }
+
+    private static String findLiteral(String pattern) {
+        StringBuilder literal = new StringBuilder();
+        int i = pattern.startsWith("^") ? 1 : 0;
+        while (i < pattern.length()) {
+            char c = pattern.charAt(i);
+            if (c == '\\') {
+                if (i + 1 >= pattern.length() || Character.isLetterOrDigit(pattern.charAt(i + 1))) {
+                    // character class or other special construct
+                    break;
+                }
+                c = pattern.charAt(i + 1);
+                i += 2;
+            } else if (META_CHARACTERS.indexOf(c) >= 0) {
+                break;
+            } else {
+                i++;
+            }
+            literal.append(c);
+        }
+        if (i < pattern.length() && literal.length() > 0) {
+            char quantifier = pattern.charAt(i);
+            if (quantifier == '?' || quantifier == '*' || quantifier == '{') {
+                // the last character is optional
+                literal.setLength(literal.length() - 1);
+            }
+        }
+        return literal.toString();
+    }
+
+    private static boolean containsAny(CharSequence data, String[] literals) {
+        int length = data.length();
+        for (int i = 0; i < length; i++) {
+            char c = data.charAt(i);
+            for (String literal : literals) {
+                if (c == literal.charAt(0) && regionMatches(data, i, literal)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean regionMatches(CharSequence data, int offset, String literal) {
+        if (offset + literal.length() > data.length()) {
+            return false;
+        }
+        for (int i = 1; i < literal.length(); i++) {
+            if (data.charAt(offset + i) != literal.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -8,14 +8,8 @@
  */
 package org.openhab.binding.logreader.internal.searchengine;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import java.util.regex.PatternSyntaxException;
 
-import org.eclipse.jdt.annotation.Nullable;
-
 /**
  * This class implements logic for regular expression based searching.
  *
@@ -23,8 +17,8 @@ import org.eclipse.jdt.annotation.Nullable;
  */
 public class SearchEngine {
 
-    private List<Pattern> matchers;
-    private List<Pattern> blacklistingMatchers;
+    private final MultiPatternMatcher matcher;
+    private final MultiPatternMatcher blacklistingMatcher;
 
     private long matchCount;
 
@@ -36,8 +30,8 @@ public class SearchEngine {
      *
      */
     public SearchEngine(String patterns, String blacklistingPatterns) throws PatternSyntaxException {
-        matchers = compilePatterns(patterns);
-        blacklistingMatchers = compilePatterns(blacklistingPatterns);
+        matcher = new MultiPatternMatcher(patterns);
+        blacklistingMatcher = new MultiPatternMatcher(blacklistingPatterns);
     }
 
     /**
@@ -46,8 +40,8 @@ public class SearchEngine {
      * @param data data against search will be done.
      * @return true if one of the search patterns found.
      */
-    public boolean isMatching(String data) {
-        if (isMatching(matchers, data)) {
+    public boolean isMatching(CharSequence data) {
+        if (matcher.find(data)) {
             if (notBlacklisted(data)) {
                 matchCount++;
                 return true;
@@ -68,40 +62,7 @@ public class SearchEngine {
         setMatchCount(0);
     }
 
-    /**
-     * Split pattern string and precompile search patterns.
-     *
-     * @param patterns patterns which will handled.
-     * @return list of precompiled patterns. If pattern parameter is null, empty list is returned.
-     */
-    private List<Pattern> compilePatterns(@Nullable String patterns) throws PatternSyntaxException {
-        List<Pattern> patternsList = new ArrayList<Pattern>();
-
-        if (patterns != null && !patterns.isEmpty()) {
-            String list[] = patterns.split("\\|");
-            if (list.length > 0) {
-
-                for (String patternStr : list) {
-                    patternsList.add(Pattern.compile(patternStr));
-                }
-            }
-        }
-        return patternsList;
-    }
-
-    private boolean notBlacklisted(String data) {
-        return !isMatching(blacklistingMatchers, data);
-    }
-
-    private boolean isMatching(@Nullable List<Pattern> patterns, String data) {
-        if (patterns != null) {
-            for (Pattern pattern : patterns) {
-                Matcher matcher = pattern.matcher(data);
-                if (matcher.find()) {
-                    return true;
-                }
-            }
-        }
-        return false;
+    private boolean notBlacklisted(CharSequence data) {
+        return !blacklistingMatcher.find(data);
     }
 }
@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.lutron.internal.protocol;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests cases for {@link LutronQueryPlanner}.
+ *
+ * @author agent - Initial contribution
+ */
+public class LutronQueryPlannerTest {
+
+    private final LutronQueryPlanner planner = new LutronQueryPlanner();
+
+    @Test
+    public void orderTest() {
+        assertTrue(planner.add(query(LutronCommandType.OUTPUT, 12, 1)));
+        assertFalse(planner.add(query(LutronCommandType.DEVICE, 5, 1, 3)));
+
+        assertTrue(planner.hasPending());
+        assertEquals("?OUTPUT,12,1", planner.next().toString());
+        assertEquals("?DEVICE,5,1,3", planner.next().toString());
+        assertNull(planner.next());
+        assertFalse(planner.hasPending());
+    }
+
+    @Test
+    public void deduplicationTest() {
+        planner.add(query(LutronCommandType.OUTPUT, 12, 1));
+        planner.add(query(LutronCommandType.OUTPUT, 13, 1));
+        // queried again e.g. when the channel is linked
+        assertFalse(planner.add(query(LutronCommandType.OUTPUT, 12, 1)));
+        // a different action of the same output is another query
+        planner.add(query(LutronCommandType.OUTPUT, 12, 2));
+
+        assertEquals(3, planner.getPlanned());
+        assertEquals("?OUTPUT,12,1", planner.next().toString());
+        assertEquals("?OUTPUT,13,1", planner.next().toString());
+        assertEquals("?OUTPUT,12,2", planner.next().toString());
+        assertNull(planner.next());
+    }
+
+    @Test
+    public void sentQueryIsPlannedAgainTest() {
+        planner.add(query(LutronCommandType.OUTPUT, 12, 1));
+        planner.add(query(LutronCommandType.OUTPUT, 13, 1));
+        planner.next();
+
+        // the state might have changed since the query was sent
+        planner.add(query(LutronCommandType.OUTPUT, 12, 1));
+        assertEquals("?OUTPUT,13,1", planner.next().toString());
+        assertEquals("?OUTPUT,12,1", planner.next().toString());
+    }
+
+    @Test
+    public void progressTest() {
+        planner.add(query(LutronCommandType.OUTPUT, 12, 1));
+        planner.add(query(LutronCommandType.OUTPUT, 13, 1));
+        planner.next();
+
+        assertEquals(1, planner.getSent());
+        assertEquals(2, planner.getPlanned());
+
+        planner.next();
+        assertEquals(2, planner.getSent());
+        assertEquals(2, planner.getPlanned());
+
+        // the progress starts over once the planner was idle
+        assertTrue(planner.add(query(LutronCommandType.OUTPUT, 14, 1)));
+        assertEquals(0, planner.getSent());
+        assertEquals(1, planner.getPlanned());
+    }
+
+    @Test
+    public void replayTest() {
+        planner.add(query(LutronCommandType.OUTPUT, 12, 1));
+        planner.add(query(LutronCommandType.DEVICE, 5, 1, 3));
+        planner.add(query(LutronCommandType.OUTPUT, 13, 1));
+        for (int i = 0; i < 3; i++) {
+            planner.next();
+        }
+
+        // after a reconnection only the outputs and devices still handled are queried
+        assertTrue(planner.replay(integrationId -> integrationId != 13));
+        assertEquals(2, planner.getPlanned());
+        assertEquals("?OUTPUT,12,1", planner.next().toString());
+        assertEquals("?DEVICE,5,1,3", planner.next().toString());
+        assertNull(planner.next());
+
+        // the removed query is forgotten
+        planner.replay(integrationId -> true);
+        assertEquals(2, planner.getPlanned());
+    }
+
+    @Test
+    public void replayWhilePendingTest() {
+        planner.add(query(LutronCommandType.OUTPUT, 12, 1));
+        planner.add(query(LutronCommandType.OUTPUT, 13, 1));
+        planner.next();
+
+        assertFalse(planner.replay(integrationId -> true));
+        assertEquals("?OUTPUT,13,1", planner.next().toString());
+        assertEquals("?OUTPUT,12,1", planner.next().toString());
+        assertNull(planner.next());
+    }
+
+    private static LutronCommand query(LutronCommandType type, int integrationId, Object... parameters) {
+        return new LutronCommand(LutronOperation.QUERY, type, integrationId, parameters);
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.lutron.internal.protocol;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+/**
+ * Tests cases for {@link LutronStatusUpdate}.
+ *
+ * @author agent - Initial contribution
+ */
+public class LutronStatusUpdateTest {
+
+    @Test
+    public void outputTest() {
+        LutronStatusUpdate update = LutronStatusUpdate.parse("~OUTPUT,12,1,75.00");
+
+        assertEquals(LutronCommandType.OUTPUT, update.getType());
+        assertEquals("12", update.getTarget());
+        assertEquals(12, update.getIntegrationId());
+        assertArrayEquals(new String[] { "1", "75.00" }, update.getParameters());
+        assertEquals("1,75.00", update.getParameterString());
+    }
+
+    @Test
+    public void deviceTest() {
+        LutronStatusUpdate update = LutronStatusUpdate.parse("~DEVICE,5,3,9,1");
+
+        assertEquals(LutronCommandType.DEVICE, update.getType());
+        assertEquals(5, update.getIntegrationId());
+        assertArrayEquals(new String[] { "3", "9", "1" }, update.getParameters());
+    }
+
+    @Test
+    public void systemTest() {
+        LutronStatusUpdate update = LutronStatusUpdate.parse("~SYSTEM,1,12:34:56");
+
+        assertEquals(LutronCommandType.SYSTEM, update.getType());
+        assertEquals("1", update.getTarget());
+        assertEquals("12:34:56", update.getParameterString());
+    }
+
+    @Test
+    public void promptBeforeUpdateTest() {
+        LutronStatusUpdate update = LutronStatusUpdate.parse("GNET> ~OUTPUT,7,1,0.00");
+
+        assertEquals(LutronCommandType.OUTPUT, update.getType());
+        assertEquals(7, update.getIntegrationId());
+        assertArrayEquals(new String[] { "1", "0.00" }, update.getParameters());
+    }
+
+    @Test
+    public void secondTildeTest() {
+        LutronStatusUpdate update = LutronStatusUpdate.parse("~ERROR,6 ~DEVICE,5,2,3");
+
+        assertEquals(LutronCommandType.DEVICE, update.getType());
+        assertEquals(5, update.getIntegrationId());
+    }
+
+    @Test
+    public void trailingEmptyParametersTest() {
+        LutronStatusUpdate update = LutronStatusUpdate.parse("~DEVICE,5,2,,3,,");
+
+        // like String.split, empty parameters are only dropped at the end
+        assertArrayEquals(new String[] { "2", "", "3" }, update.getParameters());
+        assertEquals("2,,3,,", update.getParameterString());
+    }
+
+    @Test
+    public void singleParameterTest() {
+        LutronStatusUpdate update = LutronStatusUpdate.parse("~OUTPUT,12,1");
+
+        assertArrayEquals(new String[] { "1" }, update.getParameters());
+    }
+
+    @Test
+    public void nonNumericTargetTest() {
+        assertEquals(-1, LutronStatusUpdate.parse("~DEVICE,abc,1,3").getIntegrationId());
+        assertEquals(-1, LutronStatusUpdate.parse("~DEVICE,1234567890,1,3").getIntegrationId());
+        assertEquals(123456789, LutronStatusUpdate.parse("~DEVICE,123456789,1,3").getIntegrationId());
+    }
+
+    @Test
+    public void ignoredLinesTest() {
+        assertNull(LutronStatusUpdate.parse("GNET> "));
+        assertNull(LutronStatusUpdate.parse("~ERROR,6"));
+        assertNull(LutronStatusUpdate.parse("~MONITORING,5,1"));
+        assertNull(LutronStatusUpdate.parse("~OUTPUTS,12,1,75.00"));
+        assertNull(LutronStatusUpdate.parse("~OUTPUT,"));
+        assertNull(LutronStatusUpdate.parse("~OUTPUT,12"));
+        assertNull(LutronStatusUpdate.parse("~OUTPUT,,1"));
+        assertNull(LutronStatusUpdate.parse("OUTPUT,12,1,75.00"));
+    }
+}
@@ -12,13 +12,13 @@ import java.io.IOException;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.regex.MatchResult;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.smarthome.config.discovery.DiscoveryService;
@@ -28,6 +28,7 @@ import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.binding.BaseBridgeHandler;
+import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.openhab.binding.lutron.internal.config.IPBridgeConfig;
 import org.openhab.binding.lutron.internal.discovery.LutronDeviceDiscoveryService;
@@ -36,6 +37,8 @@ import org.openhab.binding.lutron.internal.net.TelnetSessionListener;
 import org.openhab.binding.lutron.internal.protocol.LutronCommand;
 import org.openhab.binding.lutron.internal.protocol.LutronCommandType;
 import org.openhab.binding.lutron.internal.protocol.LutronOperation;
+import org.openhab.binding.lutron.internal.protocol.LutronQueryPlanner;
+import org.openhab.binding.lutron.internal.protocol.LutronStatusUpdate;
 import org.osgi.framework.ServiceRegistration;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,8 +49,6 @@ import org.slf4j.LoggerFactory;
  * @author Allan Tong - Initial contribution
  */
 public class IPBridgeHandler extends BaseBridgeHandler {
-    private static final Pattern STATUS_REGEX = Pattern.compile("~(OUTPUT|DEVICE|SYSTEM),([^,]+),(.*)");
-
     private static final String DB_UPDATE_DATE_FORMAT = "MM/dd/yyyy HH:mm:ss";
 
     private static final Integer MONITOR_PROMPT = 12;
@@ -65,12 +66,25 @@ public class IPBridgeHandler extends BaseBridgeHandler {
     private static final String DEFAULT_USER = "lutron";
     private static final String DEFAULT_PASSWORD = "integration";
 
+    // Delay between two state queries, so that large systems are not flooded on (re)connect
+    private static final long QUERY_INTERVAL = 50;
+
+    // Number of planned queries from which the progress is reported in the bridge status
+    private static final int QUERY_PROGRESS_THRESHOLD = 20;
+
+    // Wakes up the sender when queries are planned while it waits for commands
+    private static final LutronCommand WAKE_UP = new LutronCommand(LutronOperation.QUERY, LutronCommandType.SYSTEM,
+            -1);
+
     private final Logger logger = LoggerFactory.getLogger(IPBridgeHandler.class);
 
     private IPBridgeConfig config;
 
     private TelnetSession session;
     private BlockingQueue<LutronCommand> sendQueue = new LinkedBlockingQueue<>();
+    private final LutronQueryPlanner queryPlanner = new LutronQueryPlanner();
+
+    private final Map<Integer, LutronHandler> childHandlers = new ConcurrentHashMap<>();
 
     private ScheduledFuture<?> messageSender;
     private ScheduledFuture<?> keepAlive;
@@ -116,6 +130,17 @@ public class IPBridgeHandler extends BaseBridgeHandler {
     public void initialize() {
         this.config = getThing().getConfiguration().as(IPBridgeConfig.class);
 
+        // Child handlers initialized before this handler are not reported to it
+        for (Thing thing : getThing().getThings()) {
+            ThingHandler handler = thing.getHandler();
+            ThingStatus status = thing.getStatus();
+
+            if (handler != null && (status == ThingStatus.ONLINE || status == ThingStatus.OFFLINE
+                    || status == ThingStatus.UNKNOWN)) {
+                childHandlerInitialized(handler, thing);
+            }
+        }
+
         if (validConfiguration(this.config)) {
             LutronDeviceDiscoveryService discovery = new LutronDeviceDiscoveryService(this);
 
@@ -188,6 +213,9 @@ public class IPBridgeHandler extends BaseBridgeHandler {
             return;
         }
 
+        // Query the state of all outputs and devices again, it may have changed while disconnected
+        this.queryPlanner.replay(this.childHandlers::containsKey);
+
         this.messageSender = this.scheduler.schedule(new Runnable() {
             @Override
             public void run() {
@@ -207,8 +235,28 @@ public class IPBridgeHandler extends BaseBridgeHandler {
 
     private void sendCommands() {
         try {
+            long nextQueryTime = 0;
+
             while (true) {
-                LutronCommand command = this.sendQueue.take();
+                LutronCommand command;
+
+                // Commands are sent immediately, queries are paced
+                if (this.queryPlanner.hasPending()) {
+                    long delay = nextQueryTime - System.currentTimeMillis();
+                    command = delay > 0 ? this.sendQueue.poll(delay, TimeUnit.MILLISECONDS) : this.sendQueue.poll();
+
+                    if (command == null) {
+                        command = this.queryPlanner.next();
+                        nextQueryTime = System.currentTimeMillis() + QUERY_INTERVAL;
+                        reportQueryProgress();
+                    }
+                } else {
+                    command = this.sendQueue.take();
+                }
+
+                if (command == WAKE_UP) {
+                    continue;
+                }
 
                 logger.debug("Sending command {}", command);
 
@@ -219,7 +267,7 @@ public class IPBridgeHandler extends BaseBridgeHandler {
                     updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR);
 
                     // Requeue command
-                    this.sendQueue.add(command);
+                    sendCommand(command);
 
                     reconnect();
 
@@ -291,27 +339,61 @@ public class IPBridgeHandler extends BaseBridgeHandler {
         return false;
     }
 
-    void sendCommand(LutronCommand command) {
-        this.sendQueue.add(command);
+    private void reportQueryProgress() {
+        int sent = this.queryPlanner.getSent();
+        int planned = this.queryPlanner.getPlanned();
+
+        // Report every 10 percent of large query plans
+        if (planned < QUERY_PROGRESS_THRESHOLD || (sent * 10 / planned == (sent - 1) * 10 / planned)) {
+            return;
+        }
+
+        logger.debug("Queried state of {} of {} outputs and devices", sent, planned);
+
+        if (getThing().getStatus() == ThingStatus.ONLINE) {
+            if (sent < planned) {
+                updateStatus(ThingStatus.ONLINE, ThingStatusDetail.NONE,
+                        "querying state " + sent + "/" + planned);
+            } else {
+                updateStatus(ThingStatus.ONLINE);
+            }
+        }
     }
 
-    private LutronHandler findThingHandler(int integrationId) {
-        for (Thing thing : getThing().getThings()) {
-            if (thing.getHandler() instanceof LutronHandler) {
-                LutronHandler handler = (LutronHandler) thing.getHandler();
+    void sendCommand(LutronCommand command) {
+        if (command.getOperation() == LutronOperation.QUERY && (command.getType() == LutronCommandType.OUTPUT
+                || command.getType() == LutronCommandType.DEVICE)) {
+            if (this.queryPlanner.add(command)) {
+                this.sendQueue.add(WAKE_UP);
+            }
+        } else {
+            this.sendQueue.add(command);
+        }
+    }
 
-                if (handler.getIntegrationId() == integrationId) {
-                    return handler;
-                }
+    @Override
+    public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
+        if (childHandler instanceof LutronHandler) {
+            LutronHandler handler = (LutronHandler) childHandler;
+
+            try {
+                this.childHandlers.put(handler.getIntegrationId(), handler);
+            } catch (IllegalStateException e) {
+                logger.debug("No integration ID for thing {}", childThing.getUID());
             }
         }
+    }
 
-        return null;
+    @Override
+    public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
+        this.childHandlers.values().removeIf(handler -> handler == childHandler);
     }
 
-    private void parseUpdates() {
-        String paramString;
+    private LutronHandler findThingHandler(int integrationId) {
+        return this.childHandlers.get(integrationId);
+    }
 
+    private void parseUpdates() {
         for (String line : this.session.readLines()) {
             if (line.trim().equals("")) {
                 // Sometimes we get an empty line (possibly only when prompts are disabled). Ignore them.
@@ -325,35 +407,32 @@ public class IPBridgeHandler extends BaseBridgeHandler {
                 this.keepAliveReconnect.cancel(true);
             }
 
-            Matcher matcher = STATUS_REGEX.matcher(line);
+            LutronStatusUpdate update = LutronStatusUpdate.parse(line);
 
-            if (matcher.find()) {
-                LutronCommandType type = LutronCommandType.valueOf(matcher.group(1));
+            if (update != null) {
+                LutronCommandType type = update.getType();
 
                 if (type == LutronCommandType.SYSTEM) {
                     // SYSTEM messages are assumed to be a response to the SYSTEM_DBEXPORTDATETIME
                     // query. The response returns the last time the device database was updated.
-                    setDbUpdateDate(matcher.group(2), matcher.group(3));
+                    setDbUpdateDate(update.getTarget(), update.getParameterString());
 
                     continue;
                 }
 
-                Integer integrationId;
+                int integrationId = update.getIntegrationId();
 
-                try {
-                    integrationId = Integer.valueOf(matcher.group(2));
-                } catch (NumberFormatException e1) {
+                if (integrationId < 0) {
                     logger.warn("Integer conversion error parsing update: {}", line);
                     continue;
                 }
-                paramString = matcher.group(3);
 
                 // Now dispatch update to the proper thing handler
                 LutronHandler handler = findThingHandler(integrationId);
 
                 if (handler != null) {
                     try {
-                        handler.handleUpdate(type, paramString.split(","));
+                        handler.handleUpdate(type, update.getParameters());
                     } catch (Exception e) {
                         logger.error("Error processing update", e);
                     }
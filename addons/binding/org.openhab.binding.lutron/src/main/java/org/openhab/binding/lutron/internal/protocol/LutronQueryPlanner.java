@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.lutron.internal.protocol;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * Plans the state queries sent to a Lutron integration access point.
+ *
+ * Queries waiting to be sent are de-duplicated, so that an output or device queried several times (e.g. on
+ * initialization and when its channels are linked) is only queried once. All queries are remembered, so that the
+ * state of every output and device can be queried again after a reconnection.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class LutronQueryPlanner {
+    private final Map<String, LutronCommand> knownQueries = new LinkedHashMap<>();
+    private final Map<String, LutronCommand> pendingQueries = new LinkedHashMap<>();
+
+    private int sentQueries;
+
+    /**
+     * Plans a query.
+     *
+     * @param query the query
+     * @return true if no query was pending before
+     */
+    public synchronized boolean add(LutronCommand query) {
+        boolean idle = pendingQueries.isEmpty();
+        if (idle) {
+            sentQueries = 0;
+        }
+        String key = query.toString();
+        knownQueries.put(key, query);
+        pendingQueries.putIfAbsent(key, query);
+        return idle;
+    }
+
+    /**
+     * Plans all known queries again.
+     *
+     * @param activeIntegrationIds the integration IDs still handled, the queries of other IDs are forgotten
+     * @return true if no query was pending before
+     */
+    public synchronized boolean replay(IntPredicate activeIntegrationIds) {
+        boolean idle = pendingQueries.isEmpty();
+        if (idle) {
+            sentQueries = 0;
+        }
+        for (Iterator<LutronCommand> it = knownQueries.values().iterator(); it.hasNext();) {
+            LutronCommand query = it.next();
+            if (activeIntegrationIds.test(query.getIntegrationId())) {
+                pendingQueries.putIfAbsent(query.toString(), query);
+            } else {
+                it.remove();
+            }
+        }
+        return idle;
+    }
+
+    /**
+     * @return the next query to send or null if no query is pending
+     */
+    public synchronized LutronCommand next() {
+        Iterator<LutronCommand> it = pendingQueries.values().iterator();
+        if (!it.hasNext()) {
+            return null;
+        }
+        LutronCommand query = it.next();
+        it.remove();
+        sentQueries++;
+        return query;
+    }
+
+    public synchronized boolean hasPending() {
+        return !pendingQueries.isEmpty();
+    }
+
+    /**
+     * @return the number of queries sent since the planner was last idle
+     */
+    public synchronized int getSent() {
+        return sentQueries;
+    }
+
+    /**
+     * @return the number of queries planned since the planner was last idle
+     */
+    public synchronized int getPlanned() {
+        return sentQueries + pendingQueries.size();
+    }
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.lutron.internal.protocol;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Status update received from a Lutron integration access point, e.g. "~OUTPUT,12,1,75.00".
+ *
+ * The monitoring lines are split by hand in a single pass, since a busy system sends one line for every change of
+ * every output and device.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class LutronStatusUpdate {
+    private static final String[] STATUS_TYPES = { "OUTPUT", "DEVICE", "SYSTEM" };
+
+    private final LutronCommandType type;
+    private final String target;
+    private final String parameterString;
+    private final String[] parameters;
+
+    private LutronStatusUpdate(LutronCommandType type, String target, String parameterString) {
+        this.type = type;
+        this.target = target;
+        this.parameterString = parameterString;
+        this.parameters = split(parameterString);
+    }
+
+    /**
+     * Parses a line received from the access point.
+     *
+     * @param line the received line
+     * @return the status update or null if the line contains no OUTPUT, DEVICE or SYSTEM update
+     */
+    public static LutronStatusUpdate parse(String line) {
+        for (int start = line.indexOf('~'); start >= 0; start = line.indexOf('~', start + 1)) {
+            LutronStatusUpdate update = parse(line, start + 1);
+            if (update != null) {
+                return update;
+            }
+        }
+        return null;
+    }
+
+    private static LutronStatusUpdate parse(String line, int start) {
+        for (String statusType : STATUS_TYPES) {
+            int targetStart = start + statusType.length() + 1;
+            if (!line.startsWith(statusType, start) || targetStart >= line.length()
+                    || line.charAt(targetStart - 1) != ',') {
+                continue;
+            }
+            int targetEnd = line.indexOf(',', targetStart);
+            if (targetEnd <= targetStart) {
+                return null;
+            }
+            return new LutronStatusUpdate(LutronCommandType.valueOf(statusType),
+                    line.substring(targetStart, targetEnd), line.substring(targetEnd + 1));
+        }
+        return null;
+    }
+
+    /**
+     * Splits the parameters at commas, dropping trailing empty parameters like {@link String#split(String)}.
+     */
+    private static String[] split(String line) {
+        List<String> parameters = new ArrayList<>();
+        int start = 0;
+        int end;
+        while ((end = line.indexOf(',', start)) >= 0) {
+            parameters.add(line.substring(start, end));
+            start = end + 1;
+        }
+        if (parameters.isEmpty()) {
+            return new String[] { line.substring(start) };
+        }
+        parameters.add(line.substring(start));
+
+        int size = parameters.size();
+        while (size > 0 && parameters.get(size - 1).isEmpty()) {
+            size--;
+        }
+        return parameters.subList(0, size).toArray(new String[size]);
+    }
+
+    public LutronCommandType getType() {
+        return this.type;
+    }
+
+    /**
+     * @return the integration ID of the updated output or device, or the first field of a SYSTEM update
+     */
+    public String getTarget() {
+        return this.target;
+    }
+
+    /**
+     * @return the integration ID of the updated output or device, -1 if the target is not a number
+     */
+    public int getIntegrationId() {
+        int integrationId = 0;
+        int length = this.target.length();
+        if (length > 9) {
+            return -1;
+        }
+        for (int i = 0; i < length; i++) {
+            char c = this.target.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            integrationId = integrationId * 10 + (c - '0');
+        }
+        return integrationId;
+    }
+
+    public String[] getParameters() {
+        return this.parameters;
+    }
+
+    /**
+     * @return the parameters as received, e.g. the time of a SYSTEM update
+     */
+    public String getParameterString() {
+        return this.parameterString;
+    }
+}
@@ -0,0 +1,101 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.max.internal.handler;
+
+import static org.junit.Assert.*;
+
+import org.eclipse.smarthome.core.library.types.DecimalType;
+import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.junit.Before;
+import org.junit.Test;
+import org.openhab.binding.max.internal.command.QCommand;
+
+/**
+ * Tests cases for {@link SendCommandQueue}.
+ *
+ * @author agent - Initial contribution
+ */
+public class SendCommandQueueTest {
+
+    private static final ChannelUID SETTEMP_A = new ChannelUID("max:thermostat:cube:KEQ0000001:set_temp");
+    private static final ChannelUID MODE_A = new ChannelUID("max:thermostat:cube:KEQ0000001:mode");
+    private static final ChannelUID MODE_B = new ChannelUID("max:thermostat:cube:KEQ0000002:mode");
+
+    private SendCommandQueue queue;
+
+    @Before
+    public void before() {
+        queue = new SendCommandQueue(3, 80);
+    }
+
+    @Test
+    public void coalesceTest() throws InterruptedException {
+        SendCommand first = new SendCommand("KEQ0000001", SETTEMP_A, new DecimalType(20));
+        SendCommand second = new SendCommand("KEQ0000001", SETTEMP_A, new DecimalType(21));
+
+        assertNull(queue.offer(first));
+        assertSame(first, queue.offer(second));
+        assertEquals(1, queue.size());
+        assertSame(second, queue.take());
+    }
+
+    @Test
+    public void fullQueueTest() {
+        assertNull(queue.offer(new SendCommand("KEQ0000001", SETTEMP_A, new DecimalType(20))));
+        assertNull(queue.offer(new SendCommand("KEQ0000001", MODE_A, new StringType("MANUAL"))));
+        assertNull(queue.offer(new SendCommand("KEQ0000002", MODE_B, new StringType("MANUAL"))));
+
+        SendCommand dropped = new SendCommand("KEQ0000003", new QCommand(), "Reload Data");
+        assertSame(dropped, queue.offer(dropped));
+        assertEquals(3, queue.size());
+    }
+
+    @Test
+    public void modePriorityTest() throws InterruptedException {
+        SendCommand setTemp = new SendCommand("KEQ0000001", SETTEMP_A, new DecimalType(20));
+        SendCommand mode = new SendCommand("KEQ0000002", MODE_B, new StringType("AUTOMATIC"));
+        queue.offer(setTemp);
+        queue.offer(mode);
+
+        assertSame(mode, queue.take());
+        assertSame(setTemp, queue.take());
+    }
+
+    @Test
+    public void deviceOrderTest() throws InterruptedException {
+        SendCommand setTemp = new SendCommand("KEQ0000001", SETTEMP_A, new DecimalType(20));
+        SendCommand mode = new SendCommand("KEQ0000001", MODE_A, new StringType("AUTOMATIC"));
+        queue.offer(setTemp);
+        queue.offer(mode);
+
+        assertSame(setTemp, queue.take());
+        assertSame(mode, queue.take());
+    }
+
+    @Test
+    public void dutyCycleTest() throws InterruptedException {
+        SendCommand setTemp = new SendCommand("KEQ0000001", SETTEMP_A, new DecimalType(20));
+        SendCommand reload = new SendCommand("KEQ0000002", new QCommand(), "Reload Data");
+        queue.offer(setTemp);
+        queue.offer(reload);
+
+        queue.setDutyCycle(79);
+        assertTrue(queue.hasExcessDutyCycle());
+        assertSame(reload, queue.take());
+        assertEquals(1, queue.size());
+
+        queue.setDutyCycle(10);
+        assertEquals(70, queue.getRemainingBudget());
+        assertSame(setTemp, queue.take());
+        assertEquals(70 * SendCommandQueue.AIRTIME_BUDGET / 100 - SendCommandQueue.BURST_AIRTIME,
+                queue.getRemainingAirtime());
+    }
+
+}
@@ -55,6 +55,8 @@ public class MaxBindingConstants {
     public static final String CHANNEL_CONTACT_STATE = "contact_state";
     public static final String CHANNEL_FREE_MEMORY = "free_mem";
     public static final String CHANNEL_DUTY_CYCLE = "duty_cycle";
+    public static final String CHANNEL_DUTY_CYCLE_REMAINING = "duty_cycle_remaining";
+    public static final String CHANNEL_QUEUE_SIZE = "queue_size";
 
     // Custom Properties
     public static final String PROPERTY_IP_ADDRESS = "ipAddress";
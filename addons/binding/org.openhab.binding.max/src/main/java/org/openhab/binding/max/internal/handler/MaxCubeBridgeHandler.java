@@ -26,13 +26,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
-import java.util.concurrent.ArrayBlockingQueue;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Condition;
-import java.util.concurrent.locks.ReentrantLock;
 
 import org.eclipse.smarthome.config.core.Configuration;
 import org.eclipse.smarthome.core.library.types.DecimalType;
@@ -110,9 +106,9 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
 
     /** maximum queue size that we're allowing */
     private static final int MAX_COMMANDS = 50;
-    private final BlockingQueue<SendCommand> commandQueue = new ArrayBlockingQueue<>(MAX_COMMANDS);
 
-    private SendCommand lastCommandId;
+    private static final int MAX_DUTY_CYCLE = 80;
+    private final SendCommandQueue commandQueue = new SendCommandQueue(MAX_COMMANDS, MAX_DUTY_CYCLE);
 
     private long refreshInterval = 30;
     private String ipAddress;
@@ -127,10 +123,6 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
 
     private final MessageProcessor messageProcessor = new MessageProcessor();
 
-    private static final int MAX_DUTY_CYCLE = 80;
-    private final ReentrantLock dutyCycleLock = new ReentrantLock();
-    private final Condition excessDutyCycle = dutyCycleLock.newCondition();
-
     /**
      * Duty cycle of the cube
      */
@@ -331,22 +323,24 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
     }
 
     public class QueueConsumer implements Runnable {
-        private final BlockingQueue<SendCommand> commandQueue;
+        private final SendCommandQueue commandQueue;
 
-        public QueueConsumer(final BlockingQueue<SendCommand> commandQueue) {
+        public QueueConsumer(final SendCommandQueue commandQueue) {
             this.commandQueue = commandQueue;
         }
 
         /**
          * Keeps taking commands from the command queue and send it to
-         * {@link sendCubeCommand} for execution.
+         * {@link sendCubeCommand} for execution. The queue only returns the
+         * commands that fit in the remaining duty cycle of the Cube.
          */
         @Override
         public void run() {
             try {
                 while (!Thread.currentThread().isInterrupted()) {
-                    waitForNormalDutyCycle();
+                    checkDutyCycle();
                     final SendCommand sendCommand = commandQueue.take();
+                    updateQueueState();
                     CubeCommand cmd = sendCommand.getCubeCommand();
                     if (cmd == null) {
                         cmd = getCommand(sendCommand);
@@ -370,22 +364,17 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
             }
         }
 
-        private void waitForNormalDutyCycle() throws InterruptedException {
-            dutyCycleLock.lock();
-            try {
-                while (hasExcessDutyCycle()) {
-                    try {
-                        if (socket != null && !socket.isClosed()) {
-                            socket.close();
-                        }
-                    } catch (IOException e) {
-                        logger.debug("Could not close socket", e);
+        private void checkDutyCycle() {
+            if (hasExcessDutyCycle()) {
+                // the Cube reports the current duty cycle when the next refresh reconnects
+                try {
+                    if (socket != null && !socket.isClosed()) {
+                        socket.close();
                     }
-                    logger.debug("Found to have excess duty cycle, waiting for better times...");
-                    excessDutyCycle.await(1, TimeUnit.MINUTES);
+                } catch (IOException e) {
+                    logger.debug("Could not close socket", e);
                 }
-            } finally {
-                dutyCycleLock.unlock();
+                logger.debug("Found to have excess duty cycle, only sending commands not using the radio...");
             }
         }
     }
@@ -798,16 +787,10 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
     }
 
     private void setDutyCycle(int dutyCycleMsg) {
-        dutyCycleLock.lock();
-        try {
-            dutyCycle = dutyCycleMsg;
-            if (!hasExcessDutyCycle()) {
-                excessDutyCycle.signalAll();
-            } else {
-                logger.debug("Duty cycle at {}, will not release other thread", dutyCycle);
-            }
-        } finally {
-            dutyCycleLock.unlock();
+        dutyCycle = dutyCycleMsg;
+        commandQueue.setDutyCycle(dutyCycleMsg);
+        if (hasExcessDutyCycle()) {
+            logger.debug("Duty cycle at {}, holding back commands using the radio", dutyCycle);
         }
     }
 
@@ -896,8 +879,9 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
      * Takes the device command and puts it on the command queue to be processed
      * by the MAX! Cube Lan Gateway. Note that if multiple commands for the same
      * item-channel combination are send prior that they are processed by the
-     * Max! Cube, they will be removed from the queue as they would not be
-     * meaningful. This will improve the behavior when using sliders in the GUI.
+     * Max! Cube, only the latest is kept in the queue as the others would not be
+     * meaningful. This will improve the behavior when using sliders in the GUI
+     * and saves the duty cycle of the Cube.
      *
      * @param SendCommand
      *            the SendCommand containing the serial number of the device as
@@ -905,20 +889,18 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
      *            command data
      */
     public void queueCommand(SendCommand sendCommand) {
-        if (commandQueue.offer(sendCommand)) {
-            if (lastCommandId != null && lastCommandId.getKey().equals(sendCommand.getKey())) {
-                if (commandQueue.remove(lastCommandId)) {
-                    logger.debug("Removed Command id {} ({}) from queue. Superceeded by {}", lastCommandId.getId(),
-                            lastCommandId.getKey(), sendCommand.getId());
-                }
-            }
-            lastCommandId = sendCommand;
-            logger.debug("Command queued id {} ({}:{}).", sendCommand.getId(), sendCommand.getKey(),
-                    sendCommand.getCommandText());
-
-        } else {
+        SendCommand superseded = commandQueue.offer(sendCommand);
+        if (superseded == sendCommand) {
             logger.debug("Command queued full dropping command id {} ({}).", sendCommand.getId(), sendCommand.getKey());
+            return;
+        }
+        if (superseded != null) {
+            logger.debug("Removed Command id {} ({}) from queue. Superceeded by {}", superseded.getId(),
+                    superseded.getKey(), sendCommand.getId());
         }
+        logger.debug("Command queued id {} ({}:{}).", sendCommand.getId(), sendCommand.getKey(),
+                sendCommand.getCommandText());
+        updateQueueState();
     }
 
     /**
@@ -989,9 +971,17 @@ public class MaxCubeBridgeHandler extends BaseBridgeHandler {
     private void updateCubeState() {
         updateState(new ChannelUID(getThing().getUID(), CHANNEL_FREE_MEMORY), new DecimalType(freeMemorySlots));
         updateState(new ChannelUID(getThing().getUID(), CHANNEL_DUTY_CYCLE), new DecimalType(dutyCycle));
+        updateState(new ChannelUID(getThing().getUID(), CHANNEL_DUTY_CYCLE_REMAINING),
+                new DecimalType(commandQueue.getRemainingBudget()));
+    }
+
+    private void updateQueueState() {
+        updateState(new ChannelUID(getThing().getUID(), CHANNEL_QUEUE_SIZE), new DecimalType(commandQueue.size()));
+        updateState(new ChannelUID(getThing().getUID(), CHANNEL_DUTY_CYCLE_REMAINING),
+                new DecimalType(commandQueue.getRemainingBudget()));
     }
 
     public boolean hasExcessDutyCycle() {
-        return dutyCycle >= MAX_DUTY_CYCLE;
+        return commandQueue.hasExcessDutyCycle();
     }
 }
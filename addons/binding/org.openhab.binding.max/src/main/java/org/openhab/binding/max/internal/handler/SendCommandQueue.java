@@ -0,0 +1,181 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.max.internal.handler;
+
+import static org.openhab.binding.max.MaxBindingConstants.CHANNEL_MODE;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.openhab.binding.max.internal.command.CubeCommand;
+import org.openhab.binding.max.internal.command.SCommand;
+import org.openhab.binding.max.internal.command.SConfigCommand;
+import org.openhab.binding.max.internal.command.ZCommand;
+
+/**
+ * The {@link SendCommandQueue} holds the commands waiting to be sent to the MAX! Cube and plans them within the duty
+ * cycle of the Cube.
+ *
+ * Only the latest pending command is kept per device and channel (or per device and Cube command type), so that
+ * commands superseded before they could be sent (e.g. when moving a slider) do not consume radio time. Mode changes
+ * are sent before other commands, while the commands for a single device keep their order.
+ *
+ * The Cube may only send 1% of the time (36 seconds per hour). It reports the used part of this budget as duty cycle.
+ * The airtime of each command is estimated, so that the commands are only sent while they fit in the remaining budget.
+ * Commands that are not sent by radio are never held back.
+ *
+ * @author agent - Initial contribution
+ */
+public final class SendCommandQueue {
+
+    /** The airtime the Cube may use per hour in ms */
+    static final int AIRTIME_BUDGET = 36000;
+
+    /** The estimated airtime of a command sent with a wake-up burst to a sleeping device in ms */
+    static final int BURST_AIRTIME = 1100;
+
+    private static final int PRIORITY_MODE = 0;
+    private static final int PRIORITY_DEFAULT = 1;
+
+    private final int capacity;
+    private final int maxDutyCycle;
+
+    private final List<SendCommand> commands = new LinkedList<>();
+
+    /** The duty cycle last reported by the Cube, in percent of the budget */
+    private int dutyCycle;
+
+    /** The estimated airtime of the commands sent since the duty cycle was last reported in ms */
+    private int unreportedAirtime;
+
+    /**
+     * @param capacity the maximum number of pending commands
+     * @param maxDutyCycle the duty cycle (in percent of the budget) up to which commands are sent by radio
+     */
+    public SendCommandQueue(int capacity, int maxDutyCycle) {
+        this.capacity = capacity;
+        this.maxDutyCycle = maxDutyCycle;
+    }
+
+    /**
+     * Queues a command, replacing the pending command with the same key.
+     *
+     * @return the superseded command, the command itself if the queue is full or null if nothing was replaced
+     */
+    public synchronized SendCommand offer(SendCommand sendCommand) {
+        SendCommand superseded = null;
+        for (Iterator<SendCommand> it = commands.iterator(); it.hasNext();) {
+            SendCommand pending = it.next();
+            if (pending.getKey().equals(sendCommand.getKey())) {
+                it.remove();
+                superseded = pending;
+                break;
+            }
+        }
+        if (commands.size() >= capacity) {
+            return sendCommand;
+        }
+        commands.add(sendCommand);
+        notifyAll();
+        return superseded;
+    }
+
+    /**
+     * Takes the next command to send, waiting until a command is pending that fits in the remaining duty cycle.
+     */
+    public synchronized SendCommand take() throws InterruptedException {
+        while (true) {
+            SendCommand next = next();
+            if (next != null) {
+                commands.remove(next);
+                unreportedAirtime += estimateAirtime(next);
+                return next;
+            }
+            // wait for a new command or a duty cycle report, the budget also recovers by itself over time
+            wait(TimeUnit.MINUTES.toMillis(1));
+        }
+    }
+
+    private SendCommand next() {
+        int remainingAirtime = getRemainingAirtime();
+        Set<String> waitingDevices = new HashSet<>();
+        SendCommand next = null;
+        for (SendCommand sendCommand : commands) {
+            // only the oldest command of a device is eligible, so that the commands of a device keep their order
+            if (waitingDevices.add(sendCommand.getDeviceSerial())
+                    && estimateAirtime(sendCommand) <= remainingAirtime
+                    && (next == null || getPriority(sendCommand) < getPriority(next))) {
+                next = sendCommand;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Updates the duty cycle reported by the Cube
+     *
+     * @param dutyCycle the used budget in percent
+     */
+    public synchronized void setDutyCycle(int dutyCycle) {
+        this.dutyCycle = dutyCycle;
+        unreportedAirtime = 0;
+        notifyAll();
+    }
+
+    /**
+     * @return the airtime in ms that can still be used before the maximum duty cycle is reached
+     */
+    public synchronized int getRemainingAirtime() {
+        return Math.max(0, (maxDutyCycle - dutyCycle) * AIRTIME_BUDGET / 100 - unreportedAirtime);
+    }
+
+    /**
+     * @return the remaining budget in percent before the maximum duty cycle is reached
+     */
+    public synchronized int getRemainingBudget() {
+        return getRemainingAirtime() * 100 / AIRTIME_BUDGET;
+    }
+
+    /**
+     * @return true if the remaining budget is too small to send a command by radio
+     */
+    public synchronized boolean hasExcessDutyCycle() {
+        return getRemainingAirtime() < BURST_AIRTIME;
+    }
+
+    public synchronized int size() {
+        return commands.size();
+    }
+
+    private static int getPriority(SendCommand sendCommand) {
+        if (sendCommand.getChannelUID() != null && CHANNEL_MODE.equals(sendCommand.getChannelUID().getId())) {
+            return PRIORITY_MODE;
+        }
+        return PRIORITY_DEFAULT;
+    }
+
+    /**
+     * Estimates the airtime used by a command. The channel commands are sent as {@link SCommand}, all other commands
+     * sent by radio reach the devices with a wake-up burst. The remaining commands are handled by the Cube itself.
+     *
+     * @return the estimated airtime in ms
+     */
+    static int estimateAirtime(SendCommand sendCommand) {
+        CubeCommand cubeCommand = sendCommand.getCubeCommand();
+        if (cubeCommand == null || cubeCommand instanceof SCommand || cubeCommand instanceof SConfigCommand
+                || cubeCommand instanceof ZCommand) {
+            return BURST_AIRTIME;
+        }
+        return 0;
+    }
+}
@@ -13,7 +13,6 @@ import static org.openhab.binding.mihome.XiaomiGatewayBindingConstants.*;
 import java.math.BigDecimal;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -22,6 +21,7 @@ import java.util.Set;
 import java.util.Timer;
 import java.util.TimerTask;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.smarthome.config.core.Configuration;
@@ -65,8 +65,8 @@ public class XiaomiBridgeHandler extends ConfigStatusBridgeHandler implements Xi
 
     private final Logger logger = LoggerFactory.getLogger(XiaomiBridgeHandler.class);
 
-    private List<XiaomiItemUpdateListener> itemListeners = new ArrayList<>();
-    private List<XiaomiItemUpdateListener> itemDiscoveryListeners = new ArrayList<>();
+    private Map<String, List<XiaomiItemUpdateListener>> itemListeners = new ConcurrentHashMap<>();
+    private List<XiaomiItemUpdateListener> itemDiscoveryListeners = new CopyOnWriteArrayList<>();
 
     private String gatewayToken;
     private long lastDiscoveryTime;
@@ -124,9 +124,8 @@ public class XiaomiBridgeHandler extends ConfigStatusBridgeHandler implements Xi
             return;
         }
         logger.debug("Init socket on Port: {}", port);
-        socket = new XiaomiBridgeSocket(port);
-        socket.intialize();
-        socket.registerListener(this);
+        socket = XiaomiBridgeSocket.forPort(port);
+        socket.registerListener(this, host);
 
         scheduler.schedule(() -> {
             discoverItems();
@@ -179,7 +178,7 @@ public class XiaomiBridgeHandler extends ConfigStatusBridgeHandler implements Xi
                 logger.debug("Device {} honored write request", sid);
                 break;
         }
-        notifyListeners(command, message);
+        notifyListeners(sid, command, message);
     }
 
     private synchronized void defer(String sid, JsonObject message) {
@@ -215,21 +214,17 @@ public class XiaomiBridgeHandler extends ConfigStatusBridgeHandler implements Xi
         }
     }
 
-    private synchronized void notifyListeners(String command, JsonObject message) {
-        boolean knownDevice = false;
-        String sid = message.get("sid").getAsString();
-
+    private void notifyListeners(String sid, String command, JsonObject message) {
         // Not a message to pass to any itemListener
         if (sid == null) {
             return;
         }
-        for (XiaomiItemUpdateListener itemListener : itemListeners) {
-            if (sid.equals(itemListener.getItemId())) {
+        List<XiaomiItemUpdateListener> listeners = itemListeners.get(sid);
+        if (listeners != null && !listeners.isEmpty()) {
+            for (XiaomiItemUpdateListener itemListener : listeners) {
                 itemListener.onItemUpdate(sid, command, message);
-                knownDevice = true;
             }
-        }
-        if (!knownDevice) {
+        } else {
             for (XiaomiItemUpdateListener itemListener : itemDiscoveryListeners) {
                 itemListener.onItemUpdate(sid, command, message);
             }
@@ -243,16 +238,25 @@ public class XiaomiBridgeHandler extends ConfigStatusBridgeHandler implements Xi
         } else if (listener instanceof XiaomiItemDiscoveryService) {
             result = !(itemDiscoveryListeners.contains(listener)) ? itemDiscoveryListeners.add(listener) : false;
             logger.debug("Having {} Item Discovery listeners", itemDiscoveryListeners.size());
+        } else if (listener.getItemId() == null) {
+            logger.warn("It's not allowed to pass a XiaomiItemUpdateListener without item id");
         } else {
             logger.debug("Adding item listener for device {}", listener.getItemId());
-            result = !(itemListeners.contains(listener)) ? itemListeners.add(listener) : false;
-            logger.debug("Having {} Item listeners", itemListeners.size());
+            List<XiaomiItemUpdateListener> listeners = itemListeners.computeIfAbsent(listener.getItemId(),
+                    sid -> new CopyOnWriteArrayList<>());
+            result = !(listeners.contains(listener)) ? listeners.add(listener) : false;
+            logger.debug("Having Item listeners for {} devices", itemListeners.size());
         }
         return result;
     }
 
     public synchronized boolean unregisterItemListener(XiaomiItemUpdateListener listener) {
-        return itemListeners.remove(listener);
+        boolean result = false;
+        for (List<XiaomiItemUpdateListener> listeners : itemListeners.values()) {
+            result |= listeners.remove(listener);
+        }
+        itemListeners.values().removeIf(List::isEmpty);
+        return result;
     }
 
     private void sendMessageToBridge(String message) {
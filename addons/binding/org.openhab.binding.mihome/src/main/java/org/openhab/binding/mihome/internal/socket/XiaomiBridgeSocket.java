@@ -12,6 +12,8 @@ import java.io.IOException;
 import java.net.DatagramSocket;
 import java.net.InetAddress;
 import java.net.MulticastSocket;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,12 +26,24 @@ import org.slf4j.LoggerFactory;
  */
 public class XiaomiBridgeSocket extends XiaomiSocket {
 
+    private static final Map<Integer, XiaomiBridgeSocket> BRIDGE_SOCKETS = new HashMap<>();
+
     private final Logger logger = LoggerFactory.getLogger(XiaomiBridgeSocket.class);
 
     public XiaomiBridgeSocket(int port) {
         super(port);
     }
 
+    /**
+     * Returns the {@link XiaomiBridgeSocket} of a port, which is shared by all bridges using that port.
+     *
+     * @param port - the port of the socket
+     * @return the shared socket
+     */
+    public static synchronized XiaomiBridgeSocket forPort(int port) {
+        return BRIDGE_SOCKETS.computeIfAbsent(port, XiaomiBridgeSocket::new);
+    }
+
     /**
      * Sets up the {@link XiaomiBridgeSocket}.
      *
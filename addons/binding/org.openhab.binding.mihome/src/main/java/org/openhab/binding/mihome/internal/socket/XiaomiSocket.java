@@ -12,12 +12,14 @@ import java.io.IOException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.InetAddress;
-import java.util.List;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
-import org.openhab.binding.mihome.handler.XiaomiBridgeHandler;
-import org.openhab.binding.mihome.internal.discovery.XiaomiBridgeDiscoveryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -27,6 +29,11 @@ import com.google.gson.JsonParser;
 /**
  * Takes care of the communication with MiHome devices.
  *
+ * Received datagrams are routed by the address of the sender to the listeners registered for that host, and to the
+ * listeners registered for all hosts. Each listener has its own bounded queue and thread, so the receiving thread
+ * never waits for a listener and a slow gateway does not delay the others. The datagrams are parsed on the listener
+ * thread, datagrams without a listener for their host are not parsed at all.
+ *
  *
  * @author Patrick Boos - Initial contribution
  * @author Dieter Schmidt - JavaDoc, refactored, reviewed
@@ -36,9 +43,23 @@ public abstract class XiaomiSocket {
 
     static final String MCAST_ADDR = "224.0.0.50";
     private static final int BUFFER_LENGTH = 1024;
+
+    /**
+     * Maximum number of datagrams waiting for a listener, further datagrams are dropped
+     */
+    private static final int LISTENER_QUEUE_CAPACITY = 100;
+
     private DatagramPacket datagramPacket = new DatagramPacket(new byte[BUFFER_LENGTH], BUFFER_LENGTH);
 
-    private List<XiaomiSocketListener> listeners = new CopyOnWriteArrayList<>();
+    /**
+     * Listeners, which receive the datagrams of all hosts
+     */
+    private final Map<XiaomiSocketListener, ThreadPoolExecutor> listeners = new ConcurrentHashMap<>();
+
+    /**
+     * Listeners, which only receive the datagrams of a single host
+     */
+    private final Map<InetAddress, Map<XiaomiSocketListener, ThreadPoolExecutor>> hostListeners = new ConcurrentHashMap<>();
 
     private static final JsonParser PARSER = new JsonParser();
 
@@ -73,6 +94,9 @@ public abstract class XiaomiSocket {
     }
 
     protected void runReceiveThread() {
+        if (getSocket() == null) {
+            return;
+        }
         socketReceiveThread = new ReceiverThread();
         socketReceiveThread.start();
         if (getSocket() != null) {
@@ -108,9 +132,28 @@ public abstract class XiaomiSocket {
      * @param listener - {@link XiaomiSocketListener} to be called back
      */
     public synchronized void registerListener(XiaomiSocketListener listener) {
-        if (!getListeners().contains(listener)) {
+        if (!listeners.containsKey(listener)) {
             logger.trace("Adding socket listener {}", listener);
-            getListeners().add(listener);
+            listeners.put(listener, createListenerExecutor(listener));
+        }
+        if (getSocket() == null) {
+            intialize();
+        }
+    }
+
+    /**
+     * Registers a {@link XiaomiSocketListener} to be called back, when data is received from a specific host.
+     * If no {@link XiaomiSocket} exists, when the method is called, it is being set up.
+     *
+     * @param listener - {@link XiaomiSocketListener} to be called back
+     * @param host - the host, whose data shall be passed to the listener
+     */
+    public synchronized void registerListener(XiaomiSocketListener listener, InetAddress host) {
+        Map<XiaomiSocketListener, ThreadPoolExecutor> listenersOfHost = hostListeners.computeIfAbsent(host,
+                h -> new ConcurrentHashMap<>());
+        if (!listenersOfHost.containsKey(listener)) {
+            logger.trace("Adding socket listener {} for host {}", listener, host);
+            listenersOfHost.put(listener, createListenerExecutor(listener));
         }
         if (getSocket() == null) {
             intialize();
@@ -124,13 +167,38 @@ public abstract class XiaomiSocket {
      * @param listener - {@link XiaomiSocketListener} to be unregistered
      */
     public synchronized void unregisterListener(XiaomiSocketListener listener) {
-        getListeners().remove(listener);
+        ThreadPoolExecutor executor = listeners.remove(listener);
+        if (executor != null) {
+            executor.shutdown();
+        }
+        for (Map<XiaomiSocketListener, ThreadPoolExecutor> listenersOfHost : hostListeners.values()) {
+            executor = listenersOfHost.remove(listener);
+            if (executor != null) {
+                executor.shutdown();
+            }
+        }
+        hostListeners.values().removeIf(Map::isEmpty);
 
-        if (getListeners().isEmpty()) {
+        if (listeners.isEmpty() && hostListeners.isEmpty()) {
             closeSocket();
         }
     }
 
+    private ThreadPoolExecutor createListenerExecutor(XiaomiSocketListener listener) {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(LISTENER_QUEUE_CAPACITY), runnable -> {
+                    Thread thread = new Thread(runnable,
+                            "ESH-mihome-" + getPort() + "-" + listener.getClass().getSimpleName());
+                    thread.setDaemon(true);
+                    return thread;
+                }, (runnable, e) -> {
+                    if (!e.isShutdown()) {
+                        logger.warn("Listener {} is too slow, dropping received datagram", listener);
+                    }
+                });
+        return executor;
+    }
+
     /**
      * Sends a message through the {@link XiaomiSocket} to a specific address and port
      *
@@ -171,10 +239,6 @@ public abstract class XiaomiSocket {
         this.socket = socket;
     }
 
-    protected List<XiaomiSocketListener> getListeners() {
-        return listeners;
-    }
-
     /**
      * The thread, which waits for data on the {@link XiaomiSocket} and handles it, when received
      *
@@ -191,8 +255,7 @@ public abstract class XiaomiSocket {
 
         /**
          * This method is the main method of the {@link ReceiverThread} for the {@link XiaomiBridgeSocket}.
-         * If the socket has data, it parses the data to a json object and calls all
-         * {@link XiaomiSocketListener} and passes the data to them.
+         * If the socket has data, it passes a copy of the data to the {@link XiaomiSocketListener}s of the sender.
          *
          * @param socket - The multicast socket to listen to
          * @param dgram - The datagram to receive
@@ -205,10 +268,7 @@ public abstract class XiaomiSocket {
                     InetAddress address = dgram.getAddress();
                     logger.debug("Received Datagram from {}:{} on Port {}", address.getHostAddress(), dgram.getPort(),
                             socket.getLocalPort());
-                    String sentence = new String(dgram.getData(), 0, dgram.getLength());
-                    JsonObject message = PARSER.parse(sentence).getAsJsonObject();
-                    notifyAll(getListeners(), message, address);
-                    logger.trace("Data received and notified {} listeners", getListeners().size());
+                    dispatch(address, dgram);
                 }
             } catch (IOException e) {
                 if (!isInterrupted()) {
@@ -221,21 +281,33 @@ public abstract class XiaomiSocket {
         }
 
         /**
-         * Notifies all {@link XiaomiSocketListener} on the parent {@link XiaomiSocket}. First checks for any matching
-         * {@link XiaomiBridgeHandler}, before passing to any {@link XiaomiBridgeDiscoveryService}.
+         * Queues the received data for the {@link XiaomiSocketListener}s registered for the sending host and for the
+         * ones registered for all hosts.
          *
-         * @param listeners - a list of all {@link XiaomiSocketListener} to notify
-         * @param message - the data message as {@link JsonObject}
+         * @param address - the address of the sender
+         * @param dgram - the received datagram, which is reused for the next datagram
          */
-        synchronized void notifyAll(List<XiaomiSocketListener> listeners, JsonObject message, InetAddress address) {
-            for (XiaomiSocketListener listener : listeners) {
-                if (listener instanceof XiaomiBridgeHandler) {
-                    if (((XiaomiBridgeHandler) listener).getHost().equals(address)) {
-                        listener.onDataReceived(message);
-                    }
-                } else if (listener instanceof XiaomiBridgeDiscoveryService) {
-                    listener.onDataReceived(message);
-                }
+        private void dispatch(InetAddress address, DatagramPacket dgram) {
+            Map<XiaomiSocketListener, ThreadPoolExecutor> listenersOfHost = hostListeners.get(address);
+            if ((listenersOfHost == null || listenersOfHost.isEmpty()) && listeners.isEmpty()) {
+                logger.trace("No listener for {}, dropping datagram", address);
+                return;
+            }
+
+            byte[] data = Arrays.copyOfRange(dgram.getData(), dgram.getOffset(),
+                    dgram.getOffset() + dgram.getLength());
+            if (listenersOfHost != null) {
+                listenersOfHost.forEach((listener, executor) -> executor.execute(() -> notifyListener(listener, data)));
+            }
+            listeners.forEach((listener, executor) -> executor.execute(() -> notifyListener(listener, data)));
+        }
+
+        private void notifyListener(XiaomiSocketListener listener, byte[] data) {
+            try {
+                JsonObject message = PARSER.parse(new String(data, StandardCharsets.UTF_8)).getAsJsonObject();
+                listener.onDataReceived(message);
+            } catch (RuntimeException e) {
+                logger.warn("Listener {} failed to handle received data", listener, e);
             }
         }
     }
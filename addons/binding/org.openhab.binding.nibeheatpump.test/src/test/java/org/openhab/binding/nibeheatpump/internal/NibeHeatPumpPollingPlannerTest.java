@@ -0,0 +1,84 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.nibeheatpump.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests cases for {@link NibeHeatPumpPollingPlanner}.
+ *
+ * @author agent - Initial contribution
+ */
+public class NibeHeatPumpPollingPlannerTest {
+
+    private static final long REFRESH_INTERVAL = 60000;
+    private static final long READOUT_INTERVAL = 2000;
+
+    private NibeHeatPumpPollingPlanner planner;
+
+    @Before
+    public void Before() {
+        planner = new NibeHeatPumpPollingPlanner();
+        planner.setRefreshInterval(REFRESH_INTERVAL);
+        planner.addCoil(40004);
+        planner.addCoil(43005);
+        planner.addCoil(47011);
+    }
+
+    @Test
+    public void TestAllRegistersDueWithoutReadOuts() {
+        planner.valueReceived(40004, 1000);
+        assertEquals(Arrays.asList(43005, 47011), planner.getDueReads(2000));
+        assertEquals(Arrays.asList(43005, 47011, 40004), planner.getDueReads(62000));
+    }
+
+    @Test
+    public void TestReadOutRegistersAreNotRead() {
+        planner.readOutReceived(Arrays.asList(40004, 43005), 1000);
+        planner.readOutReceived(Arrays.asList(40004, 43005), 1000 + READOUT_INTERVAL);
+        assertEquals(Collections.singletonList(47011), planner.getDueReads(3500));
+        assertTrue(planner.isCoveredByReadOut(40004, 3500));
+    }
+
+    @Test
+    public void TestMissingReadOutsAreReadAgain() {
+        planner.readOutReceived(Arrays.asList(40004, 43005), 1000);
+        planner.readOutReceived(Arrays.asList(40004, 43005), 1000 + READOUT_INTERVAL);
+        long later = 1000 + READOUT_INTERVAL * 5;
+        assertFalse(planner.isCoveredByReadOut(40004, later));
+        assertEquals(Arrays.asList(40004, 43005, 47011), planner.getDueReads(later));
+    }
+
+    @Test
+    public void TestNoReadsRightBeforeReadOut() {
+        assertTrue(planner.isReadAllowed(0));
+        planner.readOutReceived(Arrays.asList(40004), 1000);
+        planner.readOutReceived(Arrays.asList(40004), 1000 + READOUT_INTERVAL);
+        assertTrue(planner.isReadAllowed(3500));
+        assertFalse(planner.isReadAllowed(4800));
+        assertFalse(planner.isReadAllowed(5100));
+        assertTrue(planner.isReadAllowed(5600));
+    }
+
+    @Test
+    public void TestInvalidatedRegisterIsReadFirst() {
+        planner.valueReceived(40004, 1000);
+        planner.valueReceived(43005, 1000);
+        planner.valueReceived(47011, 1000);
+        assertTrue(planner.getDueReads(2000).isEmpty());
+        planner.invalidate(43005);
+        assertEquals(Collections.singletonList(43005), planner.getDueReads(2000));
+    }
+}
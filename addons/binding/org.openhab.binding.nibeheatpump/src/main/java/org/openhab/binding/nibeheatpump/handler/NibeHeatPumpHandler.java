@@ -22,6 +22,7 @@ import java.util.concurrent.TimeoutException;
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.library.types.StringType;
+import org.eclipse.smarthome.core.thing.Channel;
 import org.eclipse.smarthome.core.thing.ChannelUID;
 import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
@@ -33,6 +34,7 @@ import org.eclipse.smarthome.core.types.State;
 import org.eclipse.smarthome.core.types.UnDefType;
 import org.openhab.binding.nibeheatpump.internal.NibeHeatPumpCommandResult;
 import org.openhab.binding.nibeheatpump.internal.NibeHeatPumpException;
+import org.openhab.binding.nibeheatpump.internal.NibeHeatPumpPollingPlanner;
 import org.openhab.binding.nibeheatpump.internal.config.NibeHeatPumpConfiguration;
 import org.openhab.binding.nibeheatpump.internal.connection.ConnectorFactory;
 import org.openhab.binding.nibeheatpump.internal.connection.NibeHeatPumpConnector;
@@ -47,7 +49,6 @@ import org.openhab.binding.nibeheatpump.internal.message.NibeHeatPumpMessage;
 import org.openhab.binding.nibeheatpump.internal.models.PumpModel;
 import org.openhab.binding.nibeheatpump.internal.models.VariableInformation;
 import org.openhab.binding.nibeheatpump.internal.models.VariableInformation.NibeDataType;
-import org.openhab.binding.nibeheatpump.internal.models.VariableInformation.Type;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -76,7 +77,9 @@ public class NibeHeatPumpHandler extends BaseThingHandler implements NibeHeatPum
     private ScheduledFuture<?> connectorTask;
     private ScheduledFuture<?> pollingJob;
 
-    private final List<Integer> itemsToPoll = Collections.synchronizedList(new ArrayList<>());
+    private final NibeHeatPumpPollingPlanner pollingPlanner = new NibeHeatPumpPollingPlanner();
+
+    private volatile Map<Integer, RegisterChannel> registerChannels = Collections.emptyMap();
 
     private final List<Integer> itemsToEnableWrite = new ArrayList<>();
 
@@ -105,6 +108,22 @@ public class NibeHeatPumpHandler extends BaseThingHandler implements NibeHeatPum
         }
     }
 
+    /**
+     * Variable information and channel of a register, resolved once when the handler is initialized.
+     */
+    private static class RegisterChannel {
+
+        final VariableInformation variableInfo;
+        final ChannelUID channelUID;
+        final String acceptedItemType;
+
+        RegisterChannel(VariableInformation variableInfo, ChannelUID channelUID, String acceptedItemType) {
+            this.variableInfo = variableInfo;
+            this.channelUID = channelUID;
+            this.acceptedItemType = acceptedItemType;
+        }
+    }
+
     public NibeHeatPumpHandler(Thing thing, PumpModel pumpModel) {
         super(thing);
         this.pumpModel = pumpModel;
@@ -191,9 +210,7 @@ public class NibeHeatPumpHandler extends BaseThingHandler implements NibeHeatPum
 
         // Add channel to polling loop
         int coilAddress = parseCoilAddressFromChannelUID(channelUID);
-        synchronized (itemsToPoll) {
-            itemsToPoll.add(coilAddress);
-        }
+        pollingPlanner.addCoil(coilAddress);
         clearCache(coilAddress);
     }
 
@@ -203,9 +220,7 @@ public class NibeHeatPumpHandler extends BaseThingHandler implements NibeHeatPum
 
         // remove channel from polling loop
         int coilAddress = parseCoilAddressFromChannelUID(channelUID);
-        synchronized (itemsToPoll) {
-            itemsToPoll.removeIf(c -> c.equals(coilAddress));
-        }
+        pollingPlanner.removeCoil(coilAddress);
     }
 
     private int parseCoilAddressFromChannelUID(ChannelUID channelUID) {
@@ -232,6 +247,8 @@ public class NibeHeatPumpHandler extends BaseThingHandler implements NibeHeatPum
             return;
         }
 
+        pollingPlanner.setRefreshInterval(refreshIntervalMillis());
+        registerChannels = createRegisterChannels();
         clearCache();
 
         if (connectorTask == null || connectorTask.isCancelled()) {
@@ -293,6 +310,25 @@ public class NibeHeatPumpHandler extends BaseThingHandler implements NibeHeatPum
             connector.removeEventListener(this);
             connector.disconnect();
         }
+
+        pollingPlanner.resetReadOuts();
+    }
+
+    private Map<Integer, RegisterChannel> createRegisterChannels() {
+        Map<Integer, RegisterChannel> channels = new HashMap<>();
+        for (Channel channel : getThing().getChannels()) {
+            try {
+                int coilAddress = parseCoilAddressFromChannelUID(channel.getUID());
+                VariableInformation variableInfo = VariableInformation.getVariableInfo(pumpModel, coilAddress);
+                if (variableInfo != null) {
+                    channels.put(coilAddress,
+                            new RegisterChannel(variableInfo, channel.getUID(), channel.getAcceptedItemType()));
+                }
+            } catch (NumberFormatException e) {
+                logger.debug("Channel '{}' is not bound to a register", channel.getUID());
+            }
+        }
+        return Collections.unmodifiableMap(channels);
     }
 
     private final Runnable pollingRunnable = new Runnable() {
@@ -304,49 +340,48 @@ public class NibeHeatPumpHandler extends BaseThingHandler implements NibeHeatPum
                 return;
             }
 
-            List<Integer> items;
-            synchronized (itemsToPoll) {
-                items = new ArrayList<>(itemsToPoll);
-            }
+            List<Integer> items = pollingPlanner.getDueReads(System.currentTimeMillis());
 
             for (int item : items) {
-                if (connector != null && connector.isConnected()
-                        && getThing().getStatusInfo().getStatus() == ThingStatus.ONLINE) {
-
-                    CacheObject oldValue = stateMap.get(item);
-                    if (oldValue == null
-                            || (oldValue.lastUpdateTime + refreshIntervalMillis()) < System.currentTimeMillis()) {
-
-                        // it's time to refresh data
-                        logger.debug("Time to refresh variable '{}' data", item);
-
-                        ModbusReadRequestMessage request = new ModbusReadRequestMessage.MessageBuilder()
-                                .coilAddress(item).build();
-
-                        try {
-                            readResult = sendMessageToNibe(request);
-                            ModbusReadResponseMessage result = (ModbusReadResponseMessage) readResult.get(TIMEOUT,
-                                    TimeUnit.MILLISECONDS);
-                            if (result != null) {
-                                if (request.getCoilAddress() != result.getCoilAddress()) {
-                                    logger.debug("Data from wrong register '{}' received, expected '{}'",
-                                            result.getCoilAddress(), request.getCoilAddress());
-                                }
-                                // update variable anyway
-                                handleVariableUpdate(pumpModel, result.getValueAsModbusValue());
-                            }
-                        } catch (TimeoutException e) {
-                            logger.debug("Message sending to heat pump failed, no response");
-                            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR);
-                        } catch (InterruptedException e) {
-                            logger.debug("Message sending to heat pump failed, sending interrupted");
-                        } catch (NibeHeatPumpException e) {
-                            logger.debug("Message sending to heat pump failed, exception {}", e.getMessage());
-                            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR);
-                        } finally {
-                            readResult = null;
+                if (connector == null || !connector.isConnected()
+                        || getThing().getStatusInfo().getStatus() != ThingStatus.ONLINE) {
+                    return;
+                }
+
+                if (!pollingPlanner.isReadAllowed(System.currentTimeMillis())) {
+                    // continue after the data readout, the remaining registers are still due on the next round
+                    logger.trace("Data readout expected, postponing read requests");
+                    return;
+                }
+
+                logger.debug("Time to refresh variable '{}' data", item);
+
+                ModbusReadRequestMessage request = new ModbusReadRequestMessage.MessageBuilder().coilAddress(item)
+                        .build();
+
+                try {
+                    readResult = sendMessageToNibe(request);
+                    ModbusReadResponseMessage result = (ModbusReadResponseMessage) readResult.get(TIMEOUT,
+                            TimeUnit.MILLISECONDS);
+                    if (result != null) {
+                        if (request.getCoilAddress() != result.getCoilAddress()) {
+                            logger.debug("Data from wrong register '{}' received, expected '{}'",
+                                    result.getCoilAddress(), request.getCoilAddress());
                         }
+                        // update variable anyway
+                        handleVariableUpdate(result.getValueAsModbusValue());
                     }
+                } catch (TimeoutException e) {
+                    logger.debug("Message sending to heat pump failed, no response");
+                    updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR);
+                } catch (InterruptedException e) {
+                    logger.debug("Message sending to heat pump failed, sending interrupted");
+                    return;
+                } catch (NibeHeatPumpException e) {
+                    logger.debug("Message sending to heat pump failed, exception {}", e.getMessage());
+                    updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR);
+                } finally {
+                    readResult = null;
                 }
             }
         }
@@ -422,10 +457,12 @@ public class NibeHeatPumpHandler extends BaseThingHandler implements NibeHeatPum
 
     private void clearCache() {
         stateMap.clear();
+        pollingPlanner.invalidateAll();
     }
 
     private void clearCache(int coilAddress) {
         stateMap.put(coilAddress, null);
+        pollingPlanner.invalidate(coilAddress);
     }
 
     private synchronized NibeHeatPumpCommandResult sendMessageToNibe(NibeHeatPumpMessage msg)
@@ -484,37 +521,40 @@ public class NibeHeatPumpHandler extends BaseThingHandler implements NibeHeatPum
         List<ModbusValue> regValues = msg.getValues();
 
         if (regValues != null) {
+            List<Integer> coilAddresses = new ArrayList<>(regValues.size());
             for (ModbusValue val : regValues) {
-                handleVariableUpdate(pumpModel, val);
+                coilAddresses.add(val.getCoilAddress());
+                handleVariableUpdate(val);
             }
+            pollingPlanner.readOutReceived(coilAddresses, System.currentTimeMillis());
         }
     }
 
-    private void handleVariableUpdate(PumpModel pumpModel, ModbusValue value) {
+    private void handleVariableUpdate(ModbusValue value) {
         logger.debug("Received variable update: {}", value);
         int coilAddress = value.getCoilAddress();
 
-        VariableInformation variableInfo = VariableInformation.getVariableInfo(pumpModel, coilAddress);
+        RegisterChannel registerChannel = registerChannels.get(coilAddress);
 
-        if (variableInfo != null) {
+        if (registerChannel != null) {
+            VariableInformation variableInfo = registerChannel.variableInfo;
             logger.trace("Using variable information to register {}: {}", coilAddress, variableInfo);
 
             double val = (double) value.getValue() / (double) variableInfo.factor;
             logger.debug("{} = {}", coilAddress + ":" + variableInfo.variable, val);
 
+            long now = System.currentTimeMillis();
+            pollingPlanner.valueReceived(coilAddress, now);
             CacheObject oldValue = stateMap.get(coilAddress);
-            stateMap.put(coilAddress, new CacheObject(System.currentTimeMillis(), val));
+            stateMap.put(coilAddress, new CacheObject(now, val));
 
             if (oldValue != null && val == oldValue.value) {
                 logger.trace("Value did not change, ignoring update");
             } else {
-                final String channelPrefix = (variableInfo.type == Type.SETTING ? "setting#" : "sensor#");
-                final String channelId = channelPrefix + String.valueOf(coilAddress);
-                final String acceptedItemType = thing.getChannel(channelId).getAcceptedItemType();
-
-                logger.trace("AcceptedItemType for channel {} = {}", channelId, acceptedItemType);
-                State state = convertNibeValueToState(variableInfo.dataType, val, acceptedItemType);
-                updateState(new ChannelUID(getThing().getUID(), channelId), state);
+                logger.trace("AcceptedItemType for channel {} = {}", registerChannel.channelUID,
+                        registerChannel.acceptedItemType);
+                State state = convertNibeValueToState(variableInfo.dataType, val, registerChannel.acceptedItemType);
+                updateState(registerChannel.channelUID, state);
             }
         } else {
             logger.debug("Unknown register {}", coilAddress);
@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.nibeheatpump.internal;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * The {@link NibeHeatPumpPollingPlanner} decides which registers need to be read explicitly from the heat pump.
+ *
+ * The heat pump pushes a set of registers in its periodic data readout messages. The planner keeps track of which
+ * registers arrive that way and of the observed readout cadence. Registers covered by the readouts are not read
+ * explicitly, the others are read when their value is older than the refresh interval, the oldest first. Explicit
+ * reads are not started right before an expected readout, so they are spread over the gaps between the readouts.
+ *
+ * @author agent - Initial contribution
+ */
+public class NibeHeatPumpPollingPlanner {
+
+    /**
+     * Number of missed readouts after which a register is no longer considered as covered by the readouts
+     */
+    private static final int MISSED_READOUTS = 3;
+
+    /**
+     * Maximum time in milliseconds before an expected readout in which no explicit read is started
+     */
+    private static final long MAX_READOUT_GUARD = 500;
+
+    /**
+     * Readout gaps longer than this are not used for the cadence, e.g. after a connection loss
+     */
+    private static final long MAX_READOUT_GAP = 60000;
+
+    private final Set<Integer> polledCoils = new TreeSet<>();
+
+    /** Time of the last value per register, null if the value needs to be refreshed */
+    private final Map<Integer, Long> lastUpdates = new HashMap<>();
+
+    /** Time of the last readout per register received in the data readouts */
+    private final Map<Integer, Long> lastReadOuts = new HashMap<>();
+
+    private long lastReadOut;
+    private long readOutInterval;
+    private long refreshInterval;
+
+    /**
+     * Sets the refresh interval of the explicitly read registers
+     *
+     * @param refreshInterval refresh interval in milliseconds
+     */
+    public synchronized void setRefreshInterval(long refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+
+    /**
+     * Adds a register to the registers to keep up to date
+     */
+    public synchronized void addCoil(int coilAddress) {
+        polledCoils.add(coilAddress);
+    }
+
+    /**
+     * Removes a register from the registers to keep up to date
+     */
+    public synchronized void removeCoil(int coilAddress) {
+        polledCoils.remove(coilAddress);
+    }
+
+    /**
+     * Records that a new value of a register was received, either by a read response or in a data readout
+     */
+    public synchronized void valueReceived(int coilAddress, long now) {
+        lastUpdates.put(coilAddress, now);
+    }
+
+    /**
+     * Records a data readout message
+     *
+     * @param coilAddresses registers contained in the readout
+     * @param now time of reception in milliseconds
+     */
+    public synchronized void readOutReceived(Collection<Integer> coilAddresses, long now) {
+        if (lastReadOut > 0) {
+            long gap = now - lastReadOut;
+            if (gap > 0 && gap < MAX_READOUT_GAP) {
+                readOutInterval = readOutInterval == 0 ? gap : (3 * readOutInterval + gap) / 4;
+            }
+        }
+        lastReadOut = now;
+        for (int coilAddress : coilAddresses) {
+            lastReadOuts.put(coilAddress, now);
+        }
+    }
+
+    /**
+     * Forces a refresh of a register with the next read or readout
+     */
+    public synchronized void invalidate(int coilAddress) {
+        lastUpdates.remove(coilAddress);
+    }
+
+    /**
+     * Forces a refresh of all registers
+     */
+    public synchronized void invalidateAll() {
+        lastUpdates.clear();
+    }
+
+    /**
+     * Forgets the readout history, e.g. when the connection to the heat pump is reestablished
+     */
+    public synchronized void resetReadOuts() {
+        lastReadOuts.clear();
+        lastReadOut = 0;
+        readOutInterval = 0;
+    }
+
+    /**
+     * Checks if a register is currently received in the data readouts
+     */
+    public synchronized boolean isCoveredByReadOut(int coilAddress, long now) {
+        Long seen = lastReadOuts.get(coilAddress);
+        if (seen == null) {
+            return false;
+        }
+        long window = readOutInterval > 0 ? MISSED_READOUTS * readOutInterval : refreshInterval;
+        return now - seen <= window;
+    }
+
+    /**
+     * Returns the registers which need to be read explicitly, the least recently updated first
+     *
+     * @param now current time in milliseconds
+     * @return list of register addresses, empty if nothing needs to be read
+     */
+    public synchronized List<Integer> getDueReads(long now) {
+        List<Integer> due = new ArrayList<>();
+        for (int coilAddress : polledCoils) {
+            if (isCoveredByReadOut(coilAddress, now)) {
+                continue;
+            }
+            Long lastUpdate = lastUpdates.get(coilAddress);
+            if (lastUpdate == null || lastUpdate + refreshInterval < now) {
+                due.add(coilAddress);
+            }
+        }
+        due.sort(Comparator.comparingLong(c -> {
+            Long lastUpdate = lastUpdates.get(c);
+            return lastUpdate == null ? Long.MIN_VALUE : lastUpdate;
+        }));
+        return due;
+    }
+
+    /**
+     * Checks if an explicit read can be started now, i.e. no data readout is expected right now
+     */
+    public synchronized boolean isReadAllowed(long now) {
+        if (readOutInterval == 0) {
+            return true;
+        }
+        long expected = lastReadOut + readOutInterval;
+        long guard = Math.min(MAX_READOUT_GUARD, readOutInterval / 4);
+        return now < expected - guard || now > expected + guard;
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.plugwise.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.openhab.binding.plugwise.internal.protocol.InformationRequestMessage;
+import org.openhab.binding.plugwise.internal.protocol.field.MACAddress;
+
+/**
+ * Tests cases for {@link PlugwiseSendWindow}.
+ *
+ * @author agent - Initial contribution
+ */
+public class PlugwiseSendWindowTest {
+
+    private final PlugwiseSendWindow window = new PlugwiseSendWindow();
+
+    @Test
+    public void shrinkTest() {
+        window.setMaxSize(8);
+        assertEquals(8, window.getSize());
+
+        window.shrink();
+        assertEquals(4, window.getSize());
+        window.shrink();
+        window.shrink();
+        assertEquals(1, window.getSize());
+        window.shrink();
+        assertEquals(1, window.getSize());
+    }
+
+    @Test
+    public void growthAndCapTest() {
+        window.setMaxSize(3);
+        window.shrink();
+        window.shrink();
+        assertEquals(1, window.getSize());
+
+        send(1);
+        window.remove(1);
+        assertEquals(2, window.getSize());
+        send(2);
+        window.remove(2);
+        assertEquals(3, window.getSize());
+
+        // the window doesn't grow beyond the configured maximum
+        send(3);
+        window.remove(3);
+        assertEquals(3, window.getSize());
+        assertEquals(0, window.getInFlight());
+    }
+
+    @Test
+    public void invalidMaxSizeTest() {
+        window.setMaxSize(0);
+        assertEquals(1, window.getSize());
+    }
+
+    @Test
+    public void unknownResponseTest() {
+        window.setMaxSize(2);
+        send(1);
+
+        assertNull(window.remove(2));
+        assertEquals(1, window.getInFlight());
+        assertNotNull(window.remove(1));
+        assertEquals(0, window.getInFlight());
+    }
+
+    @Test
+    public void awaitSlotTest() throws InterruptedException {
+        window.setMaxSize(2);
+        send(1);
+        window.reserve();
+
+        CountDownLatch slot = awaitSlotInBackground();
+        assertFalse(slot.await(200, TimeUnit.MILLISECONDS));
+
+        // the reserved message was not acknowledged
+        window.release();
+        assertTrue(slot.await(5, TimeUnit.SECONDS));
+
+        send(2);
+        slot = awaitSlotInBackground();
+        assertFalse(slot.await(200, TimeUnit.MILLISECONDS));
+
+        window.remove(1);
+        assertTrue(slot.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void responseBeforeAcknowledgementTest() throws InterruptedException {
+        window.setMaxSize(2);
+        window.shrink();
+        window.reserve();
+
+        // the response is processed before the acknowledgement
+        assertNull(window.remove(5));
+        window.add(5, message());
+
+        assertEquals(0, window.getInFlight());
+        assertEquals(2, window.getSize());
+        window.awaitSlot();
+    }
+
+    @Test
+    public void expireTest() throws InterruptedException {
+        PlugwiseQueuedMessage queuedMessage = message();
+        queuedMessage.setSentTime(System.currentTimeMillis() - PlugwiseSendWindow.RESPONSE_TIMEOUT_MILLIS);
+        window.reserve();
+        window.add(1, queuedMessage);
+        assertEquals(1, window.getInFlight());
+
+        // the message without response no longer occupies the window
+        window.awaitSlot();
+        assertEquals(0, window.getInFlight());
+        assertEquals(1, window.getExpired());
+    }
+
+    @Test
+    public void clearTest() throws InterruptedException {
+        send(1);
+        window.reserve();
+
+        window.clear();
+        assertEquals(0, window.getInFlight());
+        window.awaitSlot();
+    }
+
+    private void send(int sequenceNumber) {
+        window.reserve();
+        window.add(sequenceNumber, message());
+    }
+
+    private CountDownLatch awaitSlotInBackground() {
+        CountDownLatch slot = new CountDownLatch(1);
+        Thread thread = new Thread(() -> {
+            try {
+                window.awaitSlot();
+                slot.countDown();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.setDaemon(true);
+        thread.start();
+        return slot;
+    }
+
+    private static PlugwiseQueuedMessage message() {
+        PlugwiseQueuedMessage queuedMessage = new PlugwiseQueuedMessage(
+                new InformationRequestMessage(new MACAddress("000D6F0000123456")), PlugwiseMessagePriority.COMMAND);
+        queuedMessage.setSentTime(System.currentTimeMillis());
+        return queuedMessage;
+    }
+}
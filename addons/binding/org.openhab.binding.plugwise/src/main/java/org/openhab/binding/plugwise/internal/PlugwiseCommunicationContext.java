@@ -14,7 +14,6 @@ import java.util.Enumeration;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.PriorityBlockingQueue;
-import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.commons.io.IOUtils;
 import org.eclipse.jdt.annotation.NonNullByDefault;
@@ -73,9 +72,7 @@ public class PlugwiseCommunicationContext {
     private final BlockingQueue<@Nullable Message> receivedQueue = new ArrayBlockingQueue<>(MAX_BUFFER_SIZE, true);
     private final PriorityBlockingQueue<@Nullable PlugwiseQueuedMessage> sendQueue = new PriorityBlockingQueue<>(
             MAX_BUFFER_SIZE, QUEUED_MESSAGE_COMPERATOR);
-    private final BlockingQueue<@Nullable PlugwiseQueuedMessage> sentQueue = new ArrayBlockingQueue<>(MAX_BUFFER_SIZE,
-            true);
-    private final ReentrantLock sentQueueLock = new ReentrantLock();
+    private final PlugwiseSendWindow sendWindow = new PlugwiseSendWindow();
     private final PlugwiseFilteredMessageListenerList filteredListeners = new PlugwiseFilteredMessageListenerList();
 
     private PlugwiseStickConfig configuration = new PlugwiseStickConfig();
@@ -85,7 +82,7 @@ public class PlugwiseCommunicationContext {
         acknowledgedQueue.clear();
         receivedQueue.clear();
         sendQueue.clear();
-        sentQueue.clear();
+        sendWindow.clear();
     }
 
     public void closeSerialPort() {
@@ -148,12 +145,8 @@ public class PlugwiseCommunicationContext {
         return sendQueue;
     }
 
-    public BlockingQueue<@Nullable PlugwiseQueuedMessage> getSentQueue() {
-        return sentQueue;
-    }
-
-    public ReentrantLock getSentQueueLock() {
-        return sentQueueLock;
+    public PlugwiseSendWindow getSendWindow() {
+        return sendWindow;
     }
 
     public @Nullable SerialPort getSerialPort() {
@@ -12,7 +12,6 @@ import static org.openhab.binding.plugwise.internal.PlugwiseCommunicationContext
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
-import java.util.Iterator;
 import java.util.TooManyListenersException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -149,26 +148,17 @@ public class PlugwiseMessageProcessor implements SerialPortEventListener {
     private void processMessage(Message message) {
         context.getFilteredListeners().notifyListeners(message);
 
-        // After processing the response to a message, we remove any reference to the original request
-        // stored in the sentQueue
+        // After processing the response to a message, we remove the original request from the send window
         // WARNING: We assume that each request sent out can only be followed bye EXACTLY ONE response - so
         // far it seems that the Plugwise protocol is operating in that way
+        PlugwiseQueuedMessage queuedSentMessage = context.getSendWindow().remove(message.getSequenceNumber());
+        if (queuedSentMessage != null) {
+            logger.debug("Removing from sendWindow: {}", queuedSentMessage.getMessage());
+        }
 
-        try {
-            context.getSentQueueLock().lock();
-
-            Iterator<@Nullable PlugwiseQueuedMessage> messageIterator = context.getSentQueue().iterator();
-            while (messageIterator.hasNext()) {
-                PlugwiseQueuedMessage queuedSentMessage = messageIterator.next();
-                if (queuedSentMessage != null
-                        && queuedSentMessage.getMessage().getSequenceNumber() == message.getSequenceNumber()) {
-                    logger.debug("Removing from sentQueue: {}", queuedSentMessage.getMessage());
-                    context.getSentQueue().remove(queuedSentMessage);
-                    break;
-                }
-            }
-        } finally {
-            context.getSentQueueLock().unlock();
+        if (message instanceof AcknowledgementMessage && ((AcknowledgementMessage) message).isTimeOut()) {
+            // The device did not respond in time to the Stick, give the network some slack
+            context.getSendWindow().shrink();
         }
     }
 
@@ -36,7 +36,8 @@ public class PlugwiseMessageSender {
 
     private class MessageSenderThread extends Thread {
 
-        private int messageWaitTime;
+        private final int messageWaitTime;
+        private int backoffTime;
 
         public MessageSenderThread(int messageWaitTime) {
             super("Plugwise MessageSenderThread");
@@ -48,13 +49,26 @@ public class PlugwiseMessageSender {
         public void run() {
             while (!interrupted()) {
                 try {
+                    // Instead of waiting a fixed time after each message, the next message is sent as soon as the
+                    // previous one is acknowledged and the send window has room for it
+                    context.getSendWindow().awaitSlot();
                     PlugwiseQueuedMessage queuedMessage = context.getSendQueue().take();
                     logger.debug("Took message from sendQueue (length={})", context.getSendQueue().size());
                     if (queuedMessage == null) {
                         continue;
                     }
-                    sendMessage(queuedMessage);
-                    sleep(messageWaitTime);
+                    if (sendMessage(queuedMessage)) {
+                        backoffTime = backoffTime / 2;
+                    } else {
+                        // Back off exponentially while the Stick can't be written to, rejects messages or does not
+                        // acknowledge them
+                        backoffTime = Math.min(MAX_BACKOFF_TIME, Math.max(messageWaitTime, backoffTime * 2));
+                        context.getSendWindow().shrink();
+                    }
+                    if (backoffTime > 0) {
+                        logger.debug("Backing off {}ms before sending the next message", backoffTime);
+                        sleep(backoffTime);
+                    }
                 } catch (InterruptedException e) {
                     // That's our signal to stop
                     break;
@@ -72,6 +86,9 @@ public class PlugwiseMessageSender {
     /** After exceeding this threshold the Stick is set offline */
     private static final int MAX_SEQUENTIAL_WRITE_ERRORS = 15;
 
+    /** Maximum time to wait between messages when backing off (in ms) */
+    private static final int MAX_BACKOFF_TIME = 5000;
+
     private final Logger logger = LoggerFactory.getLogger(PlugwiseMessageSender.class);
     private final PlugwiseCommunicationContext context;
 
@@ -94,7 +111,12 @@ public class PlugwiseMessageSender {
         context.getSendQueue().put(new PlugwiseQueuedMessage(message, priority));
     }
 
-    private void sendMessage(PlugwiseQueuedMessage queuedMessage) throws InterruptedException {
+    /**
+     * Writes a message to the Stick and waits for its acknowledgement
+     *
+     * @return false if the message could not be written, was rejected or was not acknowledged by the Stick
+     */
+    private boolean sendMessage(PlugwiseQueuedMessage queuedMessage) throws InterruptedException {
         if (queuedMessage.getAttempts() < MAX_RETRIES) {
             queuedMessage.increaseAttempts();
 
@@ -106,7 +128,7 @@ public class PlugwiseMessageSender {
                 logger.warn("Error writing '{}' to serial port {}: outputChannel is null", messageHexString,
                         context.getConfiguration().getSerialPort());
                 sequentialWriteErrors++;
-                return;
+                return false;
             }
 
             String packetString = PROTOCOL_HEADER + messageHexString + PROTOCOL_TRAILER;
@@ -114,50 +136,59 @@ public class PlugwiseMessageSender {
             bytebuffer.put(packetString.getBytes());
             bytebuffer.rewind();
 
+            // Reserve the slot in the send window before writing, because the response may be processed before the
+            // acknowledgement is taken from the queue
+            PlugwiseSendWindow sendWindow = context.getSendWindow();
+            sendWindow.reserve();
+            boolean acknowledged = false;
             try {
-                logger.debug("Sending: {} as {}", message, messageHexString);
-                localOutputChannel.write(bytebuffer);
-                sequentialWriteErrors = 0;
-            } catch (IOException e) {
-                logger.warn("Error writing '{}' to serial port {}: {}", messageHexString,
-                        context.getConfiguration().getSerialPort(), e.getMessage());
-                sequentialWriteErrors++;
-                return;
-            }
-
-            // Poll the acknowledgement message for at most 1 second, normally it is received within 75ms
-            AcknowledgementMessage ack = context.getAcknowledgedQueue().poll(1, TimeUnit.SECONDS);
-            logger.debug("Removing from acknowledgedQueue: {}", ack);
-
-            if (ack == null) {
-                String logMsg = "Error sending: No ACK received after 1 second: {}";
-                if (NETWORK_STATUS_REQUEST.equals(message.getType())) {
-                    // Log on debug because the Stick will be set offline anyhow
-                    logger.debug(logMsg, messageHexString);
-                } else {
-                    logger.warn(logMsg, messageHexString);
-                }
-            } else if (!ack.isSuccess()) {
-                if (ack.isError()) {
-                    logger.warn("Error sending: Negative ACK: {}", messageHexString);
+                long sentTime = System.currentTimeMillis();
+                try {
+                    logger.debug("Sending: {} as {}", message, messageHexString);
+                    localOutputChannel.write(bytebuffer);
+                    sequentialWriteErrors = 0;
+                } catch (IOException e) {
+                    logger.warn("Error writing '{}' to serial port {}: {}", messageHexString,
+                            context.getConfiguration().getSerialPort(), e.getMessage());
+                    sequentialWriteErrors++;
+                    return false;
                 }
-            } else {
-                // Update the sent message with the new sequence number
-                message.setSequenceNumber(ack.getSequenceNumber());
 
-                // Place the sent message in the sent queue
-                logger.debug("Adding to sentQueue: {}", message);
-                context.getSentQueueLock().lock();
-                try {
-                    if (context.getSentQueue().size() == PlugwiseCommunicationContext.MAX_BUFFER_SIZE) {
-                        // For some reason Plugwise devices, or the Stick, does not send responses to Requests.
-                        // They clog the sent queue. Let's flush some part of the queue
-                        PlugwiseQueuedMessage someMessage = context.getSentQueue().poll();
-                        logger.debug("Flushing from sentQueue: {}", someMessage);
+                // Poll the acknowledgement message for at most 1 second, normally it is received within 75ms
+                AcknowledgementMessage ack = context.getAcknowledgedQueue().poll(1, TimeUnit.SECONDS);
+                logger.debug("Removing from acknowledgedQueue: {}", ack);
+
+                if (ack == null) {
+                    String logMsg = "Error sending: No ACK received after 1 second: {}";
+                    if (NETWORK_STATUS_REQUEST.equals(message.getType())) {
+                        // Log on debug because the Stick will be set offline anyhow
+                        logger.debug(logMsg, messageHexString);
+                    } else {
+                        logger.warn(logMsg, messageHexString);
                     }
-                    context.getSentQueue().put(queuedMessage);
-                } finally {
-                    context.getSentQueueLock().unlock();
+                    return false;
+                } else if (!ack.isSuccess()) {
+                    if (ack.isError()) {
+                        logger.warn("Error sending: Negative ACK: {}", messageHexString);
+                    }
+                    return false;
+                } else {
+                    // Update the sent message with the new sequence number
+                    message.setSequenceNumber(ack.getSequenceNumber());
+                    queuedMessage.setSentTime(sentTime);
+
+                    // Place the sent message in the send window until its response is received. For some reason
+                    // Plugwise devices, or the Stick, do not send responses to all requests, these are expired.
+                    sendWindow.add(ack.getSequenceNumber(), queuedMessage);
+                    acknowledged = true;
+                    logger.debug("Adding to sendWindow: {} (ack={}ms, inFlight={}/{}, sendQueue={}, roundTrip={}ms, "
+                            + "expired={})", message, System.currentTimeMillis() - sentTime, sendWindow.getInFlight(),
+                            sendWindow.getSize(), context.getSendQueue().size(), sendWindow.getAverageRoundTripTime(),
+                            sendWindow.getExpired());
+                }
+            } finally {
+                if (!acknowledged) {
+                    sendWindow.release();
                 }
             }
         } else {
@@ -165,6 +196,7 @@ public class PlugwiseMessageSender {
             logger.warn("Giving up on Plugwise message after {} attempts: {}", queuedMessage.getAttempts(),
                     queuedMessage.getMessage());
         }
+        return true;
     }
 
     public void start() throws PlugwiseInitializationException {
@@ -180,6 +212,7 @@ public class PlugwiseMessageSender {
         }
 
         sequentialWriteErrors = 0;
+        context.getSendWindow().setMaxSize(context.getConfiguration().getMaxMessagesInFlight());
         thread = new MessageSenderThread(context.getConfiguration().getMessageWaitTime());
         thread.start();
     }
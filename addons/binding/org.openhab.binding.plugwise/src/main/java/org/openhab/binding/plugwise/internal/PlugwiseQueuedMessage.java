@@ -25,6 +25,7 @@ public class PlugwiseQueuedMessage {
     private final LocalDateTime dateTime = LocalDateTime.now();
     private final Message message;
     private int attempts;
+    private long sentTime;
 
     public PlugwiseQueuedMessage(Message message, PlugwiseMessagePriority priority) {
         this.message = message;
@@ -47,6 +48,14 @@ public class PlugwiseQueuedMessage {
         return priority;
     }
 
+    public long getSentTime() {
+        return sentTime;
+    }
+
+    public void setSentTime(long sentTime) {
+        this.sentTime = sentTime;
+    }
+
     public void increaseAttempts() {
         attempts++;
     }
@@ -0,0 +1,195 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.plugwise.internal;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link PlugwiseSendWindow} tracks the messages that are acknowledged by the Stick and still wait for a response
+ * from a device. The messages are indexed by the sequence number assigned by the Stick, so responses are matched in
+ * constant time.
+ *
+ * The number of messages in flight is limited by a window that is halved when the Stick rejects a message or does not
+ * acknowledge it, and that grows again with every response up to the configured maximum. Messages that never get a
+ * response are expired after {@link #RESPONSE_TIMEOUT_MILLIS}.
+ *
+ * A slot is reserved before a message is written, because the sequence number is only known after the
+ * acknowledgement. A response that is received before the acknowledgement is remembered and releases the slot as soon
+ * as the message is added.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class PlugwiseSendWindow {
+
+    /** The time after which a message without response no longer occupies the window */
+    public static final long RESPONSE_TIMEOUT_MILLIS = 10000;
+
+    private final Logger logger = LoggerFactory.getLogger(PlugwiseSendWindow.class);
+    private final Map<Integer, PlugwiseQueuedMessage> inFlight = new HashMap<>();
+    private final Set<Integer> earlyResponses = new HashSet<>();
+
+    private int maxSize = 1;
+    private int size = 1;
+    private int reserved;
+
+    private long averageRoundTripTime;
+    private long responses;
+    private long expired;
+
+    /**
+     * Waits until there is room in the window for another message
+     */
+    public synchronized void awaitSlot() throws InterruptedException {
+        long waitTime = expire();
+        while (inFlight.size() + reserved >= size) {
+            wait(waitTime);
+            waitTime = expire();
+        }
+    }
+
+    /**
+     * Reserves a slot for a message that is about to be written to the Stick. The reservation ends with
+     * {@link #add(int, PlugwiseQueuedMessage)} when the message is acknowledged or with {@link #release()} otherwise.
+     */
+    public synchronized void reserve() {
+        reserved++;
+    }
+
+    /**
+     * Adds a message acknowledged by the Stick to the window
+     *
+     * @param sequenceNumber the sequence number assigned by the Stick
+     * @param queuedMessage the message
+     */
+    public synchronized void add(int sequenceNumber, PlugwiseQueuedMessage queuedMessage) {
+        endReservation();
+        if (earlyResponses.remove(sequenceNumber)) {
+            // the response was received before the acknowledgement
+            responseReceived(queuedMessage);
+        } else {
+            inFlight.put(sequenceNumber, queuedMessage);
+        }
+        clearEarlyResponses();
+    }
+
+    /**
+     * Releases the slot of a message that was not written or not acknowledged by the Stick
+     */
+    public synchronized void release() {
+        endReservation();
+        clearEarlyResponses();
+        notifyAll();
+    }
+
+    /**
+     * Removes the message a response is received for
+     *
+     * @param sequenceNumber the sequence number of the response
+     * @return the sent message or null if no message with this sequence number is in flight
+     */
+    public synchronized @Nullable PlugwiseQueuedMessage remove(int sequenceNumber) {
+        PlugwiseQueuedMessage queuedMessage = inFlight.remove(sequenceNumber);
+        if (queuedMessage != null) {
+            responseReceived(queuedMessage);
+        } else if (reserved > 0) {
+            // the message this is the response to might not be acknowledged yet
+            earlyResponses.add(sequenceNumber);
+        }
+        return queuedMessage;
+    }
+
+    private void responseReceived(PlugwiseQueuedMessage queuedMessage) {
+        long roundTripTime = System.currentTimeMillis() - queuedMessage.getSentTime();
+        averageRoundTripTime = responses == 0 ? roundTripTime : (averageRoundTripTime * 7 + roundTripTime) / 8;
+        responses++;
+        size = Math.min(maxSize, size + 1);
+        notifyAll();
+    }
+
+    private void endReservation() {
+        reserved = Math.max(0, reserved - 1);
+    }
+
+    private void clearEarlyResponses() {
+        if (reserved == 0) {
+            earlyResponses.clear();
+        }
+    }
+
+    /**
+     * Halves the window after the Stick rejected a message or did not acknowledge it
+     */
+    public synchronized void shrink() {
+        size = Math.max(1, size / 2);
+    }
+
+    public synchronized void setMaxSize(int maxSize) {
+        this.maxSize = Math.max(1, maxSize);
+        size = this.maxSize;
+    }
+
+    public synchronized void clear() {
+        inFlight.clear();
+        earlyResponses.clear();
+        reserved = 0;
+        notifyAll();
+    }
+
+    /**
+     * Expires the messages without response
+     *
+     * @return the time until the next message expires
+     */
+    private long expire() {
+        long now = System.currentTimeMillis();
+        long nextExpiry = RESPONSE_TIMEOUT_MILLIS;
+        for (Iterator<PlugwiseQueuedMessage> it = inFlight.values().iterator(); it.hasNext();) {
+            PlugwiseQueuedMessage queuedMessage = it.next();
+            long age = now - queuedMessage.getSentTime();
+            if (age >= RESPONSE_TIMEOUT_MILLIS) {
+                logger.debug("No response received after {}ms: {}", age, queuedMessage.getMessage());
+                it.remove();
+                expired++;
+            } else {
+                nextExpiry = Math.min(nextExpiry, RESPONSE_TIMEOUT_MILLIS - age);
+            }
+        }
+        return nextExpiry;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight.size();
+    }
+
+    public synchronized int getSize() {
+        return size;
+    }
+
+    /**
+     * @return the moving average of the time between sending a message and receiving its response (in ms)
+     */
+    public synchronized long getAverageRoundTripTime() {
+        return averageRoundTripTime;
+    }
+
+    public synchronized long getExpired() {
+        return expired;
+    }
+
+}
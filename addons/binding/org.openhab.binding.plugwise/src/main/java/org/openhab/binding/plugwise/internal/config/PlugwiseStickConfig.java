@@ -20,6 +20,7 @@ public class PlugwiseStickConfig {
 
     private String serialPort = "";
     private int messageWaitTime = 150; // milliseconds
+    private int maxMessagesInFlight = 4;
 
     public String getSerialPort() {
         return serialPort;
@@ -29,6 +30,10 @@ public class PlugwiseStickConfig {
         return messageWaitTime;
     }
 
+    public int getMaxMessagesInFlight() {
+        return maxMessagesInFlight;
+    }
+
     public void setSerialPort(String serialPort) {
         this.serialPort = serialPort;
     }
@@ -37,8 +42,13 @@ public class PlugwiseStickConfig {
         this.messageWaitTime = messageWaitTime;
     }
 
+    public void setMaxMessagesInFlight(int maxMessagesInFlight) {
+        this.maxMessagesInFlight = maxMessagesInFlight;
+    }
+
     @Override
     public String toString() {
-        return "PlugwiseStickConfig [serialPort=" + serialPort + ", messageWaitTime=" + messageWaitTime + "]";
+        return "PlugwiseStickConfig [serialPort=" + serialPort + ", messageWaitTime=" + messageWaitTime
+                + ", maxMessagesInFlight=" + maxMessagesInFlight + "]";
     }
 }
@@ -10,6 +10,7 @@ package org.openhab.binding.powermax.internal.handler;
 
 import static org.openhab.binding.powermax.internal.PowermaxBindingConstants.*;
 
+import java.io.File;
 import java.util.EventObject;
 import java.util.List;
 import java.util.Map;
@@ -18,6 +19,7 @@ import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang.StringUtils;
+import org.eclipse.smarthome.config.core.ConfigConstants;
 import org.eclipse.smarthome.core.library.types.OnOffType;
 import org.eclipse.smarthome.core.library.types.StringType;
 import org.eclipse.smarthome.core.thing.Bridge;
@@ -116,6 +118,9 @@ public class PowermaxBridgeHandler extends BaseBridgeHandler implements Powermax
         }
 
         if (errorMsg == null) {
+            if (!forceStandardMode) {
+                loadPanelSettings();
+            }
             if (globalJob == null || globalJob.isCancelled()) {
                 // Delay the startup in case the handler is restarted immediately
                 globalJob = scheduler.scheduleWithFixedDelay(() -> {
@@ -204,6 +209,19 @@ public class PowermaxBridgeHandler extends BaseBridgeHandler implements Powermax
         super.dispose();
     }
 
+    /*
+     * Load the panel settings stored at the end of the last setup download, so that the things can be set up
+     * before the setup is downloaded again
+     */
+    private void loadPanelSettings() {
+        File file = new File(ConfigConstants.getUserDataFolder() + File.separator + BINDING_ID + File.separator
+                + getThing().getUID().getAsString().replace(':', '_') + ".settings");
+        if (commManager.loadPanelSettings(file)) {
+            logger.debug("Powermax alarm binding: panel settings loaded from {}", file);
+            updatePropertiesFromPanelSettings();
+        }
+    }
+
     /*
      * Set the state of items linked to motion sensors to OFF when the last trip is older
      * than the value defined by the variable motionOffDelay
@@ -452,8 +470,12 @@ public class PowermaxBridgeHandler extends BaseBridgeHandler implements Powermax
                 listener.onPanelSettingsUpdated(getPanelSettings());
             }
             remainingDownloadAttempts = 0;
+            if (currentState.isPowerlinkMode()) {
+                commManager.savePanelSettings();
+            }
         } else {
             logger.info("Powermax alarm binding: setup download failed!");
+            commManager.discardPanelSettings();
             for (PowermaxPanelSettingsListener listener : listeners) {
                 listener.onPanelSettingsUpdated(null);
             }
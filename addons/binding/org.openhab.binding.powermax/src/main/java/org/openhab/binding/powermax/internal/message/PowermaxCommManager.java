@@ -8,6 +8,7 @@
  */
 package org.openhab.binding.powermax.internal.message;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.EventObject;
@@ -29,6 +30,7 @@ import org.openhab.binding.powermax.internal.connector.PowermaxSerialConnector;
 import org.openhab.binding.powermax.internal.connector.PowermaxTcpConnector;
 import org.openhab.binding.powermax.internal.state.PowermaxArmMode;
 import org.openhab.binding.powermax.internal.state.PowermaxPanelSettings;
+import org.openhab.binding.powermax.internal.state.PowermaxPanelSettingsSnapshot;
 import org.openhab.binding.powermax.internal.state.PowermaxPanelType;
 import org.openhab.binding.powermax.internal.state.PowermaxState;
 import org.openhab.binding.powermax.internal.state.PowermaxStateEvent;
@@ -88,6 +90,15 @@ public class PowermaxCommManager implements PowermaxMessageEventListener {
     /** The time in milliseconds used to set time and date */
     private Long syncTimeCheck;
 
+    /** The file used to store the panel settings between restarts; null if the settings are not stored */
+    private File settingsSnapshotFile;
+
+    /** The checksum of the raw settings stored in the snapshot file */
+    private Long settingsSnapshotChecksum;
+
+    /** The boolean indicating if the current raw settings can be verified rather than fully downloaded again */
+    private boolean verifySettings;
+
     /**
      * Constructor for Serial Connection
      *
@@ -213,6 +224,70 @@ public class PowermaxCommManager implements PowermaxMessageEventListener {
         return panelSettings.process(powerlinkMode, panelType, powerlinkMode ? syncTimeCheck : null);
     }
 
+    /**
+     * Load the panel settings stored in a snapshot file, so that they are available before the panel setup is
+     * downloaded. The stored settings are then only verified when the panel setup is downloaded.
+     *
+     * @param file the snapshot file; the settings are saved into this file after each successful download
+     *
+     * @return true if the stored settings have been loaded and processed; false if not
+     */
+    public boolean loadPanelSettings(File file) {
+        settingsSnapshotFile = file;
+        PowermaxPanelSettings settings = new PowermaxPanelSettings(panelType);
+        if (PowermaxPanelSettingsSnapshot.load(file, settings) && settings.process(true, panelType, null)) {
+            panelSettings = settings;
+            settingsSnapshotChecksum = PowermaxPanelSettingsSnapshot.checksum(settings);
+            verifySettings = true;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Save the panel settings into the snapshot file if they changed since the last save
+     */
+    public void savePanelSettings() {
+        if (settingsSnapshotFile == null) {
+            return;
+        }
+        long checksum = PowermaxPanelSettingsSnapshot.checksum(panelSettings);
+        if ((settingsSnapshotChecksum == null) || (settingsSnapshotChecksum != checksum)) {
+            logger.debug("Powermax alarm binding: panel settings changed, saving them into {}",
+                    settingsSnapshotFile);
+            if (PowermaxPanelSettingsSnapshot.save(settingsSnapshotFile, panelSettings)) {
+                settingsSnapshotChecksum = checksum;
+            }
+        }
+        verifySettings = true;
+    }
+
+    /**
+     * Force a full download of the panel setup at the next download, e.g. after a failed verification of the
+     * stored settings
+     */
+    public void discardPanelSettings() {
+        verifySettings = false;
+    }
+
+    /**
+     * Request the panel settings when entering the download mode. If the current settings were loaded from a
+     * snapshot or already downloaded, only the settings decoded by the binding are downloaded again rather than the
+     * full panel setup.
+     *
+     * @param infoPanelType the panel type reported by the alarm system
+     */
+    public void requestPanelSettings(PowermaxPanelType infoPanelType) {
+        if (verifySettings && (infoPanelType != null) && (infoPanelType == panelSettings.getPanelType())) {
+            logger.debug("Powermax alarm binding: verifying the known panel settings");
+            for (PowermaxSendType request : PowermaxPanelSettings.getSettingsRequests(infoPanelType)) {
+                sendMessage(request);
+            }
+        } else {
+            sendMessage(PowermaxSendType.START);
+        }
+    }
+
     /**
      * @return a new instance of PowermaxState
      */
@@ -61,7 +61,7 @@ public class PowermaxInfoMessage extends PowermaxBaseMessage {
         if ((panelType != null) && panelType.isPowerMaster()) {
             commManager.sendMessage(PowermaxSendType.DL_MR_SIRKEYZON);
         }
-        commManager.sendMessage(PowermaxSendType.START);
+        commManager.requestPanelSettings(panelType);
         commManager.sendMessage(PowermaxSendType.EXIT);
 
         return updatedState;
@@ -9,9 +9,11 @@
 package org.openhab.binding.powermax.internal.state;
 
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
+import java.util.List;
 
 import org.openhab.binding.powermax.internal.message.PowermaxSendType;
 import org.slf4j.Logger;
@@ -219,6 +221,46 @@ public class PowermaxPanelSettings {
         }
     }
 
+    /**
+     * @return the raw buffers; null for the pages not downloaded
+     */
+    Byte[][] getRawSettings() {
+        return rawSettings;
+    }
+
+    /**
+     * Replace the raw buffers, e.g. by the ones stored in a {@link PowermaxPanelSettingsSnapshot}
+     */
+    void setRawSettings(Byte[][] rawSettings) {
+        this.rawSettings = rawSettings;
+    }
+
+    /**
+     * Get the download requests for the settings decoded by {@link #process(boolean, PowermaxPanelType, Long)},
+     * except the panel firmware, the serial number, the zone strings and the PowerMaster zones, sirens and keypads
+     * which are always requested when entering the download mode.
+     *
+     * @param panelType the panel type
+     *
+     * @return the list of download requests
+     */
+    public static List<PowermaxSendType> getSettingsRequests(PowermaxPanelType panelType) {
+        List<PowermaxSendType> requests = new ArrayList<>(Arrays.asList(PowermaxSendType.DL_TIME,
+                PowermaxSendType.DL_PHONENRS, PowermaxSendType.DL_COMMDEF, PowermaxSendType.DL_PARTITIONS,
+                PowermaxSendType.DL_ZONES, PowermaxSendType.DL_PGMX10, PowermaxSendType.DL_X10NAMES));
+        if (panelType.isPowerMaster()) {
+            requests.add(PowermaxSendType.DL_MR_PINCODES);
+            requests.add(PowermaxSendType.DL_MR_ZONENAMES);
+        } else {
+            requests.add(PowermaxSendType.DL_PINCODES);
+            requests.add(PowermaxSendType.DL_ZONENAMES);
+            requests.add(PowermaxSendType.DL_1WKEYPAD);
+            requests.add(PowermaxSendType.DL_2WKEYPAD);
+            requests.add(PowermaxSendType.DL_SIRENS);
+        }
+        return requests;
+    }
+
     private byte[] readSettings(PowermaxSendType msgType, int start, int end) {
         byte[] message = msgType.getMessage();
         int page = message[2] & 0x000000FF;
@@ -0,0 +1,175 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.powermax.internal.state;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.zip.CRC32;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A class to store the raw settings downloaded from the alarm system in a file, so that the settings are available
+ * immediately at the next startup, before the (long) download of the panel setup is done again.
+ *
+ * The file holds a format version, the downloaded pages and a checksum of the content. The pages are stored raw and
+ * are decoded by {@link PowermaxPanelSettings#process(boolean, PowermaxPanelType, Long)} like downloaded ones.
+ *
+ * @author agent - Initial contribution
+ */
+public class PowermaxPanelSettingsSnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PowermaxPanelSettingsSnapshot.class);
+
+    private static final int MAGIC = 0x504D5853;
+    private static final int VERSION = 1;
+
+    private PowermaxPanelSettingsSnapshot() {
+    }
+
+    /**
+     * Load the raw settings stored in a file
+     *
+     * @param file the file containing the snapshot
+     * @param settings the settings to update with the stored raw buffers
+     *
+     * @return true if the snapshot was loaded; false if the file does not exist or is invalid
+     */
+    public static boolean load(File file, PowermaxPanelSettings settings) {
+        if (!file.isFile()) {
+            return false;
+        }
+        try {
+            byte[] content = FileUtils.readFileToByteArray(file);
+            if (content.length < 8) {
+                LOGGER.debug("Powermax alarm binding: ignoring truncated settings snapshot {}", file);
+                return false;
+            }
+            CRC32 crc = new CRC32();
+            crc.update(content, 0, content.length - 8);
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(content));
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                LOGGER.debug("Powermax alarm binding: ignoring settings snapshot {} of an unknown version", file);
+                return false;
+            }
+            Byte[][] rawSettings = new Byte[0x100][];
+            int pageCnt = in.readUnsignedShort();
+            for (int i = 0; i < pageCnt; i++) {
+                int page = in.readUnsignedByte();
+                byte[] present = new byte[0x20];
+                in.readFully(present);
+                rawSettings[page] = new Byte[0x100];
+                for (int j = 0; j < 0x100; j++) {
+                    if ((present[j / 8] & (1 << (j % 8))) != 0) {
+                        rawSettings[page][j] = in.readByte();
+                    }
+                }
+            }
+            if (in.readLong() != crc.getValue()) {
+                LOGGER.debug("Powermax alarm binding: ignoring corrupted settings snapshot {}", file);
+                return false;
+            }
+            settings.setRawSettings(rawSettings);
+            return true;
+        } catch (IOException e) {
+            LOGGER.debug("Powermax alarm binding: failed to read settings snapshot {}: {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Store the raw settings in a file
+     *
+     * @param file the file to write
+     * @param settings the settings to store
+     *
+     * @return true if the snapshot was written
+     */
+    public static boolean save(File file, PowermaxPanelSettings settings) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writePages(out, settings.getRawSettings());
+            CRC32 crc = new CRC32();
+            crc.update(bytes.toByteArray());
+            out.writeLong(crc.getValue());
+            out.flush();
+
+            // write to a temporary file first so that a crash never leaves a truncated snapshot
+            File tmpFile = new File(file.getPath() + ".tmp");
+            FileUtils.writeByteArrayToFile(tmpFile, bytes.toByteArray());
+            if (file.exists() && !file.delete()) {
+                throw new IOException("cannot replace " + file);
+            }
+            if (!tmpFile.renameTo(file)) {
+                throw new IOException("cannot rename " + tmpFile);
+            }
+            return true;
+        } catch (IOException e) {
+            LOGGER.warn("Powermax alarm binding: failed to write settings snapshot {}: {}", file, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * @return a checksum of the raw settings, used to detect changes of the panel setup
+     */
+    public static long checksum(PowermaxPanelSettings settings) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            writePages(new DataOutputStream(bytes), settings.getRawSettings());
+        } catch (IOException e) {
+            // not thrown when writing into memory
+        }
+        CRC32 crc = new CRC32();
+        crc.update(bytes.toByteArray());
+        return crc.getValue();
+    }
+
+    /**
+     * Write the downloaded pages; each page is written as its number, a bitmap of the downloaded bytes and the
+     * downloaded bytes
+     */
+    private static void writePages(DataOutputStream out, Byte[][] rawSettings) throws IOException {
+        int pageCnt = 0;
+        for (Byte[] page : rawSettings) {
+            if (page != null) {
+                pageCnt++;
+            }
+        }
+        out.writeShort(pageCnt);
+        for (int i = 0; i < rawSettings.length; i++) {
+            if (rawSettings[i] == null) {
+                continue;
+            }
+            byte[] present = new byte[0x20];
+            for (int j = 0; j < 0x100; j++) {
+                if (rawSettings[i][j] != null) {
+                    present[j / 8] |= 1 << (j % 8);
+                }
+            }
+            out.writeByte(i);
+            out.write(present);
+            for (int j = 0; j < 0x100; j++) {
+                if (rawSettings[i][j] != null) {
+                    out.writeByte(rawSettings[i][j]);
+                }
+            }
+        }
+    }
+
+}
@@ -0,0 +1,54 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.rfxcom.internal.messages;
+
+import static org.junit.Assert.*;
+import static org.openhab.binding.rfxcom.internal.messages.RFXComBaseMessage.PacketType.*;
+
+import org.eclipse.smarthome.core.util.HexUtils;
+import org.junit.Test;
+import org.openhab.binding.rfxcom.internal.exceptions.RFXComException;
+import org.openhab.binding.rfxcom.internal.exceptions.RFXComMessageNotImplementedException;
+import org.openhab.binding.rfxcom.internal.exceptions.RFXComUnsupportedValueException;
+
+/**
+ * Test for RFXCom-binding
+ *
+ * @author agent - Initial contribution
+ */
+public class RFXComMessageFactoryTest {
+
+    @Test
+    public void testCreateEmptyMessage() throws RFXComException {
+        assertTrue(RFXComMessageFactory.createMessage(LIGHTING2) instanceof RFXComLighting2Message);
+        assertTrue(RFXComMessageFactory.createMessage(TEMPERATURE) instanceof RFXComTemperatureMessage);
+    }
+
+    @Test(expected = RFXComException.class)
+    public void testCreateEmptyMessageRequiringData() throws RFXComException {
+        RFXComMessageFactory.createMessage(INTERFACE_MESSAGE);
+    }
+
+    @Test
+    public void testDecodeMessage() throws RFXComException {
+        RFXComMessage msg = RFXComMessageFactory.createMessage(HexUtils.hexToBytes("0D59010F860004001D0000000049"));
+        assertTrue(msg instanceof RFXComCurrentMessage);
+        assertEquals("Sensor Id", "34304", ((RFXComCurrentMessage) msg).getDeviceId());
+    }
+
+    @Test(expected = RFXComMessageNotImplementedException.class)
+    public void testDecodeNotImplementedMessage() throws RFXComException {
+        RFXComMessageFactory.createMessage(HexUtils.hexToBytes("0A1C0001000000000000000000"));
+    }
+
+    @Test(expected = RFXComUnsupportedValueException.class)
+    public void testDecodeUnknownPacketType() throws RFXComException {
+        RFXComMessageFactory.createMessage(HexUtils.hexToBytes("0AFF0001000000000000000000"));
+    }
+}
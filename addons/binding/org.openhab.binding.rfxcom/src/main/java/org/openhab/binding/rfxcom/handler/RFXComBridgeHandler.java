@@ -10,11 +10,14 @@ package org.openhab.binding.rfxcom.handler;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.smarthome.core.thing.Bridge;
@@ -61,8 +64,16 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
     private RFXComConnectorInterface connector = null;
     private MessageListener eventListener = new MessageListener();
 
+    /**
+     * Listeners for messages from devices without a listener of their own (i.e. discovery)
+     */
     private List<DeviceMessageListener> deviceStatusListeners = new CopyOnWriteArrayList<>();
 
+    /**
+     * Listeners for messages from a single device, by device id
+     */
+    private final Map<String, List<DeviceMessageListener>> deviceListeners = new ConcurrentHashMap<>();
+
     private RFXComBridgeConfiguration configuration = null;
     private ScheduledFuture<?> connectorTask;
 
@@ -120,6 +131,7 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
         for (DeviceMessageListener deviceStatusListener : deviceStatusListeners) {
             unregisterDeviceStatusListener(deviceStatusListener);
         }
+        deviceListeners.clear();
 
         if (connector != null) {
             connector.removeEventListener(eventListener);
@@ -286,7 +298,13 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
 
                     transmitQueue.sendNext();
                 } else if (message instanceof RFXComDeviceMessage) {
-                    for (DeviceMessageListener deviceStatusListener : deviceStatusListeners) {
+                    // only the things of the device are interested, others only if the device is unknown
+                    List<DeviceMessageListener> listeners = deviceListeners
+                            .get(((RFXComDeviceMessage) message).getDeviceId());
+                    if (listeners == null) {
+                        listeners = deviceStatusListeners;
+                    }
+                    for (DeviceMessageListener deviceStatusListener : listeners) {
                         try {
                             deviceStatusListener.onDeviceMessageReceived(getThing().getUID(),
                                     (RFXComDeviceMessage) message);
@@ -315,6 +333,9 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
         }
     }
 
+    /**
+     * Registers a listener for messages from all devices which have no listener of their own.
+     */
     public boolean registerDeviceStatusListener(DeviceMessageListener deviceStatusListener) {
         if (deviceStatusListener == null) {
             throw new IllegalArgumentException("It's not allowed to pass a null deviceStatusListener.");
@@ -323,11 +344,40 @@ public class RFXComBridgeHandler extends BaseBridgeHandler {
                 : deviceStatusListeners.add(deviceStatusListener);
     }
 
+    /**
+     * Registers a listener for messages from a single device. A listener can only be registered for one device.
+     */
+    public boolean registerDeviceStatusListener(String deviceId, DeviceMessageListener deviceStatusListener) {
+        if (deviceStatusListener == null) {
+            throw new IllegalArgumentException("It's not allowed to pass a null deviceStatusListener.");
+        }
+        List<DeviceMessageListener> listeners = deviceListeners.get(deviceId);
+        if (listeners != null && listeners.contains(deviceStatusListener)) {
+            return false;
+        }
+        removeDeviceListener(deviceStatusListener);
+        deviceListeners.computeIfAbsent(deviceId, id -> new CopyOnWriteArrayList<>()).add(deviceStatusListener);
+        return true;
+    }
+
     public boolean unregisterDeviceStatusListener(DeviceMessageListener deviceStatusListener) {
         if (deviceStatusListener == null) {
             throw new IllegalArgumentException("It's not allowed to pass a null deviceStatusListener.");
         }
-        return deviceStatusListeners.remove(deviceStatusListener);
+        return removeDeviceListener(deviceStatusListener) | deviceStatusListeners.remove(deviceStatusListener);
+    }
+
+    private boolean removeDeviceListener(DeviceMessageListener deviceStatusListener) {
+        AtomicBoolean removed = new AtomicBoolean();
+        for (String deviceId : deviceListeners.keySet()) {
+            deviceListeners.computeIfPresent(deviceId, (id, listeners) -> {
+                if (listeners.remove(deviceStatusListener)) {
+                    removed.set(true);
+                }
+                return listeners.isEmpty() ? null : listeners;
+            });
+        }
+        return removed.get();
     }
 
     public RFXComBridgeConfiguration getConfiguration() {
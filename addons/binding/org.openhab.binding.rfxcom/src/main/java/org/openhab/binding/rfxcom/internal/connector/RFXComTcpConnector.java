@@ -8,14 +8,10 @@
  */
 package org.openhab.binding.rfxcom.internal.connector;
 
-import java.io.IOException;
-import java.io.OutputStream;
-import java.net.Socket;
-import java.net.SocketTimeoutException;
-
-import org.apache.commons.io.IOUtils;
-import org.eclipse.smarthome.core.util.HexUtils;
 import org.openhab.binding.rfxcom.internal.config.RFXComBridgeConfiguration;
+import org.openhab.io.transport.connector.AbstractConnector;
+import org.openhab.io.transport.connector.FrameDecoder;
+import org.openhab.io.transport.connector.TcpConnector;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -25,82 +21,12 @@ import org.slf4j.LoggerFactory;
  * @author Pauli Anttila - Initial contribution
  * @author Ivan F. Martinez, James Hewitt-Thomas - Implementation
  */
-public class RFXComTcpConnector extends RFXComBaseConnector {
+public class RFXComTcpConnector extends RFXComTransportConnector {
     private final Logger logger = LoggerFactory.getLogger(RFXComTcpConnector.class);
 
-    private OutputStream out;
-    private Socket socket;
-
-    private Thread readerThread;
-
     @Override
-    public void connect(RFXComBridgeConfiguration device) throws IOException {
+    protected AbstractConnector createConnector(RFXComBridgeConfiguration device, FrameDecoder decoder) {
         logger.info("Connecting to RFXCOM at {}:{} over TCP/IP", device.host, device.port);
-        socket = new Socket(device.host, device.port);
-        socket.setSoTimeout(100); // In ms. Small values mean faster shutdown but more cpu usage.
-        in = socket.getInputStream();
-        out = socket.getOutputStream();
-
-        out.flush();
-        if (in.markSupported()) {
-            in.reset();
-        }
-
-        readerThread = new RFXComStreamReader(this);
-        readerThread.start();
-    }
-
-    @Override
-    public void disconnect() {
-        logger.debug("Disconnecting");
-
-        if (readerThread != null) {
-            logger.debug("Interrupt stream listener");
-            readerThread.interrupt();
-            try {
-                readerThread.join();
-            } catch (InterruptedException e) {
-            }
-        }
-
-        if (out != null) {
-            logger.debug("Close tcp out stream");
-            IOUtils.closeQuietly(out);
-        }
-        if (in != null) {
-            logger.debug("Close tcp in stream");
-            IOUtils.closeQuietly(in);
-        }
-
-        if (socket != null) {
-            logger.debug("Close socket");
-            IOUtils.closeQuietly(socket);
-        }
-
-        readerThread = null;
-        socket = null;
-        out = null;
-        in = null;
-
-        logger.debug("Closed");
-    }
-
-    @Override
-    public void sendMessage(byte[] data) throws IOException {
-        if (logger.isTraceEnabled()) {
-            logger.trace("Send data (len={}): {}", data.length, HexUtils.bytesToHex(data));
-        }
-        out.write(data);
-        out.flush();
-    }
-
-    @Override
-    int read(byte[] buffer, int offset, int length) throws IOException {
-        try {
-            return super.read(buffer, offset, length);
-        } catch (SocketTimeoutException ignore) {
-            // ignore this exception, instead return 0 to behave like the serial read
-            return 0;
-        }
+        return new TcpConnector(device.host, device.port, decoder, this);
     }
 }
@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.rfxcom.internal.connector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import org.eclipse.smarthome.core.util.HexUtils;
+import org.openhab.binding.rfxcom.internal.config.RFXComBridgeConfiguration;
+import org.openhab.io.transport.connector.AbstractConnector;
+import org.openhab.io.transport.connector.ConnectorListener;
+import org.openhab.io.transport.connector.FrameDecoder;
+import org.openhab.io.transport.connector.LengthPrefixedFrameDecoder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * RFXCOM connector based on the shared connector transport, which reads the packets on a shared thread pool instead
+ * of a reader thread per connector.
+ *
+ * The connection is not reopened by the transport, since the bridge handler reconnects and then resets the
+ * transceiver.
+ *
+ * @author agent - Initial contribution
+ */
+public abstract class RFXComTransportConnector extends RFXComBaseConnector implements ConnectorListener {
+    private final Logger logger = LoggerFactory.getLogger(RFXComTransportConnector.class);
+
+    // The first byte of a packet gives the number of bytes following it
+    private static final int MAX_PACKET_LENGTH = Byte.MAX_VALUE + 1;
+
+    // Time after which the rest of a packet is no longer expected
+    private static final long PACKET_TIMEOUT = 400;
+
+    private AbstractConnector connector;
+
+    /**
+     * Creates the connector to the transceiver.
+     */
+    protected abstract AbstractConnector createConnector(RFXComBridgeConfiguration device, FrameDecoder decoder);
+
+    @Override
+    public synchronized void connect(RFXComBridgeConfiguration device) throws IOException {
+        AbstractConnector connector = createConnector(device, new LengthPrefixedFrameDecoder(MAX_PACKET_LENGTH));
+        connector.setReconnectBackoff(null);
+        connector.setFrameTimeout(PACKET_TIMEOUT);
+        try {
+            connector.open();
+        } catch (IOException e) {
+            // without automatic reconnection nothing else closes the connector and returns its read buffer
+            connector.close();
+            throw e;
+        }
+        this.connector = connector;
+    }
+
+    @Override
+    public synchronized void disconnect() {
+        logger.debug("Disconnecting");
+
+        if (connector != null) {
+            connector.close();
+            logger.debug("Closed: {}", connector.getMetrics());
+            connector = null;
+        }
+    }
+
+    @Override
+    public void sendMessage(byte[] data) throws IOException {
+        AbstractConnector connector = this.connector;
+        if (connector == null) {
+            throw new IOException("Not connected sending messages is not possible");
+        }
+
+        if (logger.isTraceEnabled()) {
+            logger.trace("Send data (len={}): {}", data.length, HexUtils.bytesToHex(data));
+        }
+
+        connector.write(data);
+    }
+
+    @Override
+    public void connected() {
+        logger.debug("Data listener started");
+    }
+
+    @Override
+    public void disconnected(String cause) {
+        logger.debug("Received exception, will report it to listeners: {}", cause);
+        sendErrorToListeners(cause);
+    }
+
+    @Override
+    public void frameReceived(ByteBuffer frame) {
+        byte[] packet = new byte[frame.remaining()];
+        frame.get(packet);
+        sendMsgToListeners(packet);
+    }
+}
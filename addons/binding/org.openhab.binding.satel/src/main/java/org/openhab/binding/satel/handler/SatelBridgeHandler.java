@@ -8,30 +8,53 @@
  */
 package org.openhab.binding.satel.handler;
 
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 import org.apache.commons.lang.StringUtils;
 import org.eclipse.smarthome.core.thing.Bridge;
 import org.eclipse.smarthome.core.thing.ChannelUID;
+import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingStatus;
 import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.binding.ConfigStatusBridgeHandler;
+import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.types.Command;
+import org.openhab.binding.satel.internal.command.IntegraStateCommand;
 import org.openhab.binding.satel.internal.command.NewStatesCommand;
 import org.openhab.binding.satel.internal.command.SatelCommand;
 import org.openhab.binding.satel.internal.config.SatelBridgeConfig;
 import org.openhab.binding.satel.internal.event.ConnectionStatusEvent;
+import org.openhab.binding.satel.internal.event.IntegraStateEvent;
+import org.openhab.binding.satel.internal.event.NewStatesEvent;
 import org.openhab.binding.satel.internal.event.SatelEvent;
 import org.openhab.binding.satel.internal.event.SatelEventListener;
 import org.openhab.binding.satel.internal.protocol.SatelModule;
 import org.openhab.binding.satel.internal.types.IntegraType;
+import org.openhab.binding.satel.internal.types.ObjectType;
+import org.openhab.binding.satel.internal.types.StateType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * The {@link SatelBridgeHandler} is base class for all bridge handlers.
  *
+ * The bridge reads the states of all things: when Integra reports changed states, a single command is sent for each
+ * changed type of state linked by any thing. The state bits are decoded once and dispatched by object number to the
+ * handlers of objects, which state has changed since the last read.
+ *
  * @author Krzysztof Goworek - Initial contribution
  */
 public abstract class SatelBridgeHandler extends ConfigStatusBridgeHandler implements SatelEventListener {
@@ -43,6 +66,12 @@ public abstract class SatelBridgeHandler extends ConfigStatusBridgeHandler imple
     private ScheduledFuture<?> pollingJob;
     private String userCodeOverride;
 
+    private final Set<SatelThingHandler> thingHandlers = new CopyOnWriteArraySet<>();
+    private final Map<ObjectType, Map<Integer, Set<SatelThingHandler>>> objectHandlers = new EnumMap<>(
+            ObjectType.class);
+    private final Map<Byte, Set<StateType>> polledStates = new ConcurrentHashMap<>();
+    private final Map<StateType, BitSet> lastStates = new ConcurrentHashMap<>();
+
     public SatelBridgeHandler(Bridge bridge) {
         super(bridge);
     }
@@ -54,12 +83,131 @@ public abstract class SatelBridgeHandler extends ConfigStatusBridgeHandler imple
             // update bridge status and get new states from the system
             if (statusEvent.isConnected()) {
                 updateStatus(ThingStatus.ONLINE);
+                lastStates.clear();
                 satelModule.sendCommand(new NewStatesCommand(satelModule.getIntegraType().hasExtPayload()));
             } else {
                 updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.COMMUNICATION_ERROR,
                         statusEvent.getReason());
             }
+        } else if (event instanceof NewStatesEvent) {
+            refreshStates((NewStatesEvent) event);
+        } else if (event instanceof IntegraStateEvent) {
+            updateStates((IntegraStateEvent) event);
+        }
+    }
+
+    @Override
+    public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
+        if (childHandler instanceof SatelThingHandler) {
+            SatelThingHandler thingHandler = (SatelThingHandler) childHandler;
+            thingHandlers.add(thingHandler);
+            ObjectType objectType = thingHandler.getObjectType();
+            if (objectType != null) {
+                synchronized (objectHandlers) {
+                    Map<Integer, Set<SatelThingHandler>> handlers = objectHandlers.computeIfAbsent(objectType,
+                            k -> new HashMap<>());
+                    for (int objectNbr : thingHandler.getObjectNumbers()) {
+                        handlers.computeIfAbsent(objectNbr, k -> new HashSet<>()).add(thingHandler);
+                    }
+                }
+            }
+        }
+    }
+
+    @Override
+    public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
+        if (thingHandlers.remove(childHandler)) {
+            synchronized (objectHandlers) {
+                for (Map<Integer, Set<SatelThingHandler>> handlers : objectHandlers.values()) {
+                    handlers.values().removeIf(objectNbrHandlers -> objectNbrHandlers.remove(childHandler)
+                            && objectNbrHandlers.isEmpty());
+                }
+            }
+        }
+    }
+
+    private void refreshStates(NewStatesEvent event) {
+        SatelModule satelModule = this.satelModule;
+        if (satelModule == null) {
+            return;
+        }
+
+        // collect changed states linked by any thing, one command is sent for each type of state
+        Map<Byte, StateType> refreshStates = new LinkedHashMap<>();
+        Collection<SatelCommand> otherCommands = new LinkedList<>();
+        for (SatelThingHandler thingHandler : thingHandlers) {
+            boolean forceRefresh = thingHandler.requiresRefresh();
+            for (StateType stateType : thingHandler.getLinkedStates(forceRefresh)) {
+                byte refreshCommand = stateType.getRefreshCommand();
+                if (forceRefresh) {
+                    // dispatch all state bits to handlers of this state on next read
+                    lastStates.remove(stateType);
+                } else if (!event.isNew(refreshCommand)) {
+                    continue;
+                }
+                refreshStates.putIfAbsent(refreshCommand, stateType);
+                polledStates.computeIfAbsent(refreshCommand, k -> ConcurrentHashMap.newKeySet()).add(stateType);
+            }
+            otherCommands.addAll(thingHandler.getRefreshCommands(event, forceRefresh));
+        }
+
+        boolean extended = satelModule.getIntegraType().hasExtPayload();
+        for (StateType stateType : refreshStates.values()) {
+            satelModule.sendCommand(new IntegraStateCommand(stateType, extended));
+        }
+        for (SatelCommand command : otherCommands) {
+            satelModule.sendCommand(command);
+        }
+    }
+
+    private void updateStates(IntegraStateEvent event) {
+        Set<StateType> stateTypes = polledStates.get(event.getCommand());
+        if (stateTypes == null) {
+            return;
+        }
+        for (StateType stateType : stateTypes) {
+            if (!event.hasDataForState(stateType)) {
+                continue;
+            }
+            BitSet stateBits = event.getStateBits(stateType);
+            BitSet lastBits = lastStates.put(stateType, stateBits);
+            for (SatelThingHandler thingHandler : getChangedHandlers(stateType.getObjectType(), stateBits,
+                    lastBits)) {
+                thingHandler.updateStates(stateType, stateBits);
+            }
+        }
+    }
+
+    /**
+     * Returns handlers of objects, which state bits differ from the last read.
+     *
+     * @param objectType type of objects
+     * @param stateBits state bits of all objects
+     * @param lastBits state bits of the last read or <code>null</code> to return handlers of all objects
+     * @return handlers to update
+     */
+    private Collection<SatelThingHandler> getChangedHandlers(ObjectType objectType, BitSet stateBits,
+            BitSet lastBits) {
+        Set<SatelThingHandler> result = new LinkedHashSet<>();
+        synchronized (objectHandlers) {
+            Map<Integer, Set<SatelThingHandler>> handlers = objectHandlers.get(objectType);
+            if (handlers == null) {
+                return result;
+            }
+            if (lastBits == null) {
+                handlers.values().forEach(result::addAll);
+            } else {
+                BitSet changedBits = (BitSet) lastBits.clone();
+                changedBits.xor(stateBits);
+                for (int i = changedBits.nextSetBit(0); i >= 0; i = changedBits.nextSetBit(i + 1)) {
+                    Set<SatelThingHandler> objectNbrHandlers = handlers.get(i + 1);
+                    if (objectNbrHandlers != null) {
+                        result.addAll(objectNbrHandlers);
+                    }
+                }
+            }
         }
+        return result;
     }
 
     @Override
@@ -108,6 +256,8 @@ public abstract class SatelBridgeHandler extends ConfigStatusBridgeHandler imple
             satelModule = null;
             logger.debug("Satel module closed.");
         }
+        polledStates.clear();
+        lastStates.clear();
     }
 
     /**
@@ -20,6 +20,7 @@ import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.types.Command;
 import org.openhab.binding.satel.internal.command.ControlObjectCommand;
 import org.openhab.binding.satel.internal.command.SatelCommand;
+import org.openhab.binding.satel.internal.types.ObjectType;
 import org.openhab.binding.satel.internal.types.PartitionControl;
 import org.openhab.binding.satel.internal.types.PartitionState;
 import org.openhab.binding.satel.internal.types.StateType;
@@ -43,6 +44,11 @@ public class SatelPartitionHandler extends SatelThingHandler {
         return PartitionState.valueOf(channelId.toUpperCase());
     }
 
+    @Override
+    protected ObjectType getObjectType() {
+        return ObjectType.PARTITION;
+    }
+
     @Override
     protected SatelCommand convertCommand(ChannelUID channel, Command command) {
         if (command instanceof OnOffType) {
@@ -10,6 +10,7 @@ package org.openhab.binding.satel.handler;
 
 import static org.openhab.binding.satel.SatelBindingConstants.*;
 
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Set;
 
@@ -22,13 +23,10 @@ import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.types.Command;
 import org.openhab.binding.satel.internal.command.ControlObjectCommand;
 import org.openhab.binding.satel.internal.command.SatelCommand;
-import org.openhab.binding.satel.internal.event.IntegraStateEvent;
-import org.openhab.binding.satel.internal.event.SatelEvent;
+import org.openhab.binding.satel.internal.types.ObjectType;
 import org.openhab.binding.satel.internal.types.OutputControl;
 import org.openhab.binding.satel.internal.types.OutputState;
 import org.openhab.binding.satel.internal.types.StateType;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * The {@link SatelShutterHandler} is responsible for handling commands, which are
@@ -40,43 +38,44 @@ public class SatelShutterHandler extends SatelThingHandler {
 
     public static final Set<ThingTypeUID> SUPPORTED_THING_TYPES = Collections.singleton(THING_TYPE_SHUTTER);
 
-    private final Logger logger = LoggerFactory.getLogger(SatelShutterHandler.class);
-
     public SatelShutterHandler(Thing thing) {
         super(thing);
     }
 
     @Override
-    public void incomingEvent(SatelEvent event) {
-        if (event instanceof IntegraStateEvent) {
-            logger.trace("Handling incoming event: {}", event);
-
-            IntegraStateEvent stateEvent = (IntegraStateEvent) event;
-            if (thingConfig.isCommandOnly() || !stateEvent.hasDataForState(OutputState.STATE)) {
-                return;
-            }
-            Channel channel = getThing().getChannel(CHANNEL_SHUTTER_STATE);
-            if (channel != null) {
-                int upBitNbr = thingConfig.getUpId() - 1;
-                int downBitNbr = thingConfig.getDownId() - 1;
-                if (stateEvent.isSet(OutputState.STATE, upBitNbr)) {
-                    if (!stateEvent.isSet(OutputState.STATE, downBitNbr)) {
-                        updateState(channel.getUID(), UpDownType.UP);
-                    }
-                } else if (stateEvent.isSet(OutputState.STATE, downBitNbr)) {
-                    updateState(channel.getUID(), UpDownType.DOWN);
+    protected void updateStates(StateType stateType, BitSet stateBits) {
+        if (thingConfig.isCommandOnly() || stateType != OutputState.STATE) {
+            return;
+        }
+        Channel channel = getThing().getChannel(CHANNEL_SHUTTER_STATE);
+        if (channel != null) {
+            int upBitNbr = thingConfig.getUpId() - 1;
+            int downBitNbr = thingConfig.getDownId() - 1;
+            if (stateBits.get(upBitNbr)) {
+                if (!stateBits.get(downBitNbr)) {
+                    updateState(channel.getUID(), UpDownType.UP);
                 }
+            } else if (stateBits.get(downBitNbr)) {
+                updateState(channel.getUID(), UpDownType.DOWN);
             }
-        } else {
-            super.incomingEvent(event);
         }
     }
 
+    @Override
+    protected int[] getObjectNumbers() {
+        return new int[] { thingConfig.getUpId(), thingConfig.getDownId() };
+    }
+
     @Override
     protected StateType getStateType(String channelId) {
         return CHANNEL_SHUTTER_STATE.equals(channelId) ? OutputState.STATE : null;
     }
 
+    @Override
+    protected ObjectType getObjectType() {
+        return ObjectType.OUTPUT;
+    }
+
     @Override
     protected SatelCommand convertCommand(ChannelUID channel, Command command) {
         if (CHANNEL_SHUTTER_STATE.equals(channel.getId())) {
@@ -31,6 +31,7 @@ import org.openhab.binding.satel.internal.command.SetClockCommand;
 import org.openhab.binding.satel.internal.event.IntegraStatusEvent;
 import org.openhab.binding.satel.internal.event.NewStatesEvent;
 import org.openhab.binding.satel.internal.event.SatelEvent;
+import org.openhab.binding.satel.internal.types.ObjectType;
 import org.openhab.binding.satel.internal.types.StateType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -90,6 +91,12 @@ public class SatelSystemHandler extends SatelThingHandler {
         return null;
     }
 
+    @Override
+    protected ObjectType getObjectType() {
+        // the system is not an Integra object, its status is read separately
+        return null;
+    }
+
     @Override
     protected SatelCommand convertCommand(ChannelUID channel, Command command) {
         switch (channel.getId()) {
@@ -120,13 +127,13 @@ public class SatelSystemHandler extends SatelThingHandler {
     }
 
     @Override
-    protected Collection<SatelCommand> getRefreshCommands(NewStatesEvent event) {
+    protected Collection<SatelCommand> getRefreshCommands(NewStatesEvent event, boolean forceRefresh) {
         Collection<SatelCommand> result = new LinkedList<>();
         boolean anyStatusChannelLinked = getThing().getChannels().stream()
                 .filter(channel -> STATUS_CHANNELS.contains(channel.getUID().getId()))
                 .anyMatch(channel -> isLinked(channel.getUID().getId()));
         boolean needRefresh = anyStatusChannelLinked
-                && (requiresRefresh() || isLinked(CHANNEL_DATE_TIME) || event.isNew(IntegraStatusCommand.COMMAND_CODE));
+                && (forceRefresh || isLinked(CHANNEL_DATE_TIME) || event.isNew(IntegraStatusCommand.COMMAND_CODE));
         if (needRefresh) {
             result.add(new IntegraStatusCommand());
         }
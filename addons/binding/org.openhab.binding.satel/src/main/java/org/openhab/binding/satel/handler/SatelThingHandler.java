@@ -8,7 +8,9 @@
  */
 package org.openhab.binding.satel.handler;
 
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
 import java.util.concurrent.atomic.AtomicBoolean;
 
@@ -24,14 +26,13 @@ import org.eclipse.smarthome.core.thing.binding.ThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
 import org.eclipse.smarthome.core.types.State;
-import org.openhab.binding.satel.internal.command.IntegraStateCommand;
 import org.openhab.binding.satel.internal.command.SatelCommand;
 import org.openhab.binding.satel.internal.config.SatelThingConfig;
 import org.openhab.binding.satel.internal.event.ConnectionStatusEvent;
-import org.openhab.binding.satel.internal.event.IntegraStateEvent;
 import org.openhab.binding.satel.internal.event.NewStatesEvent;
 import org.openhab.binding.satel.internal.event.SatelEvent;
 import org.openhab.binding.satel.internal.event.SatelEventListener;
+import org.openhab.binding.satel.internal.types.ObjectType;
 import org.openhab.binding.satel.internal.types.StateType;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -49,6 +50,7 @@ public abstract class SatelThingHandler extends BaseThingHandler implements Sate
     protected SatelThingConfig thingConfig;
     protected SatelBridgeHandler bridgeHandler;
     private AtomicBoolean requiresRefresh;
+    private volatile Collection<StateType> linkedStates;
 
     public SatelThingHandler(Thing thing) {
         super(thing);
@@ -80,6 +82,7 @@ public abstract class SatelThingHandler extends BaseThingHandler implements Sate
     public void initialize() {
         thingConfig = getConfig().as(SatelThingConfig.class);
         requiresRefresh.set(true);
+        linkedStates = null;
 
         Bridge bridge = getBridge();
         if (bridge != null) {
@@ -104,33 +107,21 @@ public abstract class SatelThingHandler extends BaseThingHandler implements Sate
                 updateStatus(ThingStatus.ONLINE);
                 requiresRefresh.set(true);
             }
-        } else if (event instanceof NewStatesEvent) {
-            // refresh all states that have changed
-            for (SatelCommand command : getRefreshCommands((NewStatesEvent) event)) {
-                bridgeHandler.sendCommand(command, true);
-            }
-        } else if (event instanceof IntegraStateEvent) {
-            // update thing's state unless it should accept commands only
-            IntegraStateEvent stateEvent = (IntegraStateEvent) event;
-            if (thingConfig.isCommandOnly()) {
-                return;
-            }
-            for (Channel channel : getThing().getChannels()) {
-                ChannelUID channelUID = channel.getUID();
-                StateType stateType = getStateType(channelUID.getId());
-                if (stateType != null && stateEvent.hasDataForState(stateType)) {
-                    int bitNbr = thingConfig.getId() - 1;
-                    boolean invertState = thingConfig.isStateInverted();
-                    updateSwitch(channelUID, stateEvent.isSet(stateType, bitNbr) ^ invertState);
-                }
-            }
         }
     }
 
+    @Override
+    public void channelUnlinked(ChannelUID channelUID) {
+        linkedStates = null;
+        super.channelUnlinked(channelUID);
+    }
+
     protected abstract SatelCommand convertCommand(ChannelUID channel, Command command);
 
     protected abstract StateType getStateType(String channelId);
 
+    protected abstract ObjectType getObjectType();
+
     protected Channel getChannel(StateType stateType) {
         String channelId = stateType.toString().toLowerCase();
         Channel channel = getThing().getChannel(channelId);
@@ -140,20 +131,68 @@ public abstract class SatelThingHandler extends BaseThingHandler implements Sate
         return channel;
     }
 
-    protected Collection<SatelCommand> getRefreshCommands(NewStatesEvent event) {
-        Collection<SatelCommand> result = new LinkedList<>();
-        boolean forceRefresh = requiresRefresh();
-        for (Channel channel : getThing().getChannels()) {
-            if (isLinked(channel.getUID().getId())) {
-                StateType stateType = getStateType(channel.getUID().getId());
-                if (forceRefresh || event.isNew(stateType.getRefreshCommand())) {
-                    result.add(new IntegraStateCommand(stateType, bridgeHandler.getIntegraType().hasExtPayload()));
+    /**
+     * Returns the object numbers of this thing, used by the bridge to dispatch changed state bits to this handler.
+     *
+     * @return numbers of Integra objects
+     */
+    protected int[] getObjectNumbers() {
+        return new int[] { thingConfig.getId() };
+    }
+
+    /**
+     * Returns types of states of all linked channels. The bridge reads these states when they change.
+     *
+     * @param forceRefresh if <code>true</code> the links are checked again, a linked channel is always refreshed
+     * @return linked states
+     */
+    protected Collection<StateType> getLinkedStates(boolean forceRefresh) {
+        Collection<StateType> result = linkedStates;
+        if (result == null || forceRefresh) {
+            result = new LinkedList<>();
+            for (Channel channel : getThing().getChannels()) {
+                String channelId = channel.getUID().getId();
+                if (isLinked(channelId)) {
+                    StateType stateType = getStateType(channelId);
+                    if (stateType != null) {
+                        result.add(stateType);
+                    }
                 }
             }
+            linkedStates = result;
         }
         return result;
     }
 
+    /**
+     * Returns commands other than state reads, to send when Integra reports changed states.
+     *
+     * @param event event with changed states
+     * @param forceRefresh if <code>true</code> the thing requires all its states to be refreshed
+     * @return commands to send
+     */
+    protected Collection<SatelCommand> getRefreshCommands(NewStatesEvent event, boolean forceRefresh) {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Updates the channel of given state using state bits read by the bridge.
+     *
+     * @param stateType type of state
+     * @param stateBits state bits of all objects
+     */
+    protected void updateStates(StateType stateType, BitSet stateBits) {
+        // update thing's state unless it should accept commands only
+        if (thingConfig.isCommandOnly()) {
+            return;
+        }
+        Channel channel = getChannel(stateType);
+        if (channel != null) {
+            int bitNbr = thingConfig.getId() - 1;
+            updateSwitch(channel.getUID(), stateBits.get(bitNbr) ^ thingConfig.isStateInverted());
+        }
+    }
+
     protected void updateSwitch(String channelID, boolean switchOn) {
         ChannelUID channelUID = new ChannelUID(this.getThing().getUID(), channelID);
         updateSwitch(channelUID, switchOn);
@@ -39,6 +39,15 @@ public class IntegraStateEvent implements SatelEvent {
         this.extendedData = extendedData;
     }
 
+    /**
+     * Returns the command the state bits are read with.
+     *
+     * @return the command byte
+     */
+    public byte getCommand() {
+        return command;
+    }
+
     /**
      * Checks whether data in the event is valid for given type of state.
      *
@@ -8,75 +8,111 @@
  */
 package org.openhab.binding.smaenergymeter.handler;
 
-import java.io.IOException;
-import java.net.DatagramPacket;
-import java.net.InetAddress;
-import java.net.MulticastSocket;
-import java.nio.ByteBuffer;
 import java.util.Arrays;
 import java.util.Date;
 
-import org.eclipse.smarthome.core.library.types.DecimalType;
-
 /**
- * The {@link EnergyMeter} class is responsible for communication with the SMA device
- * and extracting the data fields out of the received telegrams.
+ * The {@link EnergyMeter} class extracts the data fields out of the telegrams received from a SMA device.
+ *
+ * A telegram holds the serial number of the meter followed by a list of OBIS records. Every record starts with a
+ * 4 byte header (channel, index, type, tariff) followed by the value, 4 bytes for actual values (type 4) and 8 bytes
+ * for counters (type 8). All records of a telegram are decoded, so an instance can be reused for every telegram.
  *
  * @author Osman Basha - Initial contribution
  */
 public class EnergyMeter {
 
-    private String multicastGroup;
-    private int port;
+    public static final String DEFAULT_MCAST_GRP = "239.12.255.254";
+    public static final int DEFAULT_MCAST_PORT = 9522;
 
-    private String serialNumber;
-    private Date lastUpdate;
+    /** OBIS type of actual values, e.g. power */
+    public static final int TYPE_ACTUAL = 4;
 
-    private final FieldDTO powerIn;
-    private final FieldDTO energyIn;
-    private final FieldDTO powerOut;
-    private final FieldDTO energyOut;
+    /** OBIS type of counters, e.g. energy */
+    public static final int TYPE_COUNTER = 8;
 
-    public static final String DEFAULT_MCAST_GRP = "239.12.255.254";
-    public static final int DEFAULT_MCAST_PORT = 9522;
+    private static final int PROTOCOL_ID = 0x6069;
 
-    public EnergyMeter(String multicastGroup, int port) {
-        this.multicastGroup = multicastGroup;
-        this.port = port;
+    private static final int OFFSET_DATA_LENGTH = 0x0C;
+    private static final int OFFSET_PROTOCOL_ID = 0x10;
+    private static final int OFFSET_SERIAL_NUMBER = 0x14;
+    private static final int OFFSET_RECORDS = 0x1C;
 
-        powerIn = new FieldDTO(0x20, 4, 10);
-        energyIn = new FieldDTO(0x28, 8, 3600000);
-        powerOut = new FieldDTO(0x34, 4, 10);
-        energyOut = new FieldDTO(0x3C, 8, 3600000);
-    }
+    private static final int MAX_INDEX = 256;
 
-    public void update() throws IOException {
-        byte[] bytes = new byte[600];
-        try (MulticastSocket socket = new MulticastSocket(port)) {
-            socket.setSoTimeout(5000);
-            InetAddress address = InetAddress.getByName(multicastGroup);
-            socket.joinGroup(address);
+    private final long[] actualValues = new long[MAX_INDEX];
+    private final long[] counterValues = new long[MAX_INDEX];
+    private final boolean[] hasActualValue = new boolean[MAX_INDEX];
+    private final boolean[] hasCounterValue = new boolean[MAX_INDEX];
 
-            DatagramPacket msgPacket = new DatagramPacket(bytes, bytes.length);
-            socket.receive(msgPacket);
+    private String serialNumber;
+    private Date lastUpdate;
 
-            String sma = new String(Arrays.copyOfRange(bytes, 0x00, 0x03));
-            if (!sma.equals("SMA")) {
-                throw new IOException("Not a SMA telegram." + sma);
+    /**
+     * Decodes a received telegram, replacing the values of the previous telegram
+     *
+     * @param bytes the received data
+     * @param length the number of received bytes
+     * @return false if the data is not an energy meter telegram, e.g. from a SMA inverter
+     */
+    public boolean decode(byte[] bytes, int length) {
+        if (length < OFFSET_RECORDS || bytes[0] != 'S' || bytes[1] != 'M' || bytes[2] != 'A'
+                || readUInt16(bytes, OFFSET_PROTOCOL_ID) != PROTOCOL_ID) {
+            return false;
+        }
+
+        Arrays.fill(hasActualValue, false);
+        Arrays.fill(hasCounterValue, false);
+        serialNumber = String.valueOf(readInt32(bytes, OFFSET_SERIAL_NUMBER));
+
+        int end = Math.min(length, OFFSET_PROTOCOL_ID + readUInt16(bytes, OFFSET_DATA_LENGTH));
+        int position = OFFSET_RECORDS;
+        while (position + 4 <= end) {
+            int index = bytes[position + 1] & 0xFF;
+            int type = bytes[position + 2] & 0xFF;
+            position += 4;
+            if (type == TYPE_COUNTER) {
+                if (position + 8 > end) {
+                    break;
+                }
+                counterValues[index] = ((long) readInt32(bytes, position) << 32)
+                        | (readInt32(bytes, position + 4) & 0xFFFFFFFFL);
+                hasCounterValue[index] = true;
+                position += 8;
+            } else {
+                if (position + 4 > end) {
+                    break;
+                }
+                if (type == TYPE_ACTUAL) {
+                    actualValues[index] = readInt32(bytes, position) & 0xFFFFFFFFL;
+                    hasActualValue[index] = true;
+                }
+                position += 4;
             }
+        }
 
-            ByteBuffer buffer = ByteBuffer.wrap(Arrays.copyOfRange(bytes, 0x14, 0x18));
-            serialNumber = String.valueOf(buffer.getInt());
+        lastUpdate = new Date(System.currentTimeMillis());
+        return true;
+    }
 
-            powerIn.updateValue(bytes);
-            energyIn.updateValue(bytes);
-            powerOut.updateValue(bytes);
-            energyOut.updateValue(bytes);
+    /**
+     * Checks if the last telegram contained a value
+     *
+     * @param index the OBIS index, e.g. 1 for 1.4.0
+     * @param type the OBIS type, {@link #TYPE_ACTUAL} or {@link #TYPE_COUNTER}
+     */
+    public boolean hasValue(int index, int type) {
+        return type == TYPE_COUNTER ? hasCounterValue[index] : hasActualValue[index];
+    }
 
-            lastUpdate = new Date(System.currentTimeMillis());
-        } catch (Exception e) {
-            throw new IOException(e);
-        }
+    /**
+     * Returns the raw value of the last telegram
+     *
+     * @param index the OBIS index, e.g. 1 for 1.4.0
+     * @param type the OBIS type, {@link #TYPE_ACTUAL} or {@link #TYPE_COUNTER}
+     */
+    public long getValue(int index, int type) {
+        return type == TYPE_COUNTER ? counterValues[index] : actualValues[index];
     }
 
     public String getSerialNumber() {
@@ -87,20 +123,13 @@ public class EnergyMeter {
         return lastUpdate;
     }
 
-    public DecimalType getPowerIn() {
-        return new DecimalType(powerIn.getValue());
-    }
-
-    public DecimalType getPowerOut() {
-        return new DecimalType(powerOut.getValue());
-    }
-
-    public DecimalType getEnergyIn() {
-        return new DecimalType(energyIn.getValue());
+    private static int readUInt16(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
     }
 
-    public DecimalType getEnergyOut() {
-        return new DecimalType(energyOut.getValue());
+    private static int readInt32(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16) | ((bytes[offset + 2] & 0xFF) << 8)
+                | (bytes[offset + 3] & 0xFF);
     }
 
 }
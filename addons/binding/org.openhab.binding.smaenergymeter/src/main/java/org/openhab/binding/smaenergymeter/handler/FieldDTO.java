@@ -8,50 +8,95 @@
  */
 package org.openhab.binding.smaenergymeter.handler;
 
-import java.nio.ByteBuffer;
-import java.util.Arrays;
+import org.eclipse.smarthome.core.library.types.DecimalType;
 
 /**
- * The {@link FieldDTO} class holds the data for a single field (i.e. the power purchased).
+ * The {@link FieldDTO} class holds the data for a single field (i.e. the power purchased), aggregated over the
+ * telegrams received since the last {@link #reset()}.
  *
  * @author Osman Basha - Initial contribution
  */
 public class FieldDTO {
 
-    private final int address;
-    private final int length;
+    public enum Aggregation {
+        LATEST,
+        AVERAGE,
+        MIN,
+        MAX
+    }
+
+    private final int index;
+    private final int type;
     private final int divisor;
-    private float value;
+    private final Aggregation aggregation;
 
-    public FieldDTO(int address, int length, int divisor) {
-        this.address = address;
-        if ((length != 4) && (length != 8)) {
-            throw new IllegalArgumentException("length should be 4 or 8 bytes");
+    private long latest;
+    private long min;
+    private long max;
+    private double sum;
+    private int count;
+
+    /**
+     * @param index the OBIS index, e.g. 1 for 1.4.0
+     * @param type the OBIS type, {@link EnergyMeter#TYPE_ACTUAL} or {@link EnergyMeter#TYPE_COUNTER}
+     * @param divisor the divisor to get the value in the channel unit
+     * @param aggregation the aggregation of the values of several telegrams
+     */
+    public FieldDTO(int index, int type, int divisor, Aggregation aggregation) {
+        if ((type != EnergyMeter.TYPE_ACTUAL) && (type != EnergyMeter.TYPE_COUNTER)) {
+            throw new IllegalArgumentException("type should be 4 or 8");
         }
-        this.length = length;
+        this.index = index;
+        this.type = type;
         this.divisor = divisor;
+        this.aggregation = aggregation;
     }
 
-    public float getValue() {
-        return value;
+    /**
+     * Adds the value of a telegram
+     */
+    public void updateValue(EnergyMeter energyMeter) {
+        if (!energyMeter.hasValue(index, type)) {
+            return;
+        }
+        long value = energyMeter.getValue(index, type);
+        latest = value;
+        min = count == 0 ? value : Math.min(min, value);
+        max = count == 0 ? value : Math.max(max, value);
+        sum += value;
+        count++;
+    }
+
+    /**
+     * @return true if a value was added since the last reset
+     */
+    public boolean hasValue() {
+        return count > 0;
     }
 
-    public void updateValue(byte[] bytes) {
-        if (length == 4) {
-            value = (float) bytesToUInt16(Arrays.copyOfRange(bytes, address, address + 4)) / divisor;
-        } else {
-            value = (float) bytesToUInt32(Arrays.copyOfRange(bytes, address, address + 8)) / divisor;
+    public float getValue() {
+        switch (aggregation) {
+            case AVERAGE:
+                return count == 0 ? 0 : (float) (sum / count / divisor);
+            case MIN:
+                return (float) min / divisor;
+            case MAX:
+                return (float) max / divisor;
+            default:
+                return (float) latest / divisor;
         }
     }
 
-    private int bytesToUInt16(byte[] bytes) {
-        ByteBuffer buffer = ByteBuffer.wrap(bytes);
-        return buffer.getInt();
+    public DecimalType getState() {
+        return new DecimalType(getValue());
     }
 
-    private long bytesToUInt32(byte[] bytes) {
-        ByteBuffer buffer = ByteBuffer.wrap(bytes);
-        return buffer.getLong();
+    /**
+     * Starts a new aggregation, the latest value is kept
+     */
+    public void reset() {
+        sum = 0;
+        count = 0;
     }
 
 }
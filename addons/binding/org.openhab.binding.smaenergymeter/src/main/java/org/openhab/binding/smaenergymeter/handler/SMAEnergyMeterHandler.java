@@ -10,7 +10,6 @@ package org.openhab.binding.smaenergymeter.handler;
 
 import static org.openhab.binding.smaenergymeter.SMAEnergyMeterBindingConstants.*;
 
-import java.io.IOException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
@@ -21,6 +20,9 @@ import org.eclipse.smarthome.core.thing.ThingStatusDetail;
 import org.eclipse.smarthome.core.thing.binding.BaseThingHandler;
 import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.RefreshType;
+import org.openhab.binding.smaenergymeter.handler.FieldDTO.Aggregation;
+import org.openhab.binding.smaenergymeter.internal.EnergyMeterListener;
+import org.openhab.binding.smaenergymeter.internal.EnergyMeterReceiver;
 import org.openhab.binding.smaenergymeter.internal.configuration.EnergyMeterConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -29,14 +31,23 @@ import org.slf4j.LoggerFactory;
  * The {@link SMAEnergyMeterHandler} is responsible for handling commands, which are
  * sent to one of the channels.
  *
+ * The telegrams of the meter are received by a shared {@link EnergyMeterReceiver}, the values are aggregated and the
+ * channels are updated once per polling period.
+ *
  * @author Osman Basha - Initial contribution
  */
-public class SMAEnergyMeterHandler extends BaseThingHandler {
+public class SMAEnergyMeterHandler extends BaseThingHandler implements EnergyMeterListener {
 
     private final Logger logger = LoggerFactory.getLogger(SMAEnergyMeterHandler.class);
-    private EnergyMeter energyMeter;
+    private EnergyMeterReceiver receiver;
     private ScheduledFuture<?> pollingJob;
 
+    private String serialNumber;
+    private FieldDTO powerIn;
+    private FieldDTO powerOut;
+    private FieldDTO energyIn;
+    private FieldDTO energyOut;
+
     public SMAEnergyMeterHandler(Thing thing) {
         super(thing);
     }
@@ -45,7 +56,7 @@ public class SMAEnergyMeterHandler extends BaseThingHandler {
     public void handleCommand(ChannelUID channelUID, Command command) {
         if (command == RefreshType.REFRESH) {
             logger.debug("Refreshing {}", channelUID);
-            updateData();
+            updateChannels();
         } else {
             logger.warn("This binding is a read-only binding and cannot handle commands");
         }
@@ -57,24 +68,36 @@ public class SMAEnergyMeterHandler extends BaseThingHandler {
 
         EnergyMeterConfig config = getConfigAs(EnergyMeterConfig.class);
 
-        int port = (config.getPort() == null) ? EnergyMeter.DEFAULT_MCAST_PORT : config.getPort();
-        energyMeter = new EnergyMeter(config.getMcastGroup(), port);
+        Aggregation aggregation;
         try {
-            energyMeter.update();
-
-            updateProperty(Thing.PROPERTY_VENDOR, "SMA");
-            updateProperty(Thing.PROPERTY_SERIAL_NUMBER, energyMeter.getSerialNumber());
-            logger.debug("Found a SMA Energy Meter with S/N '{}'", energyMeter.getSerialNumber());
-        } catch (IOException e) {
-            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.CONFIGURATION_ERROR, e.getMessage());
+            aggregation = config.getAggregation() == null ? Aggregation.LATEST
+                    : Aggregation.valueOf(config.getAggregation().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.CONFIGURATION_ERROR,
+                    "Unknown aggregation " + config.getAggregation());
             return;
         }
 
+        synchronized (this) {
+            powerIn = new FieldDTO(1, EnergyMeter.TYPE_ACTUAL, 10, aggregation);
+            powerOut = new FieldDTO(2, EnergyMeter.TYPE_ACTUAL, 10, aggregation);
+            energyIn = new FieldDTO(1, EnergyMeter.TYPE_COUNTER, 3600000, Aggregation.LATEST);
+            energyOut = new FieldDTO(2, EnergyMeter.TYPE_COUNTER, 3600000, Aggregation.LATEST);
+
+            // things without serial number are bound to the first meter sending a telegram
+            serialNumber = getThing().getProperties().get(Thing.PROPERTY_SERIAL_NUMBER);
+        }
+
+        int port = (config.getPort() == null) ? EnergyMeter.DEFAULT_MCAST_PORT : config.getPort();
+        receiver = EnergyMeterReceiver.acquire(config.getMcastGroup(), port);
+        receiver.addListener(serialNumber, this);
+
         int pollingPeriod = (config.getPollingPeriod() == null) ? 30 : config.getPollingPeriod();
-        pollingJob = scheduler.scheduleWithFixedDelay(this::updateData, 0, pollingPeriod, TimeUnit.SECONDS);
+        pollingJob = scheduler.scheduleWithFixedDelay(this::updateData, pollingPeriod, pollingPeriod,
+                TimeUnit.SECONDS);
         logger.debug("Polling job scheduled to run every {} sec. for '{}'", pollingPeriod, getThing().getUID());
 
-        updateStatus(ThingStatus.ONLINE);
+        updateStatus(ThingStatus.UNKNOWN);
     }
 
     @Override
@@ -85,25 +108,77 @@ public class SMAEnergyMeterHandler extends BaseThingHandler {
             pollingJob.cancel(true);
             pollingJob = null;
         }
-        energyMeter = null;
+        if (receiver != null) {
+            receiver.removeListener(this);
+            EnergyMeterReceiver.release(receiver);
+            receiver = null;
+        }
+    }
+
+    @Override
+    public synchronized void telegramReceived(EnergyMeter energyMeter) {
+        boolean firstTelegram = !powerIn.hasValue() && !energyIn.hasValue();
+
+        if (serialNumber == null) {
+            EnergyMeterReceiver localReceiver = receiver;
+            if (localReceiver == null) {
+                return;
+            }
+            serialNumber = energyMeter.getSerialNumber();
+            localReceiver.removeListener(this);
+            localReceiver.addListener(serialNumber, this);
+        } else if (!serialNumber.equals(energyMeter.getSerialNumber())) {
+            return;
+        }
+
+        powerIn.updateValue(energyMeter);
+        powerOut.updateValue(energyMeter);
+        energyIn.updateValue(energyMeter);
+        energyOut.updateValue(energyMeter);
+
+        if (firstTelegram && getThing().getStatus() != ThingStatus.ONLINE) {
+            updateProperty(Thing.PROPERTY_VENDOR, "SMA");
+            updateProperty(Thing.PROPERTY_SERIAL_NUMBER, serialNumber);
+            logger.debug("Found a SMA Energy Meter with S/N '{}'", serialNumber);
+            updateData();
+        }
     }
 
     private synchronized void updateData() {
         logger.debug("Update SMAEnergyMeter data '{}'", getThing().getUID());
 
-        try {
-            energyMeter.update();
+        if (!powerIn.hasValue() && !energyIn.hasValue()) {
+            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.COMMUNICATION_ERROR,
+                    "No telegram received from the energy meter");
+            return;
+        }
 
-            updateState(CHANNEL_POWER_IN, energyMeter.getPowerIn());
-            updateState(CHANNEL_POWER_OUT, energyMeter.getPowerOut());
-            updateState(CHANNEL_ENERGY_IN, energyMeter.getEnergyIn());
-            updateState(CHANNEL_ENERGY_OUT, energyMeter.getEnergyOut());
+        updateChannels();
+        powerIn.reset();
+        powerOut.reset();
+        energyIn.reset();
+        energyOut.reset();
 
-            if (getThing().getStatus().equals(ThingStatus.OFFLINE)) {
-                updateStatus(ThingStatus.ONLINE);
-            }
-        } catch (IOException e) {
-            updateStatus(ThingStatus.OFFLINE, ThingStatusDetail.OFFLINE.COMMUNICATION_ERROR, e.getMessage());
+        if (getThing().getStatus() != ThingStatus.ONLINE) {
+            updateStatus(ThingStatus.ONLINE);
+        }
+    }
+
+    private synchronized void updateChannels() {
+        if (powerIn == null) {
+            return;
+        }
+        if (powerIn.hasValue()) {
+            updateState(CHANNEL_POWER_IN, powerIn.getState());
+        }
+        if (powerOut.hasValue()) {
+            updateState(CHANNEL_POWER_OUT, powerOut.getState());
+        }
+        if (energyIn.hasValue()) {
+            updateState(CHANNEL_ENERGY_IN, energyIn.getState());
+        }
+        if (energyOut.hasValue()) {
+            updateState(CHANNEL_ENERGY_OUT, energyOut.getState());
         }
     }
 
@@ -0,0 +1,28 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.smaenergymeter.internal;
+
+import org.openhab.binding.smaenergymeter.handler.EnergyMeter;
+
+/**
+ * The {@link EnergyMeterListener} is notified about the telegrams received by an {@link EnergyMeterReceiver}.
+ *
+ * @author agent - Initial contribution
+ */
+public interface EnergyMeterListener {
+
+    /**
+     * Called on the receiver thread for every telegram. The passed instance is reused for the next telegram, so
+     * listeners have to copy the values they need.
+     *
+     * @param energyMeter the decoded telegram
+     */
+    void telegramReceived(EnergyMeter energyMeter);
+
+}
@@ -0,0 +1,193 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.smaenergymeter.internal;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.InetAddress;
+import java.net.MulticastSocket;
+import java.net.SocketTimeoutException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.openhab.binding.smaenergymeter.handler.EnergyMeter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * The {@link EnergyMeterReceiver} listens to the telegrams of all SMA Energy Meters of a multicast group. There is
+ * one long-lived receiver per multicast group and port, shared by all things and the discovery. Every telegram is
+ * decoded once and passed to the listeners registered for the serial number of the sending meter and to the
+ * listeners registered for all meters.
+ *
+ * @author agent - Initial contribution
+ */
+public class EnergyMeterReceiver {
+
+    private static final Map<String, EnergyMeterReceiver> RECEIVERS = new HashMap<>();
+
+    /** Timeout of a single receive, the socket is reopened if nothing is received for this time */
+    private static final int RECEIVE_TIMEOUT = 30000;
+
+    /** Delay before a failed socket is reopened */
+    private static final long RETRY_DELAY = 10000;
+
+    private final Logger logger = LoggerFactory.getLogger(EnergyMeterReceiver.class);
+
+    private final String multicastGroup;
+    private final int port;
+
+    private final Map<String, List<EnergyMeterListener>> meterListeners = new ConcurrentHashMap<>();
+    private final List<EnergyMeterListener> allMetersListeners = new CopyOnWriteArrayList<>();
+
+    private final byte[] buffer = new byte[1024];
+    private final EnergyMeter energyMeter = new EnergyMeter();
+
+    private int references;
+    private Thread receiverThread;
+    private volatile MulticastSocket socket;
+    private volatile boolean running;
+
+    private EnergyMeterReceiver(String multicastGroup, int port) {
+        this.multicastGroup = multicastGroup;
+        this.port = port;
+    }
+
+    /**
+     * Returns the receiver of a multicast group and starts it if needed. Every call has to be paired with a call to
+     * {@link #release(EnergyMeterReceiver)}.
+     *
+     * @param multicastGroup the IP address of the multicast group
+     * @param port the port of the multicast group
+     * @return the shared receiver
+     */
+    public static synchronized EnergyMeterReceiver acquire(String multicastGroup, int port) {
+        String key = multicastGroup + ":" + port;
+        EnergyMeterReceiver receiver = RECEIVERS.get(key);
+        if (receiver == null) {
+            receiver = new EnergyMeterReceiver(multicastGroup, port);
+            RECEIVERS.put(key, receiver);
+            receiver.start();
+        }
+        receiver.references++;
+        return receiver;
+    }
+
+    /**
+     * Releases a receiver returned by {@link #acquire(String, int)}, it is stopped when it is no longer used.
+     */
+    public static synchronized void release(EnergyMeterReceiver receiver) {
+        if (--receiver.references == 0) {
+            RECEIVERS.remove(receiver.multicastGroup + ":" + receiver.port);
+            receiver.stop();
+        }
+    }
+
+    /**
+     * Registers a listener for the telegrams of a single meter
+     *
+     * @param serialNumber the serial number of the meter, null to receive the telegrams of all meters
+     * @param listener the listener
+     */
+    public synchronized void addListener(String serialNumber, EnergyMeterListener listener) {
+        if (serialNumber == null) {
+            allMetersListeners.add(listener);
+        } else {
+            meterListeners.computeIfAbsent(serialNumber, s -> new CopyOnWriteArrayList<>()).add(listener);
+        }
+    }
+
+    /**
+     * Unregisters a listener from all meters
+     */
+    public synchronized void removeListener(EnergyMeterListener listener) {
+        allMetersListeners.remove(listener);
+        meterListeners.values().forEach(listeners -> listeners.remove(listener));
+        meterListeners.values().removeIf(List::isEmpty);
+    }
+
+    private void start() {
+        running = true;
+        receiverThread = new Thread(this::receive, "ESH-SMAEnergyMeter-" + multicastGroup + ":" + port);
+        receiverThread.setDaemon(true);
+        receiverThread.start();
+    }
+
+    private void stop() {
+        running = false;
+        MulticastSocket localSocket = socket;
+        if (localSocket != null) {
+            localSocket.close();
+        }
+        receiverThread.interrupt();
+    }
+
+    private void receive() {
+        logger.debug("Start receiving SMA Energy Meter telegrams on {}:{}", multicastGroup, port);
+        DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+        while (running) {
+            try (MulticastSocket localSocket = new MulticastSocket(port)) {
+                socket = localSocket;
+                localSocket.setSoTimeout(RECEIVE_TIMEOUT);
+                localSocket.joinGroup(InetAddress.getByName(multicastGroup));
+
+                while (running) {
+                    packet.setLength(buffer.length);
+                    localSocket.receive(packet);
+                    if (energyMeter.decode(buffer, packet.getLength())) {
+                        dispatch();
+                    } else {
+                        logger.trace("Ignoring data from {}, not a SMA Energy Meter telegram", packet.getAddress());
+                    }
+                }
+            } catch (SocketTimeoutException e) {
+                logger.debug("No SMA Energy Meter telegram received on {}:{} for {} ms, reopening socket",
+                        multicastGroup, port, RECEIVE_TIMEOUT);
+            } catch (IOException e) {
+                if (running) {
+                    logger.debug("Receiving SMA Energy Meter telegrams on {}:{} failed: {}", multicastGroup, port,
+                            e.getMessage());
+                    try {
+                        Thread.sleep(RETRY_DELAY);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            } finally {
+                socket = null;
+            }
+        }
+        logger.debug("Stopped receiving SMA Energy Meter telegrams on {}:{}", multicastGroup, port);
+    }
+
+    private void dispatch() {
+        List<EnergyMeterListener> listeners = meterListeners.get(energyMeter.getSerialNumber());
+        if (listeners != null) {
+            for (EnergyMeterListener listener : listeners) {
+                notifyListener(listener);
+            }
+        }
+        for (EnergyMeterListener listener : allMetersListeners) {
+            notifyListener(listener);
+        }
+    }
+
+    private void notifyListener(EnergyMeterListener listener) {
+        try {
+            listener.telegramReceived(energyMeter);
+        } catch (RuntimeException e) {
+            logger.warn("Listener failed to handle SMA Energy Meter telegram", e);
+        }
+    }
+
+}
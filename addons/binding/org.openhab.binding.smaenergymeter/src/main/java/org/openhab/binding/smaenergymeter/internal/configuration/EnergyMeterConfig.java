@@ -18,6 +18,7 @@ public class EnergyMeterConfig {
     private String mcastGroup;
     private Integer port;
     private Integer pollingPeriod;
+    private String aggregation;
 
     public String getMcastGroup() {
         return mcastGroup;
@@ -43,4 +44,12 @@ public class EnergyMeterConfig {
         this.pollingPeriod = pollingPeriod;
     }
 
+    public String getAggregation() {
+        return aggregation;
+    }
+
+    public void setAggregation(String aggregation) {
+        this.aggregation = aggregation;
+    }
+
 }
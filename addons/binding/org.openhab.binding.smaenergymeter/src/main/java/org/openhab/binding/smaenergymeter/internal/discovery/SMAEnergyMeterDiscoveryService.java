@@ -10,7 +10,6 @@ package org.openhab.binding.smaenergymeter.internal.discovery;
 
 import static org.openhab.binding.smaenergymeter.SMAEnergyMeterBindingConstants.*;
 
-import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -24,13 +23,15 @@ import org.eclipse.smarthome.core.thing.Thing;
 import org.eclipse.smarthome.core.thing.ThingTypeUID;
 import org.eclipse.smarthome.core.thing.ThingUID;
 import org.openhab.binding.smaenergymeter.handler.EnergyMeter;
+import org.openhab.binding.smaenergymeter.internal.EnergyMeterListener;
+import org.openhab.binding.smaenergymeter.internal.EnergyMeterReceiver;
 import org.osgi.service.component.annotations.Component;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * The {@link SMAEnergyMeterDiscoveryService} class implements a service
- * for discovering the SMA Energy Meter.
+ * for discovering the SMA Energy Meters sending on the default multicast group.
  *
  * @author Osman Basha - Initial contribution
  */
@@ -39,6 +40,17 @@ public class SMAEnergyMeterDiscoveryService extends AbstractDiscoveryService {
 
     private final Logger logger = LoggerFactory.getLogger(SMAEnergyMeterDiscoveryService.class);
 
+    /** Interval in milliseconds after which a meter that is still sending is announced again */
+    private static final long REDISCOVERY_INTERVAL = TimeUnit.MINUTES.toMillis(5);
+
+    private final EnergyMeterListener listener = this::discover;
+
+    /** Time of the last announcement per serial number */
+    private final Map<String, Long> discoveredMeters = new HashMap<>();
+
+    private EnergyMeterReceiver backgroundReceiver;
+    private EnergyMeterReceiver scanReceiver;
+
     public SMAEnergyMeterDiscoveryService() {
         super(SUPPORTED_THING_TYPES_UIDS, 15, true);
     }
@@ -49,34 +61,67 @@ public class SMAEnergyMeterDiscoveryService extends AbstractDiscoveryService {
     }
 
     @Override
-    protected void startBackgroundDiscovery() {
+    protected synchronized void startBackgroundDiscovery() {
         logger.debug("Start SMAEnergyMeter background discovery");
-        scheduler.schedule(this::discover, 0, TimeUnit.SECONDS);
+        if (backgroundReceiver == null) {
+            backgroundReceiver = startListening();
+        }
     }
 
     @Override
-    public void startScan() {
+    protected synchronized void stopBackgroundDiscovery() {
+        logger.debug("Stop SMAEnergyMeter background discovery");
+        backgroundReceiver = stopListening(backgroundReceiver);
+    }
+
+    @Override
+    public synchronized void startScan() {
         logger.debug("Start SMAEnergyMeter scan");
-        discover();
+        synchronized (discoveredMeters) {
+            discoveredMeters.clear();
+        }
+        if (scanReceiver == null) {
+            scanReceiver = startListening();
+        }
+    }
+
+    @Override
+    protected synchronized void stopScan() {
+        super.stopScan();
+        scanReceiver = stopListening(scanReceiver);
     }
 
-    private synchronized void discover() {
-        logger.debug("Try to discover a SMA Energy Meter device");
+    private EnergyMeterReceiver startListening() {
+        EnergyMeterReceiver receiver = EnergyMeterReceiver.acquire(EnergyMeter.DEFAULT_MCAST_GRP,
+                EnergyMeter.DEFAULT_MCAST_PORT);
+        receiver.addListener(null, listener);
+        return receiver;
+    }
+
+    private EnergyMeterReceiver stopListening(EnergyMeterReceiver receiver) {
+        if (receiver != null) {
+            receiver.removeListener(listener);
+            EnergyMeterReceiver.release(receiver);
+        }
+        return null;
+    }
 
-        EnergyMeter energyMeter = new EnergyMeter(EnergyMeter.DEFAULT_MCAST_GRP, EnergyMeter.DEFAULT_MCAST_PORT);
-        try {
-            energyMeter.update();
-        } catch (IOException e) {
-            logger.debug("No SMA Energy Meter found.");
-            logger.debug("Diagnostic: ", e);
-            return;
+    private void discover(EnergyMeter energyMeter) {
+        String serialNumber = energyMeter.getSerialNumber();
+        long now = System.currentTimeMillis();
+        synchronized (discoveredMeters) {
+            Long lastDiscovery = discoveredMeters.get(serialNumber);
+            if (lastDiscovery != null && lastDiscovery + REDISCOVERY_INTERVAL > now) {
+                return;
+            }
+            discoveredMeters.put(serialNumber, now);
         }
 
-        logger.debug("Adding a new SMA Engergy Meter with S/N '{}' to inbox", energyMeter.getSerialNumber());
+        logger.debug("Adding a new SMA Engergy Meter with S/N '{}' to inbox", serialNumber);
         Map<String, Object> properties = new HashMap<>();
         properties.put(Thing.PROPERTY_VENDOR, "SMA");
-        properties.put(Thing.PROPERTY_SERIAL_NUMBER, energyMeter.getSerialNumber());
-        ThingUID uid = new ThingUID(THING_TYPE_ENERGY_METER, energyMeter.getSerialNumber());
+        properties.put(Thing.PROPERTY_SERIAL_NUMBER, serialNumber);
+        ThingUID uid = new ThingUID(THING_TYPE_ENERGY_METER, serialNumber);
         DiscoveryResult result = DiscoveryResultBuilder.create(uid).withProperties(properties)
                 .withLabel("SMA Energy Meter").build();
         thingDiscovered(result);
@@ -9,6 +9,7 @@
 package org.openhab.binding.squeezebox.handler;
 
 import static org.openhab.binding.squeezebox.SqueezeBoxBindingConstants.*;
+import static org.openhab.binding.squeezebox.internal.utils.SqueezeBoxCliTokenizer.*;
 
 import java.io.BufferedReader;
 import java.io.BufferedWriter;
@@ -17,16 +18,15 @@ import java.io.InputStreamReader;
 import java.io.OutputStreamWriter;
 import java.io.UnsupportedEncodingException;
 import java.net.Socket;
-import java.net.URLDecoder;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 
@@ -45,6 +45,7 @@ import org.eclipse.smarthome.core.types.Command;
 import org.eclipse.smarthome.core.types.UnDefType;
 import org.openhab.binding.squeezebox.internal.config.SqueezeBoxServerConfig;
 import org.openhab.binding.squeezebox.internal.model.Favorite;
+import org.openhab.binding.squeezebox.internal.utils.SqueezeBoxCliTokenizer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -82,11 +83,12 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
 
     private static final String CHANNEL_CONFIG_QUOTE_LIST = "quoteList";
 
-    private List<SqueezeBoxPlayerEventListener> squeezeBoxPlayerListeners = Collections
-            .synchronizedList(new ArrayList<SqueezeBoxPlayerEventListener>());
+    private final Set<SqueezeBoxPlayerEventListener> squeezeBoxPlayerListeners = new CopyOnWriteArraySet<>();
 
-    private Map<String, SqueezeBoxPlayer> players = Collections
-            .synchronizedMap(new HashMap<String, SqueezeBoxPlayer>());
+    // the child player handlers by MAC address, events of a player are passed to its handler only
+    private final Map<String, SqueezeBoxPlayerEventListener> playerHandlers = new ConcurrentHashMap<>();
+
+    private Map<String, SqueezeBoxPlayer> players = new ConcurrentHashMap<>();
 
     // client socket and listener thread
     private Socket clientSocket;
@@ -425,12 +427,13 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                         continue;
                     }
 
+                    List<String> messageParts = SqueezeBoxCliTokenizer.tokenize(message);
                     if (message.startsWith("players 0")) {
-                        handlePlayersList(message);
+                        handlePlayersList(messageParts);
                     } else if (message.startsWith("favorites")) {
-                        handleFavorites(message);
+                        handleFavorites(messageParts);
                     } else {
-                        handlePlayerUpdate(message);
+                        handlePlayerUpdate(messageParts);
                     }
                 }
                 if (message == null) {
@@ -464,15 +467,6 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
             logger.debug("Squeeze Server listener exiting.");
         }
 
-        private String decode(String raw) {
-            try {
-                return URLDecoder.decode(raw, UTF8_NAME);
-            } catch (UnsupportedEncodingException e) {
-                logger.debug("Failed to decode '{}' ", raw, e);
-                return null;
-            }
-        }
-
         private String encode(String raw) {
             try {
                 return URLEncoder.encode(raw, UTF8_NAME);
@@ -482,72 +476,64 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
             }
         }
 
-        private void handlePlayersList(String message) {
-            // Split out players
-            String[] playersList = message.split("playerindex\\S*\\s");
-            for (String playerParams : playersList) {
-
-                // For each player, split out parameters and decode parameter
-                String[] parameterList = playerParams.split("\\s");
-                for (int i = 0; i < parameterList.length; i++) {
-                    parameterList[i] = decode(parameterList[i]);
-                }
-
-                // parse out the MAC address first
-                String macAddress = null;
-                for (String parameter : parameterList) {
-                    if (parameter.contains("playerid")) {
-                        macAddress = parameter.substring(parameter.indexOf(":") + 1);
-                        break;
+        private void handlePlayersList(List<String> messageParts) {
+            // Each player starts with its playerindex, followed by the parameters of the player
+            SqueezeBoxPlayer player = null;
+            for (String parameter : messageParts) {
+                String tag = getTag(parameter);
+                if ("playerindex".equals(tag)) {
+                    addPlayer(player);
+                    player = new SqueezeBoxPlayer();
+                } else if (player != null && tag != null) {
+                    String value = getValue(parameter);
+                    switch (tag) {
+                        case "playerid":
+                            player.setMacAddress(value);
+                            break;
+                        case "ip":
+                            player.setIpAddr(value);
+                            break;
+                        case "uuid":
+                            player.setUuid(value);
+                            break;
+                        case "name":
+                            player.setName(value);
+                            break;
+                        case "model":
+                            player.setModel(value);
+                            break;
+                        default:
+                            break;
                     }
                 }
+            }
+            addPlayer(player);
+        }
 
-                // if none found then ignore this set of params
-                if (macAddress == null) {
-                    continue;
-                }
-
-                final SqueezeBoxPlayer player = new SqueezeBoxPlayer();
-                player.setMacAddress(macAddress);
-                // populate the player state
-                for (String parameter : parameterList) {
-                    if (parameter.contains("ip")) {
-                        player.setIpAddr(parameter.substring(parameter.indexOf(":") + 1));
-                    } else if (parameter.contains("uuid")) {
-                        player.setUuid(parameter.substring(parameter.indexOf(":") + 1));
-                    } else if (parameter.contains("name")) {
-                        player.setName(parameter.substring(parameter.indexOf(":") + 1));
-                    } else if (parameter.contains("model")) {
-                        player.setModel(parameter.substring(parameter.indexOf(":") + 1));
-                    }
-                }
+        private void addPlayer(SqueezeBoxPlayer player) {
+            // if no MAC address found then ignore this set of params
+            if (player == null || player.getMacAddress() == null) {
+                return;
+            }
 
-                // Save player if we haven't seen it yet
-                if (!players.containsKey(macAddress)) {
-                    players.put(macAddress, player);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.playerAdded(player);
-                        }
-                    });
-                    // tell the server we want to subscribe to player updates
-                    sendCommand(player.getMacAddress() + " status - 1 subscribe:10 tags:yagJlNKjc");
-                }
+            // Save player if we haven't seen it yet
+            if (players.putIfAbsent(player.getMacAddress(), player) == null) {
+                updateAllPlayers(listener -> listener.playerAdded(player));
+                // tell the server we want to subscribe to player updates
+                sendCommand(player.getMacAddress() + " status - 1 subscribe:10 tags:yagJlNKjc");
             }
         }
 
-        private void handlePlayerUpdate(String message) {
-            String[] messageParts = message.split("\\s");
-            if (messageParts.length < 2) {
+        private void handlePlayerUpdate(List<String> messageParts) {
+            if (messageParts.size() < 2) {
                 logger.warn("Invalid message - expecting at least 2 parts. Ignoring.");
                 return;
             }
 
-            final String mac = decode(messageParts[0]);
+            final String mac = messageParts.get(0);
 
             // get the message type
-            String messageType = messageParts[1];
+            String messageType = messageParts.get(1);
             switch (messageType) {
                 case "status":
                     handleStatusMessage(mac, messageParts);
@@ -562,13 +548,10 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
                     handleMixerMessage(mac, messageParts);
                     break;
                 case "ir":
-                    final String ircode = messageParts[2];
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.irCodeChangeEvent(mac, ircode);
-                        }
-                    });
+                    if (messageParts.size() > 2) {
+                        final String ircode = messageParts.get(2);
+                        updatePlayer(mac, listener -> listener.irCodeChangeEvent(mac, ircode));
+                    }
                     break;
                 default:
                     logger.trace("Unhandled player update message type '{}'.", messageType);
@@ -576,187 +559,114 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
             }
         }
 
-        private void handleMixerMessage(String mac, String[] messageParts) {
-            String action = messageParts[2];
+        private void handleMixerMessage(String mac, List<String> messageParts) {
+            String action = messageParts.size() > 3 ? messageParts.get(2) : "";
 
             switch (action) {
                 case "volume":
-                    String volumeStringValue = decode(messageParts[3]);
-
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            try {
-                                int volume = Integer.parseInt(volumeStringValue);
-
-                                // Check if we received a relative volume change, or an absolute
-                                // volume value.
-                                if (volumeStringValue.contains("+") || (volumeStringValue.contains("-"))) {
-                                    listener.relativeVolumeChangeEvent(mac, volume);
-                                } else {
-                                    listener.absoluteVolumeChangeEvent(mac, volume);
-                                }
-                            } catch (NumberFormatException e) {
-                                logger.warn("Unable to parse volume [{}] received from mixer message.",
-                                        volumeStringValue, e);
-                            }
+                    String volumeStringValue = messageParts.get(3);
+                    try {
+                        int volume = Integer.parseInt(volumeStringValue);
+
+                        // Check if we received a relative volume change, or an absolute
+                        // volume value.
+                        if (volumeStringValue.contains("+") || (volumeStringValue.contains("-"))) {
+                            updatePlayer(mac, listener -> listener.relativeVolumeChangeEvent(mac, volume));
+                        } else {
+                            updatePlayer(mac, listener -> listener.absoluteVolumeChangeEvent(mac, volume));
                         }
-                    });
+                    } catch (NumberFormatException e) {
+                        logger.warn("Unable to parse volume [{}] received from mixer message.", volumeStringValue, e);
+                    }
                     break;
                 default:
-                    logger.trace("Unhandled mixer message type '{}'", Arrays.toString(messageParts));
+                    logger.trace("Unhandled mixer message type '{}'", messageParts);
 
             }
         }
 
-        private void handleStatusMessage(final String mac, String[] messageParts) {
+        private void handleStatusMessage(final String mac, List<String> messageParts) {
             String remoteTitle = "", artist = "", album = "", genre = "", year = "";
             boolean coverart = false;
             String coverid = null;
             String artworkUrl = null;
 
             for (String messagePart : messageParts) {
-                // Parameter Power
-                if (messagePart.startsWith("power%3A")) {
-                    final boolean power = "1".matches(messagePart.substring("power%3A".length()));
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.powerChangeEvent(mac, power);
-                        }
-                    });
-                }
-                // Parameter Volume
-                else if (messagePart.startsWith("mixer%20volume%3A")) {
-                    String value = messagePart.substring("mixer%20volume%3A".length());
-                    final int volume = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.absoluteVolumeChangeEvent(mac, volume);
-                        }
-                    });
-                }
-                // Parameter Mode
-                else if (messagePart.startsWith("mode%3A")) {
-                    final String mode = messagePart.substring("mode%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.modeChangeEvent(mac, mode);
-                        }
-                    });
-                }
-                // Parameter Playing Time
-                else if (messagePart.startsWith("time%3A")) {
-                    String value = messagePart.substring("time%3A".length());
-                    final int time = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.currentPlayingTimeEvent(mac, time);
-                        }
-                    });
-                }
-                // Parameter duration
-                else if (messagePart.startsWith("duration%3A")) {
-                    String value = messagePart.substring("duration%3A".length());
-                    final int duration = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.durationEvent(mac, duration);
-                        }
-                    });
-                }
-                // Parameter Playing Playlist Index
-                else if (messagePart.startsWith("playlist_cur_index%3A")) {
-                    String value = messagePart.substring("playlist_cur_index%3A".length());
-                    final int index = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.currentPlaylistIndexEvent(mac, index);
-                        }
-                    });
-                }
-                // Parameter Playlist Number Tracks
-                else if (messagePart.startsWith("playlist_tracks%3A")) {
-                    String value = messagePart.substring("playlist_tracks%3A".length());
-                    final int track = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.numberPlaylistTracksEvent(mac, track);
-                        }
-                    });
-                }
-                // Parameter Playlist Repeat Mode
-                else if (messagePart.startsWith("playlist%20repeat%3A")) {
-                    String value = messagePart.substring("playlist%20repeat%3A".length());
-                    final int repeat = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.currentPlaylistRepeatEvent(mac, repeat);
-                        }
-                    });
-                }
-                // Parameter Playlist Shuffle Mode
-                else if (messagePart.startsWith("playlist%20shuffle%3A")) {
-                    String value = messagePart.substring("playlist%20shuffle%3A".length());
-                    final int shuffle = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.currentPlaylistShuffleEvent(mac, shuffle);
-                        }
-                    });
-                }
-                // Parameter Title
-                else if (messagePart.startsWith("title%3A")) {
-                    final String value = messagePart.substring("title%3A".length());
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.titleChangeEvent(mac, decode(value));
-                        }
-                    });
-                }
-                // Parameter Remote Title (radio)
-                else if (messagePart.startsWith("remote_title%3A")) {
-                    remoteTitle = messagePart.substring("remote_title%3A".length());
-                }
-                // Parameter Artist
-                else if (messagePart.startsWith("artist%3A")) {
-                    artist = messagePart.substring("artist%3A".length());
-                }
-                // Parameter Album
-                else if (messagePart.startsWith("album%3A")) {
-                    album = messagePart.substring("album%3A".length());
-                }
-                // Parameter Genre
-                else if (messagePart.startsWith("genre%3A")) {
-                    genre = messagePart.substring("genre%3A".length());
-                }
-                // Parameter Year
-                else if (messagePart.startsWith("year%3A")) {
-                    year = messagePart.substring("year%3A".length());
-                }
-                // Parameter artwork_url contains url to cover art
-                else if (messagePart.startsWith("artwork_url%3A")) {
-                    artworkUrl = messagePart.substring("artwork_url%3A".length());
-                }
-                // When coverart is "1" coverid will contain a unique coverart id
-                else if (messagePart.startsWith("coverart%3A")) {
-                    coverart = "1".matches(messagePart.substring("coverart%3A".length()));
+                String tag = getTag(messagePart);
+                if (tag == null) {
+                    continue;
                 }
-                // Id for covert art (only valid when coverart is "1")
-                else if (messagePart.startsWith("coverid%3A")) {
-                    coverid = messagePart.substring("coverid%3A".length());
-                } else {
-                    // Added to be able to see additional status message types
-                    logger.trace("Unhandled status message type '{}'", messagePart);
+                String value = getValue(messagePart);
+                switch (tag) {
+                    case "power":
+                        final boolean power = "1".equals(value);
+                        updatePlayer(mac, listener -> listener.powerChangeEvent(mac, power));
+                        break;
+                    case "mixer volume":
+                        final int volume = (int) Double.parseDouble(value);
+                        updatePlayer(mac, listener -> listener.absoluteVolumeChangeEvent(mac, volume));
+                        break;
+                    case "mode":
+                        updatePlayer(mac, listener -> listener.modeChangeEvent(mac, value));
+                        break;
+                    case "time":
+                        final int time = (int) Double.parseDouble(value);
+                        updatePlayer(mac, listener -> listener.currentPlayingTimeEvent(mac, time));
+                        break;
+                    case "duration":
+                        final int duration = (int) Double.parseDouble(value);
+                        updatePlayer(mac, listener -> listener.durationEvent(mac, duration));
+                        break;
+                    case "playlist_cur_index":
+                        final int index = (int) Double.parseDouble(value);
+                        updatePlayer(mac, listener -> listener.currentPlaylistIndexEvent(mac, index));
+                        break;
+                    case "playlist_tracks":
+                        final int track = (int) Double.parseDouble(value);
+                        updatePlayer(mac, listener -> listener.numberPlaylistTracksEvent(mac, track));
+                        break;
+                    case "playlist repeat":
+                        final int repeat = (int) Double.parseDouble(value);
+                        updatePlayer(mac, listener -> listener.currentPlaylistRepeatEvent(mac, repeat));
+                        break;
+                    case "playlist shuffle":
+                        final int shuffle = (int) Double.parseDouble(value);
+                        updatePlayer(mac, listener -> listener.currentPlaylistShuffleEvent(mac, shuffle));
+                        break;
+                    case "title":
+                        updatePlayer(mac, listener -> listener.titleChangeEvent(mac, value));
+                        break;
+                    // Remote Title (radio)
+                    case "remote_title":
+                        remoteTitle = value;
+                        break;
+                    case "artist":
+                        artist = value;
+                        break;
+                    case "album":
+                        album = value;
+                        break;
+                    case "genre":
+                        genre = value;
+                        break;
+                    case "year":
+                        year = value;
+                        break;
+                    // artwork_url contains url to cover art
+                    case "artwork_url":
+                        artworkUrl = value;
+                        break;
+                    // When coverart is "1" coverid will contain a unique coverart id
+                    case "coverart":
+                        coverart = "1".equals(value);
+                        break;
+                    // Id for covert art (only valid when coverart is "1")
+                    case "coverid":
+                        coverid = value;
+                        break;
+                    default:
+                        // Added to be able to see additional status message types
+                        logger.trace("Unhandled status message type '{}'", messagePart);
                 }
             }
 
@@ -767,16 +677,13 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
             final String finalGenre = genre;
             final String finalYear = year;
 
-            updatePlayer(new PlayerUpdateEvent() {
-                @Override
-                public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                    listener.coverArtChangeEvent(mac, finalUrl);
-                    listener.remoteTitleChangeEvent(mac, decode(finalRemoteTitle));
-                    listener.artistChangeEvent(mac, decode(finalArtist));
-                    listener.albumChangeEvent(mac, decode(finalAlbum));
-                    listener.genreChangeEvent(mac, decode(finalGenre));
-                    listener.yearChangeEvent(mac, decode(finalYear));
-                }
+            updatePlayer(mac, listener -> {
+                listener.coverArtChangeEvent(mac, finalUrl);
+                listener.remoteTitleChangeEvent(mac, finalRemoteTitle);
+                listener.artistChangeEvent(mac, finalArtist);
+                listener.albumChangeEvent(mac, finalAlbum);
+                listener.genreChangeEvent(mac, finalGenre);
+                listener.yearChangeEvent(mac, finalYear);
             });
         }
 
@@ -795,93 +702,68 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
             } else if (artwork_url != null) {
                 if (artwork_url.startsWith("http")) {
                     // Typically indicates that cover art is not local to LMS
-                    url = decode(artwork_url);
-                } else if (artwork_url.startsWith("%2F")) {
+                    url = artwork_url;
+                } else if (artwork_url.startsWith("/")) {
                     // Typically used for default coverart for plugins (e.g. Pandora, etc.)
-                    url = hostAndPort + decode(artwork_url);
+                    url = hostAndPort + artwork_url;
                 } else {
                     // Another variation of default coverart for plugins (e.g. Pandora, etc.)
-                    url = hostAndPort + "/" + decode(artwork_url);
+                    url = hostAndPort + "/" + artwork_url;
                 }
             }
             logger.trace("{}: URL for cover art is {}", mac, url);
             return url;
         }
 
-        private void handlePlaylistMessage(final String mac, String[] messageParts) {
-            String action = messageParts[2];
+        private void handlePlaylistMessage(final String mac, List<String> messageParts) {
+            String action = messageParts.size() > 2 ? messageParts.get(2) : "";
             String mode;
             if (action.equals("newsong")) {
                 mode = "play";
                 // Set the track duration to 0
-                updatePlayer(new PlayerUpdateEvent() {
-                    @Override
-                    public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                        listener.durationEvent(mac, 0);
-                    }
-                });
-            } else if (action.equals("pause")) {
-                mode = messageParts[3].equals("0") ? "play" : "pause";
+                updatePlayer(mac, listener -> listener.durationEvent(mac, 0));
+            } else if (action.equals("pause") && messageParts.size() > 3) {
+                mode = messageParts.get(3).equals("0") ? "play" : "pause";
             } else if (action.equals("stop")) {
                 mode = "stop";
             } else {
                 // Added so that actions (such as delete, index, jump, open) are not treated as "play"
-                logger.trace("Unhandled playlist message type '{}'", Arrays.toString(messageParts));
+                logger.trace("Unhandled playlist message type '{}'", messageParts);
                 return;
             }
             final String value = mode;
-            updatePlayer(new PlayerUpdateEvent() {
-
-                @Override
-                public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                    listener.modeChangeEvent(mac, value);
-                }
-
-            });
+            updatePlayer(mac, listener -> listener.modeChangeEvent(mac, value));
         }
 
-        private void handlePrefsetMessage(final String mac, String[] messageParts) {
-            if (messageParts.length < 5) {
+        private void handlePrefsetMessage(final String mac, List<String> messageParts) {
+            if (messageParts.size() < 5) {
                 return;
             }
 
             // server prefsets
-            if (messageParts[2].equals("server")) {
-                String function = messageParts[3];
-                String value = messageParts[4];
+            if (messageParts.get(2).equals("server")) {
+                String function = messageParts.get(3);
+                String value = messageParts.get(4);
 
                 if (function.equals("power")) {
                     final boolean power = value.equals("1");
-                    updatePlayer(new PlayerUpdateEvent() {
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.powerChangeEvent(mac, power);
-                        }
-                    });
+                    updatePlayer(mac, listener -> listener.powerChangeEvent(mac, power));
                 } else if (function.equals("volume")) {
                     final int volume = (int) Double.parseDouble(value);
-                    updatePlayer(new PlayerUpdateEvent() {
-
-                        @Override
-                        public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                            listener.absoluteVolumeChangeEvent(mac, volume);
-                        }
-
-                    });
+                    updatePlayer(mac, listener -> listener.absoluteVolumeChangeEvent(mac, volume));
                 }
             }
         }
 
-        private void handleFavorites(String message) {
-            logger.trace("Handle favorites message: {}", message);
+        private void handleFavorites(List<String> messageParts) {
+            logger.trace("Handle favorites message: {}", messageParts);
 
-            String[] messageParts = message.split("\\s");
-            if (messageParts.length == 2 && "changed".equals(messageParts[1])) {
+            if (messageParts.size() == 2 && "changed".equals(messageParts.get(1))) {
                 // LMS informing us that favorites have changed; request an update to the favorites list
                 requestFavorites();
                 return;
             }
-            if (messageParts.length < 7) {
+            if (messageParts.size() < 7) {
                 logger.trace("No favorites in message.");
                 return;
             }
@@ -889,22 +771,21 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
             List<Favorite> favorites = new ArrayList<>();
             Favorite f = null;
             for (String part : messageParts) {
+                String tag = getTag(part);
                 // Favorite ID (in form xxxxxxxxx.n)
-                if (part.startsWith("id%3A")) {
-                    String id = part.substring("id%3A".length());
-                    f = new Favorite(id);
+                if ("id".equals(tag)) {
+                    f = new Favorite(getValue(part));
                     favorites.add(f);
                 }
                 // Favorite name
-                else if (part.startsWith("name%3A")) {
-                    String name = decode(part.substring("name%3A".length()));
+                else if ("name".equals(tag)) {
                     if (f != null) {
-                        f.name = name;
+                        f.name = getValue(part);
                     }
                 }
                 // When "1", favorite is a submenu with additional favorites
-                else if (part.startsWith("hasitems%3A")) {
-                    boolean hasitems = "1".matches(part.substring("hasitems%3A".length()));
+                else if ("hasitems".equals(tag)) {
+                    boolean hasitems = "1".equals(getValue(part));
                     if (f != null) {
                         if (hasitems) {
                             // Skip subfolders
@@ -919,12 +800,7 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
         }
 
         private void updatePlayersFavoritesList(List<Favorite> favorites) {
-            updatePlayer(new PlayerUpdateEvent() {
-                @Override
-                public void updateListener(SqueezeBoxPlayerEventListener listener) {
-                    listener.updateFavoritesListEvent(favorites);
-                }
-            });
+            updateAllPlayers(listener -> listener.updateFavoritesListEvent(favorites));
         }
 
         private void updateChannelFavoritesList(List<Favorite> favorites) {
@@ -971,27 +847,56 @@ public class SqueezeBoxServerHandler extends BaseBridgeHandler {
     }
 
     /**
-     * Update Listeners and child Squeeze Player Things
+     * Update the listeners and the child Squeeze Player Thing of a single player
      *
+     * @param mac the MAC address of the player
      * @param event
      */
-    private void updatePlayer(PlayerUpdateEvent event) {
+    private void updatePlayer(String mac, PlayerUpdateEvent event) {
+        // update listeners like disco services
+        for (SqueezeBoxPlayerEventListener listener : squeezeBoxPlayerListeners) {
+            event.updateListener(listener);
+        }
+        // update our child
+        SqueezeBoxPlayerEventListener handler = playerHandlers.get(mac);
+        if (handler != null && !squeezeBoxPlayerListeners.contains(handler)) {
+            event.updateListener(handler);
+        }
+    }
+
+    /**
+     * Update Listeners and all child Squeeze Player Things
+     *
+     * @param event
+     */
+    private void updateAllPlayers(PlayerUpdateEvent event) {
         // update listeners like disco services
         for (SqueezeBoxPlayerEventListener listener : squeezeBoxPlayerListeners) {
             event.updateListener(listener);
         }
         // update our children
-        Bridge bridge = getThing();
+        for (SqueezeBoxPlayerEventListener handler : playerHandlers.values()) {
+            if (!squeezeBoxPlayerListeners.contains(handler)) {
+                event.updateListener(handler);
+            }
+        }
+    }
 
-        List<Thing> things = bridge.getThings();
-        for (Thing thing : things) {
-            ThingHandler handler = thing.getHandler();
-            if (handler instanceof SqueezeBoxPlayerEventListener && !squeezeBoxPlayerListeners.contains(handler)) {
-                event.updateListener((SqueezeBoxPlayerEventListener) handler);
+    @Override
+    public void childHandlerInitialized(ThingHandler childHandler, Thing childThing) {
+        if (childHandler instanceof SqueezeBoxPlayerHandler) {
+            String mac = ((SqueezeBoxPlayerHandler) childHandler).getMac();
+            if (mac != null) {
+                playerHandlers.put(mac, (SqueezeBoxPlayerHandler) childHandler);
             }
         }
     }
 
+    @Override
+    public void childHandlerDisposed(ThingHandler childHandler, Thing childThing) {
+        playerHandlers.values().remove(childHandler);
+    }
+
     /**
      * Adds a listener for player events
      *
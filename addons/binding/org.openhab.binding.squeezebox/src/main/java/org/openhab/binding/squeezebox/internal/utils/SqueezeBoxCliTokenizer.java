@@ -0,0 +1,103 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.binding.squeezebox.internal.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a line received from the CLI of a SqueezeBox Server into its parameters and decodes them in a single pass.
+ *
+ * The CLI separates the parameters by spaces and percent-encodes the UTF-8 bytes of all other special characters, e.g.
+ * "00%3A04%3A20%3Aaa%3Abb%3Acc status - 1 title%3AHello%20World". Tagged parameters keep their "tag:value" form after
+ * decoding.
+ *
+ * @author agent - Initial contribution
+ */
+public class SqueezeBoxCliTokenizer {
+
+    private SqueezeBoxCliTokenizer() {
+    }
+
+    /**
+     * Splits and decodes a CLI line
+     *
+     * @param line the line received from the server
+     * @return the decoded parameters, empty parameters are skipped
+     */
+    public static List<String> tokenize(String line) {
+        List<String> tokens = new ArrayList<>();
+        StringBuilder token = new StringBuilder();
+        byte[] bytes = null;
+
+        int length = line.length();
+        int start = 0;
+        boolean encoded = false;
+        int i = 0;
+        while (i <= length) {
+            char c = i < length ? line.charAt(i) : ' ';
+            if (c == ' ' || c == '\t') {
+                if (i > start) {
+                    // tokens without escapes are taken as they are
+                    tokens.add(encoded ? token.toString() : line.substring(start, i));
+                }
+                token.setLength(0);
+                encoded = false;
+                start = ++i;
+            } else if (c == '%' && isEscape(line, i)) {
+                if (!encoded) {
+                    token.append(line, start, i);
+                    encoded = true;
+                }
+                // collect consecutive escapes, multi-byte characters span several of them
+                if (bytes == null) {
+                    bytes = new byte[(length - i) / 3];
+                }
+                int count = 0;
+                while (i < length && line.charAt(i) == '%' && isEscape(line, i)) {
+                    bytes[count++] = (byte) ((Character.digit(line.charAt(i + 1), 16) << 4)
+                            | Character.digit(line.charAt(i + 2), 16));
+                    i += 3;
+                }
+                token.append(new String(bytes, 0, count, StandardCharsets.UTF_8));
+            } else {
+                if (encoded) {
+                    token.append(c);
+                }
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns the tag of a tagged parameter, e.g. "title" for "title:Hello World"
+     *
+     * @return the tag or null if the parameter has no tag
+     */
+    public static String getTag(String token) {
+        int colon = token.indexOf(':');
+        return colon < 0 ? null : token.substring(0, colon);
+    }
+
+    /**
+     * Returns the value of a tagged parameter, e.g. "Hello World" for "title:Hello World"
+     *
+     * @return the value or the whole parameter if it has no tag
+     */
+    public static String getValue(String token) {
+        return token.substring(token.indexOf(':') + 1);
+    }
+
+    private static boolean isEscape(String line, int index) {
+        return index + 2 < line.length() && Character.digit(line.charAt(index + 1), 16) >= 0
+                && Character.digit(line.charAt(index + 2), 16) >= 0;
+    }
+}
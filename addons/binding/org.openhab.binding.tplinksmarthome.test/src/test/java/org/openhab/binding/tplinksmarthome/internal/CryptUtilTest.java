@@ -8,10 +8,12 @@
  */
 package org.openhab.binding.tplinksmarthome.internal;
 
-import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.*;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 
 import org.junit.Test;
 
@@ -47,4 +49,42 @@ public class CryptUtilTest {
         }
     }
 
+    /**
+     * Test encryption against the known encrypted bytes of the device protocol.
+     */
+    @Test
+    public void testEncryptKnownValue() {
+        assertArrayEquals("Encrypting should use the autokey cipher", new byte[] { (byte) 0xD0, (byte) 0xF2 },
+                CryptUtil.encrypt("{\""));
+    }
+
+    /**
+     * Test round trip of in place encrypt and decrypt of a part of a buffer that should return the same value.
+     */
+    @Test
+    public void testCryptByteBuffer() {
+        byte[] data = ("len:" + TEST_STRING).getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        buffer.position(4);
+        CryptUtil.encrypt(buffer);
+        assertEquals("Prefix should not be encrypted", "len:", new String(data, 0, 4, StandardCharsets.UTF_8));
+        buffer.position(4);
+        CryptUtil.decrypt(buffer);
+        assertEquals("Crypting should result in same string", "len:" + TEST_STRING,
+                new String(data, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Test round trip of encrypt and decrypt of a non ASCII string that should return the same value.
+     *
+     * @throws IOException exception in case device not reachable
+     */
+    @Test
+    public void testCryptNonAscii() throws IOException {
+        String alias = "K\u00fcche Stehlampe";
+        try (final ByteArrayInputStream is = new ByteArrayInputStream(CryptUtil.encryptWithLength(alias))) {
+            assertEquals("Crypting should result in same string", alias, CryptUtil.decryptWithLength(is));
+        }
+    }
+
 }
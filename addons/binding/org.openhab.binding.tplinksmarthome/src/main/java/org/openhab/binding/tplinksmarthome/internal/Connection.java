@@ -9,18 +9,23 @@
 package org.openhab.binding.tplinksmarthome.internal;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.Socket;
 import java.net.UnknownHostException;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * This class acts as and interface to the physical device.
  *
+ * The connection to the device is kept open and reused for the next command, as long as the device keeps it open.
+ * If a reused connection turns out to be closed by the device, the command is sent again on a new connection and
+ * connections to that device are no longer reused.
+ *
  * @author Christian Fischer - Initial contribution
  * @author Hilbrand Bouwkamp - Reorganized code an put connection in single class
  */
@@ -31,8 +36,22 @@ public class Connection {
 
     public static final int SMART_PLUG_PORT = 9999;
 
+    /**
+     * Read timeout of the socket
+     */
+    private static final int SOCKET_TIMEOUT_MILLIS = (int) TimeUnit.SECONDS.toMillis(10);
+
+    /**
+     * Connections unused for a longer time are not reused, as the device might have closed them in the meantime
+     */
+    private static final long MAX_IDLE_MILLIS = TimeUnit.SECONDS.toMillis(20);
+
     private final String ipAddress;
 
+    private @Nullable Socket socket;
+    private long lastUsed;
+    private boolean reuseConnection = true;
+
     /**
      * Initializes a connection to the given ip address.
      *
@@ -49,30 +68,77 @@ public class Connection {
      * @return decrypted returned json result from the device
      * @throws IOException exception in case device not reachable
      */
-    public String sendCommand(String command) throws IOException {
+    public synchronized String sendCommand(String command) throws IOException {
         logger.trace("Executing command: {}", command);
-        try (Socket socket = createSocket(); final OutputStream outputStream = socket.getOutputStream()) {
-            outputStream.write(CryptUtil.encryptWithLength(command));
-            String response = readReturnValue(socket);
-
-            logger.trace("Command response: {}", response);
-            return response;
+        Socket openSocket = getOpenSocket();
+        String response;
+        if (openSocket == null) {
+            response = exchange(createConnectedSocket(), command);
+        } else {
+            try {
+                response = exchange(openSocket, command);
+            } catch (IOException e) {
+                logger.debug("Device {} closed the connection, not reusing connections anymore: {}", ipAddress,
+                        e.getMessage());
+                reuseConnection = false;
+                response = exchange(createConnectedSocket(), command);
+            }
         }
+        logger.trace("Command response: {}", response);
+        return response;
     }
 
     /**
-     * Reads and decrypts result returned from the device.
-     *
-     * @param socket socket to read result from
-     * @return decrypted result
-     * @throws IOException exception in case device not reachable
+     * Closes the connection to the device, if open.
      */
-    private String readReturnValue(Socket socket) throws IOException {
-        try (InputStream is = socket.getInputStream()) {
-            return CryptUtil.decryptWithLength(is);
+    public synchronized void close() {
+        Socket openSocket = socket;
+        socket = null;
+        if (openSocket != null) {
+            try {
+                openSocket.close();
+            } catch (IOException e) {
+                logger.trace("Closing connection to {} failed: {}", ipAddress, e.getMessage());
+            }
+        }
+    }
+
+    private String exchange(Socket activeSocket, String command) throws IOException {
+        boolean success = false;
+        try {
+            OutputStream outputStream = activeSocket.getOutputStream();
+            outputStream.write(CryptUtil.encryptWithLength(command));
+            outputStream.flush();
+            String response = CryptUtil.decryptWithLength(activeSocket.getInputStream());
+            lastUsed = System.currentTimeMillis();
+            success = true;
+            return response;
+        } finally {
+            if (!success || !reuseConnection) {
+                close();
+            }
         }
     }
 
+    private @Nullable Socket getOpenSocket() {
+        Socket openSocket = socket;
+        if (openSocket != null && (!openSocket.isConnected() || openSocket.isClosed()
+                || System.currentTimeMillis() - lastUsed > MAX_IDLE_MILLIS)) {
+            close();
+            return null;
+        }
+        return openSocket;
+    }
+
+    private Socket createConnectedSocket() throws IOException {
+        close();
+        Socket newSocket = createSocket();
+        newSocket.setSoTimeout(SOCKET_TIMEOUT_MILLIS);
+        newSocket.setKeepAlive(true);
+        socket = newSocket;
+        return newSocket;
+    }
+
     /**
      * Wrapper around socket creation to make mocking possible.
      *
@@ -8,17 +8,21 @@
  */
 package org.openhab.binding.tplinksmarthome.internal;
 
-import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 
 import org.eclipse.jdt.annotation.NonNullByDefault;
 
 /**
  * Util class to encypt and decrypt data to be sent to and from the smart plug.
  *
+ * The devices use an autokey XOR cipher: each byte is XOR-ed with the previous encrypted byte, the first byte with a
+ * fixed key. The cipher works on bytes, so the data is encrypted and decrypted in place in a {@link ByteBuffer}.
+ *
  * @author Hilbrand Bouwkamp - Initial contribution
  */
 @NonNullByDefault
@@ -40,43 +44,61 @@ public final class CryptUtil {
      * @throws IOException exception in case device not reachable
      */
     public static String decrypt(byte[] data, int length) throws IOException {
-        try (ByteArrayInputStream is = new ByteArrayInputStream(data)) {
-            return decrypt(is, length);
-        }
+        ByteBuffer buffer = ByteBuffer.wrap(Arrays.copyOf(data, Math.min(length, data.length)));
+        decrypt(buffer);
+        buffer.flip();
+        return StandardCharsets.UTF_8.decode(buffer).toString();
     }
 
     /**
      * Decrypt the byte data in the input stream. In the first 4 bytes the length of the data in the byte array is
-     * coded.
+     * coded. The input stream is not closed, so it can be used for the next response.
      *
      * @param inputStream input stream containing length and data
      * @return decrypted String of the inputstream
      * @throws IOException exception in case device not reachable
      */
     public static String decryptWithLength(InputStream inputStream) throws IOException {
-        try (DataInputStream is = new DataInputStream(inputStream)) {
-            return decrypt(is, is.readInt());
+        DataInputStream is = new DataInputStream(inputStream);
+        int length = is.readInt();
+        if (length < 0) {
+            throw new IOException("Invalid response length " + length);
         }
+        byte[] data = new byte[length];
+        is.readFully(data);
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        decrypt(buffer);
+        buffer.flip();
+        return StandardCharsets.UTF_8.decode(buffer).toString();
     }
 
     /**
-     * Decrypt the byte data in the input stream with the length as given.
+     * Decrypts the remaining bytes of the buffer in place. After the call the position of the buffer is at its limit.
      *
-     * @param inputStream input stream
-     * @param length the number of bytes to read
-     * @return decrypted String of the inputstream
-     * @throws IOException exception in case device not reachable
+     * @param buffer buffer containing the encrypted data
      */
-    private static String decrypt(InputStream inputStream, int length) throws IOException {
-        StringBuilder sb = new StringBuilder();
-        int in;
-        int key = KEY;
-        while (sb.length() < length && (in = inputStream.read()) != -1) {
-            int nextKey = in;
-            sb.append((char) (in ^ key));
-            key = nextKey;
+    public static void decrypt(ByteBuffer buffer) {
+        byte key = (byte) KEY;
+        while (buffer.hasRemaining()) {
+            int position = buffer.position();
+            byte in = buffer.get();
+            buffer.put(position, (byte) (in ^ key));
+            key = in;
+        }
+    }
+
+    /**
+     * Encrypts the remaining bytes of the buffer in place. After the call the position of the buffer is at its limit.
+     *
+     * @param buffer buffer containing the data to encrypt
+     */
+    public static void encrypt(ByteBuffer buffer) {
+        byte key = (byte) KEY;
+        while (buffer.hasRemaining()) {
+            int position = buffer.position();
+            key = (byte) (buffer.get() ^ key);
+            buffer.put(position, key);
         }
-        return sb.toString();
     }
 
     /**
@@ -87,9 +109,12 @@ public final class CryptUtil {
      * @return byte array with length and encrypted string
      */
     public static byte[] encryptWithLength(String string) {
-        ByteBuffer bb = ByteBuffer.allocate(4 + string.length());
-        bb.putInt(string.length());
-        bb.put(encrypt(string));
+        byte[] data = string.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer bb = ByteBuffer.allocate(4 + data.length);
+        bb.putInt(data.length);
+        bb.put(data);
+        bb.position(4);
+        encrypt(bb);
         return bb.array();
     }
 
@@ -100,13 +125,9 @@ public final class CryptUtil {
      * @return byte array with encrypted string
      */
     public static byte[] encrypt(String string) {
-        byte[] buffer = new byte[string.length()];
-        byte key = (byte) KEY;
-        for (int i = 0; i < string.length(); i++) {
-            buffer[i] = (byte) (string.charAt(i) ^ key);
-            key = buffer[i];
-        }
-        return buffer;
+        ByteBuffer bb = ByteBuffer.wrap(string.getBytes(StandardCharsets.UTF_8));
+        encrypt(bb);
+        return bb.array();
     }
 
 }
@@ -80,6 +80,9 @@ public class SmartHomeHandler extends BaseThingHandler {
             refreshJob.cancel(true);
             refreshJob = null;
         }
+        if (connection != null) {
+            connection.close();
+        }
     }
 
     @Override
@@ -118,7 +121,9 @@ public class SmartHomeHandler extends BaseThingHandler {
     }
 
     /**
-     * Starts the background refresh thread.
+     * Starts the background refresh thread. The device is refreshed right away, after that the refreshes of the
+     * devices are spread over the refresh period, so not all devices are queried at the same moment. The cache expires
+     * after the refresh period, so the device is not queried again by a periodic refresh following shortly after.
      */
     private void startAutomaticRefresh(TPLinkSmartHomeConfiguration config) {
         if (refreshJob == null || refreshJob.isCancelled()) {
@@ -128,7 +133,11 @@ public class SmartHomeHandler extends BaseThingHandler {
                 getThing().getChannels().forEach(channel -> updateChannelState(channel.getUID(), value));
             };
 
-            refreshJob = scheduler.scheduleWithFixedDelay(runnable, 0, config.refresh.intValue(), TimeUnit.SECONDS);
+            long refreshMillis = TimeUnit.SECONDS.toMillis(config.refresh.intValue());
+            long offsetMillis = Math.floorMod(getThing().getUID().hashCode(), refreshMillis);
+            scheduler.execute(runnable);
+            refreshJob = scheduler.scheduleWithFixedDelay(runnable, offsetMillis, refreshMillis,
+                    TimeUnit.MILLISECONDS);
         }
     }
 
@@ -0,0 +1,193 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.internal.azureiothub;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests cases for {@link TelemetryBatcher}. The updates are sent to a local stand-in endpoint instead of the Azure IoT
+ * Hub.
+ *
+ * @author agent - Initial contribution
+ */
+public class TelemetryBatcherTest {
+
+    private static final long LONG_WINDOW = 60000;
+
+    /**
+     * Records the updates it receives and counts down a latch for every update.
+     */
+    private static class StandInEndpoint implements TelemetrySender {
+        private final List<String> messages = new ArrayList<>();
+        private CountDownLatch latch = new CountDownLatch(0);
+
+        @Override
+        public synchronized void send(String deviceId, String state) {
+            if ("failing".equals(deviceId)) {
+                throw new IllegalStateException("endpoint not reachable");
+            }
+            messages.add(deviceId + "=" + state);
+            latch.countDown();
+        }
+
+        synchronized void expect(int count) {
+            latch = new CountDownLatch(count);
+        }
+
+        boolean await(long millis) throws InterruptedException {
+            return latch.await(millis, TimeUnit.MILLISECONDS);
+        }
+
+        synchronized List<String> getMessages() {
+            return new ArrayList<>(messages);
+        }
+    }
+
+    private ScheduledExecutorService scheduler;
+    private StandInEndpoint endpoint;
+
+    @Before
+    public void before() {
+        scheduler = Executors.newSingleThreadScheduledExecutor();
+        endpoint = new StandInEndpoint();
+    }
+
+    @After
+    public void after() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void coalesceTest() {
+        TelemetryBatcher batcher = new TelemetryBatcher(endpoint, scheduler, LONG_WINDOW, 10, 10);
+
+        assertTrue(batcher.submit("light", "ON"));
+        assertTrue(batcher.submit("temperature", "20.5"));
+        assertTrue(batcher.submit("light", "OFF"));
+        assertEquals(2, batcher.getQueueSize());
+        assertTrue(endpoint.getMessages().isEmpty());
+
+        batcher.flush();
+
+        assertEquals(Arrays.asList("light=OFF", "temperature=20.5"), endpoint.getMessages());
+        assertEquals(3, batcher.getReceivedCount());
+        assertEquals(1, batcher.getCoalescedCount());
+        assertEquals(2, batcher.getSentCount());
+        assertEquals(0, batcher.getQueueSize());
+    }
+
+    @Test
+    public void batchSizeTriggerTest() throws InterruptedException {
+        TelemetryBatcher batcher = new TelemetryBatcher(endpoint, scheduler, LONG_WINDOW, 3, 10);
+        endpoint.expect(3);
+
+        batcher.submit("a", "1");
+        batcher.submit("b", "2");
+        assertFalse(endpoint.await(200));
+
+        batcher.submit("c", "3");
+        assertTrue(endpoint.await(5000));
+        assertEquals(Arrays.asList("a=1", "b=2", "c=3"), endpoint.getMessages());
+    }
+
+    @Test
+    public void batchWindowTriggerTest() throws InterruptedException {
+        TelemetryBatcher batcher = new TelemetryBatcher(endpoint, scheduler, 300, 10, 10);
+        endpoint.expect(2);
+
+        long start = System.currentTimeMillis();
+        batcher.submit("a", "1");
+        batcher.submit("b", "2");
+
+        assertTrue(endpoint.await(5000));
+        assertTrue(System.currentTimeMillis() - start >= 300);
+        assertEquals(Arrays.asList("a=1", "b=2"), endpoint.getMessages());
+    }
+
+    @Test
+    public void noWindowTest() throws InterruptedException {
+        TelemetryBatcher batcher = new TelemetryBatcher(endpoint, scheduler, 0, 10, 10);
+        endpoint.expect(1);
+
+        batcher.submit("a", "1");
+
+        assertTrue(endpoint.await(5000));
+        assertEquals(Arrays.asList("a=1"), endpoint.getMessages());
+    }
+
+    @Test
+    public void fullQueueTest() throws InterruptedException {
+        // keep the scheduler busy, so that the batch triggered by the batch size isn't sent yet
+        CountDownLatch blocked = new CountDownLatch(1);
+        scheduler.execute(() -> {
+            try {
+                blocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        TelemetryBatcher batcher = new TelemetryBatcher(endpoint, scheduler, LONG_WINDOW, 2, 2);
+
+        assertTrue(batcher.submit("a", "1"));
+        assertTrue(batcher.submit("b", "2"));
+        assertFalse(batcher.submit("c", "3"));
+        assertTrue(batcher.submit("a", "4"));
+        assertEquals(1, batcher.getDroppedCount());
+        assertEquals(1, batcher.getCoalescedCount());
+
+        endpoint.expect(2);
+        blocked.countDown();
+        assertTrue(endpoint.await(5000));
+        assertEquals(Arrays.asList("a=4", "b=2"), endpoint.getMessages());
+    }
+
+    @Test
+    public void flushOnCloseTest() {
+        TelemetryBatcher batcher = new TelemetryBatcher(endpoint, scheduler, LONG_WINDOW, 10, 10);
+
+        batcher.submit("a", "1");
+        batcher.submit("b", "2");
+        batcher.close();
+
+        assertEquals(Arrays.asList("a=1", "b=2"), endpoint.getMessages());
+        assertFalse(batcher.submit("c", "3"));
+        assertEquals(1, batcher.getDroppedCount());
+        assertEquals(2, batcher.getSentCount());
+    }
+
+    @Test
+    public void failingEndpointTest() {
+        TelemetryBatcher batcher = new TelemetryBatcher(endpoint, scheduler, LONG_WINDOW, 10, 10);
+
+        batcher.submit("failing", "1");
+        batcher.submit("a", "2");
+        batcher.flush();
+
+        assertEquals(Arrays.asList("a=2"), endpoint.getMessages());
+        assertEquals(1, batcher.getFailedCount());
+        assertEquals(1, batcher.getSentCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidBatchSizeTest() {
+        new TelemetryBatcher(endpoint, scheduler, LONG_WINDOW, 10, 5);
+    }
+}
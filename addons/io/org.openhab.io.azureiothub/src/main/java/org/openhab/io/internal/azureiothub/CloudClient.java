@@ -13,6 +13,7 @@ import java.nio.charset.Charset;
 import java.time.Instant;
 import java.util.function.Consumer;
 
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.events.EventPublisher;
 import org.eclipse.smarthome.core.items.events.ItemEventFactory;
 import org.eclipse.smarthome.core.library.types.StringType;
@@ -42,6 +43,7 @@ public class CloudClient {
 
     private static final String DATAPOINT_VALUE = "value";
     private static final String DATAPOINT_DEVICE_ID = "deviceId";
+    private static final String THREADPOOL_NAME = "azureiothub";
 
     private final Logger logger = LoggerFactory.getLogger(CloudClient.class);
 
@@ -53,30 +55,71 @@ public class CloudClient {
     private EventHubClient azureClient;
     private Object lockobj = new Object();
     private Gson gson = new Gson();
+    private TelemetryBatcher batcher;
 
     /**
      * Constructor of CloudClient
      *
      * @param connectionstring the connectionstring to the Azure IoT Hub
      * @param eventPublisher
+     * @param batchWindow the time in milliseconds item updates are collected before being sent
+     * @param batchSize the number of pending items that triggers sending right away
+     * @param maxQueueSize the maximum number of pending items, updates of further items are dropped
      * @throws IOException
      * @throws ServiceBusException
      *
      */
-    public CloudClient(String connectionstring, boolean commandEnabled, EventPublisher eventPublisher)
+    public CloudClient(String connectionstring, boolean commandEnabled, EventPublisher eventPublisher,
+            long batchWindow, int batchSize, int maxQueueSize) throws IOException, ServiceBusException {
+        this(connectionstring, commandEnabled, eventPublisher, null, batchWindow, batchSize, maxQueueSize);
+    }
+
+    /**
+     * Constructor of CloudClient
+     *
+     * @param connectionstring the connectionstring to the Azure IoT Hub
+     * @param eventPublisher
+     * @param telemetrySender the endpoint item updates are sent to instead of the Azure IoT Hub (e.g. a local
+     *            stand-in for testing), null to send them to the Azure IoT Hub
+     * @param batchWindow the time in milliseconds item updates are collected before being sent
+     * @param batchSize the number of pending items that triggers sending right away
+     * @param maxQueueSize the maximum number of pending items, updates of further items are dropped
+     * @throws IOException
+     * @throws ServiceBusException
+     *
+     */
+    public CloudClient(String connectionstring, boolean commandEnabled, EventPublisher eventPublisher,
+            TelemetrySender telemetrySender, long batchWindow, int batchSize, int maxQueueSize)
             throws IOException, ServiceBusException {
         this.connectionstring = connectionstring;
         this.commandEnabled = commandEnabled;
         this.eventPublisher = eventPublisher;
 
-        azureDeviceStore = new AzureDevices(this.connectionstring);
+        TelemetrySender sender = telemetrySender;
+        if (sender == null) {
+            azureDeviceStore = new AzureDevices(this.connectionstring);
+            sender = this::sendNow;
+        }
+        batcher = new TelemetryBatcher(sender, ThreadPoolManager.getScheduledPool(THREADPOOL_NAME), batchWindow,
+                batchSize, maxQueueSize);
 
         if (this.commandEnabled) {
             azureClient = receiveMessages("0");
         }
     }
 
+    /**
+     * Queues an item update, it will be sent with the next batch. Repeated updates of the same item before the batch
+     * is sent are coalesced into one message with the latest state.
+     *
+     * @param deviceId the id of the device, which is the item name
+     * @param state the new state of the item
+     */
     public void sendItemUpdate(String deviceId, String state) {
+        batcher.submit(deviceId, state);
+    }
+
+    private void sendNow(String deviceId, String state) {
         AzureDevice device;
         try {
             device = azureDeviceStore.getDevice(deviceId);
@@ -114,7 +157,15 @@ public class CloudClient {
         }
     }
 
+    /**
+     * @return the batcher of the item updates, e.g. to read its statistics
+     */
+    public TelemetryBatcher getTelemetryBatcher() {
+        return batcher;
+    }
+
     public void shutdown() {
+        batcher.close();
         if (azureClient != null) {
             try {
                 azureClient.closeSync();
@@ -39,6 +39,13 @@ public class CloudService implements EventSubscriber {
 
     private static final String CFG_MODE = "mode";
     private static final String CFG_CONNECTIONSTRING = "connectionstring";
+    private static final String CFG_BATCH_WINDOW = "batchWindow";
+    private static final String CFG_BATCH_SIZE = "batchSize";
+    private static final String CFG_MAX_QUEUE_SIZE = "maxQueueSize";
+
+    private static final long DEFAULT_BATCH_WINDOW = 1000;
+    private static final int DEFAULT_BATCH_SIZE = 50;
+    private static final int DEFAULT_MAX_QUEUE_SIZE = 1000;
 
     private Logger logger = LoggerFactory.getLogger(CloudService.class);
 
@@ -100,9 +107,19 @@ public class CloudService implements EventSubscriber {
             logger.debug("remoteAccessEnabled is not set, keeping value '{}'", commandEnabled);
         }
 
+        long batchWindow = getLong(config, CFG_BATCH_WINDOW, DEFAULT_BATCH_WINDOW);
+        int batchSize = (int) getLong(config, CFG_BATCH_SIZE, DEFAULT_BATCH_SIZE);
+        int maxQueueSize = (int) getLong(config, CFG_MAX_QUEUE_SIZE, DEFAULT_MAX_QUEUE_SIZE);
+        if (batchSize < 1 || maxQueueSize < batchSize) {
+            logger.warn("Invalid batch size {} / max queue size {}, using defaults", batchSize, maxQueueSize);
+            batchSize = DEFAULT_BATCH_SIZE;
+            maxQueueSize = DEFAULT_MAX_QUEUE_SIZE;
+        }
+
         if (connectionstring != null && !connectionstring.isEmpty()) {
             try {
-                cloudClient = new CloudClient(connectionstring, commandEnabled, eventPublisher);
+                cloudClient = new CloudClient(connectionstring, commandEnabled, eventPublisher, batchWindow,
+                        batchSize, maxQueueSize);
                 logger.debug("Azure IoT Hub connector activated");
             } catch (Exception e) {
                 logger.error("Failed to setup Azure IoT Hub client");
@@ -112,6 +129,19 @@ public class CloudService implements EventSubscriber {
         }
     }
 
+    private long getLong(Map<String, ?> config, String key, long defaultValue) {
+        Object value = config.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.toString());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid value '{}' for {}, using {}", value, key, defaultValue);
+            return defaultValue;
+        }
+    }
+
     @Deactivate
     protected void deactivate() {
         logger.debug("Azure IoT Hub connector deactivated");
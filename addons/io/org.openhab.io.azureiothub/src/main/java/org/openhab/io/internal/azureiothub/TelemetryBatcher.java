@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.internal.azureiothub;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Collects item updates over a configurable window before handing them to a {@link TelemetrySender}.
+ * Repeated updates of the same item within a window are coalesced so only the latest state is sent, and the number of
+ * pending items is bounded: updates for new items that arrive while the queue is full are dropped and counted.
+ * A batch is flushed when the window elapses or as soon as the queue holds the configured batch size.
+ *
+ * @author agent - Initial contribution
+ */
+public class TelemetryBatcher {
+
+    private final Logger logger = LoggerFactory.getLogger(TelemetryBatcher.class);
+
+    private final TelemetrySender sender;
+    private final ScheduledExecutorService scheduler;
+    private final long windowMillis;
+    private final int batchSize;
+    private final int maxQueueSize;
+
+    /** pending states by device id, in order of their first update */
+    private Map<String, String> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> flushJob;
+    private final Object sendLock = new Object();
+    private boolean closed;
+
+    private final AtomicLong received = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    /**
+     * Constructor of TelemetryBatcher
+     *
+     * @param sender the uplink to deliver the updates to
+     * @param scheduler the scheduler used to flush the batches
+     * @param windowMillis the time in milliseconds updates are collected before being sent, 0 sends right away
+     * @param batchSize the number of pending devices that triggers an immediate flush
+     * @param maxQueueSize the maximum number of pending devices, further new devices are dropped
+     */
+    public TelemetryBatcher(TelemetrySender sender, ScheduledExecutorService scheduler, long windowMillis,
+            int batchSize, int maxQueueSize) {
+        if (batchSize < 1 || maxQueueSize < batchSize) {
+            throw new IllegalArgumentException("batchSize must be positive and not exceed maxQueueSize");
+        }
+        this.sender = sender;
+        this.scheduler = scheduler;
+        this.windowMillis = Math.max(0, windowMillis);
+        this.batchSize = batchSize;
+        this.maxQueueSize = maxQueueSize;
+    }
+
+    /**
+     * Queues the state of a device to be sent with the next batch
+     *
+     * @param deviceId the id of the device, which is the item name
+     * @param state the new state of the item
+     * @return false if the update was dropped because the queue is full (or the batcher is closed)
+     */
+    public boolean submit(String deviceId, String state) {
+        received.incrementAndGet();
+        synchronized (this) {
+            if (closed) {
+                dropped.incrementAndGet();
+                return false;
+            }
+
+            if (pending.containsKey(deviceId)) {
+                pending.put(deviceId, state);
+                coalesced.incrementAndGet();
+                return true;
+            }
+
+            if (pending.size() >= maxQueueSize) {
+                long count = dropped.incrementAndGet();
+                logger.debug("Telemetry queue full ({} devices), dropped update of {} ({} dropped in total)",
+                        maxQueueSize, deviceId, count);
+                return false;
+            }
+
+            pending.put(deviceId, state);
+            if (pending.size() >= batchSize || windowMillis == 0) {
+                scheduleFlush(0);
+            } else if (flushJob == null) {
+                scheduleFlush(windowMillis);
+            }
+            return true;
+        }
+    }
+
+    private void scheduleFlush(long delay) {
+        if (flushJob != null) {
+            if (delay > 0) {
+                return;
+            }
+            flushJob.cancel(false);
+        }
+        flushJob = scheduler.schedule(this::flush, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends all pending updates to the {@link TelemetrySender}
+     */
+    public void flush() {
+        // batches are sent one after the other so that updates of the same device stay in order
+        synchronized (sendLock) {
+            Map<String, String> batch;
+            synchronized (this) {
+                flushJob = null;
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new LinkedHashMap<>();
+            }
+
+            logger.trace("Sending telemetry batch of {} devices", batch.size());
+            for (Map.Entry<String, String> entry : batch.entrySet()) {
+                try {
+                    sender.send(entry.getKey(), entry.getValue());
+                    sent.incrementAndGet();
+                } catch (RuntimeException e) {
+                    failed.incrementAndGet();
+                    logger.warn("Failed to send telemetry of {}: {}", entry.getKey(), e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops accepting updates and sends the pending ones
+     */
+    public void close() {
+        synchronized (this) {
+            closed = true;
+            if (flushJob != null) {
+                flushJob.cancel(false);
+                flushJob = null;
+            }
+        }
+        flush();
+        logger.debug("Telemetry statistics: received {}, coalesced {}, dropped {}, sent {}, failed {}",
+                getReceivedCount(), getCoalescedCount(), getDroppedCount(), getSentCount(), getFailedCount());
+    }
+
+    public synchronized int getQueueSize() {
+        return pending.size();
+    }
+
+    public long getReceivedCount() {
+        return received.get();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    public long getSentCount() {
+        return sent.get();
+    }
+
+    public long getFailedCount() {
+        return failed.get();
+    }
+}
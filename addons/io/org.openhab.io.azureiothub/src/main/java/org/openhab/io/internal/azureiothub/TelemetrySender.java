@@ -0,0 +1,27 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.internal.azureiothub;
+
+/**
+ * The uplink that the {@link TelemetryBatcher} delivers coalesced item updates to. The {@link CloudClient} sends them
+ * to the Azure IoT Hub, but any local stand-in endpoint can be used instead (e.g. for testing).
+ *
+ * @author agent - Initial contribution
+ */
+@FunctionalInterface
+public interface TelemetrySender {
+
+    /**
+     * Sends the state of a single device (item) to the endpoint
+     *
+     * @param deviceId the id of the device, which is the item name
+     * @param state the latest state of the item
+     */
+    void send(String deviceId, String state);
+}
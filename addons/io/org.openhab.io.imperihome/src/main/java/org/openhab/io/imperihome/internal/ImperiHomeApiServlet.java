@@ -113,7 +113,8 @@ public class ImperiHomeApiServlet extends HttpServlet {
         roomListHandler = new RoomListHandler(deviceRegistry);
         devicesListHandler = new DevicesListHandler(deviceRegistry);
         deviceActionHandler = new DeviceActionHandler(deviceRegistry);
-        deviceHistoryHandler = new DeviceHistoryHandler(deviceRegistry, persistenceServiceRegistry);
+        deviceHistoryHandler = new DeviceHistoryHandler(deviceRegistry, persistenceServiceRegistry,
+                imperiHomeConfig);
 
         try {
             Dictionary<String, String> servletParams = new Hashtable<String, String>();
@@ -212,7 +213,8 @@ public class ImperiHomeApiServlet extends HttpServlet {
             logger.warn("Unrecognized request: {}", path);
         }
 
-        resp.getWriter().write(gson.toJson(response));
+        // Serialize straight to the response, large history lists are never held as a single String
+        gson.toJson(response, resp.getWriter());
     }
 
     private void setHeaders(HttpServletResponse response) {
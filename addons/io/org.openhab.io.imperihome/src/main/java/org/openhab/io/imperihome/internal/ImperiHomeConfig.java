@@ -23,8 +23,13 @@ public class ImperiHomeConfig {
 
     private final Logger logger = LoggerFactory.getLogger(ImperiHomeConfig.class);
 
+    private static final int DEFAULT_HISTORY_POINTS = 300;
+    private static final int DEFAULT_HISTORY_CACHE_TTL = 60;
+
     private String systemId;
     private String rootUrl;
+    private int historyPoints = DEFAULT_HISTORY_POINTS;
+    private int historyCacheTtl = DEFAULT_HISTORY_CACHE_TTL;
 
     public void update(Map<String, Object> config) {
         Object cSystemId = config.get("system.id");
@@ -42,9 +47,24 @@ public class ImperiHomeConfig {
             }
         }
 
+        historyPoints = parseInt(config.get("history.points"), DEFAULT_HISTORY_POINTS);
+        historyCacheTtl = parseInt(config.get("history.cacheTtl"), DEFAULT_HISTORY_CACHE_TTL);
+
         logger.info("Configuration updated");
     }
 
+    private int parseInt(Object value, int defaultValue) {
+        if (value == null || value.toString().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.toString().trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid configuration value '{}', using {}", value, defaultValue);
+            return defaultValue;
+        }
+    }
+
     public String getSystemId() {
         return systemId;
     }
@@ -53,4 +73,18 @@ public class ImperiHomeConfig {
         return rootUrl;
     }
 
+    /**
+     * @return Maximum number of points returned for a history request, 0 or less to disable downsampling.
+     */
+    public int getHistoryPoints() {
+        return historyPoints;
+    }
+
+    /**
+     * @return Number of seconds a history response is cached, 0 or less to disable caching.
+     */
+    public int getHistoryCacheTtl() {
+        return historyCacheTtl;
+    }
+
 }
@@ -9,22 +9,27 @@
 package org.openhab.io.imperihome.internal.handler;
 
 import java.io.UnsupportedEncodingException;
+import java.math.BigDecimal;
 import java.net.URLDecoder;
+import java.util.ArrayList;
 import java.util.Date;
-import java.util.Iterator;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.regex.Matcher;
 
 import javax.servlet.http.HttpServletRequest;
 
 import org.eclipse.smarthome.core.library.types.DecimalType;
 import org.eclipse.smarthome.core.persistence.FilterCriteria;
+import org.eclipse.smarthome.core.persistence.FilterCriteria.Ordering;
 import org.eclipse.smarthome.core.persistence.HistoricItem;
 import org.eclipse.smarthome.core.persistence.PersistenceService;
 import org.eclipse.smarthome.core.persistence.PersistenceServiceRegistry;
 import org.eclipse.smarthome.core.persistence.QueryablePersistenceService;
 import org.eclipse.smarthome.core.types.State;
+import org.openhab.io.imperihome.internal.ImperiHomeConfig;
 import org.openhab.io.imperihome.internal.model.HistoryItem;
 import org.openhab.io.imperihome.internal.model.HistoryList;
 import org.openhab.io.imperihome.internal.model.device.AbstractDevice;
@@ -33,7 +38,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Device history request handler.
+ * Device history request handler. Responses are downsampled to the configured number of points and cached for a
+ * short time, as ImperiHome clients request long ranges for many devices in parallel.
  *
  * @author Pepijn de Geus - Initial contribution
  */
@@ -43,12 +49,28 @@ public class DeviceHistoryHandler {
 
     private final Logger logger = LoggerFactory.getLogger(DeviceHistoryHandler.class);
 
+    private static final int MAX_CACHED_HISTORIES = 64;
+
     private final DeviceRegistry deviceRegistry;
     private final PersistenceServiceRegistry persistenceServiceRegistry;
+    private final ImperiHomeConfig config;
+
+    /** Recently served history lists, least recently used first. */
+    private final Map<HistoryCacheKey, CachedHistory> cache = new LinkedHashMap<HistoryCacheKey, CachedHistory>(16,
+            0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<HistoryCacheKey, CachedHistory> eldest) {
+            return size() > MAX_CACHED_HISTORIES;
+        }
+    };
 
-    public DeviceHistoryHandler(DeviceRegistry deviceRegistry, PersistenceServiceRegistry persistenceServiceRegistry) {
+    public DeviceHistoryHandler(DeviceRegistry deviceRegistry, PersistenceServiceRegistry persistenceServiceRegistry,
+            ImperiHomeConfig config) {
         this.deviceRegistry = deviceRegistry;
         this.persistenceServiceRegistry = persistenceServiceRegistry;
+        this.config = config;
     }
 
     public HistoryList handle(HttpServletRequest req, Matcher urlMatcher) {
@@ -86,34 +108,158 @@ public class DeviceHistoryHandler {
 
     private HistoryList serveHistory(AbstractDevice device, QueryablePersistenceService persistence, long start,
             long end) {
+        int points = config.getHistoryPoints();
+        HistoryCacheKey cacheKey = new HistoryCacheKey(device.getItemName(), start, end, points);
+
+        HistoryList cached = getCached(cacheKey);
+        if (cached != null) {
+            logger.debug("Serving history of Item {}, from {} to {} from cache", device.getItemName(), start, end);
+            return cached;
+        }
+
         logger.info("Querying persistence for history of Item {}, from {} to {}", device.getItemName(), start, end);
 
         FilterCriteria criteria = new FilterCriteria().setItemName(device.getItemName()).setBeginDate(new Date(start))
-                .setEndDate(new Date(end));
+                .setEndDate(new Date(end)).setOrdering(Ordering.ASCENDING);
 
-        List<HistoryItem> resultItems = new LinkedList<>();
         Iterable<HistoricItem> historicItems = persistence.query(criteria);
+        HistoryList historyList = new HistoryList(downsample(historicItems, start, end, points));
 
-        Iterator<HistoricItem> iterator = historicItems.iterator();
-        if (!iterator.hasNext()) {
-            logger.info("Persistence returned no results for history query");
-        } else {
-            while (iterator.hasNext()) {
-                HistoricItem historicItem = iterator.next();
-                State state = historicItem.getState();
-                if (state instanceof DecimalType) {
-                    Number value = ((DecimalType) state).toBigDecimal();
-                    resultItems.add(new HistoryItem(historicItem.getTimestamp(), value));
+        putCached(cacheKey, historyList);
+        return historyList;
+    }
+
+    /**
+     * Converts the historic items to history items in a single pass. As long as there are no more items than the
+     * requested number of points, they are returned as-is. Otherwise the time range is divided into equally sized
+     * buckets and every bucket is reduced to the average value at the average timestamp of its items.
+     */
+    private List<HistoryItem> downsample(Iterable<HistoricItem> historicItems, long start, long end, int points) {
+        boolean bucketing = points > 0 && end > start;
+        List<HistoryItem> rawItems = new ArrayList<>();
+        double[] valueSums = bucketing ? new double[points] : null;
+        double[] timeSums = bucketing ? new double[points] : null;
+        int[] counts = bucketing ? new int[points] : null;
+        double bucketWidth = bucketing ? (double) (end - start) / points : 0;
+
+        boolean anyResults = false;
+        for (HistoricItem historicItem : historicItems) {
+            anyResults = true;
+            State state = historicItem.getState();
+            if (!(state instanceof DecimalType)) {
+                continue;
+            }
+            BigDecimal value = ((DecimalType) state).toBigDecimal();
+            long timestamp = historicItem.getTimestamp().getTime();
+
+            if (rawItems != null) {
+                rawItems.add(new HistoryItem(timestamp, value));
+                if (bucketing && rawItems.size() > points) {
+                    // Too many samples to return as-is; from now on only the buckets are kept
+                    rawItems = null;
                 }
             }
 
-            if (resultItems.isEmpty()) {
+            if (bucketing) {
+                int bucket = (int) ((timestamp - start) / bucketWidth);
+                bucket = Math.max(0, Math.min(points - 1, bucket));
+                valueSums[bucket] += value.doubleValue();
+                timeSums[bucket] += timestamp - start;
+                counts[bucket]++;
+            }
+        }
+
+        if (!anyResults) {
+            logger.info("Persistence returned no results for history query");
+            return new ArrayList<>();
+        }
+
+        if (rawItems != null) {
+            if (rawItems.isEmpty()) {
                 logger.warn(
                         "Persistence returned results for history query, but could not be interpreted as DecimalTypes");
             }
+            return rawItems;
+        }
+
+        List<HistoryItem> resultItems = new ArrayList<>(points);
+        for (int i = 0; i < points; i++) {
+            if (counts[i] > 0) {
+                long timestamp = start + Math.round(timeSums[i] / counts[i]);
+                resultItems.add(new HistoryItem(timestamp, valueSums[i] / counts[i]));
+            }
+        }
+        logger.debug("Downsampled history to {} points", resultItems.size());
+        return resultItems;
+    }
+
+    private HistoryList getCached(HistoryCacheKey key) {
+        if (config.getHistoryCacheTtl() <= 0) {
+            return null;
+        }
+        synchronized (cache) {
+            CachedHistory cached = cache.get(key);
+            if (cached == null) {
+                return null;
+            }
+            if (cached.expiresAt < System.currentTimeMillis()) {
+                cache.remove(key);
+                return null;
+            }
+            return cached.historyList;
         }
+    }
+
+    private void putCached(HistoryCacheKey key, HistoryList historyList) {
+        int ttl = config.getHistoryCacheTtl();
+        if (ttl <= 0) {
+            return;
+        }
+        synchronized (cache) {
+            cache.put(key, new CachedHistory(historyList, System.currentTimeMillis() + ttl * 1000L));
+        }
+    }
+
+    private static class CachedHistory {
+        private final HistoryList historyList;
+        private final long expiresAt;
 
-        return new HistoryList(resultItems);
+        private CachedHistory(HistoryList historyList, long expiresAt) {
+            this.historyList = historyList;
+            this.expiresAt = expiresAt;
+        }
+    }
+
+    private static class HistoryCacheKey {
+        private final String itemName;
+        private final long start;
+        private final long end;
+        private final int points;
+
+        private HistoryCacheKey(String itemName, long start, long end, int points) {
+            this.itemName = itemName;
+            this.start = start;
+            this.end = end;
+            this.points = points;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(itemName, start, end, points);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof HistoryCacheKey)) {
+                return false;
+            }
+            HistoryCacheKey other = (HistoryCacheKey) obj;
+            return start == other.start && end == other.end && points == other.points
+                    && itemName.equals(other.itemName);
+        }
     }
 
 }
@@ -0,0 +1,183 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.neeo.internal;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests cases for {@link StateCoalescer}.
+ *
+ * @author agent - Initial contribution
+ */
+public class StateCoalescerTest {
+
+    /**
+     * Records the states it receives (like the notifications received by the brain) and counts down a latch for every
+     * state.
+     */
+    private static class Recorder {
+        private final List<String> states = new ArrayList<>();
+        private CountDownLatch latch = new CountDownLatch(0);
+        private CountDownLatch blocked = new CountDownLatch(0);
+
+        void send(String key, String state) {
+            try {
+                blocked.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            synchronized (this) {
+                states.add(key + "=" + state);
+                latch.countDown();
+            }
+        }
+
+        synchronized void expect(int count) {
+            latch = new CountDownLatch(count);
+        }
+
+        boolean await(long millis) throws InterruptedException {
+            return latch.await(millis, TimeUnit.MILLISECONDS);
+        }
+
+        synchronized List<String> getStates() {
+            return new ArrayList<>(states);
+        }
+    }
+
+    private ScheduledExecutorService scheduler;
+    private Recorder recorder;
+
+    @Before
+    public void before() {
+        // several threads, so that sends of the same key could overtake each other
+        scheduler = Executors.newScheduledThreadPool(4);
+        recorder = new Recorder();
+    }
+
+    @After
+    public void after() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void rapidUpdatesTest() throws InterruptedException {
+        StateCoalescer<String, String> coalescer = new StateCoalescer<>(scheduler, 200, recorder::send);
+        recorder.expect(1);
+
+        for (int i = 1; i <= 10; i++) {
+            coalescer.submit("volume", Integer.toString(i));
+        }
+
+        assertTrue(recorder.await(5000));
+        // give a second (wrong) send the chance to arrive
+        Thread.sleep(400);
+        assertEquals(Arrays.asList("volume=10"), recorder.getStates());
+        assertEquals(9, coalescer.getCoalescedCount());
+    }
+
+    @Test
+    public void windowTest() throws InterruptedException {
+        StateCoalescer<String, String> coalescer = new StateCoalescer<>(scheduler, 300, recorder::send);
+        recorder.expect(1);
+
+        long start = System.currentTimeMillis();
+        coalescer.submit("volume", "1");
+
+        assertFalse(recorder.await(100));
+        assertTrue(recorder.await(5000));
+        assertTrue(System.currentTimeMillis() - start >= 300);
+    }
+
+    @Test
+    public void keysAreSentSeparatelyTest() throws InterruptedException {
+        StateCoalescer<String, String> coalescer = new StateCoalescer<>(scheduler, 100, recorder::send);
+        recorder.expect(2);
+
+        coalescer.submit("volume", "1");
+        coalescer.submit("power", "ON");
+        coalescer.submit("volume", "2");
+
+        assertTrue(recorder.await(5000));
+        List<String> states = recorder.getStates();
+        assertEquals(2, states.size());
+        assertTrue(states.contains("volume=2"));
+        assertTrue(states.contains("power=ON"));
+        assertEquals(1, coalescer.getCoalescedCount());
+    }
+
+    @Test
+    public void updatesDuringSendKeepOrderTest() throws InterruptedException {
+        StateCoalescer<String, String> coalescer = new StateCoalescer<>(scheduler, 0, recorder::send);
+        recorder.blocked = new CountDownLatch(1);
+        recorder.expect(2);
+
+        coalescer.submit("volume", "1");
+        // wait until the first send is running (and blocked)
+        Thread.sleep(200);
+        coalescer.submit("volume", "2");
+        coalescer.submit("volume", "3");
+        Thread.sleep(200);
+        recorder.blocked.countDown();
+
+        assertTrue(recorder.await(5000));
+        Thread.sleep(200);
+        assertEquals(Arrays.asList("volume=1", "volume=3"), recorder.getStates());
+    }
+
+    @Test
+    public void failingSenderTest() throws InterruptedException {
+        recorder.expect(1);
+        StateCoalescer<String, String> coalescer = new StateCoalescer<>(scheduler, 0, (key, state) -> {
+            if ("failing".equals(state)) {
+                throw new IllegalStateException("brain not reachable");
+            }
+            recorder.send(key, state);
+        });
+
+        coalescer.submit("volume", "failing");
+        Thread.sleep(200);
+        coalescer.submit("volume", "1");
+
+        assertTrue(recorder.await(5000));
+        assertEquals(Arrays.asList("volume=1"), recorder.getStates());
+    }
+
+    @Test
+    public void clearTest() throws InterruptedException {
+        StateCoalescer<String, String> coalescer = new StateCoalescer<>(scheduler, 200, recorder::send);
+
+        coalescer.submit("volume", "1");
+        coalescer.clear();
+        Thread.sleep(400);
+        assertTrue(recorder.getStates().isEmpty());
+
+        recorder.expect(1);
+        coalescer.submit("volume", "2");
+        assertTrue(recorder.await(5000));
+        assertEquals(Arrays.asList("volume=2"), recorder.getStates());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeWindowTest() {
+        new StateCoalescer<String, String>(scheduler, -1, recorder::send);
+    }
+}
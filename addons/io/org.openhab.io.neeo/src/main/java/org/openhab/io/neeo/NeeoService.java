@@ -457,6 +457,7 @@ public class NeeoService implements EventSubscriber, NetworkAddressChangeListene
             }
             servlets.clear();
 
+            localContext.close();
             context = null;
         }
 
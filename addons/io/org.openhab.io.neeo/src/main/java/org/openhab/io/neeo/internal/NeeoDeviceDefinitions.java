@@ -14,7 +14,9 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.AbstractMap;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
@@ -50,6 +52,15 @@ public class NeeoDeviceDefinitions {
     /** Cross reference between a ThingUID and a NeeoDevice */
     private final ConcurrentHashMap<NeeoThingUID, NeeoDevice> uidToDevice = new ConcurrentHashMap<>();
 
+    /**
+     * Cross reference between a (lower cased) item name and the device/exposed channels bound to it. The lists are
+     * never modified once placed in the map (they are replaced instead) so readers don't need to lock.
+     */
+    private final ConcurrentHashMap<String, List<Map.Entry<NeeoDevice, NeeoDeviceChannel>>> itemToChannels = new ConcurrentHashMap<>();
+
+    /** The lock used when modifying the {@link #itemToChannels} */
+    private final Object itemIndexLock = new Object();
+
     /** The gson used to save/restore device definitions */
     private final Gson gson = NeeoUtil.createNeeoDeviceGsonBuilder().create();
 
@@ -93,7 +104,8 @@ public class NeeoDeviceDefinitions {
                 if (devices != null) {
                     for (NeeoDevice device : devices) {
                         // merge to get the latest
-                        uidToDevice.put(device.getUid(), device);
+                        final NeeoDevice oldDevice = uidToDevice.put(device.getUid(), device);
+                        reindexItems(oldDevice, device);
                     }
                 }
             } catch (JsonParseException | UnsupportedOperationException e) {
@@ -143,7 +155,9 @@ public class NeeoDeviceDefinitions {
     public void put(NeeoDevice device) {
         Objects.requireNonNull(device, "device cannot be null");
 
-        uidToDevice.put(device.getUid(), device);
+        final NeeoDevice oldDevice = uidToDevice.put(device.getUid(), device);
+        reindexItems(oldDevice, device);
+        context.getSearchIndex().invalidate();
         save();
     }
 
@@ -156,8 +170,11 @@ public class NeeoDeviceDefinitions {
     public boolean remove(NeeoThingUID uid) {
         Objects.requireNonNull(uid, "uid cannot be null");
 
-        final boolean found = uidToDevice.remove(uid) != null;
+        final NeeoDevice oldDevice = uidToDevice.remove(uid);
+        final boolean found = oldDevice != null;
         if (found) {
+            reindexItems(oldDevice, null);
+            context.getSearchIndex().invalidate();
             save();
         }
         return found;
@@ -182,9 +199,9 @@ public class NeeoDeviceDefinitions {
 
     /**
      *
-     * Checks to see if the specified itemName is bound given the {@link NeeoDeviceKeys}. This method will find any
-     * {@link NeeoDevice} that is bound (according to the {@link NeeoDeviceKeys}) and then will determine if the item
-     * name has been bound on that {@link NeeoDevice}.
+     * Checks to see if the specified itemName is bound given the {@link NeeoDeviceKeys}. This method will look up the
+     * {@link NeeoDevice}s exposing the item name (from the item name index) and then will determine if any of them is
+     * bound (according to the {@link NeeoDeviceKeys}).
      *
      * @param keys a non-null {@link NeeoDeviceKeys}
      * @param itemName a non-null, non-empty item name to use
@@ -195,16 +212,11 @@ public class NeeoDeviceDefinitions {
         NeeoUtil.requireNotEmpty(itemName, "itemName must not be empty");
 
         logger.trace("isBound: {} --- {}", itemName, keys);
-        for (NeeoDevice device : uidToDevice.values()) {
-            final NeeoThingUID uid = new NeeoThingUID(device.getUid());
-            final boolean isBound = keys.isBound(uid);
-
-            logger.trace("isBound(device): {} --- {} --- {} --- {}", uid, itemName, isBound, keys);
-            if (isBound) {
-                if (device.isExposed(itemName)) {
-                    logger.trace("isBound(YES!): {} --- {} --- {} --- {}", uid, itemName, isBound, keys);
-                    return true;
-                }
+        for (Map.Entry<NeeoDevice, NeeoDeviceChannel> entry : getIndexedChannels(itemName)) {
+            final NeeoThingUID uid = entry.getKey().getUid();
+            if (keys.isBound(uid)) {
+                logger.trace("isBound(YES!): {} --- {} --- {}", uid, itemName, keys);
+                return true;
             }
         }
 
@@ -235,18 +247,86 @@ public class NeeoDeviceDefinitions {
         Objects.requireNonNull(keys, "keys cannot be null");
 
         final List<Map.Entry<NeeoDevice, NeeoDeviceChannel>> channels = new ArrayList<>();
+        if (itemName != null) {
+            for (Map.Entry<NeeoDevice, NeeoDeviceChannel> entry : getIndexedChannels(itemName)) {
+                if (keys.isBound(entry.getKey().getUid())) {
+                    channels.add(entry);
+                }
+            }
+            return channels;
+        }
+
         for (NeeoDevice device : uidToDevice.values()) {
             if (keys.isBound(device.getUid())) {
                 for (NeeoDeviceChannel channel : device.getExposedChannels()) {
-                    if (itemName == null || StringUtils.equalsIgnoreCase(itemName, channel.getItemName())) {
-                        channels.add(new AbstractMap.SimpleImmutableEntry<>(device, channel));
-                    }
+                    channels.add(new AbstractMap.SimpleImmutableEntry<>(device, channel));
                 }
             }
         }
         return channels;
     }
 
+    /**
+     * Returns the device/exposed channels that are bound to the given item name from the {@link #itemToChannels} index
+     *
+     * @param itemName a non-empty item name
+     * @return a non-null, possibly empty (unmodifiable) list
+     */
+    private List<Map.Entry<NeeoDevice, NeeoDeviceChannel>> getIndexedChannels(String itemName) {
+        final List<Map.Entry<NeeoDevice, NeeoDeviceChannel>> entries = itemToChannels.get(toItemKey(itemName));
+        return entries == null ? Collections.emptyList() : entries;
+    }
+
+    /**
+     * Updates the {@link #itemToChannels} index by removing the exposed channels of the old device and adding the
+     * exposed channels of the new device
+     *
+     * @param oldDevice a possibly null device that was replaced/removed
+     * @param newDevice a possibly null device that was added
+     */
+    private void reindexItems(@Nullable NeeoDevice oldDevice, @Nullable NeeoDevice newDevice) {
+        synchronized (itemIndexLock) {
+            if (oldDevice != null) {
+                for (NeeoDeviceChannel channel : oldDevice.getExposedChannels()) {
+                    final String key = toItemKey(channel.getItemName());
+                    final List<Map.Entry<NeeoDevice, NeeoDeviceChannel>> entries = itemToChannels.get(key);
+                    if (entries != null) {
+                        final List<Map.Entry<NeeoDevice, NeeoDeviceChannel>> newEntries = new ArrayList<>(entries);
+                        newEntries.removeIf(e -> e.getKey() == oldDevice);
+                        if (newEntries.isEmpty()) {
+                            itemToChannels.remove(key);
+                        } else {
+                            itemToChannels.put(key, Collections.unmodifiableList(newEntries));
+                        }
+                    }
+                }
+            }
+
+            if (newDevice != null) {
+                for (NeeoDeviceChannel channel : newDevice.getExposedChannels()) {
+                    final String key = toItemKey(channel.getItemName());
+                    final List<Map.Entry<NeeoDevice, NeeoDeviceChannel>> entries = itemToChannels.get(key);
+                    final List<Map.Entry<NeeoDevice, NeeoDeviceChannel>> newEntries = entries == null
+                            ? new ArrayList<>()
+                            : new ArrayList<>(entries);
+                    newEntries.add(new AbstractMap.SimpleImmutableEntry<>(newDevice, channel));
+                    itemToChannels.put(key, Collections.unmodifiableList(newEntries));
+                }
+            }
+        }
+    }
+
+    /**
+     * Converts the item name to the key used in the {@link #itemToChannels} index (item names are matched ignoring
+     * case)
+     *
+     * @param itemName a non-null item name
+     * @return the non-null key
+     */
+    private static String toItemKey(String itemName) {
+        return itemName.toLowerCase(Locale.ROOT);
+    }
+
     /**
      * Gets the {@link NeeoDevice} for the given {@link NeeoThingUID}. If no definition has been created yet, the
      * definition
@@ -70,6 +70,9 @@ public class ServiceContext {
     /** The network address service. */
     private final NetworkAddressService networkAddressService;
 
+    /** The token search index over the exposed devices. */
+    private final TokenSearchIndex searchIndex;
+
     /**
      * Creates teh service context from the variable services
      *
@@ -112,7 +115,16 @@ public class ServiceContext {
         this.mdnsClient = mdnsClient;
         this.eventPublisher = eventPublisher;
         this.networkAddressService = networkAddressService;
+        this.searchIndex = new TokenSearchIndex(this);
         this.definitions = new NeeoDeviceDefinitions(this);
+        this.searchIndex.open();
+    }
+
+    /**
+     * Closes the context, releasing any registry listeners
+     */
+    public void close() {
+        searchIndex.close();
     }
 
     /**
@@ -124,6 +136,15 @@ public class ServiceContext {
         return definitions;
     }
 
+    /**
+     * Gets the token search index.
+     *
+     * @return the token search index
+     */
+    public TokenSearchIndex getSearchIndex() {
+        return searchIndex;
+    }
+
     /**
      * Gets the component context.
      *
@@ -0,0 +1,152 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.neeo.internal;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coalesces the states submitted for a key (e.g. an item name) within a window into a single send of the latest state.
+ * The first state of a key schedules the send after the window, further states submitted before the send simply
+ * replace the pending state. At most one send per key is scheduled or running, so the states of a key are always sent
+ * in the order they were submitted. States submitted while a send is running are sent one window after it finished.
+ *
+ * @author agent - Initial Contribution
+ *
+ * @param <K> the type of the key
+ * @param <V> the type of the state
+ */
+@NonNullByDefault
+public class StateCoalescer<K, V> {
+
+    /** The logger */
+    private final Logger logger = LoggerFactory.getLogger(StateCoalescer.class);
+
+    /** The scheduler to send the states on */
+    private final ScheduledExecutorService scheduler;
+
+    /** The window (in milliseconds) states are coalesced in */
+    private final long window;
+
+    /** The consumer sending the latest state of a key */
+    private final BiConsumer<K, V> sender;
+
+    /** The latest state per key waiting to be sent */
+    private final Map<K, V> pendingStates = new HashMap<>();
+
+    /** The keys with a scheduled or running send */
+    private final Set<K> scheduledKeys = new HashSet<>();
+
+    /** The number of states replaced by a later state before they were sent */
+    private long coalescedCount;
+
+    /**
+     * Constructs the coalescer
+     *
+     * @param scheduler a non-null scheduler to send the states on
+     * @param window the window (in milliseconds) states are coalesced in, 0 to send without delay
+     * @param sender a non-null consumer sending the latest state of a key
+     */
+    public StateCoalescer(ScheduledExecutorService scheduler, long window, BiConsumer<K, V> sender) {
+        Objects.requireNonNull(scheduler, "scheduler cannot be null");
+        Objects.requireNonNull(sender, "sender cannot be null");
+        if (window < 0) {
+            throw new IllegalArgumentException("window cannot be negative");
+        }
+
+        this.scheduler = scheduler;
+        this.window = window;
+        this.sender = sender;
+    }
+
+    /**
+     * Submits the state of a key. If a state for the key is already pending, it will simply be replaced by the new
+     * state.
+     *
+     * @param key a non-null key
+     * @param state a non-null state
+     */
+    public synchronized void submit(K key, V state) {
+        Objects.requireNonNull(key, "key cannot be null");
+        Objects.requireNonNull(state, "state cannot be null");
+
+        if (pendingStates.put(key, state) != null) {
+            coalescedCount++;
+            logger.trace("submit (coalesced): {} --- {}", key, state);
+        } else if (scheduledKeys.add(key)) {
+            schedule(key);
+        }
+    }
+
+    /**
+     * Discards all pending states. Sends that are already running will finish.
+     */
+    public synchronized void clear() {
+        pendingStates.clear();
+    }
+
+    /**
+     * Returns the number of states that were replaced by a later state before they were sent
+     *
+     * @return the number of coalesced states
+     */
+    public synchronized long getCoalescedCount() {
+        return coalescedCount;
+    }
+
+    /**
+     * Schedules the send of the pending state of the key. Must be called while holding the lock on this coalescer.
+     *
+     * @param key a non-null key
+     */
+    private void schedule(K key) {
+        scheduler.schedule(() -> send(key), window, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Sends the pending state of the key and schedules the next send if another state was submitted in the meantime
+     *
+     * @param key a non-null key
+     */
+    private void send(K key) {
+        final @Nullable V state;
+        synchronized (this) {
+            state = pendingStates.remove(key);
+            if (state == null) {
+                scheduledKeys.remove(key);
+                return;
+            }
+        }
+
+        try {
+            sender.accept(key, state);
+        } catch (RuntimeException e) {
+            logger.debug("Exception occurred while sending the state of {}: {}", key, e.getMessage(), e);
+        }
+
+        synchronized (this) {
+            if (pendingStates.containsKey(key)) {
+                schedule(key);
+            } else {
+                scheduledKeys.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,314 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.neeo.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.commons.lang.StringUtils;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.binding.BindingInfo;
+import org.eclipse.smarthome.core.common.registry.RegistryChangeListener;
+import org.eclipse.smarthome.core.thing.Thing;
+import org.eclipse.smarthome.core.thing.link.ItemChannelLink;
+import org.eclipse.smarthome.core.thing.type.ThingType;
+import org.openhab.io.neeo.internal.models.NeeoDevice;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An inverted token index over the exposed {@link NeeoDevice}s that is used by {@link TokenSearch}. Each device is
+ * broken up into its search tokens (name, binding id, location, vendor, thing type label and binding name) only once
+ * and every distinct token keeps a postings list of the devices it appears in (and how often). The index is
+ * invalidated whenever the thing registry, the item channel links or the device definitions change and is lazily
+ * rebuilt on the next search.
+ *
+ * @author agent - Initial Contribution
+ */
+@NonNullByDefault
+public class TokenSearchIndex {
+
+    /** The logger */
+    private final Logger logger = LoggerFactory.getLogger(TokenSearchIndex.class);
+
+    /** The delimiter used to split search terms */
+    private static final char DELIMITER = ' ';
+
+    /** The service context */
+    private final ServiceContext context;
+
+    /** The generation of the index - incremented on every invalidation */
+    private final AtomicLong generation = new AtomicLong();
+
+    /** The lock used when rebuilding the index */
+    private final Object rebuildLock = new Object();
+
+    /** The current snapshot (null if it needs to be rebuilt) */
+    @Nullable
+    private volatile Snapshot snapshot;
+
+    /** The listener to thing changes */
+    private final RegistryChangeListener<Thing> thingListener = new RegistryChangeListener<Thing>() {
+        @Override
+        public void added(Thing element) {
+            invalidate();
+        }
+
+        @Override
+        public void removed(Thing element) {
+            invalidate();
+        }
+
+        @Override
+        public void updated(Thing oldElement, Thing element) {
+            invalidate();
+        }
+    };
+
+    /** The listener to item channel link changes (which change the exposed channels) */
+    private final RegistryChangeListener<ItemChannelLink> linkListener = new RegistryChangeListener<ItemChannelLink>() {
+        @Override
+        public void added(ItemChannelLink element) {
+            invalidate();
+        }
+
+        @Override
+        public void removed(ItemChannelLink element) {
+            invalidate();
+        }
+
+        @Override
+        public void updated(ItemChannelLink oldElement, ItemChannelLink element) {
+            invalidate();
+        }
+    };
+
+    /**
+     * Creates the index from the {@link ServiceContext}. The index will not listen to changes until {@link #open()}
+     * has been called.
+     *
+     * @param context the non-null {@link ServiceContext}
+     */
+    TokenSearchIndex(ServiceContext context) {
+        Objects.requireNonNull(context, "context cannot be null");
+        this.context = context;
+    }
+
+    /**
+     * Starts listening to thing and link registry changes
+     */
+    void open() {
+        context.getThingRegistry().addRegistryChangeListener(thingListener);
+        context.getItemChannelLinkRegistry().addRegistryChangeListener(linkListener);
+    }
+
+    /**
+     * Stops listening to thing and link registry changes and drops the current snapshot
+     */
+    void close() {
+        context.getThingRegistry().removeRegistryChangeListener(thingListener);
+        context.getItemChannelLinkRegistry().removeRegistryChangeListener(linkListener);
+        invalidate();
+    }
+
+    /**
+     * Invalidates the index. The index will be rebuilt on the next call to {@link #getSnapshot()}
+     */
+    public void invalidate() {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    /**
+     * Returns the current snapshot of the index, rebuilding it if it has been invalidated
+     *
+     * @return a non-null {@link Snapshot}
+     */
+    public Snapshot getSnapshot() {
+        Snapshot localSnapshot = snapshot;
+        if (localSnapshot == null) {
+            synchronized (rebuildLock) {
+                localSnapshot = snapshot;
+                if (localSnapshot == null) {
+                    final long gen = generation.get();
+                    localSnapshot = build();
+
+                    // only keep the snapshot if nothing changed while we were building it
+                    if (gen == generation.get()) {
+                        snapshot = localSnapshot;
+                    }
+                }
+            }
+        }
+        return localSnapshot;
+    }
+
+    /**
+     * Builds a new snapshot from the exposed devices
+     *
+     * @return a non-null {@link Snapshot}
+     */
+    private Snapshot build() {
+        final List<NeeoDevice> exposed = context.getDefinitions().getExposed();
+        final NeeoDevice[] devices = exposed.toArray(new NeeoDevice[exposed.size()]);
+
+        final Map<String, List<int[]>> postingsBuilder = new HashMap<>();
+        final Map<String, Integer> tokenCounts = new HashMap<>();
+        for (int idx = 0; idx < devices.length; idx++) {
+            tokenCounts.clear();
+            collectTokens(devices[idx], tokenCounts);
+
+            for (Map.Entry<String, Integer> entry : tokenCounts.entrySet()) {
+                postingsBuilder.computeIfAbsent(entry.getKey(), k -> new ArrayList<>())
+                        .add(new int[] { idx, entry.getValue() });
+            }
+        }
+
+        final Map<String, Postings> postings = new HashMap<>(postingsBuilder.size() * 2);
+        for (Map.Entry<String, List<int[]>> entry : postingsBuilder.entrySet()) {
+            postings.put(entry.getKey(), new Postings(entry.getValue()));
+        }
+
+        logger.debug("Rebuilt token search index: {} devices, {} distinct tokens", devices.length, postings.size());
+        return new Snapshot(devices, postings);
+    }
+
+    /**
+     * Collects all the search tokens (and their occurrence counts) for the given device
+     *
+     * @param device the non-null device
+     * @param tokenCounts the non-null map to add the token counts to
+     */
+    private void collectTokens(NeeoDevice device, Map<String, Integer> tokenCounts) {
+        addTokens(device.getName(), tokenCounts);
+        addTokens(device.getUid().getBindingId(), tokenCounts);
+
+        final Thing thing = context.getThingRegistry().get(device.getUid().asThingUID());
+        if (thing != null) {
+            addTokens(thing.getLocation(), tokenCounts);
+
+            final Map<@NonNull String, String> properties = thing.getProperties();
+            addTokens(properties.get(Thing.PROPERTY_VENDOR), tokenCounts);
+
+            final ThingType tt = context.getThingTypeRegistry().getThingType(thing.getThingTypeUID());
+            if (tt != null) {
+                addTokens(tt.getLabel(), tokenCounts);
+
+                final BindingInfo bi = context.getBindingInfoRegistry().getBindingInfo(tt.getBindingId());
+                if (bi != null) {
+                    addTokens(bi.getName(), tokenCounts);
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits the text by the delimiter and adds each part to the token counts
+     *
+     * @param text a possibly null, possibly empty text
+     * @param tokenCounts the non-null map to add the token counts to
+     */
+    private static void addTokens(@Nullable String text, Map<String, Integer> tokenCounts) {
+        if (text == null || StringUtils.isEmpty(text)) {
+            return;
+        }
+
+        for (String token : StringUtils.split(text, DELIMITER)) {
+            tokenCounts.merge(token, 1, Integer::sum);
+        }
+    }
+
+    /**
+     * An immutable snapshot of the index
+     *
+     * @author agent - Initial Contribution
+     */
+    public static class Snapshot {
+        /** The indexed devices */
+        private final NeeoDevice[] devices;
+
+        /** The postings by token */
+        private final Map<String, Postings> postings;
+
+        /**
+         * Creates the snapshot from the devices and postings
+         *
+         * @param devices the non-null devices
+         * @param postings the non-null postings (indexed into the devices)
+         */
+        private Snapshot(NeeoDevice[] devices, Map<String, Postings> postings) {
+            this.devices = devices;
+            this.postings = Collections.unmodifiableMap(postings);
+        }
+
+        /**
+         * Returns the indexed devices. The postings reference devices by their position in this array
+         *
+         * @return a non-null, possibly empty array of devices
+         */
+        public NeeoDevice[] getDevices() {
+            return devices;
+        }
+
+        /**
+         * Returns the postings by distinct token
+         *
+         * @return a non-null, possibly empty map of token to postings
+         */
+        public Map<String, Postings> getPostings() {
+            return postings;
+        }
+    }
+
+    /**
+     * The postings list for a single token - the devices (by position) it appears in and how often
+     *
+     * @author agent - Initial Contribution
+     */
+    public static class Postings {
+        /** The device positions */
+        private final int[] devices;
+
+        /** The number of times the token appears in the device at the same position */
+        private final int[] counts;
+
+        /**
+         * Creates the postings from a list of device/count pairs
+         *
+         * @param entries the non-null, non-empty entries
+         */
+        private Postings(List<int[]> entries) {
+            devices = new int[entries.size()];
+            counts = new int[entries.size()];
+            for (int i = 0; i < devices.length; i++) {
+                devices[i] = entries.get(i)[0];
+                counts[i] = entries.get(i)[1];
+            }
+        }
+
+        /**
+         * Adds the token score to the scores of all devices in this postings list
+         *
+         * @param scores the non-null scores (indexed by device position)
+         * @param tokenScore the score the token achieved
+         */
+        public void addScore(int[] scores, int tokenScore) {
+            for (int i = 0; i < devices.length; i++) {
+                scores[devices[i]] += tokenScore * counts[i];
+            }
+        }
+    }
+}
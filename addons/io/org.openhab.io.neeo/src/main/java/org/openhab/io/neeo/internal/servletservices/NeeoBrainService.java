@@ -43,6 +43,7 @@ import org.openhab.io.neeo.internal.NeeoDeviceKeys;
 import org.openhab.io.neeo.internal.NeeoItemValueConverter;
 import org.openhab.io.neeo.internal.NeeoUtil;
 import org.openhab.io.neeo.internal.ServiceContext;
+import org.openhab.io.neeo.internal.StateCoalescer;
 import org.openhab.io.neeo.internal.models.ButtonInfo;
 import org.openhab.io.neeo.internal.models.NeeoButtonGroup;
 import org.openhab.io.neeo.internal.models.NeeoCapabilityType;
@@ -76,6 +77,9 @@ public class NeeoBrainService extends DefaultServletService {
     /** The logger */
     private final Logger logger = LoggerFactory.getLogger(NeeoBrainService.class);
 
+    /** The time (in milliseconds) state changes of an item are coalesced before the latest one is sent */
+    private static final long NOTIFY_WINDOW = 100;
+
     /** The gson used for communications */
     private final Gson gson = NeeoUtil.createGson();
 
@@ -92,6 +96,13 @@ public class NeeoBrainService extends DefaultServletService {
     private final ScheduledExecutorService scheduler = ThreadPoolManager
             .getScheduledPool(NeeoConstants.THREAD_POOL_NAME);
 
+    /**
+     * Coalesces the state changes per item name that occur within {@link #NOTIFY_WINDOW} into a single notification of
+     * the last state
+     */
+    private final StateCoalescer<String, State> stateCoalescer = new StateCoalescer<>(scheduler, NOTIFY_WINDOW,
+            this::sendState);
+
     /** The {@link NeeoItemValueConverter} used to convert values with */
     private final NeeoItemValueConverter itemConverter;
 
@@ -478,7 +489,9 @@ public class NeeoBrainService extends DefaultServletService {
                 final State state = context.getItemRegistry().getItem(channel.getItemName()).getState();
 
                 for (String deviceKey : api.getDeviceKeys().get(device.getUid())) {
-                    sendNotification(channel, deviceKey, state);
+                    scheduler.execute(() -> {
+                        sendNotification(channel, deviceKey, state);
+                    });
                 }
             } catch (ItemNotFoundException e) {
                 logger.debug("Item not found {}", channel.getItemName());
@@ -487,7 +500,9 @@ public class NeeoBrainService extends DefaultServletService {
     }
 
     /**
-     * Helper function to send some state for an itemName to the brain
+     * Helper function to queue some state for an itemName to be sent to the brain. If a state for the item is already
+     * pending, it will simply be replaced by the new state (and only the latest state will be sent). The states of an
+     * item are sent one after the other, so an older state never overtakes a newer one.
      *
      * @param itemName a non-null, non-empty item name
      * @param state a non-null state
@@ -497,6 +512,18 @@ public class NeeoBrainService extends DefaultServletService {
         Objects.requireNonNull(state, "state cannot be null");
 
         logger.trace("notifyState: {} --- {}", itemName, state);
+        stateCoalescer.submit(itemName, state);
+    }
+
+    /**
+     * Helper function to send some state for an itemName to the brain
+     *
+     * @param itemName a non-null, non-empty item name
+     * @param state a non-null state
+     */
+    private void sendState(String itemName, State state) {
+        NeeoUtil.requireNotEmpty(itemName, "itemName cannot be empty");
+        Objects.requireNonNull(state, "state cannot be null");
 
         for (final Entry<NeeoDevice, NeeoDeviceChannel> boundEntry : context.getDefinitions()
                 .getBound(api.getDeviceKeys(), itemName)) {
@@ -541,7 +568,7 @@ public class NeeoBrainService extends DefaultServletService {
     }
 
     /**
-     * Helper method to send a notification
+     * Helper method to send a notification (on the calling thread)
      *
      * @param channel a non-null channel
      * @param deviceKey a non-null, non-empty device id
@@ -552,29 +579,27 @@ public class NeeoBrainService extends DefaultServletService {
         NeeoUtil.requireNotEmpty(deviceKey, "deviceKey cannot be empty");
         Objects.requireNonNull(state, "state cannot be null");
 
-        scheduler.execute(() -> {
-            final String uin = channel.getUniqueItemName();
+        final String uin = channel.getUniqueItemName();
 
-            final NeeoItemValue niv = itemConverter.convert(channel, state);
+        final NeeoItemValue niv = itemConverter.convert(channel, state);
 
-            // Use sensor notification if we have a >= 0.50 firmware AND it's not a power sensor
-            if (api.getSystemInfo().isFirmwareGreaterOrEqual(NeeoConstants.NEEO_FIRMWARE_0_51_1)
-                    && channel.getType() != NeeoCapabilityType.SENSOR_POWER) {
-                final NeeoSensorNotification notify = new NeeoSensorNotification(deviceKey, uin, niv.getValue());
-                try {
-                    api.notify(gson.toJson(notify));
-                } catch (IOException e) {
-                    logger.debug("Exception occurred while handling event: {}", e.getMessage(), e);
-                }
-            } else {
-                final NeeoNotification notify = new NeeoNotification(deviceKey, uin, niv.getValue());
-                try {
-                    api.notify(gson.toJson(notify));
-                } catch (IOException e) {
-                    logger.debug("Exception occurred while handling event: {}", e.getMessage(), e);
-                }
+        // Use sensor notification if we have a >= 0.50 firmware AND it's not a power sensor
+        if (api.getSystemInfo().isFirmwareGreaterOrEqual(NeeoConstants.NEEO_FIRMWARE_0_51_1)
+                && channel.getType() != NeeoCapabilityType.SENSOR_POWER) {
+            final NeeoSensorNotification notify = new NeeoSensorNotification(deviceKey, uin, niv.getValue());
+            try {
+                api.notify(gson.toJson(notify));
+            } catch (IOException e) {
+                logger.debug("Exception occurred while handling event: {}", e.getMessage(), e);
             }
-        });
+        } else {
+            final NeeoNotification notify = new NeeoNotification(deviceKey, uin, niv.getValue());
+            try {
+                api.notify(gson.toJson(notify));
+            } catch (IOException e) {
+                logger.debug("Exception occurred while handling event: {}", e.getMessage(), e);
+            }
+        }
     }
 
     /**
@@ -585,6 +610,7 @@ public class NeeoBrainService extends DefaultServletService {
     @Override
     public void close() {
         this.api.removePropertyChangeListener(listener);
+        stateCoalescer.clear();
         request.close();
     }
 }
@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.connector;
+
+import static org.junit.Assert.*;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+/**
+ * Tests cases for {@link Backoff}.
+ *
+ * @author agent - Initial contribution
+ */
+public class BackoffTest {
+
+    private static void assertDelay(long expected, long delay) {
+        // up to 10% jitter is added to the delay
+        assertTrue("delay " + delay + " is less than " + expected, delay >= expected);
+        assertTrue("delay " + delay + " is more than 10% above " + expected, delay <= expected + expected / 10);
+    }
+
+    @Test
+    public void exponentialTest() {
+        Backoff backoff = new Backoff(1, 10, TimeUnit.SECONDS);
+
+        assertDelay(1000, backoff.nextDelay());
+        assertDelay(2000, backoff.nextDelay());
+        assertDelay(4000, backoff.nextDelay());
+        assertDelay(8000, backoff.nextDelay());
+        assertDelay(10000, backoff.nextDelay());
+        assertDelay(10000, backoff.nextDelay());
+        assertEquals(6, backoff.getAttempts());
+    }
+
+    @Test
+    public void resetTest() {
+        Backoff backoff = new Backoff(100, 1000, TimeUnit.MILLISECONDS);
+        backoff.nextDelay();
+        backoff.nextDelay();
+
+        backoff.reset();
+
+        assertEquals(0, backoff.getAttempts());
+        assertDelay(100, backoff.nextDelay());
+        assertEquals(1, backoff.getAttempts());
+    }
+
+    @Test
+    public void maxDelayBelowInitialDelayTest() {
+        Backoff backoff = new Backoff(5, 1, TimeUnit.SECONDS);
+
+        assertDelay(5000, backoff.nextDelay());
+        assertDelay(5000, backoff.nextDelay());
+    }
+
+    @Test
+    public void zeroDelayTest() {
+        Backoff backoff = new Backoff(0, 0, TimeUnit.SECONDS);
+
+        assertEquals(0, backoff.nextDelay());
+        assertEquals(0, backoff.nextDelay());
+    }
+}
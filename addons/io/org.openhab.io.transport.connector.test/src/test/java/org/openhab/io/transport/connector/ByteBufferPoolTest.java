@@ -0,0 +1,88 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.connector;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+/**
+ * Tests cases for {@link ByteBufferPool}.
+ *
+ * @author agent - Initial contribution
+ */
+public class ByteBufferPoolTest {
+
+    @Test
+    public void acquireTest() {
+        ByteBufferPool pool = new ByteBufferPool(128, 2);
+
+        ByteBuffer buffer = pool.acquire();
+
+        assertEquals(128, buffer.capacity());
+        assertEquals(0, buffer.position());
+        assertEquals(128, buffer.limit());
+        assertEquals(128, pool.getBufferSize());
+    }
+
+    @Test
+    public void reuseTest() {
+        ByteBufferPool pool = new ByteBufferPool(128, 2);
+        ByteBuffer buffer = pool.acquire();
+        buffer.put((byte) 1).flip();
+
+        pool.release(buffer);
+        ByteBuffer reused = pool.acquire();
+
+        assertSame(buffer, reused);
+        assertEquals(0, reused.position());
+        assertEquals(128, reused.limit());
+        assertNotSame(buffer, pool.acquire());
+    }
+
+    @Test
+    public void maxPooledTest() {
+        ByteBufferPool pool = new ByteBufferPool(128, 2);
+        ByteBuffer first = pool.acquire();
+        ByteBuffer second = pool.acquire();
+        ByteBuffer third = pool.acquire();
+
+        pool.release(first);
+        pool.release(second);
+        pool.release(third);
+
+        assertSame(first, pool.acquire());
+        assertSame(second, pool.acquire());
+        // the third buffer was dropped, because the pool was full
+        ByteBuffer fresh = pool.acquire();
+        assertNotSame(third, fresh);
+
+        // taking buffers from the pool makes room for released ones again
+        pool.release(third);
+        assertSame(third, pool.acquire());
+    }
+
+    @Test
+    public void foreignBufferNotPooledTest() {
+        ByteBufferPool pool = new ByteBufferPool(128, 2);
+        ByteBuffer foreign = ByteBuffer.allocate(64);
+
+        pool.release(foreign);
+
+        assertNotSame(foreign, pool.acquire());
+    }
+
+    @Test
+    public void defaultPoolTest() {
+        assertSame(ByteBufferPool.getDefault(), ByteBufferPool.getDefault());
+        assertEquals(ByteBufferPool.DEFAULT_BUFFER_SIZE, ByteBufferPool.getDefault().getBufferSize());
+    }
+}
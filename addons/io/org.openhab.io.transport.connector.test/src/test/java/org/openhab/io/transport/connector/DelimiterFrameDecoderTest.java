@@ -0,0 +1,130 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.connector;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+/**
+ * Tests cases for {@link DelimiterFrameDecoder}.
+ *
+ * @author agent - Initial contribution
+ */
+public class DelimiterFrameDecoderTest {
+
+    private final ByteBuffer buffer = ByteBuffer.allocate(64);
+
+    private void receive(String data) {
+        buffer.put(data.getBytes(StandardCharsets.US_ASCII));
+        buffer.flip();
+    }
+
+    private static String decode(FrameDecoder decoder, ByteBuffer buffer) {
+        ByteBuffer frame = decoder.decode(buffer);
+        if (frame == null) {
+            return null;
+        }
+        byte[] bytes = new byte[frame.remaining()];
+        frame.get(bytes);
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    public void linesTest() {
+        DelimiterFrameDecoder decoder = DelimiterFrameDecoder.lines(32);
+        receive("first\r\nsecond\nthird\r");
+
+        assertEquals("first", decode(decoder, buffer));
+        assertEquals("second", decode(decoder, buffer));
+        assertEquals("third", decode(decoder, buffer));
+        assertNull(decode(decoder, buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void frameIsSliceTest() {
+        DelimiterFrameDecoder decoder = DelimiterFrameDecoder.lines(32);
+        receive("abc\n");
+
+        ByteBuffer frame = decoder.decode(buffer);
+        assertNotNull(frame);
+        assertEquals(0, frame.position());
+        assertEquals(3, frame.limit());
+        assertEquals(4, buffer.position());
+    }
+
+    @Test
+    public void incompleteFrameTest() {
+        DelimiterFrameDecoder decoder = DelimiterFrameDecoder.lines(32);
+        receive("incompl");
+
+        assertNull(decode(decoder, buffer));
+        assertEquals(0, buffer.position());
+
+        // more data is appended to the same buffer, as done by the connector
+        buffer.compact();
+        receive("ete\nnext");
+
+        assertEquals("incomplete", decode(decoder, buffer));
+        assertNull(decode(decoder, buffer));
+        assertEquals("next", StandardCharsets.US_ASCII.decode(buffer).toString());
+    }
+
+    @Test
+    public void emptyFramesSkippedTest() {
+        DelimiterFrameDecoder decoder = DelimiterFrameDecoder.lines(32);
+        receive("\r\n\r\ndata\n\n");
+
+        assertEquals("data", decode(decoder, buffer));
+        assertNull(decode(decoder, buffer));
+    }
+
+    @Test
+    public void tooLongFrameDiscardedTest() {
+        DelimiterFrameDecoder decoder = DelimiterFrameDecoder.lines(4);
+        receive("toolong");
+
+        assertNull(decode(decoder, buffer));
+        assertFalse(buffer.hasRemaining());
+
+        // the rest of the long frame up to the next delimiter is dropped as well
+        buffer.compact();
+        receive("rest\nok\n");
+
+        assertEquals("ok", decode(decoder, buffer));
+        assertNull(decode(decoder, buffer));
+    }
+
+    @Test
+    public void resetTest() {
+        DelimiterFrameDecoder decoder = DelimiterFrameDecoder.lines(4);
+        receive("toolong");
+        assertNull(decode(decoder, buffer));
+
+        decoder.reset();
+        buffer.clear();
+        receive("ok\n");
+
+        assertEquals("ok", decode(decoder, buffer));
+    }
+
+    @Test
+    public void customDelimiterTest() {
+        DelimiterFrameDecoder decoder = new DelimiterFrameDecoder(32, (byte) ';');
+        receive("a\nb;c;");
+
+        assertEquals("a\nb", decode(decoder, buffer));
+        assertEquals("c", decode(decoder, buffer));
+        assertNull(decode(decoder, buffer));
+    }
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.connector;
+
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+
+import org.junit.Test;
+
+/**
+ * Tests cases for {@link LengthPrefixedFrameDecoder}.
+ *
+ * @author agent - Initial contribution
+ */
+public class LengthPrefixedFrameDecoderTest {
+
+    private final LengthPrefixedFrameDecoder decoder = new LengthPrefixedFrameDecoder(8);
+    private final ByteBuffer buffer = ByteBuffer.allocate(64);
+
+    private void receive(int... data) {
+        for (int b : data) {
+            buffer.put((byte) b);
+        }
+        buffer.flip();
+    }
+
+    private static byte[] toArray(ByteBuffer frame) {
+        byte[] bytes = new byte[frame.remaining()];
+        frame.get(bytes);
+        return bytes;
+    }
+
+    @Test
+    public void framesTest() {
+        receive(0x02, 0x10, 0x11, 0x03, 0x20, 0x21, 0x22);
+
+        ByteBuffer frame = decoder.decode(buffer);
+        assertNotNull(frame);
+        assertArrayEquals(new byte[] { 0x02, 0x10, 0x11 }, toArray(frame));
+
+        frame = decoder.decode(buffer);
+        assertNotNull(frame);
+        assertArrayEquals(new byte[] { 0x03, 0x20, 0x21, 0x22 }, toArray(frame));
+
+        assertNull(decoder.decode(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void incompleteFrameTest() {
+        receive(0x03, 0x20, 0x21);
+
+        assertNull(decoder.decode(buffer));
+        assertEquals(0, buffer.position());
+
+        buffer.compact();
+        receive(0x22);
+
+        ByteBuffer frame = decoder.decode(buffer);
+        assertNotNull(frame);
+        assertArrayEquals(new byte[] { 0x03, 0x20, 0x21, 0x22 }, toArray(frame));
+    }
+
+    @Test
+    public void invalidLengthSkippedTest() {
+        // a length of 0 and a frame longer than the maximum are skipped byte by byte
+        receive(0x00, 0x20, 0x01, 0x30);
+
+        ByteBuffer frame = decoder.decode(buffer);
+        assertNotNull(frame);
+        assertArrayEquals(new byte[] { 0x01, 0x30 }, toArray(frame));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void maxFrameLengthTest() {
+        receive(0x07, 1, 2, 3, 4, 5, 6, 7);
+
+        ByteBuffer frame = decoder.decode(buffer);
+        assertNotNull(frame);
+        assertEquals(8, frame.remaining());
+    }
+
+    @Test
+    public void emptyBufferTest() {
+        receive();
+
+        assertNull(decoder.decode(buffer));
+    }
+}
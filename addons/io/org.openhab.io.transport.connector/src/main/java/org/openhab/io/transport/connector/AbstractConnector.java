@@ -0,0 +1,374 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.connector;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Base class of the connectors. Received data is read on the shared connector pool whenever the port signals that
+ * data is available, so a single small pool serves all ports. At most one read is in progress per connector, which
+ * keeps the frames of a connector in order.
+ *
+ * The receive buffer is taken from a {@link ByteBufferPool} when the connector is opened and returned when it is
+ * closed. Frames are passed to the listener as slices of this buffer, so they are not copied.
+ *
+ * When the connection is lost, the connector reconnects with exponential {@link Backoff} unless automatic
+ * reconnection is disabled. Opening a port blocks, e.g. until the TCP connect times out or the serial port is
+ * opened, so the reconnects run on a pool of their own and don't delay the reads of the other connectors.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public abstract class AbstractConnector implements Connector {
+
+    public static final String THREAD_POOL_NAME = "connector";
+    public static final String CONNECT_THREAD_POOL_NAME = "connector-connect";
+
+    private static final long DEFAULT_INITIAL_RECONNECT_DELAY = 1;
+    private static final long DEFAULT_MAX_RECONNECT_DELAY = 300;
+
+    private final Logger logger = LoggerFactory.getLogger(AbstractConnector.class);
+
+    private final String name;
+    private final FrameDecoder decoder;
+    private final ConnectorListener listener;
+    private final ConnectorMetrics metrics = new ConnectorMetrics();
+
+    // Held by the read task, so that the receive buffer is not released while it is in use
+    private final AtomicBoolean reading = new AtomicBoolean();
+    private final Object writeLock = new Object();
+
+    private ByteBufferPool bufferPool = ByteBufferPool.getDefault();
+    private @Nullable Backoff backoff = new Backoff(DEFAULT_INITIAL_RECONNECT_DELAY, DEFAULT_MAX_RECONNECT_DELAY,
+            TimeUnit.SECONDS);
+    private long frameTimeout;
+
+    private volatile @Nullable ByteBuffer readBuffer;
+    private volatile boolean resetReadBuffer;
+    private long lastRead;
+
+    private volatile boolean connected;
+    private volatile boolean closed = true;
+    private @Nullable ScheduledFuture<?> reconnectJob;
+
+    protected AbstractConnector(String name, FrameDecoder decoder, ConnectorListener listener) {
+        this.name = name;
+        this.decoder = decoder;
+        this.listener = listener;
+    }
+
+    /**
+     * Opens the port.
+     *
+     * @throws IOException if the port can't be opened
+     */
+    protected abstract void doOpen() throws IOException;
+
+    /**
+     * Closes the port, ignoring any errors.
+     */
+    protected abstract void doClose();
+
+    /**
+     * Reads the data available without blocking.
+     *
+     * @param buffer the buffer to read into, which has room for at least one byte
+     * @return the number of bytes read, 0 if no data is available or -1 if the end of the stream has been reached
+     * @throws IOException if reading fails
+     */
+    protected abstract int read(ByteBuffer buffer) throws IOException;
+
+    protected abstract void doWrite(byte[] data) throws IOException;
+
+    /**
+     * Called after a read task completed, so that the port signals the next data.
+     */
+    protected void readCompleted() {
+    }
+
+    /**
+     * Sets the pool the receive buffer is taken from. The buffers must be larger than the largest frame.
+     */
+    public void setBufferPool(ByteBufferPool bufferPool) {
+        this.bufferPool = bufferPool;
+    }
+
+    /**
+     * Sets the backoff for automatic reconnection.
+     *
+     * @param backoff the backoff or null if the connector should not reconnect automatically
+     */
+    public synchronized void setReconnectBackoff(@Nullable Backoff backoff) {
+        this.backoff = backoff;
+    }
+
+    /**
+     * Sets the time after which an incomplete frame is discarded when no further data is received, so that the
+     * decoder is in sync with the device again.
+     *
+     * @param frameTimeout the timeout in milliseconds or 0 to keep incomplete frames
+     */
+    public void setFrameTimeout(long frameTimeout) {
+        this.frameTimeout = frameTimeout;
+    }
+
+    @Override
+    public synchronized void open() throws IOException {
+        closed = false;
+        cancelReconnect();
+        if (connected) {
+            return;
+        }
+
+        try {
+            connect();
+        } catch (IOException e) {
+            scheduleReconnect();
+            throw e;
+        }
+    }
+
+    private void connect() throws IOException {
+        if (readBuffer == null) {
+            readBuffer = bufferPool.acquire();
+        }
+        resetReadBuffer = true;
+
+        doOpen();
+        connected = true;
+        metrics.connected();
+        Backoff backoff = this.backoff;
+        if (backoff != null) {
+            backoff.reset();
+        }
+
+        logger.debug("Connected to {}", name);
+        listener.connected();
+    }
+
+    @Override
+    public synchronized void close() {
+        closed = true;
+        cancelReconnect();
+        if (connected) {
+            connected = false;
+            doClose();
+            metrics.closed();
+            logger.debug("Closed connection to {}", name);
+        }
+        releaseReadBuffer();
+    }
+
+    @Override
+    public boolean isConnected() {
+        return connected;
+    }
+
+    @Override
+    public void write(byte[] data) throws IOException {
+        if (!connected) {
+            throw new IOException("Not connected to " + name);
+        }
+
+        try {
+            synchronized (writeLock) {
+                doWrite(data);
+            }
+            metrics.bytesSent(data.length);
+        } catch (IOException e) {
+            connectionLost(getMessage(e));
+            throw e;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public ConnectorMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Reads the available data on the shared connector pool, unless a read is already in progress.
+     */
+    protected final void scheduleRead() {
+        if (reading.compareAndSet(false, true)) {
+            try {
+                getScheduler().execute(this::readAvailable);
+            } catch (RuntimeException e) {
+                reading.set(false);
+                logger.warn("Failed to schedule read of {}", name, e);
+            }
+        }
+    }
+
+    private void readAvailable() {
+        String lostCause = null;
+        try {
+            ByteBuffer buffer = readBuffer;
+            if (buffer != null && connected) {
+                long now = System.currentTimeMillis();
+                if (resetReadBuffer) {
+                    resetReadBuffer = false;
+                    buffer.clear();
+                    decoder.reset();
+                } else if (frameTimeout > 0 && buffer.position() > 0 && now - lastRead > frameTimeout) {
+                    logger.debug("Discarding incomplete frame of {} bytes from {}", buffer.position(), name);
+                    buffer.clear();
+                    decoder.reset();
+                    metrics.frameDiscarded();
+                }
+
+                int count;
+                while ((count = read(buffer)) > 0) {
+                    lastRead = now;
+                    metrics.bytesReceived(count);
+                    decode(buffer);
+                }
+                if (count < 0) {
+                    lostCause = "End of stream";
+                }
+            }
+        } catch (IOException e) {
+            lostCause = getMessage(e);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to read from {}", name, e);
+        } finally {
+            reading.set(false);
+        }
+
+        if (lostCause != null) {
+            connectionLost(lostCause);
+        } else if (closed) {
+            releaseReadBuffer();
+        } else {
+            readCompleted();
+        }
+    }
+
+    private void decode(ByteBuffer buffer) {
+        buffer.flip();
+        ByteBuffer frame;
+        while ((frame = decoder.decode(buffer)) != null) {
+            metrics.frameReceived();
+            try {
+                listener.frameReceived(frame);
+            } catch (RuntimeException e) {
+                logger.warn("Listener of {} failed to handle frame", name, e);
+            }
+        }
+        buffer.compact();
+
+        if (!buffer.hasRemaining()) {
+            logger.debug("Discarding {} bytes from {} without complete frame", buffer.position(), name);
+            buffer.clear();
+            decoder.reset();
+            metrics.frameDiscarded();
+        }
+    }
+
+    /**
+     * Closes the port after an I/O error and reconnects if automatic reconnection is enabled.
+     *
+     * @param cause a text describing the cause
+     */
+    protected synchronized void connectionLost(String cause) {
+        if (!connected) {
+            return;
+        }
+        connected = false;
+        doClose();
+        metrics.connectionLost();
+
+        logger.debug("Connection to {} lost: {}", name, cause);
+        listener.disconnected(cause);
+        scheduleReconnect();
+    }
+
+    private void scheduleReconnect() {
+        Backoff backoff = this.backoff;
+        if (closed || backoff == null) {
+            return;
+        }
+
+        long delay = backoff.nextDelay();
+        logger.debug("Reconnecting to {} in {} ms", name, delay);
+        reconnectJob = getConnectScheduler().schedule(this::reconnect, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private synchronized void reconnect() {
+        reconnectJob = null;
+        if (closed || connected) {
+            return;
+        }
+
+        try {
+            connect();
+        } catch (IOException e) {
+            String cause = getMessage(e);
+            logger.debug("Reconnecting to {} failed: {}", name, cause);
+            listener.disconnected(cause);
+            scheduleReconnect();
+        }
+    }
+
+    private void cancelReconnect() {
+        ScheduledFuture<?> reconnectJob = this.reconnectJob;
+        if (reconnectJob != null) {
+            reconnectJob.cancel(false);
+            this.reconnectJob = null;
+        }
+    }
+
+    private synchronized void releaseReadBuffer() {
+        ByteBuffer buffer = readBuffer;
+        if (closed && buffer != null && reading.compareAndSet(false, true)) {
+            readBuffer = null;
+            bufferPool.release(buffer);
+            reading.set(false);
+        }
+    }
+
+    private static String getMessage(IOException e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+    }
+
+    /**
+     * @return the shared pool used for reading
+     */
+    protected static ScheduledExecutorService getScheduler() {
+        return ThreadPoolManager.getScheduledPool(THREAD_POOL_NAME);
+    }
+
+    /**
+     * @return the shared pool used for reconnecting
+     */
+    protected static ScheduledExecutorService getConnectScheduler() {
+        return ThreadPoolManager.getScheduledPool(CONNECT_THREAD_POOL_NAME);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " [" + name + "]";
+    }
+}
@@ -0,0 +1,66 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.connector;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Exponential backoff for reconnection attempts. The delay doubles with every failed attempt up to the maximum delay,
+ * with up to 10% random jitter so that connectors to the same gateway don't reconnect in lockstep.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class Backoff {
+
+    private final long initialDelay;
+    private final long maxDelay;
+
+    private long nextDelay;
+    private int attempts;
+
+    /**
+     * @param initialDelay the delay before the first attempt
+     * @param maxDelay the maximum delay between attempts
+     * @param unit the unit of the delays
+     */
+    public Backoff(long initialDelay, long maxDelay, TimeUnit unit) {
+        this.initialDelay = unit.toMillis(initialDelay);
+        this.maxDelay = Math.max(this.initialDelay, unit.toMillis(maxDelay));
+        this.nextDelay = this.initialDelay;
+    }
+
+    /**
+     * @return the delay before the next attempt in milliseconds
+     */
+    public synchronized long nextDelay() {
+        long delay = nextDelay;
+        nextDelay = Math.min(maxDelay, nextDelay * 2);
+        attempts++;
+        return delay + ThreadLocalRandom.current().nextLong(delay / 10 + 1);
+    }
+
+    /**
+     * Starts again with the initial delay, e.g. after a successful attempt.
+     */
+    public synchronized void reset() {
+        nextDelay = initialDelay;
+        attempts = 0;
+    }
+
+    /**
+     * @return the number of attempts since the last reset
+     */
+    public synchronized int getAttempts() {
+        return attempts;
+    }
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.connector;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Pool of receive buffers of equal size, so that connectors that are reopened don't allocate new buffers.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ByteBufferPool {
+
+    public static final int DEFAULT_BUFFER_SIZE = 4096;
+    private static final int DEFAULT_MAX_POOLED = 32;
+
+    private static final ByteBufferPool DEFAULT_POOL = new ByteBufferPool(DEFAULT_BUFFER_SIZE, DEFAULT_MAX_POOLED);
+
+    private final int bufferSize;
+    private final int maxPooled;
+
+    private final Queue<ByteBuffer> buffers = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+
+    /**
+     * @param bufferSize the capacity of the buffers
+     * @param maxPooled the maximum number of released buffers kept for reuse
+     */
+    public ByteBufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    /**
+     * @return the pool shared by all connectors that don't use a pool of their own
+     */
+    public static ByteBufferPool getDefault() {
+        return DEFAULT_POOL;
+    }
+
+    /**
+     * @return a cleared heap buffer, taken from the pool if one is available
+     */
+    public ByteBuffer acquire() {
+        ByteBuffer buffer = buffers.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocate(bufferSize);
+        }
+        pooled.decrementAndGet();
+        return buffer;
+    }
+
+    /**
+     * Returns a buffer to the pool. The buffer must not be used anymore.
+     */
+    public void release(ByteBuffer buffer) {
+        if (buffer.capacity() == bufferSize && pooled.incrementAndGet() <= maxPooled) {
+            buffer.clear();
+            buffers.offer(buffer);
+        } else if (buffer.capacity() == bufferSize) {
+            pooled.decrementAndGet();
+        }
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+}
@@ -0,0 +1,55 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.connector;
+
+import java.io.IOException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * A connection to a device on a serial port or on a TCP port, e.g. a ser2net gateway.
+ *
+ * Received data is read by the shared connector pool and cut into frames by a {@link FrameDecoder}, so no connector
+ * needs a reader thread of its own.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface Connector {
+
+    /**
+     * Opens the connection. If the connection can't be opened and the connector reconnects automatically, further
+     * attempts are made in the background until {@link #close()} is called.
+     *
+     * @throws IOException if the connection can't be opened
+     */
+    void open() throws IOException;
+
+    /**
+     * Closes the connection and stops reconnecting. The listener is not notified.
+     */
+    void close();
+
+    boolean isConnected();
+
+    /**
+     * Writes data to the device.
+     *
+     * @param data the data to write
+     * @throws IOException if the connector is not connected or the data can't be written
+     */
+    void write(byte[] data) throws IOException;
+
+    /**
+     * @return the name of the port for logging, e.g. /dev/ttyUSB0 or 192.168.1.2:2000
+     */
+    String getName();
+
+    ConnectorMetrics getMetrics();
+}
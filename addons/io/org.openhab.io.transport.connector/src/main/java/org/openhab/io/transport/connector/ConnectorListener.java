@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.connector;
+
+import java.nio.ByteBuffer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Listener that is notified on connection status changes of a {@link Connector} and on every frame received.
+ *
+ * The methods are called from the threads of the shared connector pool, but never concurrently for the same
+ * connector.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface ConnectorListener {
+
+    /**
+     * Called when the connection has been established, both on {@link Connector#open()} and on reconnection.
+     */
+    void connected();
+
+    /**
+     * Called when the connection has been lost or a reconnection attempt failed. If the connector reconnects
+     * automatically, the next attempt is already scheduled.
+     *
+     * @param cause a text describing the cause
+     */
+    void disconnected(String cause);
+
+    /**
+     * Called for every frame cut from the received data by the {@link FrameDecoder} of the connector.
+     *
+     * @param frame the frame, backed by a pooled buffer. It is only valid during the call, so its content must be
+     *            copied if it is kept.
+     */
+    void frameReceived(ByteBuffer frame);
+}
@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.connector;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+
+/**
+ * Throughput and reliability counters of a {@link Connector}.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class ConnectorMetrics {
+
+    private final AtomicLong bytesReceived = new AtomicLong();
+    private final AtomicLong bytesSent = new AtomicLong();
+    private final AtomicLong framesReceived = new AtomicLong();
+    private final AtomicLong framesDiscarded = new AtomicLong();
+    private final AtomicLong connects = new AtomicLong();
+    private final AtomicLong connectionsLost = new AtomicLong();
+
+    private volatile long connectedSince;
+    private volatile long lastReceived;
+
+    void connected() {
+        connects.incrementAndGet();
+        connectedSince = System.currentTimeMillis();
+    }
+
+    void connectionLost() {
+        connectionsLost.incrementAndGet();
+        connectedSince = 0;
+    }
+
+    void closed() {
+        connectedSince = 0;
+    }
+
+    void bytesReceived(int count) {
+        bytesReceived.addAndGet(count);
+        lastReceived = System.currentTimeMillis();
+    }
+
+    void bytesSent(int count) {
+        bytesSent.addAndGet(count);
+    }
+
+    void frameReceived() {
+        framesReceived.incrementAndGet();
+    }
+
+    void frameDiscarded() {
+        framesDiscarded.incrementAndGet();
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    public long getFramesReceived() {
+        return framesReceived.get();
+    }
+
+    /**
+     * @return the number of incomplete frames dropped because the rest of the frame did not arrive in time
+     */
+    public long getFramesDiscarded() {
+        return framesDiscarded.get();
+    }
+
+    /**
+     * @return the number of successful connection attempts, including the first one
+     */
+    public long getConnects() {
+        return connects.get();
+    }
+
+    public long getConnectionsLost() {
+        return connectionsLost.get();
+    }
+
+    /**
+     * @return the time the current connection was established or 0 if not connected
+     */
+    public long getConnectedSince() {
+        return connectedSince;
+    }
+
+    /**
+     * @return the time data was last received or 0 if no data was received yet
+     */
+    public long getLastReceived() {
+        return lastReceived;
+    }
+
+    @Override
+    public String toString() {
+        return "ConnectorMetrics [bytesReceived=" + bytesReceived + ", bytesSent=" + bytesSent + ", framesReceived="
+                + framesReceived + ", framesDiscarded=" + framesDiscarded + ", connects=" + connects
+                + ", connectionsLost=" + connectionsLost + "]";
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.connector;
+
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Single selector thread watching the channels of all {@link TcpConnector}s. When a channel becomes readable, the
+ * selector stops watching it and lets the connector read on the shared connector pool, which watches it again once the
+ * read is complete. The thread ends when no channel is left and is started again for the next channel.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+final class ConnectorSelector implements Runnable {
+
+    private static @Nullable ConnectorSelector instance;
+
+    private final Logger logger = LoggerFactory.getLogger(ConnectorSelector.class);
+
+    private final Selector selector;
+    private final Queue<Runnable> pendingTasks = new ConcurrentLinkedQueue<>();
+
+    private ConnectorSelector() throws IOException {
+        selector = Selector.open();
+    }
+
+    /**
+     * Watches a connected channel for data to read.
+     */
+    static synchronized void register(SocketChannel channel, TcpConnector connector) throws IOException {
+        ConnectorSelector connectorSelector = instance;
+        if (connectorSelector == null) {
+            connectorSelector = new ConnectorSelector();
+            Thread thread = new Thread(connectorSelector, "OH-connector-selector");
+            thread.setDaemon(true);
+            thread.start();
+            instance = connectorSelector;
+        }
+
+        final ConnectorSelector selector = connectorSelector;
+        selector.execute(() -> {
+            try {
+                connector.registered(channel.register(selector.selector, SelectionKey.OP_READ, connector));
+            } catch (ClosedChannelException e) {
+                // Closed before it was registered
+            }
+        });
+    }
+
+    /**
+     * Watches a channel again after its data has been read.
+     */
+    static void resume(SelectionKey key) {
+        ConnectorSelector connectorSelector = instance;
+        if (connectorSelector != null && connectorSelector.selector == key.selector()) {
+            connectorSelector.execute(() -> {
+                if (key.isValid()) {
+                    key.interestOps(SelectionKey.OP_READ);
+                }
+            });
+        }
+    }
+
+    /**
+     * Stops watching a channel that is about to be closed.
+     */
+    static void cancel(SelectionKey key) {
+        key.cancel();
+        key.selector().wakeup();
+    }
+
+    private void execute(Runnable task) {
+        pendingTasks.add(task);
+        selector.wakeup();
+    }
+
+    @Override
+    public void run() {
+        logger.debug("Connector selector started");
+        try {
+            while (true) {
+                selector.select();
+
+                Runnable task;
+                while ((task = pendingTasks.poll()) != null) {
+                    task.run();
+                }
+
+                for (Iterator<SelectionKey> it = selector.selectedKeys().iterator(); it.hasNext();) {
+                    SelectionKey key = it.next();
+                    it.remove();
+                    if (key.isValid() && key.isReadable()) {
+                        key.interestOps(0);
+                        ((TcpConnector) key.attachment()).scheduleRead();
+                    }
+                }
+
+                if (selector.keys().isEmpty() && stopIfIdle()) {
+                    break;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("Connector selector failed", e);
+            synchronized (ConnectorSelector.class) {
+                if (instance == this) {
+                    instance = null;
+                }
+            }
+        } finally {
+            try {
+                selector.close();
+            } catch (IOException e) {
+                logger.debug("Failed to close selector", e);
+            }
+        }
+        logger.debug("Connector selector stopped");
+    }
+
+    private boolean stopIfIdle() {
+        synchronized (ConnectorSelector.class) {
+            if (pendingTasks.isEmpty()) {
+                instance = null;
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.connector;
+
+import java.nio.ByteBuffer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Cuts received data into frames ending with one of the given delimiters, e.g. lines ending with CR, LF or CR LF.
+ * Empty frames are skipped, as are frames longer than the maximum frame length.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class DelimiterFrameDecoder implements FrameDecoder {
+
+    private final int maxFrameLength;
+    private final byte[] delimiters;
+
+    // Number of bytes after the position already searched for a delimiter
+    private int scanned;
+    private boolean discarding;
+
+    /**
+     * @param maxFrameLength the maximum length of a frame without delimiter
+     * @param delimiters the bytes that end a frame
+     */
+    public DelimiterFrameDecoder(int maxFrameLength, byte... delimiters) {
+        this.maxFrameLength = maxFrameLength;
+        this.delimiters = delimiters.clone();
+    }
+
+    /**
+     * Creates a decoder for text lines ending with CR, LF or CR LF.
+     */
+    public static DelimiterFrameDecoder lines(int maxLineLength) {
+        return new DelimiterFrameDecoder(maxLineLength, (byte) '\r', (byte) '\n');
+    }
+
+    @Override
+    public @Nullable ByteBuffer decode(ByteBuffer buffer) {
+        while (true) {
+            int start = buffer.position();
+            int end = indexOfDelimiter(buffer, start + scanned);
+            if (end < 0) {
+                scanned = buffer.remaining();
+                if (scanned > maxFrameLength) {
+                    // Drop the data up to the next delimiter
+                    buffer.position(buffer.limit());
+                    scanned = 0;
+                    discarding = true;
+                }
+                return null;
+            }
+
+            scanned = 0;
+            buffer.position(end + 1);
+            if (discarding) {
+                discarding = false;
+            } else if (end > start) {
+                return FrameDecoder.slice(buffer, start, end);
+            }
+        }
+    }
+
+    private int indexOfDelimiter(ByteBuffer buffer, int from) {
+        for (int i = from; i < buffer.limit(); i++) {
+            byte b = buffer.get(i);
+            for (byte delimiter : delimiters) {
+                if (b == delimiter) {
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public void reset() {
+        scanned = 0;
+        discarding = false;
+    }
+}
@@ -0,0 +1,50 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.connector;
+
+import java.nio.ByteBuffer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Cuts the data received by a {@link Connector} into frames. A decoder belongs to a single connector, so it may keep
+ * state between calls.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public interface FrameDecoder {
+
+    /**
+     * Decodes the next frame.
+     *
+     * @param buffer the received data between position and limit. The position is advanced past the decoded frame
+     *            and any data skipped.
+     * @return the frame as a slice of the buffer or null if the buffer contains no complete frame
+     */
+    @Nullable
+    ByteBuffer decode(ByteBuffer buffer);
+
+    /**
+     * Forgets the data seen so far, e.g. after the connection was reopened or an incomplete frame was discarded.
+     */
+    default void reset() {
+    }
+
+    /**
+     * Returns a slice of the buffer from start to end, without changing the buffer.
+     */
+    static ByteBuffer slice(ByteBuffer buffer, int start, int end) {
+        ByteBuffer frame = buffer.duplicate();
+        frame.limit(end);
+        frame.position(start);
+        return frame.slice();
+    }
+}
@@ -0,0 +1,51 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.connector;
+
+import java.nio.ByteBuffer;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * Cuts received data into frames starting with a length byte, which gives the number of bytes following it (e.g.
+ * RFXCOM packets). Length bytes of zero or announcing a frame longer than the maximum frame length are skipped, so the
+ * decoder finds the next frame after a corrupted one.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class LengthPrefixedFrameDecoder implements FrameDecoder {
+
+    private final int maxFrameLength;
+
+    /**
+     * @param maxFrameLength the maximum length of a frame including the length byte
+     */
+    public LengthPrefixedFrameDecoder(int maxFrameLength) {
+        this.maxFrameLength = maxFrameLength;
+    }
+
+    @Override
+    public @Nullable ByteBuffer decode(ByteBuffer buffer) {
+        while (buffer.hasRemaining()) {
+            int start = buffer.position();
+            int frameLength = (buffer.get(start) & 0xFF) + 1;
+            if (frameLength == 1 || frameLength > maxFrameLength) {
+                buffer.position(start + 1);
+            } else if (buffer.remaining() < frameLength) {
+                return null;
+            } else {
+                buffer.position(start + frameLength);
+                return FrameDecoder.slice(buffer, start, start + frameLength);
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.connector;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.TooManyListenersException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import gnu.io.CommPortIdentifier;
+import gnu.io.NoSuchPortException;
+import gnu.io.PortInUseException;
+import gnu.io.SerialPort;
+import gnu.io.SerialPortEvent;
+import gnu.io.SerialPortEventListener;
+import gnu.io.UnsupportedCommOperationException;
+
+/**
+ * Connector for devices on a serial port (8 data bits, 1 stop bit, no parity). The serial event thread only schedules
+ * a read on the shared connector pool, so it never blocks.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class SerialConnector extends AbstractConnector implements SerialPortEventListener {
+
+    private static final int OPEN_TIMEOUT = 3000;
+
+    private final Logger logger = LoggerFactory.getLogger(SerialConnector.class);
+
+    private final String portName;
+    private final int baudRate;
+
+    private @Nullable SerialPort serialPort;
+    private volatile @Nullable InputStream in;
+    private volatile @Nullable OutputStream out;
+
+    public SerialConnector(String portName, int baudRate, FrameDecoder decoder, ConnectorListener listener) {
+        super(portName, decoder, listener);
+        this.portName = portName;
+        this.baudRate = baudRate;
+    }
+
+    @Override
+    protected void doOpen() throws IOException {
+        logger.debug("Opening serial port {} with baud rate {}", portName, baudRate);
+        SerialPort serialPort;
+        try {
+            serialPort = CommPortIdentifier.getPortIdentifier(portName).open("openhab", OPEN_TIMEOUT);
+        } catch (NoSuchPortException e) {
+            throw new IOException("Port not found: " + portName);
+        } catch (PortInUseException e) {
+            throw new IOException("Port in use: " + portName);
+        }
+
+        try {
+            serialPort.setSerialPortParams(baudRate, SerialPort.DATABITS_8, SerialPort.STOPBITS_1,
+                    SerialPort.PARITY_NONE);
+            in = serialPort.getInputStream();
+            out = serialPort.getOutputStream();
+            serialPort.addEventListener(this);
+            serialPort.notifyOnDataAvailable(true);
+        } catch (UnsupportedCommOperationException | TooManyListenersException e) {
+            serialPort.close();
+            throw new IOException("Failed to set up port " + portName + ": " + e.getMessage());
+        } catch (IOException e) {
+            serialPort.close();
+            throw e;
+        }
+        this.serialPort = serialPort;
+    }
+
+    @Override
+    public void serialEvent(@Nullable SerialPortEvent event) {
+        if (event != null && event.getEventType() == SerialPortEvent.DATA_AVAILABLE) {
+            scheduleRead();
+        }
+    }
+
+    @Override
+    protected void doClose() {
+        SerialPort serialPort = this.serialPort;
+        if (serialPort != null) {
+            serialPort.notifyOnDataAvailable(false);
+            serialPort.removeEventListener();
+            closeQuietly(in);
+            closeQuietly(out);
+            serialPort.close();
+        }
+        this.serialPort = null;
+        in = null;
+        out = null;
+    }
+
+    @Override
+    protected int read(ByteBuffer buffer) throws IOException {
+        InputStream in = this.in;
+        if (in == null) {
+            return 0;
+        }
+
+        int available = in.available();
+        if (available <= 0) {
+            return 0;
+        }
+        int count = in.read(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                Math.min(available, buffer.remaining()));
+        if (count > 0) {
+            buffer.position(buffer.position() + count);
+        }
+        return count;
+    }
+
+    @Override
+    protected void readCompleted() {
+        // Data that arrived during the read does not raise a new event
+        InputStream in = this.in;
+        try {
+            if (in != null && in.available() > 0) {
+                scheduleRead();
+            }
+        } catch (IOException e) {
+            logger.debug("Failed to check for data on port {}", portName, e);
+        }
+    }
+
+    @Override
+    protected void doWrite(byte[] data) throws IOException {
+        OutputStream out = this.out;
+        if (out == null) {
+            throw new IOException("Not connected to " + portName);
+        }
+        out.write(data);
+        out.flush();
+    }
+
+    private void closeQuietly(@Nullable AutoCloseable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                logger.debug("Failed to close stream of port {}", portName, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.io.transport.connector;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.UnresolvedAddressException;
+
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.eclipse.jdt.annotation.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Connector for devices on a TCP port, e.g. a serial device behind a ser2net gateway. The channel is watched by the
+ * selector thread shared by all TCP connectors, so no thread is blocked while the device is silent.
+ *
+ * @author agent - Initial contribution
+ */
+@NonNullByDefault
+public class TcpConnector extends AbstractConnector {
+
+    private static final int DEFAULT_CONNECT_TIMEOUT = 10000;
+    private static final long WRITE_TIMEOUT = 5000;
+    private static final long WRITE_RETRY_DELAY = 10;
+
+    private final Logger logger = LoggerFactory.getLogger(TcpConnector.class);
+
+    private final String host;
+    private final int port;
+    private int connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+
+    private volatile @Nullable SocketChannel channel;
+    private volatile @Nullable SelectionKey key;
+
+    public TcpConnector(String host, int port, FrameDecoder decoder, ConnectorListener listener) {
+        super(host + ":" + port, decoder, listener);
+        this.host = host;
+        this.port = port;
+    }
+
+    /**
+     * @param connectTimeout the connect timeout in milliseconds
+     */
+    public void setConnectTimeout(int connectTimeout) {
+        this.connectTimeout = connectTimeout;
+    }
+
+    @Override
+    protected void doOpen() throws IOException {
+        logger.debug("Opening TCP connection to {}:{}", host, port);
+        SocketChannel channel = SocketChannel.open();
+        try {
+            channel.socket().setKeepAlive(true);
+            channel.socket().setTcpNoDelay(true);
+            channel.socket().connect(new InetSocketAddress(host, port), connectTimeout);
+            channel.configureBlocking(false);
+            this.channel = channel;
+            ConnectorSelector.register(channel, this);
+        } catch (IOException e) {
+            closeQuietly(channel);
+            this.channel = null;
+            throw e;
+        } catch (UnresolvedAddressException e) {
+            closeQuietly(channel);
+            throw new IOException("Unknown host: " + host);
+        }
+    }
+
+    void registered(SelectionKey key) {
+        this.key = key;
+    }
+
+    @Override
+    protected void doClose() {
+        SelectionKey key = this.key;
+        if (key != null) {
+            ConnectorSelector.cancel(key);
+            this.key = null;
+        }
+        SocketChannel channel = this.channel;
+        if (channel != null) {
+            closeQuietly(channel);
+            this.channel = null;
+        }
+    }
+
+    @Override
+    protected int read(ByteBuffer buffer) throws IOException {
+        SocketChannel channel = this.channel;
+        if (channel == null) {
+            return 0;
+        }
+        return channel.read(buffer);
+    }
+
+    @Override
+    protected void readCompleted() {
+        SelectionKey key = this.key;
+        if (key != null) {
+            ConnectorSelector.resume(key);
+        }
+    }
+
+    @Override
+    protected void doWrite(byte[] data) throws IOException {
+        SocketChannel channel = this.channel;
+        if (channel == null) {
+            throw new IOException("Not connected to " + getName());
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        long waited = 0;
+        while (buffer.hasRemaining()) {
+            if (channel.write(buffer) > 0) {
+                waited = 0;
+            } else if (waited >= WRITE_TIMEOUT) {
+                throw new IOException("Write to " + getName() + " timed out");
+            } else {
+                // The socket send buffer is full
+                try {
+                    Thread.sleep(WRITE_RETRY_DELAY);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IOException("Write to " + getName() + " interrupted");
+                }
+                waited += WRITE_RETRY_DELAY;
+            }
+        }
+    }
+
+    private void closeQuietly(SocketChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.debug("Failed to close TCP connection to {}", getName(), e);
+        }
+    }
+}
@@ -13,13 +13,12 @@ import com.google.auth.oauth2.GoogleCredentials;
 import com.google.cloud.texttospeech.v1beta1.*;
 import com.google.protobuf.ByteString;
 import org.eclipse.smarthome.core.audio.AudioFormat;
+import org.openhab.voice.ttscache.CachedAudio;
+import org.openhab.voice.ttscache.TTSCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.*;
-import java.math.BigInteger;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
 import java.util.*;
 
 /**
@@ -28,16 +27,6 @@ import java.util.*;
  * @author Gabor Bicskei - Initial contribution and API
  */
 class GoogleCloudAPI {
-    /**
-     * Stream buffer size
-     */
-    private static final int READ_BUFFER_SIZE = 4096;
-
-    /**
-     * Default encoding
-     */
-    private static final String UTF_8 = "UTF-8";
-
     /**
      * Logger
      */
@@ -54,9 +43,9 @@ class GoogleCloudAPI {
     private TextToSpeechClient googleClient;
 
     /**
-     * Cache folder
+     * Audio cache
      */
-    private File cacheFolder;
+    private final TTSCache cache;
 
     /**
      * Configuration
@@ -74,7 +63,14 @@ class GoogleCloudAPI {
      * @param cacheFolder Service cache folder
      */
     GoogleCloudAPI(File cacheFolder) {
-        this.cacheFolder = cacheFolder;
+        this.cache = new TTSCache(cacheFolder);
+    }
+
+    /**
+     * @return the audio cache
+     */
+    TTSCache getCache() {
+        return cache;
     }
 
     /**
@@ -199,33 +195,17 @@ class GoogleCloudAPI {
         }
     }
 
-    File synthesizeSpeech(String text, GoogleTTSVoice voice, String codec) {
+    CachedAudio synthesizeSpeech(String text, GoogleTTSVoice voice, String codec) {
         String[] format = getFormatForCodec(codec);
-        String fileNameInCache = getUniqueFilenameForText(text, voice.getLocale());
-        // check if in cache
-        File audioFileInCache = new File(cacheFolder, fileNameInCache + "." + format[1]);
-        if (audioFileInCache.exists()) {
-            logger.debug("Audio file {} was found in cache.", audioFileInCache.getName());
-            return audioFileInCache;
-        }
-
-        // if not in cache, get audio data and put to cache
-        try (InputStream is = synthesizeSpeechByGoogle(text, voice, format[0]);
-             FileOutputStream fos = new FileOutputStream(audioFileInCache)) {
-            logger.debug("Caching audio file {}", audioFileInCache.getName());
-            copyStream(is, fos);
-            // write text to file for transparency too
-            // this allows to know which contents is in which audio file
-            File txtFileInCache = new File(cacheFolder, fileNameInCache + ".txt");
-            writeText(txtFileInCache, text);
-            // return from cache
-            return audioFileInCache;
-        } catch (FileNotFoundException ex) {
-            logger.warn("Could not write {} to cache", audioFileInCache, ex);
-            return null;
+        String fileNameInCache = TTSCache.getUniqueFilenameForText(text, voice.getLocale().getLanguage());
+        try {
+            return cache.get(fileNameInCache, format[1], text,
+                    outputStream -> outputStream.write(synthesizeSpeechByGoogle(text, voice, format[0])));
         } catch (IOException ex) {
-            logger.error("Could not write {} to cache", audioFileInCache, ex);
+            logger.error("Could not write {} to cache", fileNameInCache, ex);
             return null;
+        } finally {
+            logger.trace("{}", cache);
         }
     }
 
@@ -234,9 +214,9 @@ class GoogleCloudAPI {
      *
      * @param text  Text to synthesise
      * @param voice Voice parameter
-     * @return Audio input stream
+     * @return Audio data
      */
-    private InputStream synthesizeSpeechByGoogle(String text, GoogleTTSVoice voice, String audioFormat) {
+    private byte[] synthesizeSpeechByGoogle(String text, GoogleTTSVoice voice, String audioFormat) {
         // Set the text input to be synthesized
         SynthesisInput.Builder builder = SynthesisInput.newBuilder();
         if (text.startsWith("<speak>")) {
@@ -268,48 +248,7 @@ class GoogleCloudAPI {
         // Get the audio contents from the response
         ByteString audioContents = response.getAudioContent();
 
-        return new ByteArrayInputStream(audioContents.toByteArray());
-    }
-
-    /**
-     * Gets a unique filename for a give text, by creating a MD5 hash of it. It
-     * will be preceded by the locale.
-     * <p>
-     * Sample: "en-US_00a2653ac5f77063bc4ea2fee87318d3"
-     */
-    private String getUniqueFilenameForText(String text, Locale locale) {
-        try {
-            byte[] bytesOfMessage = text.getBytes(UTF_8);
-            MessageDigest md = MessageDigest.getInstance("MD5");
-            byte[] md5Hash = md.digest(bytesOfMessage);
-            BigInteger bigInt = new BigInteger(1, md5Hash);
-            StringBuilder hashText = new StringBuilder(bigInt.toString(16));
-            // Now we need to zero pad it if you actually want the full 32
-            // chars.
-            while (hashText.length() < 32) {
-                hashText.insert(0, "0");
-            }
-            return locale.getLanguage() + "_" + hashText;
-        } catch (UnsupportedEncodingException | NoSuchAlgorithmException ex) {
-            // should not happen
-            logger.error("Could not create MD5 hash for '{}'", text, ex);
-            return null;
-        }
-    }
-
-    private void copyStream(InputStream inputStream, OutputStream outputStream) throws IOException {
-        byte[] bytes = new byte[READ_BUFFER_SIZE];
-        int read = inputStream.read(bytes, 0, READ_BUFFER_SIZE);
-        while (read > 0) {
-            outputStream.write(bytes, 0, read);
-            read = inputStream.read(bytes, 0, READ_BUFFER_SIZE);
-        }
-    }
-
-    private void writeText(File file, String text) throws IOException {
-        try (OutputStream outputStream = new FileOutputStream(file)) {
-            outputStream.write(text.getBytes(UTF_8));
-        }
+        return audioContents.toByteArray();
     }
 
     boolean isInitialized() {
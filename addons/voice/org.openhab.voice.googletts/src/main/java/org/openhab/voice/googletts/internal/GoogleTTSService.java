@@ -14,10 +14,11 @@ import org.eclipse.smarthome.config.core.ConfigurableService;
 import org.eclipse.smarthome.core.audio.AudioException;
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioStream;
-import org.eclipse.smarthome.core.audio.FileAudioStream;
 import org.eclipse.smarthome.core.voice.TTSException;
 import org.eclipse.smarthome.core.voice.TTSService;
 import org.eclipse.smarthome.core.voice.Voice;
+import org.openhab.voice.ttscache.CachedAudio;
+import org.openhab.voice.ttscache.CachedAudioStream;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
@@ -211,6 +212,8 @@ public class GoogleTTSService implements TTSService {
             }
             logger.trace("New configuration: {}", config.toString());
 
+            apiImpl.getCache().configure(newConfig);
+
             if (config.getServiceAccountKey() != null) {
                 apiImpl.setConfig(config);
                 if (apiImpl.isInitialized()) {
@@ -309,11 +312,12 @@ public class GoogleTTSService implements TTSService {
         // now create the input stream for given text, locale, format. There is
         // only a default voice
         try {
-            File audioFile = apiImpl.synthesizeSpeech(text, (GoogleTTSVoice) voice, requestedFormat.getCodec());
-            if (audioFile == null) {
+            CachedAudio cachedAudio = apiImpl.synthesizeSpeech(text, (GoogleTTSVoice) voice,
+                    requestedFormat.getCodec());
+            if (cachedAudio == null) {
                 throw new TTSException("Could not read from Google Cloud TTS Service");
             }
-            return new FileAudioStream(audioFile, requestedFormat);
+            return new CachedAudioStream(cachedAudio, requestedFormat);
         } catch (AudioException ex) {
             throw new TTSException("Could not create AudioStream", ex);
         }
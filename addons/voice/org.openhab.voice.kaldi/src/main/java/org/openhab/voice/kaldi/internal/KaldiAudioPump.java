@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.voice.kaldi.internal;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import ee.ioc.phon.netspeechapi.duplex.DuplexRecognitionSession;
+import ee.ioc.phon.netspeechapi.duplex.RecognitionEvent;
+import ee.ioc.phon.netspeechapi.duplex.RecognitionEventListener;
+
+/**
+ * Pumps audio data into a {@link DuplexRecognitionSession} in fixed-size chunks. The Kaldi server expects audio at
+ * (about) real-time rate, so each chunk is only sent once the audio sent so far has "played", measured against the
+ * start of the session rather than the previous chunk so that delays do not add up. A live source that delivers at
+ * real-time rate is therefore never delayed, while recorded audio is throttled to real time.
+ *
+ * @author agent - Initial contribution
+ *
+ */
+public class KaldiAudioPump implements RecognitionEventListener {
+
+    /**
+     * Number of chunks sent per second of audio, at least 4 [See: http://bit.ly/1V4Ktw2]
+     */
+    public static final int CHUNK_RATE = 4;
+
+    private final DuplexRecognitionSession recognitionSession;
+
+    private final InputStream audioStream;
+
+    private final int byteRate;
+
+    /**
+     * Boolean indicating if the server closed the connection
+     */
+    private volatile boolean isClosed;
+
+    /**
+     * Boolean indicating if the pump is aborting
+     */
+    private volatile boolean isAborting;
+
+    /**
+     * Constructs an instance that sends the passed audio to the passed session
+     *
+     * @param recognitionSession The session to send the audio to
+     * @param audioStream The source of the audio data
+     * @param byteRate The number of audio bytes per second
+     */
+    public KaldiAudioPump(DuplexRecognitionSession recognitionSession, InputStream audioStream, int byteRate) {
+        if (byteRate <= 0) {
+            throw new IllegalArgumentException("The byte rate must be positive");
+        }
+        this.recognitionSession = recognitionSession;
+        this.audioStream = audioStream;
+        this.byteRate = byteRate;
+
+        recognitionSession.addRecognitionEventListener(this);
+    }
+
+    /**
+     * Sends the audio until its end is reached, the pump is aborted or the server closes the session. The last chunk
+     * is always flagged as such, so the server can finish the recognition.
+     *
+     * @return The number of audio bytes sent
+     * @throws IOException if reading or sending the audio fails
+     * @throws InterruptedException if interrupted while waiting to send the next chunk
+     */
+    public long pump() throws IOException, InterruptedException {
+        int chunkSize = Math.max(2, byteRate / CHUNK_RATE) & ~1; // keep 16 bit samples intact
+        byte[] buffer = new byte[chunkSize];
+        long start = System.nanoTime();
+        long sent = 0;
+
+        while (!isAborting && !isClosed) {
+            int size = fill(buffer);
+            if (size < chunkSize) {
+                // the end of the audio has been reached
+                recognitionSession.sendChunk(Arrays.copyOf(buffer, Math.max(size, 0)), true);
+                return sent + Math.max(size, 0);
+            }
+
+            // do not get ahead of real time by more than one chunk
+            long due = start + TimeUnit.SECONDS.toNanos(sent) / byteRate;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            recognitionSession.sendChunk(buffer, false);
+            sent += size;
+        }
+
+        if (isAborting && !isClosed) {
+            recognitionSession.sendChunk(new byte[0], true);
+        }
+        return sent;
+    }
+
+    /**
+     * Reads a complete chunk, unless the end of the audio is reached
+     *
+     * @return The number of bytes read, -1 if the end of the audio was reached before reading anything
+     */
+    private int fill(byte[] buffer) throws IOException {
+        int size = 0;
+        while (size < buffer.length && !isAborting) {
+            int read = audioStream.read(buffer, size, buffer.length - size);
+            if (read < 0) {
+                return size == 0 ? -1 : size;
+            }
+            size += read;
+        }
+        return size;
+    }
+
+    /**
+     * Initiates aborting the pump, the last chunk is sent right away
+     */
+    public void abort() {
+        this.isAborting = true;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onRecognitionEvent(RecognitionEvent recognitionEvent) {
+        // RecognitionEvent are ignored
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onClose() {
+        this.isClosed = true;
+    }
+}
@@ -12,15 +12,26 @@ import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.HashSet;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
 
+import org.eclipse.smarthome.config.core.ConfigurableService;
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioStream;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.voice.STTException;
 import org.eclipse.smarthome.core.voice.STTListener;
 import org.eclipse.smarthome.core.voice.STTService;
 import org.eclipse.smarthome.core.voice.STTServiceHandle;
+import org.osgi.framework.Constants;
+import org.osgi.service.component.annotations.Activate;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import ee.ioc.phon.netspeechapi.duplex.WsDuplexRecognitionSession;
 
@@ -30,13 +41,44 @@ import ee.ioc.phon.netspeechapi.duplex.WsDuplexRecognitionSession;
  * @author Kelly Davis - Initial contribution and API
  *
  */
-@Component
+@Component(configurationPid = KaldiSTTService.SERVICE_PID, property = {
+        Constants.SERVICE_PID + "=" + KaldiSTTService.SERVICE_PID,
+        ConfigurableService.SERVICE_PROPERTY_LABEL + "=Kaldi Speech-to-Text",
+        ConfigurableService.SERVICE_PROPERTY_DESCRIPTION_URI + "=voice:kaldi",
+        ConfigurableService.SERVICE_PROPERTY_CATEGORY + "=voice" })
 public class KaldiSTTService implements STTService {
 
+    static final String SERVICE_PID = "org.openhab.voice.kaldi";
+
+    /**
+     * Configuration parameters
+     */
+    private static final String PARAM_URL = "url";
+    private static final String PARAM_MAX_SESSIONS = "maxSessions";
+
+    /**
+     * Default WebSocket URL to the head node of the Kaldi server cluster
+     */
+    private static final String DEFAULT_URL = "ws://52.37.26.79:8888/client/ws/speech";
+
+    private static final int DEFAULT_MAX_SESSIONS = 2;
+
+    private final Logger logger = LoggerFactory.getLogger(KaldiSTTService.class);
+
     /**
-     * WebSocket URL to the head node of the Kaldi server cluster
+     * Shared pool running the recognition sessions
      */
-    private static final String kaldiWebSocketURL = "ws://52.37.26.79:8888/client/ws/speech";
+    private final ExecutorService executor = ThreadPoolManager.getPool("kaldi");
+
+    /**
+     * WebSocket URL of the Kaldi GStreamer server, which may also be a locally hosted one
+     */
+    private volatile String kaldiWebSocketURL = DEFAULT_URL;
+
+    /**
+     * Limits the number of concurrent recognition sessions
+     */
+    private final SessionLimiter sessions = new SessionLimiter(DEFAULT_MAX_SESSIONS);
 
     /**
      * Set of supported locales
@@ -48,6 +90,30 @@ public class KaldiSTTService implements STTService {
      */
     private final HashSet<AudioFormat> audioFormats = initAudioFormats();
 
+    @Activate
+    protected void activate(Map<String, Object> config) {
+        modified(config);
+    }
+
+    @Modified
+    protected void modified(Map<String, Object> config) {
+        Object url = config == null ? null : config.get(PARAM_URL);
+        kaldiWebSocketURL = url == null || url.toString().trim().isEmpty() ? DEFAULT_URL : url.toString().trim();
+
+        int maxSessions = DEFAULT_MAX_SESSIONS;
+        Object value = config == null ? null : config.get(PARAM_MAX_SESSIONS);
+        if (value != null) {
+            try {
+                maxSessions = Math.max(1, Integer.parseInt(value.toString().trim()));
+            } catch (NumberFormatException e) {
+                logger.warn("Invalid maximum number of sessions '{}', using {}", value, DEFAULT_MAX_SESSIONS);
+            }
+        }
+        // sessions still running keep their permits and release them to the resized limiter
+        sessions.setMaxSessions(maxSessions);
+        logger.debug("Using Kaldi server {} with at most {} concurrent sessions", kaldiWebSocketURL, maxSessions);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -96,13 +162,19 @@ public class KaldiSTTService implements STTService {
         }
         // Note: Currently Kaldi doesn't use grammars. Thus grammars isn't validated
 
+        if (!sessions.tryAcquire()) {
+            throw new STTException("Too many concurrent recognition sessions");
+        }
+
         // Setup WsDuplexRecognitionSession
         WsDuplexRecognitionSession recognitionSession;
         try {
             recognitionSession = new WsDuplexRecognitionSession(kaldiWebSocketURL);
         } catch (IOException e) {
+            sessions.release();
             throw new STTException("Error connected to the server", e);
         } catch (URISyntaxException e) {
+            sessions.release();
             throw new STTException("Invalid WebSocket URL", e);
         }
         // One need not call recognitionSession.setContentType(...) [See http://bit.ly/1TGvQzA]
@@ -110,14 +182,43 @@ public class KaldiSTTService implements STTService {
 
         // Start recognition
         STTServiceKaldiRunnable sttServiceKaldiRunnable = new STTServiceKaldiRunnable(recognitionSession, sttListener,
-                audioStream);
-        Thread thread = new Thread(sttServiceKaldiRunnable);
-        thread.start();
+                audioStream, sessions::release);
+        try {
+            executor.execute(sttServiceKaldiRunnable);
+        } catch (RejectedExecutionException e) {
+            sessions.release();
+            throw new STTException("Unable to start the recognition", e);
+        }
 
         // Return STTServiceHandleKaldi
         return new STTServiceHandleKaldi(sttServiceKaldiRunnable);
     }
 
+    /**
+     * Semaphore whose number of permits can be changed while permits are acquired. When the maximum is lowered below
+     * the number of running sessions, no new session is started until enough of them have released their permits.
+     */
+    private static class SessionLimiter extends Semaphore {
+        private static final long serialVersionUID = 1L;
+
+        private int maxSessions;
+
+        SessionLimiter(int maxSessions) {
+            super(maxSessions);
+            this.maxSessions = maxSessions;
+        }
+
+        synchronized void setMaxSessions(int maxSessions) {
+            int delta = maxSessions - this.maxSessions;
+            if (delta > 0) {
+                release(delta);
+            } else if (delta < 0) {
+                reducePermits(-delta);
+            }
+            this.maxSessions = maxSessions;
+        }
+    }
+
     /**
      * Initializes this.locales
      *
@@ -154,13 +255,11 @@ public class KaldiSTTService implements STTService {
 
     @Override
     public String getId() {
-        // TODO Auto-generated method stub
-        return null;
+        return "kaldi";
     }
 
     @Override
     public String getLabel(Locale locale) {
-        // TODO Auto-generated method stub
-        return null;
+        return "Kaldi";
     }
 }
@@ -9,7 +9,6 @@
 package org.openhab.voice.kaldi.internal;
 
 import java.io.IOException;
-import java.util.Arrays;
 
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioStream;
@@ -17,8 +16,6 @@ import org.eclipse.smarthome.core.voice.RecognitionStartEvent;
 import org.eclipse.smarthome.core.voice.STTListener;
 import org.eclipse.smarthome.core.voice.SpeechRecognitionErrorEvent;
 
-import ee.ioc.phon.netspeechapi.duplex.RecognitionEvent;
-import ee.ioc.phon.netspeechapi.duplex.RecognitionEventListener;
 import ee.ioc.phon.netspeechapi.duplex.WsDuplexRecognitionSession;
 
 /**
@@ -27,32 +24,27 @@ import ee.ioc.phon.netspeechapi.duplex.WsDuplexRecognitionSession;
  * @author Kelly Davis - Initial contribution and API
  *
  */
-public class STTServiceKaldiRunnable implements Runnable, RecognitionEventListener {
+public class STTServiceKaldiRunnable implements Runnable {
 
     /**
-     * Boolean indicating if the server closed the connection
+     * The STTListener notified of STTEvents
      */
-    private volatile boolean isClosed;
+    private final STTListener sttListener;
 
     /**
-     * Boolean indicating if the thread is aborting
+     * The WsDuplexRecognitionSession communication is over
      */
-    private volatile boolean isAborting;
+    private final WsDuplexRecognitionSession recognitionSession;
 
     /**
-     * The source of audio data
+     * The pump sending the audio data in chunks
      */
-    private final AudioStream audioStream;
+    private final KaldiAudioPump audioPump;
 
     /**
-     * The STTListener notified of STTEvents
+     * Called when the audio has been sent, may be null
      */
-    private final STTListener sttListener;
-
-    /**
-     * The WsDuplexRecognitionSession communication is over
-     */
-    private final WsDuplexRecognitionSession recognitionSession;
+    private final Runnable onFinished;
 
     /**
      * Constructs an instance targeting the passed WsDuplexRecognitionSession
@@ -60,16 +52,17 @@ public class STTServiceKaldiRunnable implements Runnable, RecognitionEventListen
      * @param recognitionSession The WsDuplexRecognitionSession sesion
      * @param sttListener The STTListener targeted for STTEvents
      * @param audioStream The AudioSource data
+     * @param onFinished Called when the audio has been sent, may be null
      */
     public STTServiceKaldiRunnable(WsDuplexRecognitionSession recognitionSession, STTListener sttListener,
-            AudioStream audioStream) {
-        this.isClosed = false;
-        this.isAborting = false;
-        this.audioStream = audioStream;
+            AudioStream audioStream, Runnable onFinished) {
         this.sttListener = sttListener;
         this.recognitionSession = recognitionSession;
+        this.onFinished = onFinished;
 
-        this.recognitionSession.addRecognitionEventListener(this);
+        AudioFormat audioFormat = audioStream.getFormat();
+        int bitRate = audioFormat.getBitRate().intValue();
+        this.audioPump = new KaldiAudioPump(recognitionSession, audioStream, bitRate / 8);
     }
 
     /**
@@ -79,39 +72,10 @@ public class STTServiceKaldiRunnable implements Runnable, RecognitionEventListen
     public void run() {
         try {
             this.recognitionSession.connect();
-            AudioFormat audioFormat = this.audioStream.getFormat();
-            int bitRate = audioFormat.getBitRate().intValue();
-            int byteRate = (bitRate / 8);
-            int chunkRate = 4; // 4 <= chunkRate [See: http://bit.ly/1V4Ktw2]
-            byte buffer[] = new byte[byteRate / chunkRate];
 
             sttListener.sttEventReceived(new RecognitionStartEvent());
 
-            boolean sentLastChunk = false;
-            while (!this.isAborting && !this.isClosed) {
-                long millisWithinChunkSecond = System.currentTimeMillis() % (1000 / chunkRate);
-                int size = audioStream.read(buffer);
-                if (size < 0) {
-                    sentLastChunk = true;
-                    byte buffer2[] = new byte[0];
-                    this.recognitionSession.sendChunk(buffer2, true);
-                    break;
-                }
-                if (size == (byteRate / chunkRate)) {
-                    this.recognitionSession.sendChunk(buffer, false);
-                } else {
-                    sentLastChunk = true;
-                    byte buffer2[] = Arrays.copyOf(buffer, size);
-                    this.recognitionSession.sendChunk(buffer2, true);
-                    break;
-                }
-                Thread.sleep(1000 / chunkRate - millisWithinChunkSecond);
-            }
-
-            if (this.isAborting && !this.isClosed && !sentLastChunk) {
-                byte buffer2[] = new byte[0];
-                this.recognitionSession.sendChunk(buffer2, true);
-            }
+            this.audioPump.pump();
         } catch (IOException e) {
             sttListener.sttEventReceived(new SpeechRecognitionErrorEvent("Unable to send audio data to the server"));
         } catch (InterruptedException e) {
@@ -121,7 +85,7 @@ public class STTServiceKaldiRunnable implements Runnable, RecognitionEventListen
             // Note: This is a workaround for a bug in net-speech-api and Java-WebSocket.
             //
             // The problem is RecognitionEventListener's onClose() are only called
-            // after the connection is closed. Thus, the loop above does not know
+            // after the connection is closed. Thus, the pump does not know
             // when to stop sending data and may try to send data on a session that
             // is closed.
             //
@@ -134,6 +98,10 @@ public class STTServiceKaldiRunnable implements Runnable, RecognitionEventListen
             // This temporary, but working, solution is to catch a RuntimeException
             // here and assume that it results from sendChunk() being called on a
             // closed session then proceede as if onClose() was called.
+        } finally {
+            if (onFinished != null) {
+                onFinished.run();
+            }
         }
     }
 
@@ -141,22 +109,6 @@ public class STTServiceKaldiRunnable implements Runnable, RecognitionEventListen
      * This method initiates the process of aborting this thread
      */
     public void abort() {
-        this.isAborting = true;
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public void onRecognitionEvent(RecognitionEvent recognitionEvent) {
-        // RecognitionEvent are ignored
-    }
-
-    /**
-     * {@inheritDoc}
-     */
-    @Override
-    public void onClose() {
-        this.isClosed = true;
+        this.audioPump.abort();
     }
 }
@@ -0,0 +1,204 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.voice.kaldi.tool;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import javax.sound.sampled.AudioFileFormat;
+import javax.sound.sampled.AudioFormat;
+import javax.sound.sampled.AudioSystem;
+import javax.sound.sampled.UnsupportedAudioFileException;
+
+import org.openhab.voice.kaldi.internal.KaldiAudioPump;
+
+import ee.ioc.phon.netspeechapi.duplex.RecognitionEvent;
+import ee.ioc.phon.netspeechapi.duplex.RecognitionEventListener;
+import ee.ioc.phon.netspeechapi.duplex.WsDuplexRecognitionSession;
+
+/**
+ * This class feeds recorded WAV files to a Kaldi GStreamer server the same way the STT service does and reports the
+ * first partial latency and the real-time factor of each recognition.
+ *
+ * @author agent - Initial contribution
+ */
+public class KaldiBenchmark {
+
+    public static final int RC_OK = 0;
+    public static final int RC_USAGE = 1;
+    public static final int RC_INPUT_FILE_NOT_FOUND = 2;
+    public static final int RC_RECOGNITION_FAILED = 3;
+
+    /**
+     * Time to wait for the final result after the audio has been sent
+     */
+    private static final long RESULT_TIMEOUT_SECONDS = 30;
+
+    public static void main(String[] args) throws IOException {
+        KaldiBenchmark tool = new KaldiBenchmark();
+        int rc = tool.doMain(args);
+        System.exit(rc);
+    }
+
+    public int doMain(String[] args) throws IOException {
+        if ((args == null) || (args.length < 2)) {
+            usage();
+            return RC_USAGE;
+        }
+        String url = args[0];
+        for (int i = 1; i < args.length; i++) {
+            if (!new File(args[i]).exists()) {
+                usage();
+                System.err.println("File " + args[i] + " not found");
+                return RC_INPUT_FILE_NOT_FOUND;
+            }
+        }
+
+        int rc = RC_OK;
+        double totalAudio = 0;
+        double totalProcessing = 0;
+        for (int i = 1; i < args.length; i++) {
+            Result result = benchmark(url, new File(args[i]));
+            if (result == null) {
+                rc = RC_RECOGNITION_FAILED;
+                continue;
+            }
+            totalAudio += result.audioSeconds;
+            totalProcessing += result.processingSeconds;
+        }
+        if (totalAudio > 0) {
+            System.out.println(String.format("Total: %.2fs audio, real-time factor %.2f", totalAudio,
+                    totalProcessing / totalAudio));
+        }
+        return rc;
+    }
+
+    private void usage() {
+        System.out.println("Usage: java org.openhab.voice.kaldi.tool.KaldiBenchmark <args>");
+        System.out.println("Arguments: <url> <wav-file> { <wav-file> }");
+        System.out.println("  url       the WebSocket URL of the Kaldi server, e.g. \"ws://localhost:8888/client/ws/speech\"");
+        System.out.println("  wav-file  a recorded WAV file to recognize, e.g. \"turn-on-the-light.wav\"");
+        System.out.println();
+        System.out.println(
+                "Sample: java org.openhab.voice.kaldi.tool.KaldiBenchmark ws://localhost:8888/client/ws/speech *.wav");
+        System.out.println();
+    }
+
+    private Result benchmark(String url, File file) throws IOException {
+        AudioFormat format;
+        double audioSeconds;
+        try {
+            AudioFileFormat fileFormat = AudioSystem.getAudioFileFormat(file);
+            format = fileFormat.getFormat();
+            audioSeconds = fileFormat.getFrameLength() / format.getFrameRate();
+        } catch (UnsupportedAudioFileException e) {
+            System.err.println(file + ": not a supported audio file");
+            return null;
+        }
+        int byteRate = Math.round(format.getFrameRate() * format.getFrameSize());
+
+        WsDuplexRecognitionSession recognitionSession;
+        try {
+            recognitionSession = new WsDuplexRecognitionSession(url);
+        } catch (URISyntaxException e) {
+            System.err.println("Invalid WebSocket URL " + url);
+            return null;
+        }
+        Listener listener = new Listener();
+        recognitionSession.addRecognitionEventListener(listener);
+
+        // the whole file is sent, the server detects the format from the WAV header
+        try (InputStream audioStream = new BufferedInputStream(new FileInputStream(file))) {
+            KaldiAudioPump audioPump = new KaldiAudioPump(recognitionSession, audioStream, byteRate);
+            recognitionSession.connect();
+            listener.start = System.nanoTime();
+            audioPump.pump();
+            listener.audioSent = System.nanoTime();
+            if (!listener.closed.await(RESULT_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.err.println(file + ": no final result within " + RESULT_TIMEOUT_SECONDS + " seconds");
+                return null;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (IOException | RuntimeException e) {
+            System.err.println(file + ": " + e.getMessage());
+            return null;
+        }
+
+        if (listener.finalResult == 0) {
+            System.err.println(file + ": no result, status " + listener.status);
+            return null;
+        }
+        Result result = new Result();
+        result.audioSeconds = audioSeconds;
+        result.processingSeconds = (listener.finalResult - listener.start) / 1e9;
+        System.out.println(String.format(
+                "%s: %.2fs audio, first partial after %dms, final result %dms after the end of the audio, "
+                        + "real-time factor %.2f: %s",
+                file.getName(), audioSeconds, millis(listener.firstPartial - listener.start),
+                millis(listener.finalResult - listener.audioSent), result.processingSeconds / audioSeconds,
+                listener.transcript));
+        return result;
+    }
+
+    private static long millis(long nanos) {
+        return nanos < 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(nanos);
+    }
+
+    private static class Result {
+        double audioSeconds;
+        double processingSeconds;
+    }
+
+    /**
+     * Records the time of the first partial and the last final result
+     */
+    private static class Listener implements RecognitionEventListener {
+        final CountDownLatch closed = new CountDownLatch(1);
+        volatile long start;
+        volatile long audioSent;
+        volatile long firstPartial;
+        volatile long finalResult;
+        volatile int status;
+        final StringBuilder transcript = new StringBuilder();
+
+        @Override
+        public void onRecognitionEvent(RecognitionEvent recognitionEvent) {
+            long now = System.nanoTime();
+            status = recognitionEvent.getStatus();
+            if (status != RecognitionEvent.STATUS_SUCCESS) {
+                return;
+            }
+            RecognitionEvent.Result result = recognitionEvent.getResult();
+            if (firstPartial == 0) {
+                firstPartial = now;
+            }
+            if (result.isFinal()) {
+                finalResult = now;
+                if (!result.getHypotheses().isEmpty()) {
+                    synchronized (transcript) {
+                        transcript.append(result.getHypotheses().get(0).getTranscript()).append(' ');
+                    }
+                }
+            }
+        }
+
+        @Override
+        public void onClose() {
+            closed.countDown();
+        }
+    }
+}
@@ -13,8 +13,6 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.SequenceInputStream;
 
-import javax.sound.sampled.AudioInputStream;
-
 import org.apache.commons.io.IOUtils;
 import org.eclipse.smarthome.core.audio.AudioException;
 import org.eclipse.smarthome.core.audio.AudioFormat;
@@ -45,15 +43,14 @@ class MaryTTSAudioStream extends FixedLengthAudioStream {
     /**
      * Constructs an instance with the passed properties
      *
-     * @param inputStream The InputStream of this instance
+     * @param rawAudio The raw audio data of this instance
      * @param audioFormat The AudioFormat of this instance
-     * @throws IOException
      */
-    public MaryTTSAudioStream(AudioInputStream inputStream, AudioFormat audioFormat) throws IOException {
-        rawAudio = IOUtils.toByteArray(inputStream);
+    public MaryTTSAudioStream(byte[] rawAudio, AudioFormat audioFormat) {
+        this.rawAudio = rawAudio;
         this.length = rawAudio.length + 36;
-        this.inputStream = new SequenceInputStream(getWavHeaderInputStream(length), new ByteArrayInputStream(rawAudio));
         this.audioFormat = audioFormat;
+        this.inputStream = new SequenceInputStream(getWavHeaderInputStream(length), new ByteArrayInputStream(rawAudio));
     }
 
     @Override
@@ -81,7 +78,18 @@ class MaryTTSAudioStream extends FixedLengthAudioStream {
         return length;
     }
 
-    private InputStream getWavHeaderInputStream(int length) throws IOException {
+    private InputStream getWavHeaderInputStream(int length) {
+        return new ByteArrayInputStream(getWavHeader(length - 36, this.audioFormat));
+    }
+
+    /**
+     * Creates the WAVE header for 16 bit mono PCM audio
+     *
+     * @param rawLength The length of the raw audio data in bytes
+     * @param audioFormat The AudioFormat of the audio, may be null
+     * @return The 44 byte WAVE header
+     */
+    static byte[] getWavHeader(long rawLength, AudioFormat audioFormat) {
         // WAVE header
         // see http://www-mmsp.ece.mcgill.ca/Documents/AudioFormats/WAVE/WAVE.html
         byte[] header = new byte[44];
@@ -89,8 +97,8 @@ class MaryTTSAudioStream extends FixedLengthAudioStream {
         byte format = 0x10; // PCM
         byte bits = 16;
         byte channel = 1;
-        long srate = (this.audioFormat != null) ? this.audioFormat.getFrequency() : 48000l;
-        long rawLength = length - 36;
+        long srate = (audioFormat != null) ? audioFormat.getFrequency() : 48000l;
+        long length = rawLength + 36;
         long bitrate = srate * channel * bits;
 
         header[0] = 'R';
@@ -137,7 +145,7 @@ class MaryTTSAudioStream extends FixedLengthAudioStream {
         header[41] = (byte) ((rawLength >> 8) & 0xff);
         header[42] = (byte) ((rawLength >> 16) & 0xff);
         header[43] = (byte) ((rawLength >> 24) & 0xff);
-        return new ByteArrayInputStream(header);
+        return header;
     }
 
     @Override
@@ -148,10 +156,6 @@ class MaryTTSAudioStream extends FixedLengthAudioStream {
 
     @Override
     public InputStream getClonedStream() throws AudioException {
-        try {
-            return new SequenceInputStream(getWavHeaderInputStream(length), new ByteArrayInputStream(rawAudio));
-        } catch (IOException e) {
-            throw new AudioException(e);
-        }
+        return new SequenceInputStream(getWavHeaderInputStream(length), new ByteArrayInputStream(rawAudio));
     }
 }
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.voice.marytts.internal;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+import marytts.LocalMaryInterface;
+import marytts.MaryInterface;
+import marytts.exceptions.MaryConfigurationException;
+
+/**
+ * A bounded pool of {@link MaryInterface}s, so that several texts can be synthesized in parallel. A
+ * {@link MaryInterface} keeps the selected locale and voice, so each one must only be used by a single thread at a
+ * time. Interfaces are created lazily up to the size of the pool.
+ *
+ * A pool that is replaced (e.g. to change its size) is shut down: it hands out no more interfaces, and interfaces
+ * given back by syntheses still running on it are dropped.
+ *
+ * @author agent - Initial contribution
+ */
+class MaryTTSInterfacePool {
+
+    private final int size;
+
+    private final Semaphore available;
+
+    private final ConcurrentLinkedQueue<MaryInterface> idle = new ConcurrentLinkedQueue<>();
+
+    private volatile boolean shutdown;
+
+    /**
+     * Constructs a pool
+     *
+     * @param size The maximum number of interfaces used in parallel
+     * @param initial An already created interface to add to the pool, may be null
+     */
+    MaryTTSInterfacePool(int size, MaryInterface initial) {
+        this.size = Math.max(1, size);
+        this.available = new Semaphore(this.size, true);
+        if (initial != null) {
+            idle.add(initial);
+        }
+    }
+
+    /**
+     * Takes an interface from the pool, waiting until one is available
+     *
+     * @return The interface, which must be given back with {@link #release(MaryInterface)}, or null if the pool has
+     *         been shut down and the pool replacing it must be used
+     * @throws InterruptedException if interrupted while waiting
+     * @throws MaryConfigurationException if a new interface could not be created
+     */
+    MaryInterface acquire() throws InterruptedException, MaryConfigurationException {
+        available.acquire();
+        if (shutdown) {
+            // wake up the next thread waiting for this pool
+            available.release();
+            return null;
+        }
+        MaryInterface marytts = idle.poll();
+        if (marytts == null) {
+            try {
+                marytts = new LocalMaryInterface();
+            } catch (MaryConfigurationException | RuntimeException e) {
+                available.release();
+                throw e;
+            }
+        }
+        return marytts;
+    }
+
+    /**
+     * Gives an interface back to the pool
+     *
+     * @param marytts The interface taken with {@link #acquire()}
+     */
+    void release(MaryInterface marytts) {
+        if (!shutdown) {
+            idle.add(marytts);
+        }
+        available.release();
+    }
+
+    /**
+     * Shuts the pool down, threads waiting for an interface get null from {@link #acquire()}
+     *
+     * @return An idle interface that can be added to the pool replacing this one, may be null
+     */
+    MaryInterface shutdown() {
+        shutdown = true;
+        MaryInterface marytts = idle.poll();
+        idle.clear();
+        // wake up the threads waiting for this pool
+        available.release();
+        return marytts;
+    }
+
+    int getSize() {
+        return size;
+    }
+}
@@ -10,16 +10,35 @@ package org.openhab.voice.marytts.internal;
 
 import static javax.sound.sampled.AudioSystem.NOT_SPECIFIED;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.text.BreakIterator;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.apache.commons.io.IOUtils;
+import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.eclipse.smarthome.config.core.ConfigurableService;
+import org.eclipse.smarthome.core.audio.AudioException;
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioStream;
+import org.eclipse.smarthome.core.common.ThreadPoolManager;
 import org.eclipse.smarthome.core.voice.TTSException;
 import org.eclipse.smarthome.core.voice.TTSService;
+import org.openhab.voice.ttscache.CachedAudio;
+import org.openhab.voice.ttscache.CachedAudioStream;
+import org.openhab.voice.ttscache.TTSCache;
+import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -35,12 +54,51 @@ import marytts.modules.synthesis.Voice;
  * @author Kelly Davis - Initial contribution and API
  * @author Kai Kreuzer - Refactored to updated APIs and moved to openHAB
  */
-@Component
+@Component(configurationPid = MaryTTSService.SERVICE_PID, property = {
+        Constants.SERVICE_PID + "=" + MaryTTSService.SERVICE_PID,
+        ConfigurableService.SERVICE_PROPERTY_LABEL + "=Mary Text-to-Speech",
+        ConfigurableService.SERVICE_PROPERTY_DESCRIPTION_URI + "=voice:marytts",
+        ConfigurableService.SERVICE_PROPERTY_CATEGORY + "=voice" })
 public class MaryTTSService implements TTSService {
 
     private final Logger logger = LoggerFactory.getLogger(MaryTTSService.class);
 
-    private MaryInterface marytts;
+    static final String SERVICE_PID = "org.openhab.voice.marytts";
+
+    private static final String CACHE_FOLDER_NAME = "cache";
+
+    private static final String THREAD_POOL_NAME = "marytts";
+
+    /**
+     * Configuration parameters
+     */
+    private static final String PARAM_POOL_SIZE = "poolSize";
+    private static final String PARAM_STREAMING = "streaming";
+
+    private static final int DEFAULT_POOL_SIZE = 2;
+
+    private final ExecutorService executor = ThreadPoolManager.getPool(THREAD_POOL_NAME);
+
+    /**
+     * Pool of MaryTTS interfaces used for synthesis
+     */
+    private volatile MaryTTSInterfacePool pool;
+
+    /**
+     * Whether texts with several sentences are streamed sentence by sentence. The streamed audio has no fixed length,
+     * which not all audio sinks support, so this is disabled by default.
+     */
+    private volatile boolean streaming;
+
+    /**
+     * Streamed syntheses by file name in cache, so that concurrent requests for the same text share one synthesis
+     */
+    private final Map<String, MaryTTSStreamingSynthesis> streamingSyntheses = new HashMap<>();
+
+    /**
+     * Cache of the synthesized audio
+     */
+    private TTSCache cache;
 
     /**
      * Set of supported voices
@@ -52,16 +110,57 @@ public class MaryTTSService implements TTSService {
      */
     private Set<AudioFormat> audioFormats;
 
-    protected void activate() {
+    protected void activate(Map<String, Object> config) {
         try {
-            marytts = new LocalMaryInterface();
-            voices = initVoices();
-            audioFormats = initAudioFormats();
+            MaryInterface marytts = new LocalMaryInterface();
+            voices = initVoices(marytts);
+            audioFormats = initAudioFormats(marytts);
+            pool = new MaryTTSInterfacePool(getPoolSize(config), marytts);
+            streaming = getStreaming(config);
+            File cacheFolder = new File(new File(ConfigConstants.getUserDataFolder(), CACHE_FOLDER_NAME), SERVICE_PID);
+            logger.debug("Using cache folder {}", cacheFolder.getAbsolutePath());
+            cache = new TTSCache(cacheFolder);
+            cache.configure(config);
         } catch (MaryConfigurationException e) {
             logger.error("Failed to initialize MaryTTS: {}", e.getMessage(), e);
         }
     }
 
+    @Modified
+    protected void modified(Map<String, Object> config) {
+        int poolSize = getPoolSize(config);
+        MaryTTSInterfacePool oldPool = pool;
+        if (oldPool != null && oldPool.getSize() != poolSize) {
+            // interfaces still in use are given back to the old pool and dropped with it
+            pool = new MaryTTSInterfacePool(poolSize, oldPool.shutdown());
+        }
+        streaming = getStreaming(config);
+        if (cache != null) {
+            cache.configure(config);
+        }
+    }
+
+    private int getPoolSize(Map<String, Object> config) {
+        Object value = config == null ? null : config.get(PARAM_POOL_SIZE);
+        if (value == null) {
+            return DEFAULT_POOL_SIZE;
+        }
+        if (value instanceof Number) {
+            return Math.max(1, ((Number) value).intValue());
+        }
+        try {
+            return Math.max(1, Integer.parseInt(value.toString().trim()));
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid pool size '{}', using {}", value, DEFAULT_POOL_SIZE);
+            return DEFAULT_POOL_SIZE;
+        }
+    }
+
+    private boolean getStreaming(Map<String, Object> config) {
+        Object value = config == null ? null : config.get(PARAM_STREAMING);
+        return value != null && Boolean.parseBoolean(value.toString());
+    }
+
     @Override
     public Set<org.eclipse.smarthome.core.voice.Voice> getAvailableVoices() {
         return voices;
@@ -110,17 +209,151 @@ public class MaryTTSService implements TTSService {
         Voice maryTTSVoice = Voice.getVoice(voice.getLabel());
         AudioFormat maryTTSVoiceAudioFormat = getAudioFormat(maryTTSVoice.dbAudioFormat());
 
-        // Synchronize on marytts
-        synchronized (marytts) {
+        String fileNameInCache = TTSCache.getUniqueFilenameForText(text, voice.getLabel());
+        try {
+            CachedAudio cachedAudio = cache.getIfPresent(fileNameInCache, "wav");
+            if (cachedAudio == null) {
+                List<String> sentences = splitSentences(text, voice.getLocale());
+                if (streaming && sentences.size() > 1) {
+                    return stream(sentences, voice, maryTTSVoiceAudioFormat, fileNameInCache, text);
+                }
+                cachedAudio = cache.get(fileNameInCache, "wav", text, outputStream -> {
+                    try (MaryTTSAudioStream audioStream = new MaryTTSAudioStream(generateRawAudio(text, voice),
+                            maryTTSVoiceAudioFormat)) {
+                        IOUtils.copy(audioStream, outputStream);
+                    }
+                });
+            }
+            return new CachedAudioStream(cachedAudio, maryTTSVoiceAudioFormat);
+        } catch (IOException | AudioException e) {
+            throw new TTSException("Error generating an AudioStream", e);
+        } finally {
+            logger.trace("{}", cache);
+        }
+    }
+
+    /**
+     * Synthesizes the sentences one after the other in the background and returns a stream that emits the audio of
+     * each sentence as soon as it is ready. Once all sentences are synthesized, the complete audio is cached. A
+     * request for a text that is already being streamed joins the running synthesis.
+     */
+    private AudioStream stream(List<String> sentences, org.eclipse.smarthome.core.voice.Voice voice,
+            AudioFormat audioFormat, String fileNameInCache, String text) {
+        MaryTTSStreamingSynthesis synthesis;
+        synchronized (streamingSyntheses) {
+            synthesis = streamingSyntheses.get(fileNameInCache);
+            if (synthesis != null) {
+                MaryTTSStreamingAudioStream audioStream = synthesis.join();
+                if (audioStream != null) {
+                    logger.debug("Joining the running synthesis of '{}'", text);
+                    return audioStream;
+                }
+            }
+            synthesis = new MaryTTSStreamingSynthesis(audioFormat);
+            streamingSyntheses.put(fileNameInCache, synthesis);
+        }
+
+        MaryTTSStreamingAudioStream audioStream = synthesis.join();
+        MaryTTSStreamingSynthesis localSynthesis = synthesis;
+        try {
+            executor.execute(() -> {
+                try {
+                    synthesizeSentences(localSynthesis, sentences, voice, fileNameInCache, text);
+                } finally {
+                    removeStreamingSynthesis(fileNameInCache, localSynthesis);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            removeStreamingSynthesis(fileNameInCache, localSynthesis);
+            localSynthesis.fail(new IOException("Unable to start the synthesis", e));
+        }
+        return audioStream;
+    }
+
+    private void removeStreamingSynthesis(String fileNameInCache, MaryTTSStreamingSynthesis synthesis) {
+        synchronized (streamingSyntheses) {
+            streamingSyntheses.remove(fileNameInCache, synthesis);
+        }
+    }
+
+    /**
+     * Synthesizes the sentences for the streams of the synthesis and caches the complete audio
+     */
+    private void synthesizeSentences(MaryTTSStreamingSynthesis synthesis, List<String> sentences,
+            org.eclipse.smarthome.core.voice.Voice voice, String fileNameInCache, String text) {
+        try {
+            for (String sentence : sentences) {
+                if (synthesis.stopIfClosed()) {
+                    logger.debug("Streams closed, stopping synthesis of '{}'", text);
+                    return;
+                }
+                synthesis.append(generateRawAudio(sentence, voice));
+            }
+            synthesis.complete();
+        } catch (IOException e) {
+            logger.debug("Error synthesizing '{}': {}", text, e.getMessage());
+            synthesis.fail(e);
+            return;
+        }
+
+        try {
+            cache.get(fileNameInCache, "wav", text, synthesis::writeTo).close();
+        } catch (IOException e) {
+            logger.debug("Could not write {} to cache: {}", fileNameInCache, e.getMessage());
+        }
+    }
+
+    /**
+     * Splits a text into its sentences
+     *
+     * @param text The text to split
+     * @param locale The locale of the text
+     * @return The non-empty sentences of the text
+     */
+    private List<String> splitSentences(String text, Locale locale) {
+        List<String> sentences = new ArrayList<>();
+        BreakIterator iterator = BreakIterator.getSentenceInstance(locale);
+        iterator.setText(text);
+        int start = iterator.first();
+        for (int end = iterator.next(); end != BreakIterator.DONE; start = end, end = iterator.next()) {
+            String sentence = text.substring(start, end).trim();
+            if (!sentence.isEmpty()) {
+                sentences.add(sentence);
+            }
+        }
+        return sentences;
+    }
+
+    /**
+     * Synthesizes a text with an interface from the pool
+     *
+     * @return The raw audio data without a header
+     */
+    private byte[] generateRawAudio(String text, org.eclipse.smarthome.core.voice.Voice voice) throws IOException {
+        MaryTTSInterfacePool localPool;
+        MaryInterface marytts;
+        try {
+            do {
+                // a pool replaced in the meantime hands out no interfaces
+                localPool = pool;
+                marytts = localPool.acquire();
+            } while (marytts == null);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for MaryTTS");
+        } catch (MaryConfigurationException e) {
+            throw new IOException(e);
+        }
+
+        try {
             // Set voice (Each voice supports only a single AudioFormat)
             marytts.setLocale(voice.getLocale());
             marytts.setVoice(voice.getLabel());
-
-            try {
-                return new MaryTTSAudioStream(marytts.generateAudio(text), maryTTSVoiceAudioFormat);
-            } catch (SynthesisException | IOException e) {
-                throw new TTSException("Error generating an AudioStream", e);
-            }
+            return IOUtils.toByteArray(marytts.generateAudio(text));
+        } catch (SynthesisException e) {
+            throw new IOException(e);
+        } finally {
+            localPool.release(marytts);
         }
     }
 
@@ -129,7 +362,7 @@ public class MaryTTSService implements TTSService {
      *
      * @return The voices of this instance
      */
-    private Set<org.eclipse.smarthome.core.voice.Voice> initVoices() {
+    private Set<org.eclipse.smarthome.core.voice.Voice> initVoices(MaryInterface marytts) {
         Set<org.eclipse.smarthome.core.voice.Voice> voices = new HashSet<>();
         for (Locale locale : marytts.getAvailableLocales()) {
             for (String voiceLabel : marytts.getAvailableVoices(locale)) {
@@ -144,7 +377,7 @@ public class MaryTTSService implements TTSService {
      *
      * @return The audio formats of this instance
      */
-    private Set<AudioFormat> initAudioFormats() {
+    private Set<AudioFormat> initAudioFormats(MaryInterface marytts) {
         Set<AudioFormat> audioFormats = new HashSet<>();
         for (String voiceLabel : marytts.getAvailableVoices()) {
             audioFormats.add(getAudioFormat(Voice.getVoice(voiceLabel).dbAudioFormat()));
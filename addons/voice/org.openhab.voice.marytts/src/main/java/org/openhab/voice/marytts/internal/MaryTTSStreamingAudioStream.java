@@ -0,0 +1,157 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.voice.marytts.internal;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+import org.eclipse.smarthome.core.audio.AudioFormat;
+import org.eclipse.smarthome.core.audio.AudioStream;
+
+/**
+ * An {@link AudioStream} for the {@link MaryTTSService} that is filled sentence by sentence while the text is still
+ * being synthesized, so playback can start as soon as the first sentence is ready. As the total length is unknown
+ * up front, the WAVE header announces the maximum length, as usual for streamed WAVE audio.
+ *
+ * @author agent - Initial contribution
+ */
+class MaryTTSStreamingAudioStream extends AudioStream {
+
+    /**
+     * Length of the raw audio announced in the WAVE header
+     */
+    private static final long STREAMING_LENGTH = 0xFFFFFFFFL - 36;
+
+    /**
+     * Marks the end of the audio in the queue of chunks
+     */
+    private static final byte[] END = new byte[0];
+
+    private final AudioFormat audioFormat;
+
+    private final BlockingQueue<byte[]> chunks = new LinkedBlockingQueue<>();
+
+    private volatile boolean closed;
+
+    private volatile IOException failure;
+
+    private byte[] current;
+
+    private int position;
+
+    /**
+     * Constructs an empty instance, to be filled with {@link #append(byte[])}
+     *
+     * @param audioFormat The AudioFormat of this instance
+     */
+    MaryTTSStreamingAudioStream(AudioFormat audioFormat) {
+        this.audioFormat = audioFormat;
+        this.current = MaryTTSAudioStream.getWavHeader(STREAMING_LENGTH, audioFormat);
+    }
+
+    /**
+     * Appends the raw audio of the next sentence
+     *
+     * @param rawAudio The raw audio data
+     */
+    void append(byte[] rawAudio) {
+        chunks.add(rawAudio);
+    }
+
+    /**
+     * Marks the audio as complete
+     */
+    void complete() {
+        chunks.add(END);
+    }
+
+    /**
+     * Marks the audio as failed, the reader gets the exception after the audio appended so far
+     *
+     * @param e The cause of the failure
+     */
+    void fail(IOException e) {
+        failure = e;
+        chunks.add(END);
+    }
+
+    /**
+     * @return true if the reader has closed this stream and no more audio is needed
+     */
+    boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public AudioFormat getFormat() {
+        return audioFormat;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return current[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int count = Math.min(len, current.length - position);
+        System.arraycopy(current, position, b, off, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return current == END ? 0 : current.length - position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        chunks.clear();
+        super.close();
+    }
+
+    /**
+     * Makes sure there is unread audio in the current chunk, waiting for the next sentence if needed
+     *
+     * @return false if the end of the audio has been reached
+     * @throws IOException if synthesizing the audio failed
+     */
+    private boolean fill() throws IOException {
+        while (position >= current.length) {
+            if (current == END || closed) {
+                IOException localFailure = failure;
+                if (localFailure != null) {
+                    throw localFailure;
+                }
+                return false;
+            }
+            try {
+                current = chunks.take();
+                position = 0;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for audio");
+            }
+        }
+        return true;
+    }
+}
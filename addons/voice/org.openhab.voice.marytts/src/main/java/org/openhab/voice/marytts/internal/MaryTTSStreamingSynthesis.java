@@ -0,0 +1,131 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.voice.marytts.internal;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.smarthome.core.audio.AudioFormat;
+
+/**
+ * A text being synthesized sentence by sentence for one or more {@link MaryTTSStreamingAudioStream}s. Requests for
+ * the same text join the running synthesis instead of synthesizing it again; a stream joining late first gets the
+ * sentences synthesized so far.
+ *
+ * @author agent - Initial contribution
+ */
+class MaryTTSStreamingSynthesis {
+
+    private final AudioFormat audioFormat;
+
+    private final List<byte[]> sentences = new ArrayList<>();
+
+    private final List<MaryTTSStreamingAudioStream> streams = new ArrayList<>();
+
+    private long rawLength;
+
+    private boolean completed;
+
+    private IOException failure;
+
+    private boolean stopped;
+
+    /**
+     * Constructs a synthesis without streams, to be joined with {@link #join()}
+     *
+     * @param audioFormat The AudioFormat of the synthesized audio
+     */
+    MaryTTSStreamingSynthesis(AudioFormat audioFormat) {
+        this.audioFormat = audioFormat;
+    }
+
+    /**
+     * Creates a stream for the audio of this synthesis
+     *
+     * @return The stream, or null if the synthesis failed or was stopped and can't be joined anymore
+     */
+    synchronized MaryTTSStreamingAudioStream join() {
+        if (failure != null || stopped) {
+            return null;
+        }
+        MaryTTSStreamingAudioStream audioStream = new MaryTTSStreamingAudioStream(audioFormat);
+        for (byte[] sentence : sentences) {
+            audioStream.append(sentence);
+        }
+        if (completed) {
+            audioStream.complete();
+        } else {
+            streams.add(audioStream);
+        }
+        return audioStream;
+    }
+
+    /**
+     * Appends the raw audio of the next sentence to all streams
+     *
+     * @param rawAudio The raw audio data
+     */
+    synchronized void append(byte[] rawAudio) {
+        sentences.add(rawAudio);
+        rawLength += rawAudio.length;
+        for (MaryTTSStreamingAudioStream audioStream : streams) {
+            audioStream.append(rawAudio);
+        }
+    }
+
+    /**
+     * Marks the audio of all streams as complete
+     */
+    synchronized void complete() {
+        completed = true;
+        for (MaryTTSStreamingAudioStream audioStream : streams) {
+            audioStream.complete();
+        }
+        streams.clear();
+    }
+
+    /**
+     * Marks the audio of all streams as failed
+     *
+     * @param e The cause of the failure
+     */
+    synchronized void fail(IOException e) {
+        failure = e;
+        for (MaryTTSStreamingAudioStream audioStream : streams) {
+            audioStream.fail(e);
+        }
+        streams.clear();
+    }
+
+    /**
+     * Stops the synthesis if all streams have been closed, so that no more audio is needed
+     *
+     * @return true if the synthesis has been stopped
+     */
+    synchronized boolean stopIfClosed() {
+        streams.removeIf(MaryTTSStreamingAudioStream::isClosed);
+        stopped = streams.isEmpty();
+        return stopped;
+    }
+
+    /**
+     * Writes the complete audio including the WAVE header
+     *
+     * @param outputStream The stream to write to
+     * @throws IOException if writing fails
+     */
+    synchronized void writeTo(OutputStream outputStream) throws IOException {
+        outputStream.write(MaryTTSAudioStream.getWavHeader(rawLength, audioFormat));
+        for (byte[] sentence : sentences) {
+            outputStream.write(sentence);
+        }
+    }
+}
@@ -57,12 +57,21 @@ class PicoTTSAudioStream extends FixedLengthAudioStream {
             this.length = file.length();
             return getFileInputStream(file);
         } catch (IOException e) {
+            deleteFile(outputFile);
             throw new AudioException("Error while executing '" + command + "'", e);
         } catch (InterruptedException e) {
+            deleteFile(outputFile);
             throw new AudioException("The '" + command + "' has been interrupted", e);
+        } catch (AudioException e) {
+            deleteFile(outputFile);
+            throw e;
         }
     }
 
+    private void deleteFile(String outputFile) {
+        new File(outputFile).delete();
+    }
+
     private InputStream getFileInputStream(File file) throws AudioException {
         if (file == null) {
             throw new IllegalArgumentException("file must not be null");
@@ -85,8 +94,8 @@ class PicoTTSAudioStream extends FixedLengthAudioStream {
      */
     private String generateOutputFilename() throws AudioException {
         try {
+            // the file is deleted when the stream is closed
             File tempFile = File.createTempFile(Integer.toString(text.hashCode()), ".wav");
-            tempFile.deleteOnExit();
             return tempFile.getAbsolutePath();
         } catch (IOException e) {
             throw new AudioException("Unable to create temp file.", e);
@@ -108,6 +117,18 @@ class PicoTTSAudioStream extends FixedLengthAudioStream {
         return inputStream.read();
     }
 
+    @Override
+    public void close() throws IOException {
+        try {
+            inputStream.close();
+        } finally {
+            if (file != null) {
+                file.delete();
+            }
+            super.close();
+        }
+    }
+
     @Override
     public long length() {
         return length;
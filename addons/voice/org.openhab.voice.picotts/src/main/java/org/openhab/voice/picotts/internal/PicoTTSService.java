@@ -8,25 +8,48 @@
  */
 package org.openhab.voice.picotts.internal;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Collections;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.apache.commons.io.IOUtils;
+import org.eclipse.smarthome.config.core.ConfigConstants;
+import org.eclipse.smarthome.config.core.ConfigurableService;
 import org.eclipse.smarthome.core.audio.AudioException;
 import org.eclipse.smarthome.core.audio.AudioFormat;
 import org.eclipse.smarthome.core.audio.AudioStream;
 import org.eclipse.smarthome.core.voice.TTSException;
 import org.eclipse.smarthome.core.voice.TTSService;
 import org.eclipse.smarthome.core.voice.Voice;
+import org.openhab.voice.ttscache.CachedAudio;
+import org.openhab.voice.ttscache.CachedAudioStream;
+import org.openhab.voice.ttscache.TTSCache;
+import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Component;
+import org.osgi.service.component.annotations.Modified;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * @author Florian Schmidt - Initial Contribution
  */
-@Component
+@Component(configurationPid = PicoTTSService.SERVICE_PID, property = {
+        Constants.SERVICE_PID + "=" + PicoTTSService.SERVICE_PID,
+        ConfigurableService.SERVICE_PROPERTY_LABEL + "=Pico Text-to-Speech",
+        ConfigurableService.SERVICE_PROPERTY_DESCRIPTION_URI + "=voice:picotts",
+        ConfigurableService.SERVICE_PROPERTY_CATEGORY + "=voice" })
 public class PicoTTSService implements TTSService {
+    private static final String CACHE_FOLDER_NAME = "cache";
+
+    static final String SERVICE_PID = "org.openhab.voice.picotts";
+
+    private final Logger logger = LoggerFactory.getLogger(PicoTTSService.class);
+
     private final Set<Voice> voices = Stream
             .of(new PicoTTSVoice("de-DE"), new PicoTTSVoice("en-US"), new PicoTTSVoice("en-GB"),
                     new PicoTTSVoice("es-ES"), new PicoTTSVoice("fr-FR"), new PicoTTSVoice("it-IT"))
@@ -35,6 +58,20 @@ public class PicoTTSService implements TTSService {
     private final Set<AudioFormat> audioFormats = Collections.singleton(
             new AudioFormat(AudioFormat.CONTAINER_WAVE, AudioFormat.CODEC_PCM_SIGNED, false, 16, null, 16000L));
 
+    private TTSCache cache;
+
+    protected void activate(Map<String, Object> config) {
+        File cacheFolder = new File(new File(ConfigConstants.getUserDataFolder(), CACHE_FOLDER_NAME), SERVICE_PID);
+        logger.debug("Using cache folder {}", cacheFolder.getAbsolutePath());
+        cache = new TTSCache(cacheFolder);
+        cache.configure(config);
+    }
+
+    @Modified
+    protected void modified(Map<String, Object> config) {
+        cache.configure(config);
+    }
+
     @Override
     public Set<Voice> getAvailableVoices() {
         return this.voices;
@@ -63,10 +100,20 @@ public class PicoTTSService implements TTSService {
             throw new TTSException("The passed AudioFormat is unsupported");
         }
 
+        String fileNameInCache = TTSCache.getUniqueFilenameForText(text, voice.getLabel());
         try {
-            return new PicoTTSAudioStream(text, voice, requestedFormat);
-        } catch (AudioException e) {
+            CachedAudio cachedAudio = cache.get(fileNameInCache, "wav", text, outputStream -> {
+                try (PicoTTSAudioStream audioStream = new PicoTTSAudioStream(text, voice, requestedFormat)) {
+                    IOUtils.copy(audioStream, outputStream);
+                } catch (AudioException e) {
+                    throw new IOException(e);
+                }
+            });
+            return new CachedAudioStream(cachedAudio, requestedFormat);
+        } catch (IOException | AudioException e) {
             throw new TTSException(e);
+        } finally {
+            logger.trace("{}", cache);
         }
     }
 
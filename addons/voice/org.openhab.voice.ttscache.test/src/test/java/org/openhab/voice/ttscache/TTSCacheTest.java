@@ -0,0 +1,309 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.voice.ttscache;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests cases for {@link TTSCache}.
+ *
+ * @author agent - Initial contribution
+ */
+public class TTSCacheTest {
+
+    private File cacheFolder;
+
+    @Before
+    public void before() throws IOException {
+        cacheFolder = Files.createTempDirectory("ttscache").toFile();
+    }
+
+    @After
+    public void after() {
+        File[] files = cacheFolder.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        cacheFolder.delete();
+    }
+
+    @Test
+    public void synthesizeOnceTest() throws IOException {
+        TTSCache cache = new TTSCache(cacheFolder);
+        AtomicInteger syntheses = new AtomicInteger();
+        AudioSynthesizer synthesizer = outputStream -> {
+            syntheses.incrementAndGet();
+            outputStream.write(audio(10, 'a'));
+        };
+
+        assertArrayEquals(audio(10, 'a'), read(cache.get("a", "MP3", "text a", synthesizer)));
+        assertArrayEquals(audio(10, 'a'), read(cache.get("a", "mp3", "text a", synthesizer)));
+
+        assertEquals(1, syntheses.get());
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getMemoryHits());
+        assertTrue(new File(cacheFolder, "a.mp3").exists());
+        assertEquals("text a", new String(Files.readAllBytes(new File(cacheFolder, "a.txt").toPath()), "UTF-8"));
+    }
+
+    @Test
+    public void sizeLimitTest() throws IOException {
+        TTSCache cache = new TTSCache(cacheFolder, 25, 0, 0, 0);
+
+        get(cache, "a", 10);
+        get(cache, "b", 10);
+        // a is now used more recently than b
+        cache.getIfPresent("a", "mp3").close();
+        get(cache, "c", 10);
+
+        assertNotNull(cache.getIfPresent("a", "mp3"));
+        assertNull(cache.getIfPresent("b", "mp3"));
+        assertNotNull(cache.getIfPresent("c", "mp3"));
+        assertFalse(new File(cacheFolder, "b.mp3").exists());
+        assertFalse(new File(cacheFolder, "b.txt").exists());
+        assertEquals(20, cache.getDiskSize());
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    public void sizeLimitKeepsNewFileTest() throws IOException {
+        TTSCache cache = new TTSCache(cacheFolder, 5, 0, 0, 0);
+
+        get(cache, "a", 10);
+        assertNotNull(cache.getIfPresent("a", "mp3"));
+
+        get(cache, "b", 10);
+        assertNull(cache.getIfPresent("a", "mp3"));
+        assertNotNull(cache.getIfPresent("b", "mp3"));
+        assertEquals(10, cache.getDiskSize());
+    }
+
+    @Test
+    public void ageLimitTest() throws IOException, InterruptedException {
+        TTSCache cache = new TTSCache(cacheFolder, 0, 1, 0, 0);
+
+        get(cache, "a", 10);
+        Thread.sleep(20);
+        get(cache, "b", 10);
+
+        assertFalse(new File(cacheFolder, "a.mp3").exists());
+        assertTrue(new File(cacheFolder, "b.mp3").exists());
+        assertEquals(10, cache.getDiskSize());
+
+        Thread.sleep(20);
+        cache.setLimits(0, 1);
+        assertFalse(new File(cacheFolder, "b.mp3").exists());
+        assertEquals(0, cache.getDiskSize());
+    }
+
+    @Test
+    public void unlimitedTest() throws IOException {
+        TTSCache cache = new TTSCache(cacheFolder, 0, 0, 0, 0);
+
+        for (int i = 0; i < 20; i++) {
+            get(cache, "audio" + i, 1024);
+        }
+
+        assertEquals(20 * 1024, cache.getDiskSize());
+        assertEquals(0, cache.getEvictions());
+    }
+
+    @Test
+    public void configureTest() throws IOException {
+        TTSCache cache = new TTSCache(cacheFolder, 15, 0, 0, 0);
+        Map<String, Object> config = new HashMap<>();
+        config.put(TTSCache.CONFIG_MAX_SIZE, "0");
+
+        cache.configure(config);
+        get(cache, "a", 10);
+        get(cache, "b", 10);
+        assertEquals(20, cache.getDiskSize());
+
+        config.put(TTSCache.CONFIG_MAX_SIZE, "-1");
+        cache.configure(config);
+        assertEquals(20, cache.getDiskSize());
+        assertEquals(0, cache.getEvictions());
+    }
+
+    @Test
+    public void loadExistingFilesTest() throws IOException {
+        write("old.mp3", 10, 1000000L);
+        write("old.txt", 3, 1000000L);
+        write("new.mp3", 20, 2000000L);
+        write("interrupted.mp3.part", 5, 2000000L);
+        TTSCache cache = new TTSCache(cacheFolder, 25, 0, 0, 0);
+
+        // the files exceeding the limits are not evicted before the limits are configured
+        assertEquals(30, cache.getDiskSize());
+        assertTrue(new File(cacheFolder, "old.mp3").exists());
+        assertFalse(new File(cacheFolder, "interrupted.mp3.part").exists());
+
+        AtomicInteger syntheses = new AtomicInteger();
+        assertArrayEquals(audio(20, 'x'), read(cache.get("new", "mp3", "new", outputStream -> {
+            syntheses.incrementAndGet();
+        })));
+        assertEquals(0, syntheses.get());
+        assertEquals(1, cache.getDiskHits());
+
+        cache.setLimits(25, 0);
+        assertEquals(20, cache.getDiskSize());
+        assertFalse(new File(cacheFolder, "old.mp3").exists());
+        assertFalse(new File(cacheFolder, "old.txt").exists());
+        assertTrue(new File(cacheFolder, "new.mp3").exists());
+    }
+
+    @Test
+    public void memoryTierTest() throws IOException {
+        TTSCache cache = new TTSCache(cacheFolder, 0, 0, 100, 50);
+
+        CachedAudio small = get(cache, "small", 40);
+        CachedAudio large = get(cache, "large", 80);
+
+        assertTrue(small.isInMemory());
+        assertFalse(large.isInMemory());
+        assertArrayEquals(audio(80, 'x'), read(large));
+        assertEquals(40, cache.getMemorySize());
+
+        get(cache, "small2", 40).close();
+        get(cache, "small3", 40).close();
+        assertEquals(80, cache.getMemorySize());
+
+        // small was removed from memory, so it is read from the file again
+        long diskHits = cache.getDiskHits();
+        assertArrayEquals(audio(40, 'x'), read(cache.getIfPresent("small", "mp3")));
+        assertEquals(diskHits + 1, cache.getDiskHits());
+        assertEquals(80, cache.getMemorySize());
+    }
+
+    @Test
+    public void returnedFileIsNotEvictedBeforeOpenedTest() throws IOException {
+        TTSCache cache = new TTSCache(cacheFolder, 15, 0, 0, 0);
+
+        CachedAudio first = cache.get("a", "mp3", "a", outputStream -> outputStream.write(audio(10, 'a')));
+        // evicts a
+        get(cache, "b", 10).close();
+
+        assertNull(cache.getIfPresent("a", "mp3"));
+        assertArrayEquals(audio(10, 'a'), read(first));
+    }
+
+    @Test
+    public void concurrentRequestsAreSynthesizedOnceTest() throws Exception {
+        TTSCache cache = new TTSCache(cacheFolder);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger syntheses = new AtomicInteger();
+        AudioSynthesizer synthesizer = outputStream -> {
+            syntheses.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            outputStream.write(audio(10, 'a'));
+        };
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<CachedAudio> first = executor.submit(() -> cache.get("a", "mp3", "a", synthesizer));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<CachedAudio> second = executor.submit(() -> cache.get("a", "mp3", "a", synthesizer));
+            while (cache.getSharedSyntheses() == 0 && !second.isDone()) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            assertArrayEquals(audio(10, 'a'), read(first.get(5, TimeUnit.SECONDS)));
+            assertArrayEquals(audio(10, 'a'), read(second.get(5, TimeUnit.SECONDS)));
+            assertEquals(1, syntheses.get());
+            assertEquals(1, cache.getSharedSyntheses());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void failedSynthesisTest() throws IOException {
+        TTSCache cache = new TTSCache(cacheFolder);
+
+        try {
+            cache.get("a", "mp3", "a", outputStream -> {
+                outputStream.write(audio(5, 'a'));
+                throw new IOException("service not reachable");
+            });
+            fail("Expected IOException");
+        } catch (IOException e) {
+            assertEquals("service not reachable", e.getMessage());
+        }
+
+        assertNull(cache.getIfPresent("a", "mp3"));
+        assertEquals(0, cache.getDiskSize());
+        assertFalse(new File(cacheFolder, "a.mp3").exists());
+        assertFalse(new File(cacheFolder, "a.mp3.part").exists());
+    }
+
+    @Test
+    public void uniqueFilenameTest() {
+        String fileName = TTSCache.getUniqueFilenameForText("Hello World", "en-US");
+
+        assertEquals("en-US_b10a8db164e0754105b7a99be72e3fe5", fileName);
+        assertEquals(fileName, TTSCache.getUniqueFilenameForText("Hello World", "en-US"));
+        assertNotEquals(fileName, TTSCache.getUniqueFilenameForText("Hello World", "de-DE"));
+    }
+
+    private static CachedAudio get(TTSCache cache, String fileName, int size) throws IOException {
+        return cache.get(fileName, "mp3", fileName, outputStream -> outputStream.write(audio(size, 'x')));
+    }
+
+    private void write(String fileName, int size, long lastModified) throws IOException {
+        File file = new File(cacheFolder, fileName);
+        Files.write(file.toPath(), audio(size, 'x'));
+        file.setLastModified(lastModified);
+    }
+
+    private static byte[] audio(int size, char content) {
+        byte[] bytes = new byte[size];
+        Arrays.fill(bytes, (byte) content);
+        return bytes;
+    }
+
+    private static byte[] read(CachedAudio audio) throws IOException {
+        try (InputStream inputStream = audio.openStream()) {
+            ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = inputStream.read(buffer)) > 0) {
+                outputStream.write(buffer, 0, read);
+            }
+            return outputStream.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.voice.ttscache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Synthesizes the audio for a {@link TTSCache} miss.
+ *
+ * @author agent - Initial contribution
+ */
+@FunctionalInterface
+public interface AudioSynthesizer {
+
+    /**
+     * Writes the complete synthesized audio (including any container header) to the given stream.
+     *
+     * @param outputStream the stream to write the audio to, it is closed by the cache
+     * @throws IOException if the audio could not be synthesized or written
+     */
+    void synthesize(OutputStream outputStream) throws IOException;
+}
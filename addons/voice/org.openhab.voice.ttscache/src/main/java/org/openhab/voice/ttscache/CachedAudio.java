@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.voice.ttscache;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An audio file served by the {@link TTSCache}. Short announcements are additionally held in memory, so they can be
+ * streamed without touching the file system.
+ *
+ * Audio files are opened by the cache before they are returned, so that they can't be evicted before the first
+ * {@link #openStream()}. Callers which don't open a stream must close the cached audio.
+ *
+ * @author agent - Initial contribution
+ */
+public class CachedAudio implements Closeable {
+
+    private final File file;
+    private final byte[] bytes;
+    private final long length;
+    private InputStream openedStream;
+
+    CachedAudio(File file, byte[] bytes, long length, InputStream openedStream) {
+        this.file = file;
+        this.bytes = bytes;
+        this.length = length;
+        this.openedStream = openedStream;
+    }
+
+    /**
+     * @return the audio file in the cache folder
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return the length of the audio in bytes
+     */
+    public long length() {
+        return length;
+    }
+
+    /**
+     * @return true if the audio is held in memory
+     */
+    public boolean isInMemory() {
+        return bytes != null;
+    }
+
+    /**
+     * Opens a new stream on the audio, from memory if available or from the audio file otherwise.
+     *
+     * @return a new stream on the audio
+     * @throws IOException if the audio file can not be opened
+     */
+    public InputStream openStream() throws IOException {
+        if (bytes != null) {
+            return new ByteArrayInputStream(bytes);
+        }
+        synchronized (this) {
+            InputStream stream = openedStream;
+            if (stream != null) {
+                openedStream = null;
+                return stream;
+            }
+        }
+        return new FileInputStream(file);
+    }
+
+    /**
+     * Closes the audio file opened by the cache, if it has not been handed out by {@link #openStream()}.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (openedStream != null) {
+            openedStream.close();
+            openedStream = null;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.voice.ttscache;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.eclipse.smarthome.core.audio.AudioException;
+import org.eclipse.smarthome.core.audio.AudioFormat;
+import org.eclipse.smarthome.core.audio.AudioStream;
+import org.eclipse.smarthome.core.audio.FixedLengthAudioStream;
+
+/**
+ * Implementation of the {@link AudioStream} interface for a {@link CachedAudio}.
+ *
+ * @author agent - Initial contribution
+ */
+public class CachedAudioStream extends FixedLengthAudioStream {
+
+    private final CachedAudio audio;
+    private final AudioFormat audioFormat;
+    private final InputStream inputStream;
+
+    public CachedAudioStream(CachedAudio audio, AudioFormat audioFormat) throws AudioException {
+        this.audio = audio;
+        this.audioFormat = audioFormat;
+        this.inputStream = getClonedStream();
+    }
+
+    @Override
+    public AudioFormat getFormat() {
+        return audioFormat;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return inputStream.read();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        return inputStream.read(b, off, len);
+    }
+
+    @Override
+    public void close() throws IOException {
+        inputStream.close();
+        super.close();
+    }
+
+    @Override
+    public long length() {
+        return audio.length();
+    }
+
+    @Override
+    public InputStream getClonedStream() throws AudioException {
+        try {
+            return audio.openStream();
+        } catch (IOException e) {
+            throw new AudioException("Cannot open cached audio file '" + audio.getFile().getName() + "'", e);
+        }
+    }
+}
@@ -0,0 +1,553 @@
+/**
+ * Copyright (c) 2010-2018 by the respective copyright holders.
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.openhab.voice.ttscache;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class implements a cache for synthesized audio data that can be shared by the text-to-speech services.
+ * Audio is preserved in the file system as audio files with an additional .txt file to indicate what content is in
+ * the audio file. Files are evicted in least recently used order once the cache exceeds its size or, if a maximum age
+ * is configured, a file has not been used for longer than that. Small audio files (e.g. short announcements) are also
+ * held in memory. Concurrent requests for the same audio are synthesized only once.
+ *
+ * Files found in the cache folder on startup (e.g. from an earlier version or prefilled by a tool) keep their order by
+ * modification time, but their age is counted from the startup, because their modification time doesn't tell when they
+ * were last used. They are not evicted before the limits are configured by {@link #setLimits(long, long)} or
+ * {@link #configure(Map)}, so that a larger cache isn't trimmed to the default limits on startup.
+ *
+ * @author agent - Initial contribution
+ */
+public class TTSCache {
+
+    /** Default maximum size of the cache folder: 50 MB */
+    public static final long DEFAULT_MAX_DISK_SIZE = 50L * 1024 * 1024;
+
+    /** Default maximum time an audio file is kept without being used: unlimited */
+    public static final long DEFAULT_MAX_AGE = 0;
+
+    /** Configuration parameter of the services for the maximum size of the cache folder in MB, 0 for unlimited */
+    public static final String CONFIG_MAX_SIZE = "cacheMaxSize";
+
+    /** Configuration parameter of the services for the maximum age of unused audio files in days, 0 for unlimited */
+    public static final String CONFIG_MAX_AGE = "cacheMaxAge";
+
+    /** Default maximum size of the in-memory tier: 4 MB */
+    public static final long DEFAULT_MAX_MEMORY_SIZE = 4L * 1024 * 1024;
+
+    /** Default maximum size of a single audio file to be held in memory: 256 kB */
+    public static final int DEFAULT_MAX_MEMORY_ENTRY_SIZE = 256 * 1024;
+
+    private static final String TEXT_EXTENSION = ".txt";
+    private static final String PARTIAL_EXTENSION = ".part";
+
+    /** The last access time of a file is only persisted if it is older than this */
+    private static final long TOUCH_INTERVAL = TimeUnit.HOURS.toMillis(1);
+
+    private final Logger logger = LoggerFactory.getLogger(TTSCache.class);
+
+    private final File cacheFolder;
+    private long maxDiskSize;
+    private long maxAge;
+    private final long maxMemorySize;
+    private final int maxMemoryEntrySize;
+
+    /** Audio files by file name, in least recently used order */
+    private final LinkedHashMap<String, DiskEntry> diskEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private long diskSize;
+
+    /** Audio held in memory by file name, in least recently used order */
+    private final LinkedHashMap<String, byte[]> memoryEntries = new LinkedHashMap<>(16, 0.75f, true);
+    private long memorySize;
+
+    /** Syntheses in progress by file name */
+    private final Map<String, CompletableFuture<CachedAudio>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong sharedSyntheses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Creates a cache with the default limits.
+     *
+     * @param cacheFolder the folder to store the audio files in, will be created if needed
+     */
+    public TTSCache(File cacheFolder) {
+        this(cacheFolder, DEFAULT_MAX_DISK_SIZE, DEFAULT_MAX_AGE, DEFAULT_MAX_MEMORY_SIZE,
+                DEFAULT_MAX_MEMORY_ENTRY_SIZE);
+    }
+
+    /**
+     * Creates a cache. The files exceeding the limits are only evicted with the next synthesis or change of the limits.
+     *
+     * @param cacheFolder the folder to store the audio files in, will be created if needed
+     * @param maxDiskSize the maximum size of all audio files in bytes, 0 for unlimited
+     * @param maxAge the maximum time in milliseconds an audio file is kept without being used, 0 for unlimited
+     * @param maxMemorySize the maximum size of the audio held in memory in bytes, 0 to disable the in-memory tier
+     * @param maxMemoryEntrySize the maximum size of a single audio file to be held in memory in bytes
+     */
+    public TTSCache(File cacheFolder, long maxDiskSize, long maxAge, long maxMemorySize, int maxMemoryEntrySize) {
+        if (cacheFolder == null) {
+            throw new IllegalStateException("Folder for cache must be defined");
+        }
+        this.cacheFolder = cacheFolder;
+        this.maxDiskSize = maxDiskSize;
+        this.maxAge = maxAge;
+        this.maxMemorySize = maxMemorySize;
+        this.maxMemoryEntrySize = maxMemoryEntrySize;
+
+        // Lazy create the cache folder
+        if (!cacheFolder.exists()) {
+            cacheFolder.mkdirs();
+        }
+        loadDiskEntries();
+    }
+
+    /**
+     * Gets the audio for a text from the cache, synthesizing it if it is not cached yet. If the same audio is already
+     * being synthesized by another thread, this waits for that synthesis instead of starting a second one.
+     *
+     * @param fileName the unique name of the audio file without extension, see
+     *            {@link #getUniqueFilenameForText(String, String)}
+     * @param extension the extension of the audio file, e.g. "mp3" or "wav"
+     * @param text the text of the audio, stored next to the audio file for transparency
+     * @param synthesizer the synthesizer called on a cache miss
+     * @return the cached audio, which must be opened or closed by the caller
+     * @throws IOException if the audio could not be synthesized or stored
+     */
+    public CachedAudio get(String fileName, String extension, String text, AudioSynthesizer synthesizer)
+            throws IOException {
+        String audioFileName = fileName + "." + extension.toLowerCase();
+
+        CachedAudio audio = getCached(audioFileName);
+        if (audio != null) {
+            return audio;
+        }
+
+        CompletableFuture<CachedAudio> future = new CompletableFuture<>();
+        CompletableFuture<CachedAudio> running = inFlight.putIfAbsent(audioFileName, future);
+        if (running != null) {
+            sharedSyntheses.incrementAndGet();
+            logger.debug("Waiting for synthesis of {} in progress", audioFileName);
+            return await(running);
+        }
+
+        try {
+            // it might have been added while we were checking for running syntheses
+            audio = getCached(audioFileName);
+            if (audio == null) {
+                misses.incrementAndGet();
+                audio = synthesize(fileName, audioFileName, text, synthesizer);
+            }
+            future.complete(audio);
+            return audio;
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(audioFileName, future);
+        }
+    }
+
+    /**
+     * Gets the audio for a text from the cache without synthesizing it on a cache miss.
+     *
+     * @param fileName the unique name of the audio file without extension
+     * @param extension the extension of the audio file, e.g. "mp3" or "wav"
+     * @return the cached audio, which must be opened or closed by the caller, or null if it is not cached
+     */
+    public CachedAudio getIfPresent(String fileName, String extension) {
+        return getCached(fileName + "." + extension.toLowerCase());
+    }
+
+    /**
+     * Changes the limits of the cache folder and evicts the files exceeding them.
+     *
+     * @param maxDiskSize the maximum size of all audio files in bytes, 0 for unlimited
+     * @param maxAge the maximum time in milliseconds an audio file is kept without being used, 0 for unlimited
+     */
+    public synchronized void setLimits(long maxDiskSize, long maxAge) {
+        this.maxDiskSize = maxDiskSize;
+        this.maxAge = maxAge;
+        evict(null);
+    }
+
+    /**
+     * Changes the limits of the cache folder to the ones configured for a text-to-speech service, see
+     * {@link #CONFIG_MAX_SIZE} and {@link #CONFIG_MAX_AGE}. Missing or invalid parameters use the default limits.
+     *
+     * @param config the configuration of the service
+     */
+    public void configure(Map<String, Object> config) {
+        long maxSizeMB = getLong(config, CONFIG_MAX_SIZE, DEFAULT_MAX_DISK_SIZE / (1024 * 1024));
+        long maxAgeDays = getLong(config, CONFIG_MAX_AGE, TimeUnit.MILLISECONDS.toDays(DEFAULT_MAX_AGE));
+        setLimits(maxSizeMB * 1024 * 1024, TimeUnit.DAYS.toMillis(maxAgeDays));
+        logger.debug("Limited cache folder {} to {} MB and {} days (0 is unlimited)", cacheFolder, maxSizeMB,
+                maxAgeDays);
+    }
+
+    private long getLong(Map<String, Object> config, String key, long defaultValue) {
+        Object value = config == null ? null : config.get(key);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            long result = value instanceof Number ? ((Number) value).longValue()
+                    : Long.parseLong(value.toString().trim());
+            if (result >= 0) {
+                return result;
+            }
+        } catch (NumberFormatException e) {
+            // handled below
+        }
+        logger.warn("Invalid value '{}' for {}, using {}", value, key, defaultValue);
+        return defaultValue;
+    }
+
+    private CachedAudio getCached(String audioFileName) {
+        File file = new File(cacheFolder, audioFileName);
+        boolean touch = false;
+        FileInputStream stream;
+        synchronized (this) {
+            DiskEntry entry = diskEntries.get(audioFileName);
+            if (entry == null) {
+                return null;
+            }
+
+            byte[] bytes = memoryEntries.get(audioFileName);
+            if (bytes != null && !file.exists()) {
+                remove(audioFileName);
+                return null;
+            }
+
+            long now = System.currentTimeMillis();
+            if (now - entry.lastAccess > TOUCH_INTERVAL) {
+                touch = true;
+            }
+            entry.lastAccess = now;
+
+            if (bytes != null) {
+                memoryHits.incrementAndGet();
+                return new CachedAudio(file, bytes, bytes.length, null);
+            }
+
+            // open the file while holding the lock, so that it can't be evicted before the caller has read it
+            try {
+                stream = new FileInputStream(file);
+            } catch (FileNotFoundException e) {
+                remove(audioFileName);
+                return null;
+            }
+        }
+
+        if (touch) {
+            // persist the access time so the least recently used order survives a restart
+            file.setLastModified(System.currentTimeMillis());
+        }
+        diskHits.incrementAndGet();
+        logger.debug("Audio file {} was found in cache.", audioFileName);
+        return open(audioFileName, file, stream);
+    }
+
+    private CachedAudio synthesize(String fileName, String audioFileName, String text, AudioSynthesizer synthesizer)
+            throws IOException {
+        File audioFile = new File(cacheFolder, audioFileName);
+        File partialFile = new File(cacheFolder, audioFileName + PARTIAL_EXTENSION);
+
+        logger.debug("Caching audio file {}", audioFileName);
+        try (OutputStream outputStream = new FileOutputStream(partialFile)) {
+            synthesizer.synthesize(outputStream);
+        } catch (IOException | RuntimeException e) {
+            partialFile.delete();
+            throw e;
+        }
+        Files.move(partialFile.toPath(), audioFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+
+        // write text to file for transparency too
+        // this allows to know which contents is in which audio file
+        try {
+            Files.write(new File(cacheFolder, fileName + TEXT_EXTENSION).toPath(),
+                    text.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            logger.debug("Could not write text of {} to cache: {}", audioFileName, e.getMessage());
+        }
+
+        long length = audioFile.length();
+        FileInputStream stream;
+        synchronized (this) {
+            DiskEntry previous = diskEntries.put(audioFileName, new DiskEntry(length, System.currentTimeMillis()));
+            if (previous != null) {
+                diskSize -= previous.size;
+            }
+            diskSize += length;
+            evict(audioFileName);
+            stream = new FileInputStream(audioFile);
+        }
+        return open(audioFileName, audioFile, stream);
+    }
+
+    /**
+     * Creates the cached audio for an opened audio file, reading it into memory if it is small enough. The stream is
+     * either closed or handed over to the cached audio.
+     */
+    private CachedAudio open(String audioFileName, File file, FileInputStream stream) {
+        long length;
+        try {
+            length = stream.getChannel().size();
+        } catch (IOException e) {
+            length = file.length();
+        }
+        if (maxMemorySize <= 0 || length > maxMemoryEntrySize || length > maxMemorySize) {
+            return new CachedAudio(file, null, length, stream);
+        }
+        try (InputStream in = stream) {
+            byte[] bytes = readFully(in, (int) length);
+            synchronized (this) {
+                byte[] previous = memoryEntries.put(audioFileName, bytes);
+                if (previous != null) {
+                    memorySize -= previous.length;
+                }
+                memorySize += bytes.length;
+
+                Iterator<Map.Entry<String, byte[]>> it = memoryEntries.entrySet().iterator();
+                while (memorySize > maxMemorySize && it.hasNext()) {
+                    Map.Entry<String, byte[]> eldest = it.next();
+                    if (!eldest.getKey().equals(audioFileName)) {
+                        memorySize -= eldest.getValue().length;
+                        it.remove();
+                    }
+                }
+            }
+            return new CachedAudio(file, bytes, length, null);
+        } catch (IOException e) {
+            logger.debug("Could not read {} into memory: {}", audioFileName, e.getMessage());
+            return new CachedAudio(file, null, length, null);
+        }
+    }
+
+    private static byte[] readFully(InputStream in, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        int offset = 0;
+        while (offset < length) {
+            int read = in.read(bytes, offset, length - offset);
+            if (read < 0) {
+                throw new EOFException("Audio file is shorter than expected");
+            }
+            offset += read;
+        }
+        return bytes;
+    }
+
+    /**
+     * Evicts the least recently used files until the cache fits its size, as well as the files exceeding the maximum
+     * age. Must be called while holding the lock on this cache.
+     *
+     * @param keep the name of the audio file that must not be evicted
+     */
+    private void evict(String keep) {
+        long now = System.currentTimeMillis();
+        Iterator<Map.Entry<String, DiskEntry>> it = diskEntries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, DiskEntry> eldest = it.next();
+            boolean expired = maxAge > 0 && now - eldest.getValue().lastAccess > maxAge;
+            boolean full = maxDiskSize > 0 && diskSize > maxDiskSize;
+            if (!expired && !full) {
+                // the remaining entries have been used more recently
+                break;
+            }
+            if (eldest.getKey().equals(keep)) {
+                continue;
+            }
+            it.remove();
+            diskSize -= eldest.getValue().size;
+            deleteFiles(eldest.getKey());
+            evictions.incrementAndGet();
+            logger.debug("Evicted audio file {} from cache", eldest.getKey());
+        }
+    }
+
+    private void remove(String audioFileName) {
+        DiskEntry entry = diskEntries.remove(audioFileName);
+        if (entry != null) {
+            diskSize -= entry.size;
+            deleteFiles(audioFileName);
+            evictions.incrementAndGet();
+        }
+    }
+
+    private void deleteFiles(String audioFileName) {
+        byte[] bytes = memoryEntries.remove(audioFileName);
+        if (bytes != null) {
+            memorySize -= bytes.length;
+        }
+        new File(cacheFolder, audioFileName).delete();
+
+        // the text file is shared by all audio formats of the same text
+        String fileName = getBaseName(audioFileName);
+        for (String other : diskEntries.keySet()) {
+            if (getBaseName(other).equals(fileName)) {
+                return;
+            }
+        }
+        new File(cacheFolder, fileName + TEXT_EXTENSION).delete();
+    }
+
+    private void loadDiskEntries() {
+        File[] files = cacheFolder.listFiles();
+        if (files == null) {
+            return;
+        }
+
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            for (File file : files) {
+                String name = file.getName();
+                if (!file.isFile() || name.endsWith(TEXT_EXTENSION)) {
+                    continue;
+                }
+                if (name.endsWith(PARTIAL_EXTENSION)) {
+                    // left over from an interrupted synthesis
+                    file.delete();
+                    continue;
+                }
+                diskEntries.put(name, new DiskEntry(file.length(), now));
+                diskSize += file.length();
+            }
+        }
+        logger.debug("Loaded {} audio files ({} bytes) from cache folder {}", diskEntries.size(), diskSize,
+                cacheFolder);
+    }
+
+    private static CachedAudio await(CompletableFuture<CachedAudio> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for synthesis");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            throw new IOException("Synthesis failed: " + cause.getMessage(), cause);
+        }
+    }
+
+    private static String getBaseName(String audioFileName) {
+        int index = audioFileName.lastIndexOf('.');
+        return index < 0 ? audioFileName : audioFileName.substring(0, index);
+    }
+
+    /**
+     * Gets a unique filename for a give text, by creating a MD5 hash of it. It
+     * will be preceded by the given prefix (e.g. the locale).
+     *
+     * Sample: "en-US_00a2653ac5f77063bc4ea2fee87318d3"
+     *
+     * @param text the text to create the filename for
+     * @param prefix the prefix of the filename
+     * @return the unique filename without extension
+     */
+    public static String getUniqueFilenameForText(String text, String prefix) {
+        try {
+            byte[] bytesOfMessage = text.getBytes(StandardCharsets.UTF_8);
+            MessageDigest md = MessageDigest.getInstance("MD5");
+            byte[] md5Hash = md.digest(bytesOfMessage);
+            BigInteger bigInt = new BigInteger(1, md5Hash);
+            StringBuilder hashText = new StringBuilder(bigInt.toString(16));
+            // Now we need to zero pad it if you actually want the full 32
+            // chars.
+            while (hashText.length() < 32) {
+                hashText.insert(0, "0");
+            }
+            return prefix + "_" + hashText;
+        } catch (NoSuchAlgorithmException ex) {
+            // should not happen, every Java platform supports MD5
+            throw new IllegalStateException("Could not create MD5 hash", ex);
+        }
+    }
+
+    public long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of requests that waited for a synthesis already in progress instead of starting their own
+     */
+    public long getSharedSyntheses() {
+        return sharedSyntheses.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public synchronized long getDiskSize() {
+        return diskSize;
+    }
+
+    public synchronized long getMemorySize() {
+        return memorySize;
+    }
+
+    @Override
+    public String toString() {
+        return "TTSCache [folder=" + cacheFolder + ", memoryHits=" + getMemoryHits() + ", diskHits=" + getDiskHits()
+                + ", misses=" + getMisses() + ", sharedSyntheses=" + getSharedSyntheses() + ", evictions="
+                + getEvictions() + ", diskSize=" + getDiskSize() + ", memorySize=" + getMemorySize() + "]";
+    }
+
+    private static class DiskEntry {
+        private final long size;
+        private long lastAccess;
+
+        private DiskEntry(long size, long lastAccess) {
+            this.size = size;
+            this.lastAccess = lastAccess;
+        }
+    }
+}
@@ -9,7 +9,6 @@
 package org.openhab.voice.voicerss.internal;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Locale;
@@ -24,6 +23,8 @@ import org.eclipse.smarthome.core.audio.AudioStream;
 import org.eclipse.smarthome.core.voice.TTSException;
 import org.eclipse.smarthome.core.voice.TTSService;
 import org.eclipse.smarthome.core.voice.Voice;
+import org.openhab.voice.ttscache.CachedAudio;
+import org.openhab.voice.ttscache.CachedAudioStream;
 import org.openhab.voice.voicerss.internal.cloudapi.CachedVoiceRSSCloudImpl;
 import org.osgi.framework.Constants;
 import org.osgi.service.component.annotations.Component;
@@ -72,8 +73,8 @@ public class VoiceRSSTTSService implements TTSService {
      */
     protected void activate(Map<String, Object> config) {
         try {
-            modified(config);
             voiceRssImpl = initVoiceImplementation();
+            modified(config);
             voices = initVoices();
             audioFormats = initAudioFormats();
 
@@ -88,6 +89,9 @@ public class VoiceRSSTTSService implements TTSService {
         if (config != null) {
             apiKey = config.containsKey(CONFIG_API_KEY) ? config.get(CONFIG_API_KEY).toString() : null;
         }
+        if (voiceRssImpl != null) {
+            voiceRssImpl.getCache().configure(config);
+        }
     }
 
     @Override
@@ -133,16 +137,14 @@ public class VoiceRSSTTSService implements TTSService {
         // now create the input stream for given text, locale, format. There is
         // only a default voice
         try {
-            File cacheAudioFile = voiceRssImpl.getTextToSpeechAsFile(apiKey, trimmedText,
+            CachedAudio cachedAudio = voiceRssImpl.getTextToSpeechCached(apiKey, trimmedText,
                     voice.getLocale().toLanguageTag(), getApiAudioFormat(requestedFormat));
-            if (cacheAudioFile == null) {
+            if (cachedAudio == null) {
                 throw new TTSException("Could not read from VoiceRSS service");
             }
-            return new VoiceRSSAudioStream(cacheAudioFile, requestedFormat);
+            return new CachedAudioStream(cachedAudio, requestedFormat);
         } catch (AudioException ex) {
             throw new TTSException("Could not create AudioStream: " + ex.getMessage(), ex);
-        } catch (IOException ex) {
-            throw new TTSException("Could not read from VoiceRSS service: " + ex.getMessage(), ex);
         }
     }
 
@@ -45,6 +45,9 @@ public class CreateTTSCache {
         String apiKey = args[1];
         String cacheDir = args[2];
         String locale = args[3];
+        CachedVoiceRSSCloudImpl impl = new CachedVoiceRSSCloudImpl(cacheDir);
+        // the prefilled cache is limited by the service once it is used
+        impl.getCache().setLimits(0, 0);
         if (args[4].startsWith("@")) {
             String inputFileName = args[4].substring(1);
             File inputFile = new File(inputFileName);
@@ -53,10 +56,10 @@ public class CreateTTSCache {
                 System.err.println("File " + inputFileName + " not found");
                 return RC_INPUT_FILE_NOT_FOUND;
             }
-            generateCacheForFile(apiKey, cacheDir, locale, inputFileName);
+            generateCacheForFile(impl, apiKey, locale, inputFileName);
         } else {
             String text = args[4];
-            generateCacheForMessage(apiKey, cacheDir, locale, text);
+            generateCacheForMessage(impl, apiKey, locale, text);
         }
         return RC_OK;
     }
@@ -72,23 +75,26 @@ public class CreateTTSCache {
                 "  inputfile a name of a file, where all lines will be translatet to text, e.g. \"@message.txt\"");
         System.out.println();
         System.out.println(
-                "Sample: java org.openhab.voice.voicerss.tool.CreateTTSCache --api-key 1234567890 cache en-US @messages.txt");
+                "Sample: java -cp org.openhab.voice.voicerss-2.4.0-SNAPSHOT.jar:org.openhab.voice.ttscache-2.4.0-SNAPSHOT.jar:slf4j-api.jar");
+        System.out.println(
+                "          org.openhab.voice.voicerss.tool.CreateTTSCache --api-key 1234567890 cache en-US @messages.txt");
         System.out.println();
     }
 
-    private void generateCacheForFile(String apiKey, String cacheDir, String locale, String inputFileName)
-            throws IOException {
+    private void generateCacheForFile(CachedVoiceRSSCloudImpl impl, String apiKey, String locale,
+            String inputFileName) throws IOException {
         File inputFile = new File(inputFileName);
         try (BufferedReader br = new BufferedReader(new FileReader(inputFile))) {
             String line;
             while ((line = br.readLine()) != null) {
                 // process the line.
-                generateCacheForMessage(apiKey, cacheDir, locale, line);
+                generateCacheForMessage(impl, apiKey, locale, line);
             }
         }
     }
 
-    private void generateCacheForMessage(String apiKey, String cacheDir, String locale, String msg) throws IOException {
+    private void generateCacheForMessage(CachedVoiceRSSCloudImpl impl, String apiKey, String locale, String msg)
+            throws IOException {
         if (msg == null) {
             System.err.println("Ignore msg=null");
             return;
@@ -98,7 +104,6 @@ public class CreateTTSCache {
             System.err.println("Ignore msg=''");
             return;
         }
-        CachedVoiceRSSCloudImpl impl = new CachedVoiceRSSCloudImpl(cacheDir);
         File cachedFile = impl.getTextToSpeechAsFile(apiKey, trimmedMsg, locale, "MP3");
         System.out.println(
                 "Created cached audio for locale='" + locale + "', msg='" + trimmedMsg + "' to file=" + cachedFile);